@@ -0,0 +1,53 @@
+#!/bin/sh
+# Measures time-to-first-accepted-reading after a redeploy of the API container.
+#
+# Each run recreates the container, then posts a reading as a registered hub until one is accepted,
+# and reports the wall-clock time from recreation, plus the API's own time from JVM start taken from
+# its "First hub reading ingested" log line. Compare images built with and without -Pfast-startup.
+#
+# Usage: HUB_CERT=hub.crt HUB_KEY=hub.key API_URL=https://localhost:8443 scripts/startup-benchmark.sh
+#
+#   HUB_CERT, HUB_KEY  client certificate and key of a registered hub
+#   API_URL            base URL the hub reaches the API on
+#   CA_CERT            CA bundle for the API's server certificate (default: system trust store)
+#   HUB_ID             the hub's ID (default 1)
+#   PROBE_ID           a local probe ID of the hub (default 1)
+#   RUNS               number of redeploys to measure (default 5)
+#   SERVICE            docker compose service of the API (default grill-gauge-api)
+
+set -eu
+
+: "${HUB_CERT:?HUB_CERT is required}"
+: "${HUB_KEY:?HUB_KEY is required}"
+: "${API_URL:?API_URL is required}"
+HUB_ID="${HUB_ID:-1}"
+PROBE_ID="${PROBE_ID:-1}"
+RUNS="${RUNS:-5}"
+SERVICE="${SERVICE:-grill-gauge-api}"
+
+now_ms() {
+  echo $(($(date +%s%N) / 1000000))
+}
+
+tls_args=""
+if [ -n "${CA_CERT:-}" ]; then
+  tls_args="--cacert $CA_CERT"
+fi
+reading="{\"id\": ${HUB_ID}, \"probeReadings\": [{\"id\": ${PROBE_ID}, \"currentTemp\": 21.5}]}"
+
+run=1
+while [ "$run" -le "$RUNS" ]; do
+  start=$(now_ms)
+  docker compose up -d --force-recreate --no-deps "$SERVICE" >/dev/null 2>&1
+  # shellcheck disable=SC2086
+  until [ "$(curl -s -o /dev/null -w '%{http_code}' $tls_args \
+      --cert "$HUB_CERT" --key "$HUB_KEY" -H 'Content-Type: application/json' \
+      -d "$reading" "$API_URL/api/v1/externalHub")" = "201" ]; do
+    sleep 0.1
+  done
+  elapsed=$(($(now_ms) - start))
+  jvm=$(docker compose logs "$SERVICE" 2>/dev/null \
+    | sed -n 's/.*First hub reading ingested \([0-9]*\) ms after JVM start.*/\1/p' | tail -n 1)
+  echo "run ${run}: first reading accepted after ${elapsed} ms (${jvm:-?} ms from JVM start)"
+  run=$((run + 1))
+done
@@ -0,0 +1,149 @@
+package com.grillgauge.api.benchmarks;
+
+import com.grillgauge.api.services.CertificateService;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.lang.reflect.Method;
+import java.math.BigInteger;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.Security;
+import java.security.cert.X509Certificate;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.bouncycastle.asn1.x500.X500Name;
+import org.bouncycastle.asn1.x509.BasicConstraints;
+import org.bouncycastle.asn1.x509.Extension;
+import org.bouncycastle.cert.jcajce.JcaX509CertificateConverter;
+import org.bouncycastle.cert.jcajce.JcaX509v3CertificateBuilder;
+import org.bouncycastle.jce.provider.BouncyCastleProvider;
+import org.bouncycastle.openssl.jcajce.JcaPEMWriter;
+import org.bouncycastle.operator.jcajce.JcaContentSignerBuilder;
+import org.bouncycastle.pkcs.PKCS10CertificationRequest;
+import org.bouncycastle.pkcs.jcajce.JcaPKCS10CertificationRequestBuilder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+/**
+ * Measures how many hub CSRs {@link CertificateService} can sign per second against a throwaway
+ * 2048-bit RSA CA, on one thread and on every available core, as the bulk provisioning workers do.
+ * Parsing the CSR PEM is included, since each provisioned hub pays for it too.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CertificateSigningBenchmark {
+
+  private static final int CSRS = 64;
+
+  private final AtomicInteger next = new AtomicInteger();
+  private CertificateService certificateService;
+  private String[] csrPems;
+  private Path caDirectory;
+
+  /** Create a CA, load it into the service and generate the CSRs to sign. */
+  @Setup
+  public void setUp() throws Exception {
+    Security.addProvider(new BouncyCastleProvider());
+    KeyPairGenerator keyPairGenerator = KeyPairGenerator.getInstance("RSA");
+    keyPairGenerator.initialize(2048);
+
+    KeyPair caKeyPair = keyPairGenerator.generateKeyPair();
+    X500Name caName = new X500Name("CN=GrillGauge Benchmark CA");
+    Instant now = Instant.now();
+    X509Certificate caCertificate =
+        new JcaX509CertificateConverter()
+            .getCertificate(
+                new JcaX509v3CertificateBuilder(
+                        caName,
+                        BigInteger.ONE,
+                        Date.from(now),
+                        Date.from(now.plus(1, ChronoUnit.DAYS)),
+                        caName,
+                        caKeyPair.getPublic())
+                    .addExtension(Extension.basicConstraints, true, new BasicConstraints(true))
+                    .build(
+                        new JcaContentSignerBuilder("SHA256withRSA")
+                            .build(caKeyPair.getPrivate())));
+
+    caDirectory = Files.createTempDirectory("grillgauge-benchmark-ca");
+    Path caCertPath = caDirectory.resolve("ca.crt");
+    Path caKeyPath = caDirectory.resolve("ca.key");
+    writePem(caCertPath, caCertificate);
+    writePem(caKeyPath, caKeyPair.getPrivate());
+
+    certificateService = new CertificateService();
+    ReflectionTestUtils.setField(certificateService, "validityDays", 365L);
+    ReflectionTestUtils.setField(certificateService, "caCertPath", caCertPath.toString());
+    ReflectionTestUtils.setField(certificateService, "caKeyPath", caKeyPath.toString());
+    ReflectionTestUtils.setField(certificateService, "caKeyPassphrase", "");
+    Method init = CertificateService.class.getDeclaredMethod("init");
+    init.setAccessible(true);
+    init.invoke(certificateService);
+
+    csrPems = new String[CSRS];
+    for (int i = 0; i < CSRS; i++) {
+      KeyPair hubKeyPair = keyPairGenerator.generateKeyPair();
+      PKCS10CertificationRequest csr =
+          new JcaPKCS10CertificationRequestBuilder(
+                  new X500Name("CN=hub-" + i), hubKeyPair.getPublic())
+              .build(new JcaContentSignerBuilder("SHA256withRSA").build(hubKeyPair.getPrivate()));
+      try (StringWriter writer = new StringWriter();
+          JcaPEMWriter pemWriter = new JcaPEMWriter(writer)) {
+        pemWriter.writeObject(csr);
+        pemWriter.flush();
+        csrPems[i] = writer.toString();
+      }
+    }
+  }
+
+  /** Remove the temporary CA files. */
+  @TearDown
+  public void tearDown() throws IOException {
+    Files.deleteIfExists(caDirectory.resolve("ca.crt"));
+    Files.deleteIfExists(caDirectory.resolve("ca.key"));
+    Files.deleteIfExists(caDirectory);
+  }
+
+  @Benchmark
+  public X509Certificate signSingleThread() {
+    return sign();
+  }
+
+  @Benchmark
+  @Threads(Threads.MAX)
+  public X509Certificate signAllCores() {
+    return sign();
+  }
+
+  private X509Certificate sign() {
+    String csrPem = csrPems[(next.getAndIncrement() & Integer.MAX_VALUE) % CSRS];
+    return certificateService.sign(certificateService.loadCsrFromPem(csrPem));
+  }
+
+  private static void writePem(final Path path, final Object object) throws IOException {
+    try (JcaPEMWriter pemWriter = new JcaPEMWriter(new FileWriter(path.toFile()))) {
+      pemWriter.writeObject(object);
+    }
+  }
+}
@@ -0,0 +1,65 @@
+package com.grillgauge.api.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.grillgauge.api.domain.models.HubReading;
+import com.grillgauge.api.ingest.HubReadingDecoder;
+import com.grillgauge.api.ingest.ProbeReadingBuffer;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares binding the hub ingest payload to the {@link HubReading} model against the streaming
+ * {@link HubReadingDecoder}. Run with {@code -prof gc} and compare {@code gc.alloc.rate.norm} for
+ * the allocation per request.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HubReadingDecoderBenchmark {
+
+  @Param({"4", "8"})
+  private int probes;
+
+  private ObjectMapper objectMapper;
+  private HubReadingDecoder decoder;
+  private byte[] payload;
+
+  /** Build a payload shaped like a real hub upload. */
+  @Setup
+  public void setUp() {
+    objectMapper = new ObjectMapper().findAndRegisterModules();
+    decoder = new HubReadingDecoder(objectMapper);
+    StringBuilder json = new StringBuilder("{\"id\":1234,\"probeReadings\":[");
+    for (int i = 1; i <= probes; i++) {
+      json.append("{\"id\":").append(i).append(",\"currentTemp\":").append(100 + i * 10.25f);
+      json.append(i < probes ? "}," : "}");
+    }
+    payload = json.append("]}").toString().getBytes(StandardCharsets.UTF_8);
+  }
+
+  @Benchmark
+  public HubReading dataBinding() throws IOException {
+    return objectMapper.readValue(new ByteArrayInputStream(payload), HubReading.class);
+  }
+
+  @Benchmark
+  public ProbeReadingBuffer streamingDecoder() {
+    return decoder.decode(new ByteArrayInputStream(payload));
+  }
+}
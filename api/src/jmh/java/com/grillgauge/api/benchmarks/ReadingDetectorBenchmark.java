@@ -0,0 +1,72 @@
+package com.grillgauge.api.benchmarks;
+
+import com.grillgauge.api.detectors.LidOpenDetector;
+import com.grillgauge.api.detectors.ReadingDetector;
+import com.grillgauge.api.detectors.StallDetector;
+import com.grillgauge.api.domain.entitys.DetectorEvent.EventType;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the per-reading cost of each {@link ReadingDetector} on the ingest path. Readings are
+ * replayed round-robin across {@code probes} probes from a synthetic cook with noise, a stall and
+ * lid openings, so every branch of the detectors is exercised.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ReadingDetectorBenchmark {
+
+  private static final int READINGS = 4096;
+  private static final long INTERVAL_MILLIS = 5_000;
+
+  @Param({"stall", "lid"})
+  private String detectorName;
+
+  @Param({"1", "64"})
+  private int probes;
+
+  private ReadingDetector detector;
+  private float[] temps;
+  private long timeMillis;
+  private int next;
+
+  /** Build the detector and a synthetic cook to replay. */
+  @Setup
+  public void setUp() {
+    detector =
+        "stall".equals(detectorName)
+            ? new StallDetector(60, 300, 140, 180, 0.15, 0.4)
+            : new LidOpenDetector(0.05, 1.0, 15.0, 5.0, 10, 900);
+    Random random = new Random(42);
+    temps = new float[READINGS];
+    for (int i = 0; i < READINGS; i++) {
+      float base = i < 1000 ? 40 + i * 0.12f : i < 2500 ? 160 : 160 + (i - 2500) * 0.05f;
+      boolean lidOpen = i % 700 > 690;
+      temps[i] = base + (float) random.nextGaussian() * 0.3f - (lidOpen ? 30 : 0);
+    }
+  }
+
+  @Benchmark
+  public EventType update() {
+    int reading = next++;
+    if (reading % probes == 0) {
+      timeMillis += INTERVAL_MILLIS;
+    }
+    return detector.update(reading % probes, temps[(reading / probes) % READINGS], timeMillis);
+  }
+}
@@ -0,0 +1,165 @@
+package com.grillgauge.api.benchmarks;
+
+import com.grillgauge.api.domain.entitys.AlertEvent;
+import com.grillgauge.api.domain.entitys.CrlPublication;
+import com.grillgauge.api.domain.entitys.DetectorEvent;
+import com.grillgauge.api.domain.entitys.Hub;
+import com.grillgauge.api.domain.entitys.Probe;
+import com.grillgauge.api.domain.entitys.Reading;
+import com.grillgauge.api.domain.entitys.RevokedCertificate;
+import com.grillgauge.api.domain.entitys.User;
+import com.grillgauge.api.domain.models.ReadingPoint;
+import com.grillgauge.api.domain.models.ReadingSeries;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import org.hibernate.FlushMode;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.StatelessSession;
+import org.hibernate.Transaction;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares loading a probe's reading history as managed Reading entities, then mapping them to
+ * points as the history endpoint used to, against projecting the points straight from the query,
+ * and against streaming the projection into a columnar {@link ReadingSeries}. All run in a read-only session with manual flushing, as a {@code @Transactional(readOnly =
+ * true)} service method does. Run with {@code -prof gc} to see the bytes allocated per request.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = "-Xmx1g")
+public class ReadingHistoryQueryBenchmark {
+
+  private static final Instant START = Instant.parse("2024-01-01T00:00:00Z");
+
+  private static final String ENTITY_QUERY =
+      "from Reading r where r.probe.id = :probeId and r.timeStamp between :start and :end"
+          + " order by r.timeStamp asc";
+
+  private static final String POINT_QUERY =
+      "select new com.grillgauge.api.domain.models.ReadingPoint(r.id, r.probe.id,"
+          + " r.timeStamp, r.currentTemp) from Reading r where r.probe.id = :probeId"
+          + " and r.timeStamp between :start and :end order by r.timeStamp asc";
+
+  @Param({"100000"})
+  private int rows;
+
+  private SessionFactory sessionFactory;
+  private Long probeId;
+  private Instant end;
+
+  /** Create an in-memory schema and insert one probe with {@code rows} readings a second apart. */
+  @Setup
+  public void setUp() {
+    sessionFactory =
+        new Configuration()
+            .addAnnotatedClass(User.class)
+            .addAnnotatedClass(Hub.class)
+            .addAnnotatedClass(Probe.class)
+            .addAnnotatedClass(Reading.class)
+            .addAnnotatedClass(AlertEvent.class)
+            .addAnnotatedClass(DetectorEvent.class)
+            .addAnnotatedClass(RevokedCertificate.class)
+            .addAnnotatedClass(CrlPublication.class)
+            .setProperty(AvailableSettings.JAKARTA_JDBC_URL, "jdbc:h2:mem:history;DB_CLOSE_DELAY=-1")
+            .setProperty(AvailableSettings.JAKARTA_JDBC_USER, "sa")
+            .setProperty(AvailableSettings.HBM2DDL_AUTO, "create-drop")
+            .setProperty(AvailableSettings.STATEMENT_BATCH_SIZE, "1000")
+            .setProperty(AvailableSettings.USE_SECOND_LEVEL_CACHE, "false")
+            .buildSessionFactory();
+
+    end = START.plusSeconds(rows);
+    try (StatelessSession session = sessionFactory.openStatelessSession()) {
+      Transaction transaction = session.beginTransaction();
+      User user = new User("bench@example.com", "Bench", "Mark");
+      session.insert(user);
+      Hub hub = new Hub(user, "Bench Hub");
+      session.insert(hub);
+      Probe probe = new Probe(1, hub, user, 225f, "Brisket");
+      // Stateless inserts skip @PrePersist callbacks
+      probe.setColour("#F44336");
+      session.insert(probe);
+      for (int i = 0; i < rows; i++) {
+        session.insert(new Reading(probe, 150f + (i % 100) / 10f, START.plusSeconds(i)));
+      }
+      transaction.commit();
+      probeId = probe.getId();
+    }
+  }
+
+  /** Drop the schema and close the session factory. */
+  @TearDown
+  public void tearDown() {
+    sessionFactory.close();
+  }
+
+  @Benchmark
+  public List<ReadingPoint> entities() {
+    try (Session session = openReadOnlySession()) {
+      return session
+          .createSelectionQuery(ENTITY_QUERY, Reading.class)
+          .setParameter("probeId", probeId)
+          .setParameter("start", START)
+          .setParameter("end", end)
+          .getResultList()
+          .stream()
+          .map(r -> new ReadingPoint(r.getId(), probeId, r.getTimeStamp(), r.getCurrentTemp()))
+          .toList();
+    }
+  }
+
+  @Benchmark
+  public List<ReadingPoint> projection() {
+    try (Session session = openReadOnlySession()) {
+      return session
+          .createSelectionQuery(POINT_QUERY, ReadingPoint.class)
+          .setParameter("probeId", probeId)
+          .setParameter("start", START)
+          .setParameter("end", end)
+          .setFetchSize(1000)
+          .getResultList();
+    }
+  }
+
+  @Benchmark
+  public ReadingSeries series() {
+    try (Session session = openReadOnlySession();
+        Stream<ReadingPoint> points =
+            session
+                .createSelectionQuery(POINT_QUERY, ReadingPoint.class)
+                .setParameter("probeId", probeId)
+                .setParameter("start", START)
+                .setParameter("end", end)
+                .setFetchSize(1000)
+                .getResultStream()) {
+      ReadingSeries series = new ReadingSeries();
+      points.forEach(point -> series.add(point.timestamp().toEpochMilli(), point.temperature()));
+      return series;
+    }
+  }
+
+  private Session openReadOnlySession() {
+    Session session = sessionFactory.openSession();
+    session.setDefaultReadOnly(true);
+    session.setHibernateFlushMode(FlushMode.MANUAL);
+    return session;
+  }
+}
@@ -0,0 +1,190 @@
+package com.grillgauge.api.benchmarks;
+
+import com.grillgauge.api.domain.entitys.AlertEvent;
+import com.grillgauge.api.domain.entitys.CrlPublication;
+import com.grillgauge.api.domain.entitys.DetectorEvent;
+import com.grillgauge.api.domain.entitys.Hub;
+import com.grillgauge.api.domain.entitys.Probe;
+import com.grillgauge.api.domain.entitys.Reading;
+import com.grillgauge.api.domain.entitys.RevokedCertificate;
+import com.grillgauge.api.domain.entitys.User;
+import com.grillgauge.api.domain.models.ReadingPoint;
+import com.grillgauge.api.domain.models.ReadingSeries;
+import com.grillgauge.api.readingstore.TimeSeriesEngine;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import org.hibernate.FlushMode;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.StatelessSession;
+import org.hibernate.Transaction;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the relational reading table against the {@link TimeSeriesEngine} for the two things
+ * readings are used for: ingesting a hub upload and reading an hour of a probe's history into a
+ * {@link ReadingSeries}. The relational side runs on in-memory H2, so it flatters the database; a
+ * Postgres round trip only widens the gap.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = "-Xmx1g")
+public class ReadingStoreBenchmark {
+
+  private static final Instant START = Instant.parse("2024-01-01T00:00:00Z");
+
+  private static final String POINT_QUERY =
+      "select new com.grillgauge.api.domain.models.ReadingPoint(r.id, r.probe.id,"
+          + " r.timeStamp, r.currentTemp) from Reading r where r.probe.id = :probeId"
+          + " and r.timeStamp between :start and :end order by r.timeStamp asc";
+
+  @Param({"100000"})
+  private int rows;
+
+  @Param({"8"})
+  private int uploadSize;
+
+  private SessionFactory sessionFactory;
+  private Probe probe;
+  private Path directory;
+  private TimeSeriesEngine engine;
+  private Instant rangeStart;
+  private Instant rangeEnd;
+  private long nextSecond;
+
+  /** Insert {@code rows} readings a second apart for one probe into both stores. */
+  @Setup
+  public void setUp() throws IOException {
+    sessionFactory =
+        new Configuration()
+            .addAnnotatedClass(User.class)
+            .addAnnotatedClass(Hub.class)
+            .addAnnotatedClass(Probe.class)
+            .addAnnotatedClass(Reading.class)
+            .addAnnotatedClass(AlertEvent.class)
+            .addAnnotatedClass(DetectorEvent.class)
+            .addAnnotatedClass(RevokedCertificate.class)
+            .addAnnotatedClass(CrlPublication.class)
+            .setProperty(AvailableSettings.JAKARTA_JDBC_URL, "jdbc:h2:mem:store;DB_CLOSE_DELAY=-1")
+            .setProperty(AvailableSettings.JAKARTA_JDBC_USER, "sa")
+            .setProperty(AvailableSettings.HBM2DDL_AUTO, "create-drop")
+            .setProperty(AvailableSettings.STATEMENT_BATCH_SIZE, "1000")
+            .setProperty(AvailableSettings.USE_SECOND_LEVEL_CACHE, "false")
+            .buildSessionFactory();
+    directory = Files.createTempDirectory("reading-store-benchmark");
+    engine = new TimeSeriesEngine(directory, 1 << 20, 256);
+
+    try (StatelessSession session = sessionFactory.openStatelessSession()) {
+      Transaction transaction = session.beginTransaction();
+      User user = new User("bench@example.com", "Bench", "Mark");
+      session.insert(user);
+      Hub hub = new Hub(user, "Bench Hub");
+      session.insert(hub);
+      probe = new Probe(1, hub, user, 225f, "Brisket");
+      // Stateless inserts skip @PrePersist callbacks
+      probe.setColour("#F44336");
+      session.insert(probe);
+      for (int i = 0; i < rows; i++) {
+        Reading reading = new Reading(probe, 150f + (i % 100) / 10f, START.plusSeconds(i));
+        session.insert(reading);
+        engine.append(probe.getId(), reading.getTimeStamp().toEpochMilli(), reading.getCurrentTemp());
+      }
+      transaction.commit();
+    }
+    // An hour from the middle of the history
+    rangeStart = START.plusSeconds(rows / 2);
+    rangeEnd = rangeStart.plusSeconds(3600);
+    nextSecond = rows;
+  }
+
+  /** Close both stores and delete the segment files. */
+  @TearDown
+  public void tearDown() throws IOException {
+    sessionFactory.close();
+    engine.close();
+    try (Stream<Path> paths = Files.walk(directory)) {
+      for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+        Files.delete(path);
+      }
+    }
+  }
+
+  @Benchmark
+  public void ingestDatabase() {
+    try (Session session = sessionFactory.openSession()) {
+      Transaction transaction = session.beginTransaction();
+      Instant timeStamp = START.plusSeconds(nextSecond++);
+      for (int i = 0; i < uploadSize; i++) {
+        session.persist(new Reading(probe, 150f + i, timeStamp));
+      }
+      transaction.commit();
+    }
+  }
+
+  @Benchmark
+  public void ingestTimeSeries() {
+    long timestampMillis = START.plusSeconds(nextSecond++).toEpochMilli();
+    for (int i = 0; i < uploadSize; i++) {
+      engine.append(probe.getId(), timestampMillis, 150f + i);
+    }
+  }
+
+  @Benchmark
+  public ReadingSeries rangeDatabase() {
+    try (Session session = sessionFactory.openSession();
+        Stream<ReadingPoint> points =
+            readOnly(session)
+                .createSelectionQuery(POINT_QUERY, ReadingPoint.class)
+                .setParameter("probeId", probe.getId())
+                .setParameter("start", rangeStart)
+                .setParameter("end", rangeEnd)
+                .setFetchSize(1000)
+                .getResultStream()) {
+      ReadingSeries series = new ReadingSeries();
+      points.forEach(point -> series.add(point.timestamp().toEpochMilli(), point.temperature()));
+      return series;
+    }
+  }
+
+  @Benchmark
+  public ReadingSeries rangeTimeSeries() {
+    ReadingSeries series = new ReadingSeries();
+    engine.scan(
+        probe.getId(),
+        rangeStart.toEpochMilli(),
+        rangeEnd.toEpochMilli(),
+        true,
+        (id, timestampMillis, temperature) -> {
+          series.add(timestampMillis, temperature);
+          return true;
+        });
+    return series;
+  }
+
+  private static Session readOnly(final Session session) {
+    session.setDefaultReadOnly(true);
+    session.setHibernateFlushMode(FlushMode.MANUAL);
+    return session;
+  }
+}
@@ -0,0 +1,73 @@
+package com.grillgauge.api.alerts;
+
+import com.grillgauge.api.domain.entitys.AlertEvent;
+import com.grillgauge.api.domain.models.AlertNotification;
+import com.grillgauge.api.domain.repositorys.AlertEventRepository;
+import java.time.Instant;
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Drains the {@link AlertEvent} outbox in batches on the scheduler thread and hands each batch to
+ * every {@link AlertSubscriber}. A failing subscriber does not hold up the others, and events are
+ * only marked delivered once every subscriber has accepted them, so a failure or a crash mid-batch
+ * leaves the batch to be redelivered, to every subscriber, on the next run.
+ */
+@Component
+public class AlertDispatcher {
+  private static final Logger LOG = LoggerFactory.getLogger(AlertDispatcher.class);
+
+  private final AlertEventRepository alertEventRepository;
+  private final List<AlertSubscriber> subscribers;
+  private final int batchSize;
+
+  /**
+   * Constructor for AlertDispatcher.
+   *
+   * @param alertEventRepository The repository holding the alert outbox.
+   * @param subscribers The subscribers alerts are delivered to.
+   * @param batchSize The maximum number of alerts delivered per batch.
+   */
+  public AlertDispatcher(
+      final AlertEventRepository alertEventRepository,
+      final List<AlertSubscriber> subscribers,
+      @Value("${alerts.dispatch.batch-size:100}") final int batchSize) {
+    this.alertEventRepository = alertEventRepository;
+    this.subscribers = subscribers;
+    this.batchSize = batchSize;
+  }
+
+  /** Deliver the next batch of undelivered alerts. */
+  @Scheduled(fixedDelayString = "${alerts.dispatch.interval-ms:1000}")
+  @Transactional
+  public void dispatchPendingAlerts() {
+    List<AlertEvent> pending =
+        alertEventRepository.findByDeliveredAtIsNullOrderByIdAsc(Limit.of(batchSize));
+    if (pending.isEmpty()) {
+      return;
+    }
+    List<AlertNotification> alerts = pending.stream().map(AlertNotification::from).toList();
+    boolean failed = false;
+    for (AlertSubscriber subscriber : subscribers) {
+      try {
+        subscriber.onAlerts(alerts);
+      } catch (RuntimeException e) {
+        LOG.error("Alert subscriber {} failed", subscriber.getClass().getSimpleName(), e);
+        failed = true;
+      }
+    }
+    if (failed) {
+      LOG.warn("Leaving {} alerts for redelivery on the next run", alerts.size());
+      return;
+    }
+    alertEventRepository.markDelivered(
+        alerts.stream().map(AlertNotification::id).toList(), Instant.now());
+    LOG.info("Delivered {} alerts to {} subscribers", alerts.size(), subscribers.size());
+  }
+}
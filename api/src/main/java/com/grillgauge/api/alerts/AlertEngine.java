@@ -0,0 +1,174 @@
+package com.grillgauge.api.alerts;
+
+import com.grillgauge.api.domain.entitys.AlertEvent;
+import com.grillgauge.api.domain.entitys.AlertEvent.AlertState;
+import com.grillgauge.api.domain.entitys.AlertEvent.AlertType;
+import com.grillgauge.api.domain.entitys.Probe;
+import com.grillgauge.api.domain.events.ProbesDeletedEvent;
+import com.grillgauge.api.domain.repositorys.AlertEventRepository;
+import com.grillgauge.api.ingest.ReadingListener;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Evaluates every ingested reading against its probe's target, high and low alert temperatures.
+ *
+ * <p>Per-probe state is held in memory and each reading is evaluated in O(1) using the thresholds
+ * already loaded on the Probe, so no queries are issued per reading. A condition must hold for
+ * {@code alerts.debounce-readings} consecutive readings before an alert is raised, and must recover
+ * past the threshold by {@code alerts.hysteresis} degrees for as many readings before it clears.
+ * Only transitions are written, to the {@link AlertEvent} outbox, in a transaction of their own as
+ * readings reach listeners after the ingest transaction commits.
+ */
+@Component
+public class AlertEngine implements ReadingListener {
+  private static final Logger LOG = LoggerFactory.getLogger(AlertEngine.class);
+
+  private final AlertEventRepository alertEventRepository;
+  private final TransactionTemplate transactionTemplate;
+  private final float hysteresis;
+  private final int debounceReadings;
+  private final Map<Long, ProbeAlertState> states = new ConcurrentHashMap<>();
+
+  /**
+   * Constructor for AlertEngine.
+   *
+   * @param alertEventRepository The repository the alert outbox is written to.
+   * @param transactionManager The transaction manager transitions are written with.
+   * @param hysteresis Degrees a reading must recover past a threshold before the alert clears.
+   * @param debounceReadings Consecutive readings required to raise or clear an alert.
+   */
+  public AlertEngine(
+      final AlertEventRepository alertEventRepository,
+      final PlatformTransactionManager transactionManager,
+      @Value("${alerts.hysteresis:2.0}") final float hysteresis,
+      @Value("${alerts.debounce-readings:2}") final int debounceReadings) {
+    this.alertEventRepository = alertEventRepository;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    this.hysteresis = hysteresis;
+    this.debounceReadings = Math.max(1, debounceReadings);
+  }
+
+  @Override
+  public void onReading(final Probe probe, final float temp, final Instant timeStamp) {
+    ProbeAlertState state = states.computeIfAbsent(probe.getId(), id -> new ProbeAlertState());
+    List<AlertEvent> transitions = null;
+    synchronized (state) {
+      transitions =
+          evaluate(
+              state.target,
+              probe,
+              AlertType.TARGET_REACHED,
+              probe.getTargetTemp(),
+              temp,
+              timeStamp,
+              transitions);
+      transitions =
+          evaluate(
+              state.high,
+              probe,
+              AlertType.HIGH_TEMP,
+              probe.getHighAlertTemp(),
+              temp,
+              timeStamp,
+              transitions);
+      transitions =
+          evaluate(
+              state.low,
+              probe,
+              AlertType.LOW_TEMP,
+              probe.getLowAlertTemp(),
+              temp,
+              timeStamp,
+              transitions);
+    }
+    if (transitions != null) {
+      LOG.info(
+          "Recording {} alert transitions for probe ID: {}", transitions.size(), probe.getId());
+      List<AlertEvent> outbox = transitions;
+      transactionTemplate.executeWithoutResult(status -> alertEventRepository.saveAll(outbox));
+    }
+  }
+
+  /**
+   * Drop the alert state of deleted probes once their deletion commits.
+   *
+   * @param event the deletion.
+   */
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onProbesDeleted(final ProbesDeletedEvent event) {
+    event.probeIds().forEach(states::remove);
+  }
+
+  private List<AlertEvent> evaluate(
+      final Band band,
+      final Probe probe,
+      final AlertType type,
+      final Float threshold,
+      final float temp,
+      final Instant timeStamp,
+      final List<AlertEvent> transitions) {
+    if (threshold == null) {
+      band.reset(null);
+      return transitions;
+    }
+    if (!threshold.equals(band.threshold)) {
+      band.reset(threshold);
+    }
+
+    final boolean above = type != AlertType.LOW_TEMP;
+    final boolean moving =
+        band.active
+            ? (above ? temp < threshold - hysteresis : temp > threshold + hysteresis)
+            : (above ? temp >= threshold : temp <= threshold);
+    band.pending = moving ? band.pending + 1 : 0;
+    if (band.pending < debounceReadings) {
+      return transitions;
+    }
+
+    band.active = !band.active;
+    band.pending = 0;
+    List<AlertEvent> result = transitions == null ? new ArrayList<>(3) : transitions;
+    result.add(
+        new AlertEvent(
+            probe,
+            type,
+            band.active ? AlertState.RAISED : AlertState.CLEARED,
+            temp,
+            threshold,
+            timeStamp));
+    return result;
+  }
+
+  /** In-memory alert state of a single probe. */
+  private static final class ProbeAlertState {
+    private final Band target = new Band();
+    private final Band high = new Band();
+    private final Band low = new Band();
+  }
+
+  /** Debounce and activation state of one threshold. */
+  private static final class Band {
+    private Float threshold;
+    private boolean active;
+    private int pending;
+
+    private void reset(final Float newThreshold) {
+      threshold = newThreshold;
+      active = false;
+      pending = 0;
+    }
+  }
+}
@@ -0,0 +1,18 @@
+package com.grillgauge.api.alerts;
+
+import com.grillgauge.api.domain.models.AlertNotification;
+import java.util.List;
+
+/**
+ * Receiver of alert notifications. Implementations are discovered as Spring beans and called by the
+ * {@link AlertDispatcher} off the ingest path, once per delivered batch.
+ */
+public interface AlertSubscriber {
+
+  /**
+   * Handle a batch of alerts, ordered by the time they were raised.
+   *
+   * @param alerts the alerts to deliver.
+   */
+  void onAlerts(List<AlertNotification> alerts);
+}
@@ -0,0 +1,57 @@
+package com.grillgauge.api.config;
+
+import com.grillgauge.api.datasource.ReplicaLagMonitor;
+import com.grillgauge.api.ingest.wal.WriteAheadLog;
+import com.grillgauge.api.readingstore.ReadingStore;
+import com.grillgauge.api.readingstore.TimeSeriesReadingStore;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+/**
+ * Fails startup when a property that selects beans disagrees with the beans that were created.
+ *
+ * <p>The fast-startup and native builds are AOT-processed, which fixes bean conditions at build
+ * time, so setting {@code readings.store}, {@code ingest.wal.enabled} or {@code
+ * datasource.replica.url} only at runtime would otherwise be silently ignored. Such builds have to
+ * be made with the properties passed through {@code -Dspring.aot.jvmArguments}.
+ */
+@Component
+public class AotConditionsCheck {
+
+  /**
+   * Constructor for AotConditionsCheck.
+   *
+   * @param environment The Environment holding the runtime properties.
+   * @param readingStore The ReadingStore that was created.
+   * @param writeAheadLog The WriteAheadLog, if one was created.
+   * @param replicaLagMonitor The ReplicaLagMonitor, if read replica routing was configured.
+   */
+  public AotConditionsCheck(
+      final Environment environment,
+      final ReadingStore readingStore,
+      final ObjectProvider<WriteAheadLog> writeAheadLog,
+      final ObjectProvider<ReplicaLagMonitor> replicaLagMonitor) {
+    check(
+        "readings.store",
+        "timeseries".equals(environment.getProperty("readings.store", "jpa")),
+        readingStore instanceof TimeSeriesReadingStore);
+    check(
+        "ingest.wal.enabled",
+        environment.getProperty("ingest.wal.enabled", Boolean.class, false),
+        writeAheadLog.getIfAvailable() != null);
+    check(
+        "datasource.replica.url",
+        !"false".equalsIgnoreCase(environment.getProperty("datasource.replica.url", "false")),
+        replicaLagMonitor.getIfAvailable() != null);
+  }
+
+  private static void check(final String property, final boolean configured, final boolean built) {
+    if (configured != built) {
+      throw new IllegalStateException(
+          "%s does not match the beans this build was AOT-processed with; pass it through"
+                  .formatted(property)
+              + " -Dspring.aot.jvmArguments when building");
+    }
+  }
+}
@@ -0,0 +1,78 @@
+package com.grillgauge.api.config;
+
+import com.grillgauge.api.domain.models.ReadingSeriesSerializer;
+import com.grillgauge.api.ingest.HubStreamHandler;
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.TypeReference;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportRuntimeHints;
+
+/**
+ * Reflection and resource metadata for the native image (mvn -Pnative package).
+ *
+ * <p>Spring AOT already covers beans, entities, repositories and controller payloads. These hints
+ * cover what is only reached by name at runtime: the JCache provider and its region config, the
+ * BouncyCastle services {@code CertificateService} asks the "BC" provider for, and the WebSocket
+ * frames that are serialized outside of a controller.
+ */
+@Configuration
+@ImportRuntimeHints(NativeImageConfig.Hints.class)
+public class NativeImageConfig {
+
+  /** BouncyCastle algorithm mappings, loaded by name when the provider is constructed. */
+  private static final String[] BOUNCY_CASTLE_MAPPINGS = {
+    "org.bouncycastle.jcajce.provider.asymmetric.RSA$Mappings",
+    "org.bouncycastle.jcajce.provider.asymmetric.X509$Mappings",
+  };
+
+  /** BouncyCastle services, instantiated by name through the JCA. */
+  private static final String[] BOUNCY_CASTLE_SERVICES = {
+    // CertificateFactory.X.509, for certificates and CRLs
+    "org.bouncycastle.jcajce.provider.asymmetric.x509.CertificateFactory",
+    // KeyFactory.RSA, for the CA key
+    "org.bouncycastle.jcajce.provider.asymmetric.rsa.KeyFactorySpi",
+    // Signature.SHA256WITHRSA, for CSR signature checks
+    "org.bouncycastle.jcajce.provider.asymmetric.rsa.DigestSignatureSpi$SHA256",
+  };
+
+  static class Hints implements RuntimeHintsRegistrar {
+
+    @Override
+    public void registerHints(final RuntimeHints hints, final ClassLoader classLoader) {
+      // Caffeine JCache regions for the Hibernate second-level cache
+      hints.resources().registerPattern("application.conf");
+      hints
+          .reflection()
+          .registerType(
+              TypeReference.of("com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider"),
+              MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS)
+          .registerType(
+              TypeReference.of("org.hibernate.cache.jcache.internal.JCacheRegionFactory"),
+              MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS);
+
+      for (String mappings : BOUNCY_CASTLE_MAPPINGS) {
+        hints
+            .reflection()
+            .registerType(TypeReference.of(mappings), MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS);
+      }
+      for (String service : BOUNCY_CASTLE_SERVICES) {
+        hints
+            .reflection()
+            .registerType(TypeReference.of(service), MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS);
+      }
+
+      hints
+          .reflection()
+          .registerType(ReadingSeriesSerializer.class, MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS);
+      new BindingReflectionHintsRegistrar()
+          .registerReflectionHints(
+              hints.reflection(),
+              HubStreamHandler.TargetTempFrame.class,
+              HubStreamHandler.AlertFrame.class,
+              HubStreamHandler.ErrorFrame.class);
+    }
+  }
+}
@@ -0,0 +1,38 @@
+package com.grillgauge.api.config;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadPoolExecutor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * Runs OTP hashing and verification on a small, bounded pool. BCrypt costs tens of milliseconds of
+ * CPU per call, so a burst of pairing attempts is queued here instead of tying up request threads
+ * that hub uploads need. Once the queue is full further attempts are rejected rather than waiting.
+ */
+@Configuration
+public class OtpHashingConfig {
+
+  /**
+   * Executor for BCrypt OTP work.
+   *
+   * @param threads number of hashing threads.
+   * @param queueCapacity number of attempts that may wait for a hashing thread.
+   * @return the executor.
+   */
+  @Bean
+  Executor otpExecutor(
+      @Value("${otp.hashing.threads:2}") final int threads,
+      @Value("${otp.hashing.queue-capacity:100}") final int queueCapacity) {
+    ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+    executor.setCorePoolSize(threads);
+    executor.setMaxPoolSize(threads);
+    executor.setQueueCapacity(queueCapacity);
+    executor.setThreadNamePrefix("otp-hashing-");
+    executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+    executor.initialize();
+    return executor;
+  }
+}
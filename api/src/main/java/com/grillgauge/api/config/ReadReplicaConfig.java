@@ -0,0 +1,94 @@
+package com.grillgauge.api.config;
+
+import com.grillgauge.api.datasource.ReadWriteRoutingDataSource;
+import com.grillgauge.api.datasource.ReplicaLagMonitor;
+import com.grillgauge.api.datasource.ReplicaReadCacheMode;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import javax.sql.DataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+/**
+ * Routes {@code @Transactional(readOnly = true)} work to a read replica, so history and dashboard
+ * reads scale out separately from the ingest write path. Only active when {@code
+ * datasource.replica.url} is set; otherwise the single {@code spring.datasource} is used as before.
+ * Read-only transactions then bypass the second-level and query caches.
+ */
+@Configuration
+@ConditionalOnProperty(name = "datasource.replica.url")
+public class ReadReplicaConfig {
+
+  /** The primary, read-write pool, configured from {@code spring.datasource}. */
+  @Bean
+  @ConfigurationProperties("spring.datasource.hikari")
+  HikariDataSource primaryDataSource(final DataSourceProperties properties) {
+    return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+  }
+
+  /** The read replica pool, configured from {@code datasource.replica}. */
+  @Bean
+  @ConfigurationProperties("datasource.replica.hikari")
+  HikariDataSource replicaDataSource(
+      @Value("${datasource.replica.url}") final String url,
+      @Value("${datasource.replica.username:${spring.datasource.username:}}") final String username,
+      @Value("${datasource.replica.password:${spring.datasource.password:}}") final String password,
+      final DataSourceProperties primaryProperties) {
+    HikariDataSource replica =
+        DataSourceBuilder.create()
+            .type(HikariDataSource.class)
+            .driverClassName(primaryProperties.determineDriverClassName())
+            .url(url)
+            .username(username)
+            .password(password)
+            .build();
+    replica.setPoolName("replica");
+    replica.setReadOnly(true);
+    return replica;
+  }
+
+  @Bean
+  ReplicaLagMonitor replicaLagMonitor(
+      @Qualifier("replicaDataSource") final DataSource replica,
+      @Value(
+              "${datasource.replica.lag-query:SELECT CASE WHEN pg_is_in_recovery() THEN COALESCE("
+                  + "EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()), 0) ELSE 0 END}")
+          final String lagQuery,
+      @Value("${datasource.replica.max-lag-seconds:5}") final double maxLagSeconds,
+      final MeterRegistry meterRegistry) {
+    ReplicaLagMonitor monitor = new ReplicaLagMonitor(replica, lagQuery, maxLagSeconds);
+    Gauge.builder("datasource.replica.lag", monitor, ReplicaLagMonitor::getLagSeconds)
+        .baseUnit("seconds")
+        .register(meterRegistry);
+    return monitor;
+  }
+
+  /** Keeps read-only transactions, which may read from a lagging replica, out of the caches. */
+  @Bean
+  ReplicaReadCacheMode replicaReadCacheMode(final EntityManagerFactory entityManagerFactory) {
+    return new ReplicaReadCacheMode(entityManagerFactory);
+  }
+
+  /** The DataSource used by JPA and everything else, routing per transaction. */
+  @Bean
+  @Primary
+  DataSource dataSource(
+      @Qualifier("primaryDataSource") final DataSource primary,
+      @Qualifier("replicaDataSource") final DataSource replica,
+      final ReplicaLagMonitor replicaLagMonitor) {
+    ReadWriteRoutingDataSource routing =
+        new ReadWriteRoutingDataSource(primary, replica, replicaLagMonitor);
+    routing.afterPropertiesSet();
+    return new LazyConnectionDataSourceProxy(routing);
+  }
+}
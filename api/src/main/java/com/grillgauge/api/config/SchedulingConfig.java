@@ -0,0 +1,9 @@
+package com.grillgauge.api.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/** Enables the background jobs that run off the request path (e.g. alert delivery). */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {}
@@ -1,6 +1,8 @@
 package com.grillgauge.api.config;
 
 import com.grillgauge.api.security.CertificateUserDetailsService;
+import com.grillgauge.api.security.HubRateLimitFilter;
+import com.grillgauge.api.security.HubRateLimiter;
 import java.security.Security;
 import org.bouncycastle.jce.provider.BouncyCastleProvider;
 import org.springframework.beans.factory.annotation.Value;
@@ -18,6 +20,7 @@ import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
 import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationConverter;
 import org.springframework.security.oauth2.server.resource.authentication.JwtGrantedAuthoritiesConverter;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.preauth.x509.X509AuthenticationFilter;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
@@ -40,7 +43,9 @@ public class SecurityConfig {
   /** Configure the security filter chain. */
   @Bean
   SecurityFilterChain securityFilterChain(
-      HttpSecurity http, CertificateUserDetailsService certificateUserDetailsService)
+      HttpSecurity http,
+      CertificateUserDetailsService certificateUserDetailsService,
+      HubRateLimiter hubRateLimiter)
       throws Exception {
 
     http.cors(cors -> {});
@@ -52,6 +57,11 @@ public class SecurityConfig {
     http.authorizeHttpRequests(
         auth ->
             auth
+                // Operational endpoints
+                .requestMatchers("/actuator/health")
+                .permitAll()
+                .requestMatchers("/actuator/**")
+                .hasRole("ADMIN")
                 // mTLS hubs
                 .requestMatchers("/api/v1/externalHub/**")
                 .hasRole("HUB")
@@ -63,7 +73,8 @@ public class SecurityConfig {
                     "/api/v1/hub/**",
                     "/api/v1/probe/**",
                     "/api/v1/register/confirm",
-                    "/api/v1/register/*/revoke")
+                    "/api/v1/register/*/revoke",
+                    "/api/v1/register/bulk/**")
                 .authenticated()
                 // User management endpoints
                 .requestMatchers("/api/v1/user/**")
@@ -77,6 +88,8 @@ public class SecurityConfig {
 
     http.x509(x509 -> x509.authenticationUserDetailsService(certificateUserDetailsService));
 
+    http.addFilterAfter(new HubRateLimitFilter(hubRateLimiter), X509AuthenticationFilter.class);
+
     http.oauth2ResourceServer(
         oauth2 -> oauth2.jwt(jwt -> jwt.jwtAuthenticationConverter(jwtAuthenticationConverter())));
 
@@ -1,5 +1,10 @@
 package com.grillgauge.api.config;
 
+import com.grillgauge.api.logging.IngestLogSampler;
+import com.grillgauge.api.logging.IngestLogSamplingFilter;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
@@ -13,4 +18,20 @@ public class WebConfig implements WebMvcConfigurer {
   // public void addFormatters(@NonNull final FormatterRegistry registry) {
   // registry.addConverter(new ProbeReadingToReading());
   // }
+
+  /**
+   * Register the {@link IngestLogSamplingFilter} before the Spring Security filter chain, so the
+   * authentication of an unsampled hub request is not logged either.
+   *
+   * @param ingestLogSampler The IngestLogSampler deciding which requests are sampled.
+   * @return the filter registration.
+   */
+  @Bean
+  public FilterRegistrationBean<IngestLogSamplingFilter> ingestLogSamplingFilter(
+      final IngestLogSampler ingestLogSampler) {
+    FilterRegistrationBean<IngestLogSamplingFilter> registration =
+        new FilterRegistrationBean<>(new IngestLogSamplingFilter(ingestLogSampler));
+    registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER - 1);
+    return registration;
+  }
 }
@@ -0,0 +1,29 @@
+package com.grillgauge.api.config;
+
+import com.grillgauge.api.ingest.HubStreamHandler;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.socket.config.annotation.EnableWebSocket;
+import org.springframework.web.socket.config.annotation.WebSocketConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketHandlerRegistry;
+
+/**
+ * WebSocket configuration for the persistent hub reading stream.
+ *
+ * <p>The stream lives under {@code /api/v1/externalHub} so the upgrade request is authenticated by
+ * the same X.509 rules as the HTTP ingest endpoint.
+ */
+@Configuration
+@EnableWebSocket
+public class WebSocketConfig implements WebSocketConfigurer {
+
+  private final HubStreamHandler hubStreamHandler;
+
+  public WebSocketConfig(final HubStreamHandler hubStreamHandler) {
+    this.hubStreamHandler = hubStreamHandler;
+  }
+
+  @Override
+  public void registerWebSocketHandlers(final WebSocketHandlerRegistry registry) {
+    registry.addHandler(hubStreamHandler, "/api/v1/externalHub/stream");
+  }
+}
@@ -0,0 +1,48 @@
+package com.grillgauge.api.config;
+
+import com.grillgauge.api.domain.repositorys.HubRepository;
+import com.grillgauge.api.ingest.wal.WalReplayer;
+import com.grillgauge.api.ingest.wal.WriteAheadLog;
+import com.grillgauge.api.services.ProbeService;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.nio.file.Path;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Keeps hubs' uploads on local disk while the database is unavailable, so they are acknowledged
+ * rather than lost, and replays them once it is back. Only active when {@code ingest.wal.enabled}
+ * is true; otherwise uploads fail while the database does.
+ */
+@Configuration
+@ConditionalOnProperty(name = "ingest.wal.enabled", havingValue = "true")
+public class WriteAheadLogConfig {
+
+  @Bean
+  WriteAheadLog writeAheadLog(
+      @Value("${ingest.wal.directory:wal}") final String directory,
+      @Value("${ingest.wal.segment-bytes:16777216}") final int segmentBytes,
+      @Value("${ingest.wal.force:false}") final boolean force,
+      final MeterRegistry meterRegistry) {
+    WriteAheadLog writeAheadLog = new WriteAheadLog(Path.of(directory), segmentBytes, force);
+    Gauge.builder("ingest.wal.pending", writeAheadLog, WriteAheadLog::getPendingUploads)
+        .description("Uploads in the write-ahead log waiting to be replayed into the database")
+        .register(meterRegistry);
+    return writeAheadLog;
+  }
+
+  @Bean
+  WalReplayer walReplayer(
+      final WriteAheadLog writeAheadLog,
+      final ProbeService probeService,
+      final HubRepository hubRepository,
+      final TransactionTemplate transactionTemplate,
+      @Value("${ingest.wal.replay-batch-size:100}") final int batchSize) {
+    return new WalReplayer(
+        writeAheadLog, probeService, hubRepository, transactionTemplate, batchSize);
+  }
+}
@@ -0,0 +1,272 @@
+package com.grillgauge.api.connectivity;
+
+import com.grillgauge.api.connectivity.HashedTimerWheel.Timeout;
+import com.grillgauge.api.domain.entitys.HubLastSeen;
+import com.grillgauge.api.domain.entitys.Probe;
+import com.grillgauge.api.domain.events.ConnectivityChangedEvent;
+import com.grillgauge.api.domain.events.ConnectivityChangedEvent.Subject;
+import com.grillgauge.api.domain.events.ProbesDeletedEvent;
+import com.grillgauge.api.domain.repositorys.HubLastSeenRepository;
+import com.grillgauge.api.domain.repositorys.HubRepository;
+import com.grillgauge.api.ingest.ReadingListener;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Tracks which hubs and probes are online from the readings they send.
+ *
+ * <p>Every ingested reading marks its probe and hub online and pushes their offline deadline {@code
+ * connectivity.timeout-seconds} ahead. Readings only take the lock of their own hub and probe: a
+ * timeout is scheduled in a {@link HashedTimerWheel} when a hub or probe comes online, and when it
+ * fires it is rescheduled to the deadline readings have pushed it to since, or marks the hub or
+ * probe offline if that has passed. The wheel is advanced every {@code connectivity.tick-ms}. Each
+ * change publishes a {@link ConnectivityChangedEvent}. The last temperature of each probe is kept
+ * so dashboards get current temperatures and connectivity without querying readings.
+ *
+ * <p>{@link HubLastSeen} is not written per reading: the latest time per hub is coalesced in memory
+ * and flushed every {@code connectivity.last-seen-flush-ms}.
+ */
+@Component
+public class ConnectivityTracker implements ReadingListener {
+  private static final Logger LOG = LoggerFactory.getLogger(ConnectivityTracker.class);
+
+  private final HubRepository hubRepository;
+  private final HubLastSeenRepository hubLastSeenRepository;
+  private final ApplicationEventPublisher eventPublisher;
+  private final long timeoutMillis;
+  private final HashedTimerWheel<Tracked> wheel;
+  private final Map<Long, Tracked> probes = new ConcurrentHashMap<>();
+  private final Map<Long, Tracked> hubs = new ConcurrentHashMap<>();
+  private final Map<Long, Instant> pendingLastSeen = new ConcurrentHashMap<>();
+
+  /**
+   * Constructor for ConnectivityTracker.
+   *
+   * @param hubRepository The HubRepository used to check a hub exists before its first flush.
+   * @param hubLastSeenRepository The repository lastSeenAt is flushed to.
+   * @param eventPublisher The publisher for connectivity change events.
+   * @param timeoutSeconds Seconds without a reading after which a hub or probe is offline.
+   * @param tickMillis The resolution of the offline deadlines.
+   */
+  public ConnectivityTracker(
+      final HubRepository hubRepository,
+      final HubLastSeenRepository hubLastSeenRepository,
+      final ApplicationEventPublisher eventPublisher,
+      @Value("${connectivity.timeout-seconds:300}") final long timeoutSeconds,
+      @Value("${connectivity.tick-ms:1000}") final long tickMillis) {
+    this.hubRepository = hubRepository;
+    this.hubLastSeenRepository = hubLastSeenRepository;
+    this.eventPublisher = eventPublisher;
+    this.timeoutMillis = timeoutSeconds * 1000;
+    this.wheel =
+        new HashedTimerWheel<>(
+            tickMillis, (int) (timeoutMillis / tickMillis) + 1, System.currentTimeMillis());
+  }
+
+  /** Connectivity of a single probe, as last observed. */
+  public record ProbeStatus(boolean online, float currentTemp, Instant lastSeenAt) {}
+
+  @Override
+  public void onReading(final Probe probe, final float temp, final Instant timeStamp) {
+    Long hubId = probe.getHub().getId();
+    List<ConnectivityChangedEvent> transitions = new ArrayList<>(2);
+    record(probes, Subject.PROBE, probe.getId(), temp, timeStamp, transitions);
+    record(hubs, Subject.HUB, hubId, temp, timeStamp, transitions);
+    pendingLastSeen.merge(hubId, timeStamp, (a, b) -> a.isAfter(b) ? a : b);
+    transitions.forEach(this::publish);
+  }
+
+  /**
+   * Seed the connectivity of a probe from its latest stored reading, for probes that have not sent
+   * a reading since startup.
+   *
+   * @param probeId the ID of the probe.
+   * @param temp the temperature of its latest reading.
+   * @param timeStamp the time of its latest reading.
+   */
+  public void seedProbe(final Long probeId, final float temp, final Instant timeStamp) {
+    if (!probes.containsKey(probeId)) {
+      record(probes, Subject.PROBE, probeId, temp, timeStamp, null);
+    }
+  }
+
+  /**
+   * Get the connectivity of a probe.
+   *
+   * @param probeId the ID of the probe.
+   * @return the probe's status, or null if it has not been seen since startup.
+   */
+  public ProbeStatus getProbeStatus(final Long probeId) {
+    Tracked tracked = probes.get(probeId);
+    if (tracked == null) {
+      return null;
+    }
+    synchronized (tracked) {
+      return new ProbeStatus(tracked.online, tracked.currentTemp, tracked.lastSeenAt);
+    }
+  }
+
+  /**
+   * Whether a hub has sent a reading within the connectivity timeout.
+   *
+   * @param hubId the ID of the hub.
+   * @return true if the hub is online.
+   */
+  public boolean isHubOnline(final Long hubId) {
+    Tracked tracked = hubs.get(hubId);
+    if (tracked == null) {
+      return false;
+    }
+    synchronized (tracked) {
+      return tracked.online;
+    }
+  }
+
+  /** Mark every hub and probe whose deadline has passed offline. */
+  @Scheduled(fixedRateString = "${connectivity.tick-ms:1000}")
+  public void expireDeadlines() {
+    expireDeadlines(System.currentTimeMillis());
+  }
+
+  /**
+   * Mark every hub and probe whose deadline has passed by the given time offline.
+   *
+   * @param nowMillis the current time, in epoch milliseconds.
+   */
+  void expireDeadlines(final long nowMillis) {
+    List<Tracked> fired = new ArrayList<>();
+    synchronized (wheel) {
+      wheel.advance(nowMillis, fired::add);
+    }
+    List<ConnectivityChangedEvent> transitions = new ArrayList<>();
+    for (Tracked tracked : fired) {
+      synchronized (tracked) {
+        if (tracked.removed) {
+          continue;
+        }
+        if (tracked.deadlineMillis > nowMillis) {
+          schedule(tracked);
+        } else {
+          tracked.online = false;
+          transitions.add(
+              new ConnectivityChangedEvent(tracked.subject, tracked.id, false, tracked.lastSeenAt));
+        }
+      }
+    }
+    transitions.forEach(this::publish);
+  }
+
+  /**
+   * Stop tracking deleted probes once their deletion commits, cancelling their offline deadlines.
+   *
+   * @param event the deletion.
+   */
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onProbesDeleted(final ProbesDeletedEvent event) {
+    for (Long probeId : event.probeIds()) {
+      Tracked tracked = probes.remove(probeId);
+      if (tracked != null) {
+        synchronized (tracked) {
+          tracked.removed = true;
+          synchronized (wheel) {
+            wheel.cancel(tracked.timeout);
+          }
+        }
+      }
+    }
+  }
+
+  /** Write the latest coalesced lastSeenAt of each hub seen since the previous flush. */
+  @Scheduled(fixedDelayString = "${connectivity.last-seen-flush-ms:10000}")
+  @Transactional
+  public void flushLastSeen() {
+    int updated = 0;
+    for (Long hubId : pendingLastSeen.keySet()) {
+      Instant lastSeenAt = pendingLastSeen.remove(hubId);
+      if (lastSeenAt == null) {
+        continue;
+      }
+      if (hubLastSeenRepository.updateLastSeenAt(hubId, lastSeenAt) > 0) {
+        updated++;
+      } else if (!hubLastSeenRepository.existsById(hubId) && hubRepository.existsById(hubId)) {
+        hubLastSeenRepository.save(
+            new HubLastSeen(hubRepository.getReferenceById(hubId), lastSeenAt));
+        updated++;
+      }
+    }
+    if (updated > 0) {
+      LOG.debug("Flushed lastSeenAt for {} hubs", updated);
+    }
+  }
+
+  private void record(
+      final Map<Long, Tracked> tracked,
+      final Subject subject,
+      final Long id,
+      final float temp,
+      final Instant timeStamp,
+      final List<ConnectivityChangedEvent> transitions) {
+    Tracked entry = tracked.computeIfAbsent(id, key -> new Tracked(subject, key));
+    synchronized (entry) {
+      if (entry.removed || entry.lastSeenAt != null && entry.lastSeenAt.isAfter(timeStamp)) {
+        return;
+      }
+      entry.currentTemp = temp;
+      entry.lastSeenAt = timeStamp;
+      long deadlineMillis = timeStamp.toEpochMilli() + timeoutMillis;
+      if (deadlineMillis <= System.currentTimeMillis()) {
+        return;
+      }
+      entry.deadlineMillis = deadlineMillis;
+      if (!entry.online) {
+        entry.online = true;
+        schedule(entry);
+        if (transitions != null) {
+          transitions.add(new ConnectivityChangedEvent(subject, id, true, timeStamp));
+        }
+      }
+    }
+  }
+
+  /** Schedule a timeout at its entry's deadline; called holding the entry's lock. */
+  private void schedule(final Tracked entry) {
+    synchronized (wheel) {
+      wheel.schedule(entry.timeout, entry.deadlineMillis);
+    }
+  }
+
+  private void publish(final ConnectivityChangedEvent event) {
+    LOG.info(
+        "{} ID: {} is now {}", event.subject(), event.id(), event.online() ? "online" : "offline");
+    eventPublisher.publishEvent(event);
+  }
+
+  /** Connectivity state of a single hub or probe. */
+  private final class Tracked {
+    private final Subject subject;
+    private final Long id;
+    private final Timeout<Tracked> timeout;
+    private float currentTemp;
+    private Instant lastSeenAt;
+    private long deadlineMillis;
+    private boolean online;
+    private boolean removed;
+
+    private Tracked(final Subject subject, final Long id) {
+      this.subject = subject;
+      this.id = id;
+      this.timeout = wheel.newTimeout(this);
+    }
+  }
+}
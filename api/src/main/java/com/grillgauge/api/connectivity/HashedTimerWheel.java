@@ -0,0 +1,136 @@
+package com.grillgauge.api.connectivity;
+
+import java.util.function.Consumer;
+
+/**
+ * Hashed timer wheel of deadlines, each scheduled, rescheduled or cancelled in O(1).
+ *
+ * <p>Time is divided into ticks of {@code tickMillis} and each deadline is linked into the bucket
+ * of the tick it falls in, modulo the wheel size. Advancing the wheel only visits the buckets of
+ * the ticks that have elapsed, and expires the timeouts in them whose deadline has passed; those
+ * that are one or more rotations away stay put. The wheel is not thread-safe.
+ *
+ * @param <T> the type of item a timeout is held for.
+ */
+final class HashedTimerWheel<T> {
+
+  private final long tickMillis;
+  private final long startMillis;
+  private final int mask;
+  private final Timeout<T>[] buckets;
+  private long lastTick;
+
+  /**
+   * Constructor for HashedTimerWheel.
+   *
+   * @param tickMillis the duration of one tick.
+   * @param ticksPerWheel the number of buckets, rounded up to a power of two.
+   * @param startMillis the time the wheel starts at, in epoch milliseconds.
+   */
+  @SuppressWarnings("unchecked")
+  HashedTimerWheel(final long tickMillis, final int ticksPerWheel, final long startMillis) {
+    this.tickMillis = tickMillis;
+    this.startMillis = startMillis;
+    int size = Integer.highestOneBit(Math.max(2, ticksPerWheel) * 2 - 1);
+    this.mask = size - 1;
+    this.buckets = new Timeout[size];
+  }
+
+  /**
+   * Create a timeout for the given item that is not yet scheduled.
+   *
+   * @param item the item to hold.
+   * @return the timeout.
+   */
+  Timeout<T> newTimeout(final T item) {
+    return new Timeout<>(item);
+  }
+
+  /**
+   * Schedule or reschedule a timeout.
+   *
+   * @param timeout the timeout.
+   * @param deadlineMillis the time it expires at, in epoch milliseconds.
+   */
+  void schedule(final Timeout<T> timeout, final long deadlineMillis) {
+    cancel(timeout);
+    long tick = Math.max(lastTick + 1, ceilTick(deadlineMillis));
+    timeout.deadlineTick = tick;
+    timeout.bucket = (int) (tick & mask);
+    timeout.next = buckets[timeout.bucket];
+    if (timeout.next != null) {
+      timeout.next.prev = timeout;
+    }
+    buckets[timeout.bucket] = timeout;
+  }
+
+  /**
+   * Cancel a timeout if it is scheduled.
+   *
+   * @param timeout the timeout.
+   */
+  void cancel(final Timeout<T> timeout) {
+    if (timeout.bucket < 0) {
+      return;
+    }
+    if (timeout.prev != null) {
+      timeout.prev.next = timeout.next;
+    } else {
+      buckets[timeout.bucket] = timeout.next;
+    }
+    if (timeout.next != null) {
+      timeout.next.prev = timeout.prev;
+    }
+    timeout.prev = null;
+    timeout.next = null;
+    timeout.bucket = -1;
+  }
+
+  /**
+   * Advance the wheel to the given time, expiring every timeout whose deadline has passed.
+   *
+   * @param nowMillis the current time, in epoch milliseconds.
+   * @param onExpired called with the item of each expired timeout.
+   */
+  void advance(final long nowMillis, final Consumer<T> onExpired) {
+    long currentTick = (nowMillis - startMillis) / tickMillis;
+    long lastVisited = Math.min(currentTick, lastTick + buckets.length);
+    for (long tick = lastTick + 1; tick <= lastVisited; tick++) {
+      Timeout<T> timeout = buckets[(int) (tick & mask)];
+      while (timeout != null) {
+        Timeout<T> next = timeout.next;
+        if (timeout.deadlineTick <= currentTick) {
+          cancel(timeout);
+          onExpired.accept(timeout.item);
+        }
+        timeout = next;
+      }
+    }
+    lastTick = Math.max(lastTick, currentTick);
+  }
+
+  private long ceilTick(final long millis) {
+    return Math.floorDiv(millis - startMillis + tickMillis - 1, tickMillis);
+  }
+
+  /**
+   * A deadline held in the wheel.
+   *
+   * @param <T> the type of item the timeout is held for.
+   */
+  static final class Timeout<T> {
+    private final T item;
+    private long deadlineTick;
+    private int bucket = -1;
+    private Timeout<T> prev;
+    private Timeout<T> next;
+
+    private Timeout(final T item) {
+      this.item = item;
+    }
+
+    boolean isScheduled() {
+      return bucket >= 0;
+    }
+  }
+}
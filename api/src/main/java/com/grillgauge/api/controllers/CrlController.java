@@ -0,0 +1,58 @@
+package com.grillgauge.api.controllers;
+
+import com.grillgauge.api.services.CrlService;
+import com.grillgauge.api.services.CrlService.PublishedCrl;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Controller publishing the CA's certificate revocation list.
+ *
+ * <p>Responses carry the CRL number as an ETag and its thisUpdate as Last-Modified, so relying
+ * parties can revalidate with a conditional request and get a 304 until the CRL changes.
+ */
+@RestController
+@RequestMapping("/api/v1/crl")
+public class CrlController {
+
+  private static final MediaType PKIX_CRL = MediaType.parseMediaType("application/pkix-crl");
+
+  private final CrlService crlService;
+
+  public CrlController(final CrlService crlService) {
+    this.crlService = crlService;
+  }
+
+  /**
+   * Get the current CRL in DER form.
+   *
+   * @return the DER-encoded CRL.
+   */
+  @GetMapping
+  public ResponseEntity<byte[]> getCrl() {
+    PublishedCrl crl = crlService.getCurrentCrl();
+    return withCacheHeaders(crl).contentType(PKIX_CRL).body(crl.der());
+  }
+
+  /**
+   * Get the current CRL in PEM form.
+   *
+   * @return the PEM-encoded CRL.
+   */
+  @GetMapping("/pem")
+  public ResponseEntity<String> getCrlPem() {
+    PublishedCrl crl = crlService.getCurrentCrl();
+    return withCacheHeaders(crl).contentType(MediaType.TEXT_PLAIN).body(crl.pem());
+  }
+
+  private ResponseEntity.BodyBuilder withCacheHeaders(final PublishedCrl crl) {
+    return ResponseEntity.ok()
+        .eTag(crl.etag())
+        .lastModified(crl.thisUpdate())
+        .cacheControl(CacheControl.noCache().cachePublic());
+  }
+}
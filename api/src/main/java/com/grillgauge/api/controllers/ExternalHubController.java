@@ -1,15 +1,15 @@
 package com.grillgauge.api.controllers;
 
 import com.grillgauge.api.domain.models.HubCurrentState;
-import com.grillgauge.api.domain.models.HubReading;
+import com.grillgauge.api.ingest.HubReadingDecoder;
 import com.grillgauge.api.security.HubUserDetails;
 import com.grillgauge.api.services.ExternalHubService;
+import java.io.InputStream;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
-import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
@@ -25,23 +25,28 @@ import org.springframework.web.bind.annotation.RestController;
 public class ExternalHubController {
 
   private ExternalHubService externalHubService;
+  private HubReadingDecoder hubReadingDecoder;
 
-  public ExternalHubController(final ExternalHubService externalHubService) {
+  public ExternalHubController(
+      final ExternalHubService externalHubService, final HubReadingDecoder hubReadingDecoder) {
     this.externalHubService = externalHubService;
+    this.hubReadingDecoder = hubReadingDecoder;
   }
 
   /**
-   * Store a new reading for the hub identified by the API key in the request.
+   * Store a new reading for the hub identified by the client certificate in the request.
    *
-   * @param reading The reading to store.
-   * @return The stored reading, including any additional data added by the service.
+   * <p>The body is a {@link com.grillgauge.api.domain.models.HubReading} JSON document; it is
+   * decoded with a streaming parser rather than bound to the model to keep ingest allocation-free.
+   *
+   * @param body The request body containing the reading to store.
    */
   @PostMapping()
   @ResponseStatus(HttpStatus.CREATED)
-  public HubReading storeReading(
-      @RequestBody HubReading reading, @AuthenticationPrincipal HubUserDetails hubPrincipal) {
+  public void storeReading(
+      final InputStream body, @AuthenticationPrincipal HubUserDetails hubPrincipal) {
     final Long hubId = hubPrincipal.getHubId();
-    return externalHubService.saveHubReading(reading, hubId);
+    externalHubService.saveHubReading(hubReadingDecoder.decode(body), hubId);
   }
 
   /**
@@ -1,5 +1,6 @@
 package com.grillgauge.api.controllers;
 
+import com.grillgauge.api.domain.models.AlertNotification;
 import com.grillgauge.api.domain.models.FrontEndHub;
 import com.grillgauge.api.services.FrontEndService;
 import java.util.List;
@@ -35,6 +36,18 @@ public class FrontEndController {
     return frontEndService.getHubs(email);
   }
 
+  /**
+   * Get the most recent alerts for the probes of the given email.
+   *
+   * @param email the email to get alerts for.
+   * @return list of AlertNotification models, most recent first.
+   */
+  @GetMapping("/alerts")
+  @PreAuthorize("#email == authentication.name or hasRole('ADMIN')")
+  public List<AlertNotification> getRecentAlerts(@RequestParam String email) {
+    return frontEndService.getRecentAlerts(email);
+  }
+
   /**
    * Get the list of default probe colours as defined on the Probe entity.
    *
@@ -1,13 +1,17 @@
 package com.grillgauge.api.controllers;
 
+import com.grillgauge.api.domain.entitys.CookSession;
+import com.grillgauge.api.domain.entitys.DetectorEvent.EventType;
 import com.grillgauge.api.domain.models.FrontEndProbe;
+import com.grillgauge.api.domain.models.ReadingPage;
+import com.grillgauge.api.domain.models.ReadingSeries;
+import com.grillgauge.api.services.CookSessionService;
+import com.grillgauge.api.services.DetectorEventService;
 import com.grillgauge.api.services.ProbeService;
 import com.grillgauge.api.services.ReadingService;
 import java.time.Instant;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -28,14 +32,56 @@ public class ProbeController {
 
   private final ReadingService readingService;
   private final ProbeService probeService;
+  private final DetectorEventService detectorEventService;
+  private final CookSessionService cookSessionService;
 
-  public ProbeController(final ReadingService readingService, final ProbeService probeService) {
+  /**
+   * Constructor for ProbeController.
+   *
+   * @param readingService The ReadingService to use.
+   * @param probeService The ProbeService to use.
+   * @param detectorEventService The DetectorEventService to use.
+   * @param cookSessionService The CookSessionService to use.
+   */
+  public ProbeController(
+      final ReadingService readingService,
+      final ProbeService probeService,
+      final DetectorEventService detectorEventService,
+      final CookSessionService cookSessionService) {
     this.readingService = readingService;
     this.probeService = probeService;
+    this.detectorEventService = detectorEventService;
+    this.cookSessionService = cookSessionService;
   }
 
-  /** Data Transfer Object for probe readings. */
-  public record ReadingDto(Instant timestamp, double temperature) {}
+  /** Data Transfer Object for cook events detected from probe readings. */
+  public record DetectorEventDto(EventType type, double temperature, Instant occurredAt) {}
+
+  /** Data Transfer Object for the summary of a cook session. */
+  public record CookSessionDto(
+      Long id,
+      Instant start,
+      Instant end,
+      int readingCount,
+      float minTemp,
+      float maxTemp,
+      double averageTemp,
+      Instant peakAt,
+      long inTargetRangeSeconds) {
+
+    static CookSessionDto from(final CookSession session) {
+      return new CookSessionDto(
+          session.getId(),
+          session.getStartTime(),
+          session.getEndTime(),
+          session.getReadingCount(),
+          session.getMinTemp(),
+          session.getMaxTemp(),
+          session.getAverageTemp(),
+          session.getPeakAt(),
+          session.getInTargetRangeMillis() / 1000);
+    }
+  }
 
   /**
    * Get readings for multiple probes between the specified start and end times.
@@ -43,22 +89,66 @@ public class ProbeController {
    * @param probeIds array of probe IDs to get readings for.
    * @param start start time in ISO-8601 format.
    * @param end end time in ISO-8601 format.
-   * @return map of probe IDs to their list of ReadingDTOs.
+   * @return map of probe IDs to their series of readings.
    */
   @GetMapping("/readings/between")
   @PreAuthorize(
       "@ownershipService.canAccessAllProbes(#probeIds, authentication.name) or hasRole('ADMIN')")
-  public Map<Long, List<ReadingDto>> getReadingsForProbesBetween(
+  public Map<Long, ReadingSeries> getReadingsForProbesBetween(
       @RequestParam() Long[] probeIds, @RequestParam() String start, @RequestParam() String end) {
+    return readingService.getReadingsForProbesBetween(List.of(probeIds), start, end);
+  }
 
-    return Stream.of(probeIds)
-        .collect(
-            Collectors.toMap(
-                probeId -> probeId,
-                probeId ->
-                    readingService.getReadingsForProbeBetween(probeId, start, end).stream()
-                        .map(r -> new ReadingDto(r.getTimeStamp(), r.getCurrentTemp()))
-                        .toList()));
+  /**
+   * Get one page of the readings for multiple probes between the specified start and end times.
+   *
+   * @param probeIds array of probe IDs to get readings for.
+   * @param start start time in ISO-8601 format.
+   * @param end end time in ISO-8601 format.
+   * @param cursor the nextCursor of the previous page, omitted for the first page.
+   * @param size the maximum number of readings in the page.
+   * @return the page of readings and the cursor of the next page.
+   */
+  @GetMapping("/readings/page")
+  @PreAuthorize(
+      "@ownershipService.canAccessAllProbes(#probeIds, authentication.name) or hasRole('ADMIN')")
+  public ReadingPage getReadingPage(
+      @RequestParam() Long[] probeIds,
+      @RequestParam() String start,
+      @RequestParam() String end,
+      @RequestParam(required = false) String cursor,
+      @RequestParam(required = false) Integer size) {
+    return readingService.getReadingPage(List.of(probeIds), start, end, cursor, size);
+  }
+
+  /**
+   * Get the most recent cook events, such as stalls and lid openings, detected for a probe.
+   *
+   * @param probeId The ID of the probe.
+   * @return list of DetectorEventDtos, most recent first.
+   */
+  @GetMapping("/{probeId}/events")
+  @PreAuthorize(
+      "@ownershipService.canAccessProbe(#probeId, authentication.name) or hasRole('ADMIN')")
+  public List<DetectorEventDto> getDetectorEvents(@PathVariable Long probeId) {
+    return detectorEventService.getRecentEvents(probeId).stream()
+        .map(e -> new DetectorEventDto(e.getEventType(), e.getTemperature(), e.getOccurredAt()))
+        .toList();
+  }
+
+  /**
+   * Get the most recent cook sessions of a probe, summarised as they were cooked.
+   *
+   * @param probeId The ID of the probe.
+   * @return list of CookSessionDtos, most recent first.
+   */
+  @GetMapping("/{probeId}/sessions")
+  @PreAuthorize(
+      "@ownershipService.canAccessProbe(#probeId, authentication.name) or hasRole('ADMIN')")
+  public List<CookSessionDto> getCookSessions(@PathVariable Long probeId) {
+    return cookSessionService.getRecentSessions(probeId).stream()
+        .map(CookSessionDto::from)
+        .toList();
   }
 
   /**
@@ -1,10 +1,18 @@
 package com.grillgauge.api.controllers;
 
+import com.grillgauge.api.services.HubProvisioningService;
+import com.grillgauge.api.services.HubProvisioningService.BulkProvisioningStatus;
 import com.grillgauge.api.services.RegisterHubService;
 import com.grillgauge.api.services.RegisterHubService.HubRegistrationResponse;
+import jakarta.servlet.http.HttpServletRequest;
+import java.net.URI;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
@@ -23,9 +31,19 @@ import org.springframework.web.bind.annotation.RestController;
 public class RegisterHubController {
 
   private RegisterHubService registerHubService;
+  private HubProvisioningService hubProvisioningService;
 
-  public RegisterHubController(final RegisterHubService registerHubService) {
+  /**
+   * Constructor for RegisterHubController.
+   *
+   * @param registerHubService The RegisterHubService to use.
+   * @param hubProvisioningService The HubProvisioningService to use.
+   */
+  public RegisterHubController(
+      final RegisterHubService registerHubService,
+      final HubProvisioningService hubProvisioningService) {
     this.registerHubService = registerHubService;
+    this.hubProvisioningService = hubProvisioningService;
   }
 
   /** DTO class for Hub registration requests. */
@@ -34,29 +52,42 @@ public class RegisterHubController {
   /** DTO class for Hub registration confirmation. */
   public record HubConfirmRequest(Long hubId, String otp, String userId) {}
 
+  /** DTO class for one hub of a bulk provisioning request. */
+  public record BulkHubRequest(String model, String fwVersion, String csrPem) {}
+
+  /** DTO class for bulk provisioning requests. */
+  public record BulkProvisioningRequest(String ownerEmail, List<BulkHubRequest> hubs) {}
+
   /**
    * Register a new Hub.
    *
    * @param request The registration request containing model and firmware version.
+   * @param servletRequest The HTTP request, for the client address.
    * @return The registration response with hub ID, OTP, and OTP expiration time.
    */
   @PostMapping("/register")
-  public ResponseEntity<HubRegistrationResponse> registerHub(
-      @RequestBody() HubRegistrationRequest request) {
-    HubRegistrationResponse response = registerHubService.registerHub(request);
-    return ResponseEntity.ok(response);
+  public CompletableFuture<ResponseEntity<HubRegistrationResponse>> registerHub(
+      @RequestBody() HubRegistrationRequest request, final HttpServletRequest servletRequest) {
+    return registerHubService
+        .registerHub(request, servletRequest.getRemoteAddr())
+        .thenApply(ResponseEntity::ok);
   }
 
   /**
    * Confirm a Hub's registration using the provided OTP.
    *
    * @param hubConfirm The confirmation request containing hub ID and OTP.
+   * @param servletRequest The HTTP request, for the client address.
+   * @return Completes once the hub has been confirmed.
    */
   @PostMapping("/confirm")
   @PreAuthorize("#hubConfirm.userId == authentication.name or hasRole('ADMIN')")
   @ResponseStatus(HttpStatus.OK)
-  public void confirmAuthenticated(final @RequestBody() HubConfirmRequest hubConfirm) {
-    registerHubService.confirmHub(hubConfirm);
+  public CompletableFuture<Void> confirmAuthenticated(
+      final @RequestBody() HubConfirmRequest hubConfirm, final HttpServletRequest servletRequest) {
+    return registerHubService
+        .confirmHub(hubConfirm, servletRequest.getRemoteAddr())
+        .thenAccept(hubId -> {});
   }
 
   /**
@@ -72,6 +103,35 @@ public class RegisterHubController {
     return registerHubService.signCsr(hubId, csrPem);
   }
 
+  /**
+   * Provision a batch of hubs for an owner, signing their CSRs in parallel. The hubs are created
+   * already REGISTERED, without the OTP pairing flow.
+   *
+   * @param request The owner and the model, firmware version and CSR of each hub.
+   * @return The initial status of the provisioning job, with its location to poll.
+   */
+  @PostMapping("/bulk")
+  @PreAuthorize("hasRole('ADMIN')")
+  public ResponseEntity<BulkProvisioningStatus> provisionHubs(
+      final @RequestBody BulkProvisioningRequest request) {
+    BulkProvisioningStatus status = hubProvisioningService.submit(request);
+    return ResponseEntity.accepted()
+        .location(URI.create("/api/v1/register/bulk/" + status.jobId()))
+        .body(status);
+  }
+
+  /**
+   * Get the progress and results of a bulk provisioning job.
+   *
+   * @param jobId The ID of the provisioning job.
+   * @return The status of the job and the results of the hubs finished so far.
+   */
+  @GetMapping("/bulk/{jobId}")
+  @PreAuthorize("hasRole('ADMIN')")
+  public BulkProvisioningStatus getProvisioningJob(final @PathVariable UUID jobId) {
+    return hubProvisioningService.getJob(jobId);
+  }
+
   /**
    * Revoke the certificate for the specified hub.
    *
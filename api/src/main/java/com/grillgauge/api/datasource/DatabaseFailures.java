@@ -0,0 +1,38 @@
+package com.grillgauge.api.datasource;
+
+import java.sql.SQLRecoverableException;
+import java.sql.SQLTransientException;
+import org.hibernate.exception.JDBCConnectionException;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.transaction.CannotCreateTransactionException;
+
+/** Classifies exceptions from the persistence layer. */
+public final class DatabaseFailures {
+
+  private DatabaseFailures() {}
+
+  /**
+   * Whether an exception means the database could not be reached or did not answer, as opposed to
+   * rejecting the work itself. Retrying the same work later may succeed.
+   *
+   * @param failure the exception thrown by a repository or transaction.
+   * @return true if the database is unavailable.
+   */
+  public static boolean isUnavailable(final Throwable failure) {
+    for (Throwable cause = failure; cause != null; cause = cause.getCause()) {
+      if (cause instanceof CannotCreateTransactionException
+          || cause instanceof DataAccessResourceFailureException
+          || cause instanceof TransientDataAccessException
+          || cause instanceof JDBCConnectionException
+          || cause instanceof SQLTransientException
+          || cause instanceof SQLRecoverableException) {
+        return true;
+      }
+      if (cause.getCause() == cause) {
+        break;
+      }
+    }
+    return false;
+  }
+}
@@ -0,0 +1,47 @@
+package com.grillgauge.api.datasource;
+
+import java.util.Map;
+import javax.sql.DataSource;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Sends read-only transactions to the read replica while it is caught up, and everything else to
+ * the primary. Must be wrapped in a {@link
+ * org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy} so the connection is only
+ * fetched once the transaction's read-only flag is known.
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+  /** The database a connection is taken from. */
+  public enum Route {
+    PRIMARY,
+    REPLICA
+  }
+
+  private final ReplicaLagMonitor replicaLagMonitor;
+
+  /**
+   * Constructor for ReadWriteRoutingDataSource.
+   *
+   * @param primary the primary, read-write DataSource.
+   * @param replica the read replica DataSource.
+   * @param replicaLagMonitor the monitor deciding whether the replica is caught up.
+   */
+  public ReadWriteRoutingDataSource(
+      final DataSource primary,
+      final DataSource replica,
+      final ReplicaLagMonitor replicaLagMonitor) {
+    this.replicaLagMonitor = replicaLagMonitor;
+    setTargetDataSources(Map.of(Route.PRIMARY, primary, Route.REPLICA, replica));
+    setDefaultTargetDataSource(primary);
+  }
+
+  @Override
+  protected Object determineCurrentLookupKey() {
+    return TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+            && replicaLagMonitor.isReplicaUsable()
+        ? Route.REPLICA
+        : Route.PRIMARY;
+  }
+}
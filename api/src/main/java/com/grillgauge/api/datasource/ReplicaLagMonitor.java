@@ -0,0 +1,68 @@
+package com.grillgauge.api.datasource;
+
+import javax.sql.DataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+/**
+ * Periodically measures how far the read replica is behind the primary. While the lag is above the
+ * configured maximum, or the replica cannot be queried, read-only transactions fall back to the
+ * primary.
+ */
+public class ReplicaLagMonitor {
+  private static final Logger LOG = LoggerFactory.getLogger(ReplicaLagMonitor.class);
+
+  private final JdbcTemplate replicaJdbcTemplate;
+  private final String lagQuery;
+  private final double maxLagSeconds;
+  private volatile double lagSeconds = Double.NaN;
+  private volatile boolean replicaUsable;
+
+  /**
+   * Constructor for ReplicaLagMonitor.
+   *
+   * @param replica the read replica DataSource.
+   * @param lagQuery query returning the replica's lag behind the primary in seconds.
+   * @param maxLagSeconds the most lag at which the replica is still used.
+   */
+  public ReplicaLagMonitor(
+      final DataSource replica, final String lagQuery, final double maxLagSeconds) {
+    this.replicaJdbcTemplate = new JdbcTemplate(replica);
+    this.replicaJdbcTemplate.setQueryTimeout(2);
+    this.lagQuery = lagQuery;
+    this.maxLagSeconds = maxLagSeconds;
+  }
+
+  /** Whether read-only transactions may currently use the replica. */
+  public boolean isReplicaUsable() {
+    return replicaUsable;
+  }
+
+  /** The last measured replica lag in seconds, or NaN if it could not be measured. */
+  public double getLagSeconds() {
+    return lagSeconds;
+  }
+
+  /** Measure the replica lag and decide whether the replica may be used. */
+  @Scheduled(fixedDelayString = "${datasource.replica.lag-check-ms:5000}")
+  public void checkLag() {
+    boolean wasUsable = replicaUsable;
+    try {
+      Double lag = replicaJdbcTemplate.queryForObject(lagQuery, Double.class);
+      lagSeconds = lag == null ? 0 : lag;
+      replicaUsable = lagSeconds <= maxLagSeconds;
+    } catch (RuntimeException e) {
+      lagSeconds = Double.NaN;
+      replicaUsable = false;
+      if (wasUsable) {
+        LOG.error("Failed to check read replica lag", e);
+      }
+    }
+    if (wasUsable != replicaUsable) {
+      LOG.warn(
+          "Read replica is now {}, lag: {}s", replicaUsable ? "in use" : "bypassed", lagSeconds);
+    }
+  }
+}
@@ -0,0 +1,68 @@
+package com.grillgauge.api.datasource;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.springframework.lang.Nullable;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.transaction.TransactionExecution;
+import org.springframework.transaction.TransactionExecutionListener;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Keeps read-only transactions, which {@link ReadWriteRoutingDataSource} sends to the read replica,
+ * out of the second-level and query caches.
+ *
+ * <p>Hibernate only invalidates a cached query result for changes to its tables made after the
+ * query started, so a result read from a replica that has not yet applied a write to the primary
+ * would be cached as fresh, and rows deleted on the primary could be put back into the entity
+ * regions. {@link CacheMode#GET} is not enough: a query that misses the cache still puts its
+ * result. Only transactions that write, which always use the primary, use the caches.
+ */
+public class ReplicaReadCacheMode implements TransactionExecutionListener {
+
+  private final EntityManagerFactory entityManagerFactory;
+
+  /**
+   * Constructor for ReplicaReadCacheMode.
+   *
+   * @param entityManagerFactory the EntityManagerFactory whose transactional sessions are changed.
+   */
+  public ReplicaReadCacheMode(final EntityManagerFactory entityManagerFactory) {
+    this.entityManagerFactory = entityManagerFactory;
+  }
+
+  @Override
+  public void afterBegin(
+      final TransactionExecution transaction, @Nullable final Throwable beginFailure) {
+    if (beginFailure == null && transaction.isReadOnly()) {
+      setCacheMode(CacheMode.IGNORE);
+    }
+  }
+
+  @Override
+  public void afterCommit(
+      final TransactionExecution transaction, @Nullable final Throwable commitFailure) {
+    restore(transaction);
+  }
+
+  @Override
+  public void afterRollback(
+      final TransactionExecution transaction, @Nullable final Throwable rollbackFailure) {
+    restore(transaction);
+  }
+
+  private void restore(final TransactionExecution transaction) {
+    // The session outlives the transaction when it is held open for the whole request
+    if (transaction.isReadOnly()) {
+      setCacheMode(CacheMode.NORMAL);
+    }
+  }
+
+  private void setCacheMode(final CacheMode cacheMode) {
+    if (TransactionSynchronizationManager.getResource(entityManagerFactory)
+        instanceof EntityManagerHolder holder) {
+      holder.getEntityManager().unwrap(Session.class).setCacheMode(cacheMode);
+    }
+  }
+}
@@ -0,0 +1,69 @@
+package com.grillgauge.api.detectors;
+
+import com.grillgauge.api.domain.entitys.DetectorEvent;
+import com.grillgauge.api.domain.entitys.DetectorEvent.EventType;
+import com.grillgauge.api.domain.entitys.Probe;
+import com.grillgauge.api.domain.repositorys.DetectorEventRepository;
+import com.grillgauge.api.ingest.ReadingListener;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Runs every {@link ReadingDetector} against each ingested reading and records what they detect.
+ *
+ * <p>Detected events are written to the {@link DetectorEvent} table in a transaction of their own,
+ * as readings reach listeners after the ingest transaction commits. Readings that detect nothing
+ * issue no queries.
+ */
+@Component
+public class DetectorEngine implements ReadingListener {
+  private static final Logger LOG = LoggerFactory.getLogger(DetectorEngine.class);
+
+  private final List<ReadingDetector> detectors;
+  private final DetectorEventRepository detectorEventRepository;
+  private final TransactionTemplate transactionTemplate;
+
+  /**
+   * Constructor for DetectorEngine.
+   *
+   * @param detectors The detectors to run on each reading.
+   * @param detectorEventRepository The repository detected events are written to.
+   * @param transactionManager The transaction manager detected events are written with.
+   */
+  public DetectorEngine(
+      final List<ReadingDetector> detectors,
+      final DetectorEventRepository detectorEventRepository,
+      final PlatformTransactionManager transactionManager) {
+    this.detectors = detectors;
+    this.detectorEventRepository = detectorEventRepository;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+  }
+
+  @Override
+  public void onReading(final Probe probe, final float temp, final Instant timeStamp) {
+    long epochMillis = timeStamp.toEpochMilli();
+    List<DetectorEvent> events = null;
+    for (ReadingDetector detector : detectors) {
+      EventType type = detector.update(probe.getId(), temp, epochMillis);
+      if (type != null) {
+        if (events == null) {
+          events = new ArrayList<>(detectors.size());
+        }
+        events.add(new DetectorEvent(probe, type, temp, timeStamp));
+      }
+    }
+    if (events != null) {
+      LOG.info("Recording {} detector events for probe ID: {}", events.size(), probe.getId());
+      List<DetectorEvent> detected = events;
+      transactionTemplate.executeWithoutResult(status -> detectorEventRepository.saveAll(detected));
+    }
+  }
+}
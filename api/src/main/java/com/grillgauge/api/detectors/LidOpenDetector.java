@@ -0,0 +1,106 @@
+package com.grillgauge.api.detectors;
+
+import com.grillgauge.api.domain.entitys.DetectorEvent.EventType;
+import com.grillgauge.api.domain.events.ProbesDeletedEvent;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Detects the sharp temperature drop caused by opening the lid of a grill or smoker.
+ *
+ * <p>A one-sided CUSUM accumulates how far each reading falls below an exponentially weighted mean
+ * of the probe's recent readings, less {@code detectors.lid.slack} degrees of allowed noise. The
+ * lid is reported open once the sum exceeds {@code detectors.lid.threshold}, and closed once the
+ * probe recovers to within {@code detectors.lid.recovery-margin} degrees of the mean it had before
+ * the drop, or after {@code detectors.lid.max-open-seconds}.
+ */
+@Component
+public class LidOpenDetector implements ReadingDetector {
+
+  private final double alpha;
+  private final double slack;
+  private final double threshold;
+  private final double recoveryMargin;
+  private final int warmupReadings;
+  private final long maxOpenMillis;
+  private final Map<Long, Cusum> states = new ConcurrentHashMap<>();
+
+  /**
+   * Constructor for LidOpenDetector.
+   *
+   * @param alpha Smoothing factor of the mean the readings are compared against.
+   * @param slack Degrees per reading below the mean that are treated as noise.
+   * @param threshold Accumulated degrees below the mean at which the lid is reported open.
+   * @param recoveryMargin Degrees below the pre-drop mean at which the lid is reported closed.
+   * @param warmupReadings Readings used to establish the mean before detection starts.
+   * @param maxOpenSeconds Time after which an open lid is assumed closed.
+   */
+  public LidOpenDetector(
+      @Value("${detectors.lid.alpha:0.05}") final double alpha,
+      @Value("${detectors.lid.slack:1.0}") final double slack,
+      @Value("${detectors.lid.threshold:15.0}") final double threshold,
+      @Value("${detectors.lid.recovery-margin:5.0}") final double recoveryMargin,
+      @Value("${detectors.lid.warmup-readings:10}") final int warmupReadings,
+      @Value("${detectors.lid.max-open-seconds:900}") final long maxOpenSeconds) {
+    this.alpha = alpha;
+    this.slack = slack;
+    this.threshold = threshold;
+    this.recoveryMargin = recoveryMargin;
+    this.warmupReadings = warmupReadings;
+    this.maxOpenMillis = maxOpenSeconds * 1000;
+  }
+
+  @Override
+  public EventType update(final long probeId, final float temp, final long epochMillis) {
+    Cusum state = states.computeIfAbsent(probeId, id -> new Cusum());
+    synchronized (state) {
+      if (state.readings < warmupReadings) {
+        state.mean = state.readings == 0 ? temp : state.mean + alpha * (temp - state.mean);
+        state.readings++;
+        return null;
+      }
+      if (state.open) {
+        if (temp >= state.baseline - recoveryMargin
+            || epochMillis - state.openedAtMillis > maxOpenMillis) {
+          state.open = false;
+          state.mean = temp;
+          return EventType.LID_CLOSED;
+        }
+        return null;
+      }
+      state.sum = Math.max(0, state.sum + (state.mean - temp) - slack);
+      if (state.sum > threshold) {
+        state.open = true;
+        state.baseline = state.mean;
+        state.openedAtMillis = epochMillis;
+        state.sum = 0;
+        return EventType.LID_OPENED;
+      }
+      state.mean += alpha * (temp - state.mean);
+      return null;
+    }
+  }
+
+  /**
+   * Drop the CUSUM state of deleted probes once their deletion commits.
+   *
+   * @param event the deletion.
+   */
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onProbesDeleted(final ProbesDeletedEvent event) {
+    event.probeIds().forEach(states::remove);
+  }
+
+  /** CUSUM state of a single probe. */
+  private static final class Cusum {
+    private int readings;
+    private double mean;
+    private double sum;
+    private boolean open;
+    private double baseline;
+    private long openedAtMillis;
+  }
+}
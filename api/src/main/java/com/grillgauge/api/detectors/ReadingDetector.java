@@ -0,0 +1,23 @@
+package com.grillgauge.api.detectors;
+
+import com.grillgauge.api.domain.entitys.DetectorEvent.EventType;
+
+/**
+ * A stateful streaming operator run against every ingested probe reading.
+ *
+ * <p>Implementations keep a small, fixed amount of state per probe and must update it in O(1) per
+ * reading without issuing queries, as they run on the ingest thread for every hub once each reading
+ * has been committed.
+ */
+public interface ReadingDetector {
+
+  /**
+   * Feed a reading to the detector.
+   *
+   * @param probeId the ID of the probe the reading belongs to.
+   * @param temp the temperature reported by the probe.
+   * @param epochMillis the time the reading was taken, in epoch milliseconds.
+   * @return the event detected by this reading, or null if there is none.
+   */
+  EventType update(long probeId, float temp, long epochMillis);
+}
@@ -0,0 +1,174 @@
+package com.grillgauge.api.detectors;
+
+import com.grillgauge.api.domain.entitys.DetectorEvent.EventType;
+import com.grillgauge.api.domain.events.ProbesDeletedEvent;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Detects the plateau ("stall") of smoked meats from the slope of a probe's recent readings.
+ *
+ * <p>A least-squares slope is kept over a sliding window of the last {@code
+ * detectors.stall.window-readings} readings using running sums, so each reading is O(1). A stall
+ * starts when the window spans at least {@code detectors.stall.min-window-seconds}, the probe is
+ * within the stall temperature range and the slope falls below {@code
+ * detectors.stall.max-slope-per-minute}. It ends once the slope rises above {@code
+ * detectors.stall.resume-slope-per-minute} or the probe climbs out of the range.
+ */
+@Component
+public class StallDetector implements ReadingDetector {
+
+  private final int windowReadings;
+  private final long minWindowMillis;
+  private final float minTemp;
+  private final float maxTemp;
+  private final double maxSlopePerSecond;
+  private final double resumeSlopePerSecond;
+  private final Map<Long, SlopeWindow> windows = new ConcurrentHashMap<>();
+
+  /**
+   * Constructor for StallDetector.
+   *
+   * @param windowReadings Number of readings in the slope window.
+   * @param minWindowSeconds Minimum time the window must span before a stall can be detected.
+   * @param minTemp Lowest temperature at which a stall is detected.
+   * @param maxTemp Highest temperature at which a stall is detected.
+   * @param maxSlopePerMinute Slope in degrees per minute below which the probe is stalled.
+   * @param resumeSlopePerMinute Slope in degrees per minute above which a stall ends.
+   */
+  public StallDetector(
+      @Value("${detectors.stall.window-readings:60}") final int windowReadings,
+      @Value("${detectors.stall.min-window-seconds:300}") final long minWindowSeconds,
+      @Value("${detectors.stall.min-temp:140}") final float minTemp,
+      @Value("${detectors.stall.max-temp:180}") final float maxTemp,
+      @Value("${detectors.stall.max-slope-per-minute:0.15}") final double maxSlopePerMinute,
+      @Value("${detectors.stall.resume-slope-per-minute:0.4}") final double resumeSlopePerMinute) {
+    this.windowReadings = Math.max(2, windowReadings);
+    this.minWindowMillis = minWindowSeconds * 1000;
+    this.minTemp = minTemp;
+    this.maxTemp = maxTemp;
+    this.maxSlopePerSecond = maxSlopePerMinute / 60;
+    this.resumeSlopePerSecond = resumeSlopePerMinute / 60;
+  }
+
+  @Override
+  public EventType update(final long probeId, final float temp, final long epochMillis) {
+    SlopeWindow window = windows.computeIfAbsent(probeId, id -> new SlopeWindow(windowReadings));
+    synchronized (window) {
+      window.add(epochMillis, temp);
+      if (window.stalled) {
+        if (temp > maxTemp || temp < minTemp || window.slope() > resumeSlopePerSecond) {
+          window.stalled = false;
+          return EventType.STALL_ENDED;
+        }
+      } else if (window.isFull()
+          && window.spanMillis() >= minWindowMillis
+          && temp >= minTemp
+          && temp <= maxTemp
+          && window.slope() < maxSlopePerSecond) {
+        window.stalled = true;
+        return EventType.STALL_STARTED;
+      }
+      return null;
+    }
+  }
+
+  /**
+   * Drop the slope windows of deleted probes once their deletion commits.
+   *
+   * @param event the deletion.
+   */
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onProbesDeleted(final ProbesDeletedEvent event) {
+    event.probeIds().forEach(windows::remove);
+  }
+
+  /**
+   * Ring buffer of recent readings with running sums for a least-squares slope.
+   *
+   * <p>Times are stored in seconds relative to a base that is moved up each time the buffer wraps,
+   * which keeps the sums small and discards accumulated rounding error.
+   */
+  private static final class SlopeWindow {
+    private final long[] epochMillis;
+    private final double[] times;
+    private final double[] temps;
+    private long baseMillis;
+    private int head;
+    private int count;
+    private double sumT;
+    private double sumY;
+    private double sumTy;
+    private double sumTt;
+    private boolean stalled;
+
+    private SlopeWindow(final int capacity) {
+      epochMillis = new long[capacity];
+      times = new double[capacity];
+      temps = new double[capacity];
+    }
+
+    private void add(final long millis, final float temp) {
+      if (count == 0) {
+        baseMillis = millis;
+      }
+      if (count == times.length) {
+        double t = times[head];
+        double y = temps[head];
+        sumT -= t;
+        sumY -= y;
+        sumTy -= t * y;
+        sumTt -= t * t;
+      } else {
+        count++;
+      }
+      double t = (millis - baseMillis) / 1000.0;
+      epochMillis[head] = millis;
+      times[head] = t;
+      temps[head] = temp;
+      sumT += t;
+      sumY += temp;
+      sumTy += t * temp;
+      sumTt += t * t;
+      head = (head + 1) % times.length;
+      if (head == 0) {
+        rebase();
+      }
+    }
+
+    private void rebase() {
+      baseMillis = epochMillis[head];
+      sumT = 0;
+      sumY = 0;
+      sumTy = 0;
+      sumTt = 0;
+      for (int i = 0; i < count; i++) {
+        double t = (epochMillis[i] - baseMillis) / 1000.0;
+        times[i] = t;
+        sumT += t;
+        sumY += temps[i];
+        sumTy += t * temps[i];
+        sumTt += t * t;
+      }
+    }
+
+    private boolean isFull() {
+      return count == times.length;
+    }
+
+    private long spanMillis() {
+      int oldest = count == times.length ? head : 0;
+      int newest = (head - 1 + times.length) % times.length;
+      return epochMillis[newest] - epochMillis[oldest];
+    }
+
+    /** Least-squares slope of the window in degrees per second. */
+    private double slope() {
+      double denominator = count * sumTt - sumT * sumT;
+      return denominator <= 0 ? 0 : (count * sumTy - sumT * sumY) / denominator;
+    }
+  }
+}
@@ -0,0 +1,109 @@
+package com.grillgauge.api.domain.entitys;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+import java.time.Instant;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Entity representing a temperature alert raised or cleared for a Probe.
+ *
+ * <p>Alert events double as an outbox: they are written in a transaction of their own once the
+ * reading that triggered them has committed, and delivered to subscribers asynchronously, after
+ * which {@code deliveredAt} is set. A failure between the two transactions loses the alert while
+ * keeping the reading.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@Entity
+@Table(indexes = @Index(name = "idx_alert_event_delivered_at", columnList = "delivered_at"))
+public class AlertEvent {
+
+  /** The kind of threshold the alert relates to. */
+  public enum AlertType {
+    TARGET_REACHED, // Probe reached its target temperature
+    HIGH_TEMP, // Probe rose above its high alert temperature
+    LOW_TEMP // Probe fell below its low alert temperature
+  }
+
+  /** Whether the alert condition started or ended. */
+  public enum AlertState {
+    RAISED,
+    CLEARED
+  }
+
+  @Id
+  @GeneratedValue(strategy = GenerationType.AUTO)
+  private Long id;
+
+  @ManyToOne(fetch = FetchType.LAZY)
+  @JoinColumn(name = "probe_id", nullable = false)
+  private Probe probe;
+
+  /** Denormalised from the probe so delivery does not need to load it. */
+  @Column(nullable = false)
+  private Long hubId;
+
+  @Column(nullable = false)
+  private Integer localId;
+
+  @Enumerated(EnumType.STRING)
+  @Column(nullable = false)
+  private AlertType alertType;
+
+  @Enumerated(EnumType.STRING)
+  @Column(nullable = false)
+  private AlertState alertState;
+
+  @Column(nullable = false)
+  private Float temperature;
+
+  @Column(nullable = false)
+  private Float threshold;
+
+  @Column(nullable = false)
+  private Instant occurredAt;
+
+  @Column(nullable = true)
+  private Instant deliveredAt;
+
+  /**
+   * Constructor for AlertEvent.
+   *
+   * @param probe The Probe the alert relates to.
+   * @param alertType The kind of threshold the alert relates to.
+   * @param alertState Whether the alert was raised or cleared.
+   * @param temperature The temperature that triggered the transition.
+   * @param threshold The threshold that was crossed.
+   * @param occurredAt The time of the reading that triggered the transition.
+   */
+  public AlertEvent(
+      final Probe probe,
+      final AlertType alertType,
+      final AlertState alertState,
+      final float temperature,
+      final float threshold,
+      final Instant occurredAt) {
+    this.probe = probe;
+    this.hubId = probe.getHub().getId();
+    this.localId = probe.getLocalId();
+    this.alertType = alertType;
+    this.alertState = alertState;
+    this.temperature = temperature;
+    this.threshold = threshold;
+    this.occurredAt = occurredAt;
+  }
+}
@@ -0,0 +1,115 @@
+package com.grillgauge.api.domain.entitys;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
+import java.io.Serializable;
+import java.time.Instant;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+import org.springframework.data.domain.Persistable;
+
+/**
+ * Entity representing a Reading taken from a Probe, in the compact layout used when {@code
+ * readings.layout=compact}.
+ *
+ * <p>Rows are keyed by probe and time rather than a generated ID, so the primary key doubles as the
+ * history index and there is no sequence or second index to maintain. The timestamp is stored as
+ * epoch milliseconds and the temperature as tenths of a degree in a smallint, which rounds it to
+ * 0.1° and bounds it to ±3276.7°.
+ */
+@Getter
+@NoArgsConstructor
+@Entity
+@Table(name = "compact_reading")
+@IdClass(CompactReading.Key.class)
+public class CompactReading implements Persistable<CompactReading.Key> {
+
+  @Id
+  @Column(name = "probe_id", nullable = false)
+  private Long probeId;
+
+  @Id
+  @Column(name = "ts", nullable = false)
+  private Long timestampMillis;
+
+  @Column(name = "temp_tenths", nullable = false)
+  private short tempTenths;
+
+  /** Mapped only for the foreign key, so deleting a probe deletes its readings in the database. */
+  @ManyToOne(fetch = FetchType.LAZY)
+  @JoinColumn(name = "probe_id", insertable = false, updatable = false)
+  @OnDelete(action = OnDeleteAction.CASCADE)
+  private Probe probe;
+
+  @Transient
+  @Getter(AccessLevel.NONE)
+  private boolean persisted;
+
+  /**
+   * Constructor for CompactReading.
+   *
+   * @param probeId The ID of the Probe the reading was taken by.
+   * @param currentTemp The temperature recorded, rounded to a tenth of a degree.
+   * @param timeStamp The timestamp when the reading was taken, truncated to the millisecond.
+   */
+  public CompactReading(final Long probeId, final float currentTemp, final Instant timeStamp) {
+    this.probeId = probeId;
+    this.timestampMillis = timeStamp.toEpochMilli();
+    this.tempTenths = toTenths(currentTemp);
+  }
+
+  public Instant getTimeStamp() {
+    return Instant.ofEpochMilli(timestampMillis);
+  }
+
+  public float getCurrentTemp() {
+    return tempTenths / 10f;
+  }
+
+  /**
+   * Scale a temperature to tenths of a degree, clamped to the range of a smallint.
+   *
+   * @param temp the temperature.
+   * @return the temperature in tenths of a degree.
+   */
+  public static short toTenths(final float temp) {
+    return (short) Math.clamp(Math.round(temp * 10), Short.MIN_VALUE, Short.MAX_VALUE);
+  }
+
+  @Override
+  public Key getId() {
+    return new Key(probeId, timestampMillis);
+  }
+
+  /** Readings are only ever inserted, so save() persists them without a lookup first. */
+  @Override
+  public boolean isNew() {
+    return !persisted;
+  }
+
+  @PostLoad
+  @PostPersist
+  void markPersisted() {
+    this.persisted = true;
+  }
+
+  /**
+   * Primary key of a CompactReading.
+   *
+   * @param probeId the ID of the probe
+   * @param timestampMillis when the reading was taken, in epoch milliseconds
+   */
+  public record Key(Long probeId, Long timestampMillis) implements Serializable {}
+}
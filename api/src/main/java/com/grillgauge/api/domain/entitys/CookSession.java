@@ -0,0 +1,81 @@
+package com.grillgauge.api.domain.entitys;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+import java.time.Instant;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+/**
+ * Entity summarising one cook session of a Probe: a run of readings without a long gap between
+ * them. Kept up to date as readings are ingested, so sessions can be listed without reading them.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@Entity
+@Table(
+    indexes =
+        @Index(name = "idx_cook_session_probe_start_time", columnList = "probe_id, start_time"))
+public class CookSession {
+
+  @Id
+  @GeneratedValue(strategy = GenerationType.AUTO)
+  private Long id;
+
+  /** Deleting a probe deletes its sessions in the database. */
+  @ManyToOne(fetch = FetchType.LAZY)
+  @JoinColumn(name = "probe_id", nullable = false)
+  @OnDelete(action = OnDeleteAction.CASCADE)
+  private Probe probe;
+
+  @Column(nullable = false)
+  private Instant startTime;
+
+  @Column(nullable = false)
+  private Instant endTime;
+
+  @Column(nullable = false)
+  private Integer readingCount;
+
+  @Column(nullable = false)
+  private Float minTemp;
+
+  @Column(nullable = false)
+  private Float maxTemp;
+
+  @Column(nullable = false)
+  private Double averageTemp;
+
+  /** The time of the first reading at the session's maximum temperature. */
+  @Column(nullable = false)
+  private Instant peakAt;
+
+  /** Time spent within the target range of the probe's target temperature. */
+  @Column(nullable = false)
+  private Long inTargetRangeMillis;
+
+  /** Whether the latest reading was in the target range, which holds until the next reading. */
+  @Column(nullable = false)
+  private Boolean endedInTargetRange;
+
+  /**
+   * Constructor for CookSession.
+   *
+   * @param probe The Probe the session was cooked with.
+   */
+  public CookSession(final Probe probe) {
+    this.probe = probe;
+  }
+}
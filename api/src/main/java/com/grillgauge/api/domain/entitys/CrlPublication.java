@@ -0,0 +1,33 @@
+package com.grillgauge.api.domain.entitys;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import java.time.Instant;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Entity recording the most recently published certificate revocation list, so CRL numbers keep
+ * increasing across restarts. There is only ever one row.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@Entity
+public class CrlPublication {
+
+  public static final long SINGLETON_ID = 1L;
+
+  @Id private Long id = SINGLETON_ID;
+
+  @Column(nullable = false)
+  private Long crlNumber = 0L;
+
+  @Column(nullable = true)
+  private Instant thisUpdate;
+
+  @Column(nullable = true)
+  private Instant nextUpdate;
+}
@@ -0,0 +1,74 @@
+package com.grillgauge.api.domain.entitys;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+import java.time.Instant;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/** Entity representing a cook event detected from a Probe's readings, such as a stall. */
+@Getter
+@Setter
+@NoArgsConstructor
+@Entity
+@Table(
+    indexes =
+        @Index(name = "idx_detector_event_probe_occurred_at", columnList = "probe_id, occurred_at"))
+public class DetectorEvent {
+
+  /** The kind of event detected. */
+  public enum EventType {
+    STALL_STARTED, // Probe temperature plateaued within the stall range
+    STALL_ENDED, // Probe temperature started climbing again
+    LID_OPENED, // Sharp temperature drop consistent with the lid being opened
+    LID_CLOSED // Temperature recovered after the lid was opened
+  }
+
+  @Id
+  @GeneratedValue(strategy = GenerationType.AUTO)
+  private Long id;
+
+  @ManyToOne(fetch = FetchType.LAZY)
+  @JoinColumn(name = "probe_id", nullable = false)
+  private Probe probe;
+
+  @Enumerated(EnumType.STRING)
+  @Column(nullable = false)
+  private EventType eventType;
+
+  @Column(nullable = false)
+  private Float temperature;
+
+  @Column(nullable = false)
+  private Instant occurredAt;
+
+  /**
+   * Constructor for DetectorEvent.
+   *
+   * @param probe The Probe the event was detected on.
+   * @param eventType The kind of event detected.
+   * @param temperature The temperature of the reading that triggered the event.
+   * @param occurredAt The time of the reading that triggered the event.
+   */
+  public DetectorEvent(
+      final Probe probe,
+      final EventType eventType,
+      final float temperature,
+      final Instant occurredAt) {
+    this.probe = probe;
+    this.eventType = eventType;
+    this.temperature = temperature;
+    this.occurredAt = occurredAt;
+  }
+}
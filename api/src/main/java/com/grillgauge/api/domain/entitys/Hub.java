@@ -1,5 +1,6 @@
 package com.grillgauge.api.domain.entitys;
 
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
@@ -18,6 +19,8 @@ import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.JdbcTypeCode;
 import org.hibernate.type.SqlTypes;
 import org.springframework.lang.NonNull;
@@ -31,6 +34,8 @@ import org.springframework.lang.NonNull;
 @AllArgsConstructor
 @NoArgsConstructor
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "hub")
 public class Hub {
 
   @NonNull
@@ -103,11 +108,11 @@ public class Hub {
   private Boolean visible = true;
 
   @OneToMany(mappedBy = "hub", cascade = CascadeType.ALL, orphanRemoval = true)
+  @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "hub-probes")
   private List<Probe> probes = new ArrayList<>();
 
   private Instant createdAt = Instant.now();
   private Instant updatedAt = Instant.now();
-  private Instant lastSeenAt;
 
   @JdbcTypeCode(SqlTypes.JSON)
   // Use a text column for H2 (in-memory/test). PostgreSQL can use `jsonb` in
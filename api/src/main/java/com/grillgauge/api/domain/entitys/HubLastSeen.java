@@ -0,0 +1,44 @@
+package com.grillgauge.api.domain.entitys;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.Id;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.MapsId;
+import jakarta.persistence.OneToOne;
+import java.time.Instant;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+/**
+ * Entity holding the time a Hub last sent a reading. Kept out of the cached Hub entity, as it is
+ * written every few seconds while the hub is sending and any write to the hub table invalidates
+ * cached hubs and hub queries.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@Entity
+public class HubLastSeen {
+
+  @Id private Long hubId;
+
+  /** Deleting a hub deletes its row in the database. */
+  @OneToOne(fetch = FetchType.LAZY)
+  @MapsId
+  @JoinColumn(name = "hub_id")
+  @OnDelete(action = OnDeleteAction.CASCADE)
+  private Hub hub;
+
+  @Column(nullable = false)
+  private Instant lastSeenAt;
+
+  public HubLastSeen(final Hub hub, final Instant lastSeenAt) {
+    this.hub = hub;
+    this.lastSeenAt = lastSeenAt;
+  }
+}
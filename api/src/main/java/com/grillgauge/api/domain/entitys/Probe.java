@@ -1,5 +1,6 @@
 package com.grillgauge.api.domain.entitys;
 
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
@@ -16,6 +17,8 @@ import java.util.List;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.springframework.lang.NonNull;
 
 /**
@@ -26,6 +29,8 @@ import org.springframework.lang.NonNull;
 @Setter
 @NoArgsConstructor
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "probe")
 public class Probe {
 
   /** Default probe colours for the probe card in the dashboard. */
@@ -72,6 +77,14 @@ public class Probe {
   @Column(nullable = true)
   private Float targetTemp;
 
+  /** Alert when the temperature rises above this value. */
+  @Column(nullable = true)
+  private Float highAlertTemp;
+
+  /** Alert when the temperature falls below this value. */
+  @Column(nullable = true)
+  private Float lowAlertTemp;
+
   @Column(nullable = false)
   @NonNull
   private String name;
@@ -87,6 +100,12 @@ public class Probe {
   @OneToMany(mappedBy = "probe", cascade = CascadeType.ALL, orphanRemoval = true)
   private List<Reading> readings = new ArrayList<>();
 
+  @OneToMany(mappedBy = "probe", cascade = CascadeType.ALL, orphanRemoval = true)
+  private List<AlertEvent> alertEvents = new ArrayList<>();
+
+  @OneToMany(mappedBy = "probe", cascade = CascadeType.ALL, orphanRemoval = true)
+  private List<DetectorEvent> detectorEvents = new ArrayList<>();
+
   /**
    * Exposes the list of default probe colours for use by other layers (e.g. services or controller
    * DTOs) without allowing modification of the internal list.
@@ -0,0 +1,38 @@
+package com.grillgauge.api.domain.entitys;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import java.math.BigInteger;
+import java.time.Instant;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Entity representing a certificate issued by the CA that has been revoked. The full set of these
+ * is published as the CA's certificate revocation list.
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Entity
+public class RevokedCertificate {
+
+  /** Certificate serials are up to 160 bits, so they do not fit a numeric(38) column. */
+  @Id
+  @Column(precision = 50, scale = 0)
+  private BigInteger serialNumber;
+
+  @Column(nullable = false)
+  private Instant revokedAt;
+
+  /** Numeric CRL reason code, see RFC 5280. */
+  @Column(nullable = false)
+  private Integer reason;
+
+  @Column(nullable = true)
+  private Long hubId;
+}
@@ -0,0 +1,15 @@
+package com.grillgauge.api.domain.events;
+
+import java.math.BigInteger;
+import java.time.Instant;
+
+/**
+ * Application event published when a certificate is added to the revocation store.
+ *
+ * @param serialNumber the serial number of the revoked certificate.
+ * @param revokedAt the time the certificate was revoked.
+ * @param reason the numeric CRL reason code, see RFC 5280.
+ * @param hubId the ID of the hub the certificate was issued to, if any.
+ */
+public record CertificateRevokedEvent(
+    BigInteger serialNumber, Instant revokedAt, int reason, Long hubId) {}
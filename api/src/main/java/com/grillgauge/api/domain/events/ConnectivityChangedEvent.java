@@ -0,0 +1,21 @@
+package com.grillgauge.api.domain.events;
+
+import java.time.Instant;
+
+/**
+ * Application event published when a hub or probe comes online or goes offline.
+ *
+ * @param subject whether the event is for a hub or a probe.
+ * @param id the ID of the hub or probe.
+ * @param online whether it is now online.
+ * @param lastSeenAt the time of its last reading.
+ */
+public record ConnectivityChangedEvent(
+    Subject subject, Long id, boolean online, Instant lastSeenAt) {
+
+  /** The kind of device the event is for. */
+  public enum Subject {
+    HUB,
+    PROBE
+  }
+}
@@ -0,0 +1,12 @@
+package com.grillgauge.api.domain.events;
+
+/**
+ * Application event published when the target temperature of a probe changes.
+ *
+ * @param hubId the ID of the hub the probe belongs to.
+ * @param probeId the ID of the probe.
+ * @param localId the hub-local ID of the probe.
+ * @param targetTemp the new target temperature, or null if the target was cleared.
+ */
+public record ProbeTargetTempChangedEvent(
+    Long hubId, Long probeId, Integer localId, Float targetTemp) {}
@@ -0,0 +1,11 @@
+package com.grillgauge.api.domain.events;
+
+import java.util.List;
+
+/**
+ * Application event published when probes, and with them their readings, are deleted, directly or
+ * by the deletion of their hub or owner.
+ *
+ * @param probeIds the IDs of the deleted probes.
+ */
+public record ProbesDeletedEvent(List<Long> probeIds) {}
@@ -0,0 +1,50 @@
+package com.grillgauge.api.domain.models;
+
+import com.grillgauge.api.domain.entitys.AlertEvent;
+import com.grillgauge.api.domain.entitys.AlertEvent.AlertState;
+import com.grillgauge.api.domain.entitys.AlertEvent.AlertType;
+import java.time.Instant;
+
+/**
+ * Model representing an alert delivered to subscribers and the front-end.
+ *
+ * @param id the ID of the alert event.
+ * @param probeId the ID of the probe.
+ * @param hubId the ID of the hub the probe belongs to.
+ * @param localId the hub-local ID of the probe.
+ * @param alertType the kind of threshold the alert relates to.
+ * @param alertState whether the alert was raised or cleared.
+ * @param temperature the temperature that triggered the transition.
+ * @param threshold the threshold that was crossed.
+ * @param occurredAt the time of the reading that triggered the transition.
+ */
+public record AlertNotification(
+    Long id,
+    Long probeId,
+    Long hubId,
+    Integer localId,
+    AlertType alertType,
+    AlertState alertState,
+    Float temperature,
+    Float threshold,
+    Instant occurredAt) {
+
+  /**
+   * Create a notification from an alert event without initialising its probe.
+   *
+   * @param event the alert event.
+   * @return the notification.
+   */
+  public static AlertNotification from(final AlertEvent event) {
+    return new AlertNotification(
+        event.getId(),
+        event.getProbe().getId(),
+        event.getHubId(),
+        event.getLocalId(),
+        event.getAlertType(),
+        event.getAlertState(),
+        event.getTemperature(),
+        event.getThreshold(),
+        event.getOccurredAt());
+  }
+}
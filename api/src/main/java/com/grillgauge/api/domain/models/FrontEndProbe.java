@@ -8,7 +8,8 @@ import org.springframework.lang.NonNull;
 
 /**
  * Model representing a Probe for front-end consumption. Contains the Probe's ID, local ID, target
- * temperature, current temperature, name, colour, and connection status.
+ * temperature, current temperature, name, colour, connection status, alert temperatures and the
+ * estimated seconds until the target temperature is reached.
  */
 @Getter
 @Setter
@@ -24,4 +25,7 @@ public class FrontEndProbe {
   @NonNull private String colour;
   @NonNull private Boolean connected;
   @NonNull private Boolean visible;
+  private Float highAlertTemp;
+  private Float lowAlertTemp;
+  private Long etaSeconds;
 }
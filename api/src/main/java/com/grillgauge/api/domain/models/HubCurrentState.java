@@ -2,6 +2,7 @@ package com.grillgauge.api.domain.models;
 
 import com.grillgauge.api.domain.entitys.Probe;
 import java.util.List;
+import java.util.Map;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.Setter;
@@ -9,7 +10,8 @@ import lombok.Setter;
 /**
  * Model representing the current state of a Hub.
  *
- * <p>Contains the Hub's ID, name, and associated probes.
+ * <p>Contains the Hub's ID, name, associated probes and the estimated seconds until each heating
+ * probe reaches its target temperature, keyed by the probe's local ID.
  */
 @Getter
 @Setter
@@ -18,4 +20,5 @@ public class HubCurrentState {
   private Long hubId;
   private String hubName;
   private List<Probe> probes;
+  private Map<Integer, Long> etaSeconds;
 }
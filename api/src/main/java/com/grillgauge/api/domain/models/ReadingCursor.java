@@ -0,0 +1,59 @@
+package com.grillgauge.api.domain.models;
+
+import java.nio.ByteBuffer;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.util.Base64;
+
+/**
+ * Model representing the position of the last reading of a history page, which the next page
+ * continues after.
+ *
+ * <p>Handed to clients as an opaque, URL-safe token. The full timestamp precision and the reading
+ * ID are kept so that readings sharing a timestamp are neither skipped nor repeated between pages.
+ *
+ * @param probeId the ID of the probe of the last reading
+ * @param timestamp when the last reading was taken
+ * @param readingId the ID of the last reading
+ */
+public record ReadingCursor(long probeId, Instant timestamp, long readingId) {
+
+  private static final int ENCODED_BYTES = Long.BYTES * 3 + Integer.BYTES;
+
+  /**
+   * Encode the cursor as a token.
+   *
+   * @return the URL-safe token.
+   */
+  public String encode() {
+    ByteBuffer buffer =
+        ByteBuffer.allocate(ENCODED_BYTES)
+            .putLong(probeId)
+            .putLong(timestamp.getEpochSecond())
+            .putInt(timestamp.getNano())
+            .putLong(readingId);
+    return Base64.getUrlEncoder().withoutPadding().encodeToString(buffer.array());
+  }
+
+  /**
+   * Decode a token produced by {@link #encode()}.
+   *
+   * @param token the token.
+   * @return the cursor.
+   * @throws IllegalArgumentException if the token is not a valid cursor.
+   */
+  public static ReadingCursor decode(final String token) {
+    byte[] bytes = Base64.getUrlDecoder().decode(token);
+    if (bytes.length != ENCODED_BYTES) {
+      throw new IllegalArgumentException("Cursor has %s bytes".formatted(bytes.length));
+    }
+    try {
+      ByteBuffer buffer = ByteBuffer.wrap(bytes);
+      long probeId = buffer.getLong();
+      Instant timestamp = Instant.ofEpochSecond(buffer.getLong(), buffer.getInt());
+      return new ReadingCursor(probeId, timestamp, buffer.getLong());
+    } catch (DateTimeException | ArithmeticException e) {
+      throw new IllegalArgumentException("Invalid cursor", e);
+    }
+  }
+}
@@ -0,0 +1,12 @@
+package com.grillgauge.api.domain.models;
+
+import java.util.Map;
+
+/**
+ * Model representing one page of reading history.
+ *
+ * @param readings the readings in the page, by probe ID in ascending order, for the probes that
+ *     have readings in the page
+ * @param nextCursor the cursor to request the next page with, or null if this is the last page
+ */
+public record ReadingPage(Map<Long, ReadingSeries> readings, String nextCursor) {}
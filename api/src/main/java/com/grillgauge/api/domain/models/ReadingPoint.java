@@ -0,0 +1,27 @@
+package com.grillgauge.api.domain.models;
+
+import java.time.Instant;
+
+/**
+ * Model representing a single point in a probe's reading history.
+ *
+ * <p>Projected straight from the reading table, so history queries never load Reading entities.
+ *
+ * @param id the ID of the reading
+ * @param probeId the ID of the probe the reading was taken by
+ * @param timestamp when the reading was taken
+ * @param temperature the temperature recorded
+ */
+public record ReadingPoint(Long id, Long probeId, Instant timestamp, float temperature) {
+
+  /**
+   * Constructor for a point projected from the compact reading table, which has no reading IDs.
+   *
+   * @param probeId the ID of the probe the reading was taken by
+   * @param timestampMillis when the reading was taken, in epoch milliseconds
+   * @param tempTenths the temperature recorded, in tenths of a degree
+   */
+  public ReadingPoint(final Long probeId, final Long timestampMillis, final Short tempTenths) {
+    this(null, probeId, Instant.ofEpochMilli(timestampMillis), tempTenths / 10f);
+  }
+}
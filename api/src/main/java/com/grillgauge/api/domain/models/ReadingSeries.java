@@ -0,0 +1,82 @@
+package com.grillgauge.api.domain.models;
+
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import java.util.Arrays;
+
+/**
+ * Growable, columnar series of a probe's readings, oldest first.
+ *
+ * <p>Points are held in parallel primitive arrays (epoch millis and temperature) so a large history
+ * response costs 12 bytes per point rather than a boxed Instant and DTO. Serialized by {@link
+ * ReadingSeriesSerializer} in the same shape as a list of {@link ReadingPoint}. Instances are not
+ * thread-safe.
+ */
+@JsonSerialize(using = ReadingSeriesSerializer.class)
+public final class ReadingSeries {
+
+  private static final int INITIAL_CAPACITY = 64;
+
+  private long[] timestamps;
+  private float[] temperatures;
+  private int size;
+
+  /** Create an empty series. */
+  public ReadingSeries() {
+    this(INITIAL_CAPACITY);
+  }
+
+  /**
+   * Create an empty series sized for the expected number of points.
+   *
+   * @param capacity the initial capacity of the backing arrays.
+   */
+  public ReadingSeries(final int capacity) {
+    timestamps = new long[Math.max(capacity, 1)];
+    temperatures = new float[timestamps.length];
+  }
+
+  /**
+   * Append a point to the series, growing the backing arrays if required.
+   *
+   * @param epochMilli when the reading was taken, in milliseconds since the epoch.
+   * @param temperature the temperature recorded.
+   */
+  public void add(final long epochMilli, final float temperature) {
+    if (size == timestamps.length) {
+      timestamps = Arrays.copyOf(timestamps, size * 2);
+      temperatures = Arrays.copyOf(temperatures, size * 2);
+    }
+    timestamps[size] = epochMilli;
+    temperatures[size] = temperature;
+    size++;
+  }
+
+  /**
+   * Append every point of another series, which must start at or after this one's last point.
+   *
+   * @param other the series to append.
+   */
+  public void addAll(final ReadingSeries other) {
+    int required = size + other.size;
+    if (required > timestamps.length) {
+      int capacity = Math.max(required, timestamps.length * 2);
+      timestamps = Arrays.copyOf(timestamps, capacity);
+      temperatures = Arrays.copyOf(temperatures, capacity);
+    }
+    System.arraycopy(other.timestamps, 0, timestamps, size, other.size);
+    System.arraycopy(other.temperatures, 0, temperatures, size, other.size);
+    size = required;
+  }
+
+  public int size() {
+    return size;
+  }
+
+  public long timestampAt(final int index) {
+    return timestamps[index];
+  }
+
+  public float temperatureAt(final int index) {
+    return temperatures[index];
+  }
+}
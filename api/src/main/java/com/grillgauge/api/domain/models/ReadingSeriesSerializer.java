@@ -0,0 +1,103 @@
+package com.grillgauge.api.domain.models;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import java.io.IOException;
+import java.time.Instant;
+
+/**
+ * Writes a {@link ReadingSeries} as an array of {@code {"timestamp", "temperature"}} objects.
+ *
+ * <p>Timestamps are formatted as ISO 8601 UTC instants, matching {@link Instant#toString()} for
+ * millisecond precision, into a single buffer reused for every point of the series.
+ */
+public class ReadingSeriesSerializer extends StdSerializer<ReadingSeries> {
+
+  private static final SerializedString TIMESTAMP = new SerializedString("timestamp");
+  private static final SerializedString TEMPERATURE = new SerializedString("temperature");
+
+  private static final long MILLIS_PER_DAY = 86_400_000L;
+  // 0000-01-01T00:00:00Z and 10000-01-01T00:00:00Z, the range of four-digit years
+  private static final long MIN_FAST_MILLIS = -62_167_219_200_000L;
+  private static final long MAX_FAST_MILLIS = 253_402_300_800_000L;
+
+  public ReadingSeriesSerializer() {
+    super(ReadingSeries.class);
+  }
+
+  @Override
+  public void serialize(
+      final ReadingSeries series, final JsonGenerator gen, final SerializerProvider provider)
+      throws IOException {
+    char[] buffer = new char[24];
+    gen.writeStartArray(series, series.size());
+    for (int i = 0; i < series.size(); i++) {
+      gen.writeStartObject();
+      gen.writeFieldName(TIMESTAMP);
+      long epochMilli = series.timestampAt(i);
+      if (epochMilli >= MIN_FAST_MILLIS && epochMilli < MAX_FAST_MILLIS) {
+        gen.writeString(buffer, 0, formatInstant(epochMilli, buffer));
+      } else {
+        gen.writeString(Instant.ofEpochMilli(epochMilli).toString());
+      }
+      gen.writeFieldName(TEMPERATURE);
+      gen.writeNumber(series.temperatureAt(i));
+      gen.writeEndObject();
+    }
+    gen.writeEndArray();
+  }
+
+  /**
+   * Format an instant as {@code yyyy-MM-ddTHH:mm:ss[.SSS]Z}, the fraction only when non-zero.
+   *
+   * @param epochMilli the instant, within the four-digit year range.
+   * @param buffer the buffer to write to, at least 24 chars.
+   * @return the number of chars written.
+   */
+  static int formatInstant(final long epochMilli, final char[] buffer) {
+    long epochDay = Math.floorDiv(epochMilli, MILLIS_PER_DAY);
+    final int millisOfDay = (int) Math.floorMod(epochMilli, MILLIS_PER_DAY);
+
+    // Civil date from days since the epoch, counting years from March so leap days come last
+    long shifted = epochDay + 719_468;
+    long era = Math.floorDiv(shifted, 146_097);
+    int dayOfEra = (int) (shifted - era * 146_097);
+    int yearOfEra = (dayOfEra - dayOfEra / 1460 + dayOfEra / 36_524 - dayOfEra / 146_096) / 365;
+    int dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+    int monthIndex = (5 * dayOfYear + 2) / 153;
+    final int day = dayOfYear - (153 * monthIndex + 2) / 5 + 1;
+    int month = monthIndex < 10 ? monthIndex + 3 : monthIndex - 9;
+    int year = (int) (yearOfEra + era * 400) + (month <= 2 ? 1 : 0);
+
+    int pos = writeDigits(buffer, 0, year, 4);
+    buffer[pos++] = '-';
+    pos = writeDigits(buffer, pos, month, 2);
+    buffer[pos++] = '-';
+    pos = writeDigits(buffer, pos, day, 2);
+    buffer[pos++] = 'T';
+    pos = writeDigits(buffer, pos, millisOfDay / 3_600_000, 2);
+    buffer[pos++] = ':';
+    pos = writeDigits(buffer, pos, millisOfDay / 60_000 % 60, 2);
+    buffer[pos++] = ':';
+    pos = writeDigits(buffer, pos, millisOfDay / 1000 % 60, 2);
+    int millis = millisOfDay % 1000;
+    if (millis != 0) {
+      buffer[pos++] = '.';
+      pos = writeDigits(buffer, pos, millis, 3);
+    }
+    buffer[pos++] = 'Z';
+    return pos;
+  }
+
+  private static int writeDigits(
+      final char[] buffer, final int pos, final int value, final int width) {
+    int remaining = value;
+    for (int i = pos + width - 1; i >= pos; i--) {
+      buffer[i] = (char) ('0' + remaining % 10);
+      remaining /= 10;
+    }
+    return pos + width;
+  }
+}
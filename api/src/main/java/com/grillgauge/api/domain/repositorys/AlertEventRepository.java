@@ -0,0 +1,24 @@
+package com.grillgauge.api.domain.repositorys;
+
+import com.grillgauge.api.domain.entitys.AlertEvent;
+import java.time.Instant;
+import java.util.List;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+/** Repository interface for managing AlertEvent entities. */
+@Repository
+public interface AlertEventRepository extends JpaRepository<AlertEvent, Long> {
+
+  List<AlertEvent> findByDeliveredAtIsNullOrderByIdAsc(Limit limit);
+
+  List<AlertEvent> findTop50ByProbe_Owner_EmailOrderByOccurredAtDesc(String email);
+
+  @Modifying
+  @Query("update AlertEvent a set a.deliveredAt = :deliveredAt where a.id in :ids")
+  int markDelivered(@Param("ids") List<Long> ids, @Param("deliveredAt") Instant deliveredAt);
+}
@@ -0,0 +1,126 @@
+package com.grillgauge.api.domain.repositorys;
+
+import com.grillgauge.api.domain.entitys.CompactReading;
+import com.grillgauge.api.domain.models.ReadingPoint;
+import jakarta.persistence.QueryHint;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repository interface for managing CompactReading entities.
+ *
+ * <p>Mirrors the history queries of {@link ReadingRepository} with times in epoch milliseconds.
+ * Every query is served by the (probe_id, ts) primary key.
+ */
+@Repository
+public interface CompactReadingRepository
+    extends JpaRepository<CompactReading, CompactReading.Key> {
+
+  Optional<CompactReading> findTopByProbeIdOrderByTimestampMillisDesc(Long probeId);
+
+  @Modifying
+  @Query("delete from CompactReading r where r.probeId = :probeId")
+  int deleteAllByProbeId(@Param("probeId") Long probeId);
+
+  /**
+   * Stream the history of several probes between two times as points, grouped by probe and oldest
+   * first within each probe. Must be consumed, and closed, inside a transaction.
+   *
+   * @param probeIds the IDs of the probes
+   * @param start the start of the range in epoch milliseconds, inclusive
+   * @param end the end of the range in epoch milliseconds, inclusive
+   * @return the readings in the range as ReadingPoints
+   */
+  @Query(
+      "select new com.grillgauge.api.domain.models.ReadingPoint(r.probeId, r.timestampMillis,"
+          + " r.tempTenths) from CompactReading r where r.probeId in :probeIds"
+          + " and r.timestampMillis between :start and :end order by r.probeId, r.timestampMillis")
+  @QueryHints({
+    @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+    @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000")
+  })
+  Stream<ReadingPoint> streamPointsByProbeIdsBetween(
+      @Param("probeIds") Collection<Long> probeIds,
+      @Param("start") long start,
+      @Param("end") long end);
+
+  /**
+   * Same as {@link #streamPointsByProbeIdsBetween} but with an exclusive end.
+   *
+   * @param probeIds the IDs of the probes
+   * @param start the start of the slice in epoch milliseconds, inclusive
+   * @param end the end of the slice in epoch milliseconds, exclusive
+   * @return the readings in the slice as ReadingPoints
+   */
+  @Query(
+      "select new com.grillgauge.api.domain.models.ReadingPoint(r.probeId, r.timestampMillis,"
+          + " r.tempTenths) from CompactReading r where r.probeId in :probeIds"
+          + " and r.timestampMillis >= :start and r.timestampMillis < :end"
+          + " order by r.probeId, r.timestampMillis")
+  @QueryHints({
+    @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+    @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000")
+  })
+  Stream<ReadingPoint> streamPointsByProbeIdsInSlice(
+      @Param("probeIds") Collection<Long> probeIds,
+      @Param("start") long start,
+      @Param("end") long end);
+
+  /**
+   * Get the first page of the history of several probes between two times, ordered by probe and
+   * time.
+   *
+   * @param probeIds the IDs of the probes
+   * @param start the start of the range in epoch milliseconds, inclusive
+   * @param end the end of the range in epoch milliseconds, inclusive
+   * @param limit the maximum number of readings to return
+   * @return the first readings in the range as ReadingPoints
+   */
+  @Query(
+      "select new com.grillgauge.api.domain.models.ReadingPoint(r.probeId, r.timestampMillis,"
+          + " r.tempTenths) from CompactReading r where r.probeId in :probeIds"
+          + " and r.timestampMillis between :start and :end order by r.probeId, r.timestampMillis")
+  @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+  List<ReadingPoint> findPointPage(
+      @Param("probeIds") Collection<Long> probeIds,
+      @Param("start") long start,
+      @Param("end") long end,
+      Limit limit);
+
+  /**
+   * Get the page of the history of several probes that follows a given reading, ordered by probe
+   * and time. The primary key is unique, so no tie-breaking ID is needed.
+   *
+   * @param probeIds the IDs of the probes
+   * @param start the start of the range in epoch milliseconds, inclusive
+   * @param end the end of the range in epoch milliseconds, inclusive
+   * @param afterProbeId the probe ID of the last reading of the previous page
+   * @param afterTimestamp the time of the last reading of the previous page in epoch milliseconds
+   * @param limit the maximum number of readings to return
+   * @return the readings after the given one in the range as ReadingPoints
+   */
+  @Query(
+      "select new com.grillgauge.api.domain.models.ReadingPoint(r.probeId, r.timestampMillis,"
+          + " r.tempTenths) from CompactReading r where r.probeId in :probeIds"
+          + " and r.timestampMillis between :start and :end"
+          + " and (r.probeId, r.timestampMillis) > (:afterProbeId, :afterTimestamp)"
+          + " order by r.probeId, r.timestampMillis")
+  @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+  List<ReadingPoint> findPointPageAfter(
+      @Param("probeIds") Collection<Long> probeIds,
+      @Param("start") long start,
+      @Param("end") long end,
+      @Param("afterProbeId") Long afterProbeId,
+      @Param("afterTimestamp") long afterTimestamp,
+      Limit limit);
+}
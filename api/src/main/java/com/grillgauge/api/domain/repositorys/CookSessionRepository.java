@@ -0,0 +1,16 @@
+package com.grillgauge.api.domain.repositorys;
+
+import com.grillgauge.api.domain.entitys.CookSession;
+import java.util.List;
+import java.util.Optional;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+/** Repository interface for managing CookSession entities. */
+@Repository
+public interface CookSessionRepository extends JpaRepository<CookSession, Long> {
+
+  List<CookSession> findTop100ByProbe_IdOrderByStartTimeDesc(Long probeId);
+
+  Optional<CookSession> findTopByProbe_IdOrderByEndTimeDesc(Long probeId);
+}
@@ -0,0 +1,9 @@
+package com.grillgauge.api.domain.repositorys;
+
+import com.grillgauge.api.domain.entitys.CrlPublication;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+/** Repository interface for managing the CrlPublication entity. */
+@Repository
+public interface CrlPublicationRepository extends JpaRepository<CrlPublication, Long> {}
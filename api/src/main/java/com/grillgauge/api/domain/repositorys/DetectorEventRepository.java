@@ -0,0 +1,13 @@
+package com.grillgauge.api.domain.repositorys;
+
+import com.grillgauge.api.domain.entitys.DetectorEvent;
+import java.util.List;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+/** Repository interface for managing DetectorEvent entities. */
+@Repository
+public interface DetectorEventRepository extends JpaRepository<DetectorEvent, Long> {
+
+  List<DetectorEvent> findTop100ByProbe_IdOrderByOccurredAtDesc(Long probeId);
+}
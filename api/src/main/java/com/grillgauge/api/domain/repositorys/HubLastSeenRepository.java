@@ -0,0 +1,20 @@
+package com.grillgauge.api.domain.repositorys;
+
+import com.grillgauge.api.domain.entitys.HubLastSeen;
+import java.time.Instant;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+/** Repository interface for managing HubLastSeen entities. */
+@Repository
+public interface HubLastSeenRepository extends JpaRepository<HubLastSeen, Long> {
+
+  @Modifying
+  @Query(
+      "update HubLastSeen s set s.lastSeenAt = :lastSeenAt"
+          + " where s.hubId = :hubId and s.lastSeenAt < :lastSeenAt")
+  int updateLastSeenAt(@Param("hubId") Long hubId, @Param("lastSeenAt") Instant lastSeenAt);
+}
@@ -1,15 +1,19 @@
 package com.grillgauge.api.domain.repositorys;
 
 import com.grillgauge.api.domain.entitys.Hub;
+import jakarta.persistence.QueryHint;
 import java.util.List;
 import java.util.Optional;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 /** Repository interface for managing Hub entities. */
 @Repository
 public interface HubRepository extends JpaRepository<Hub, Long> {
 
+  @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
   List<Hub> findByOwnerEmail(String email);
 
   Optional<Hub> findByCertificateSerial(Long certificateSerial);
@@ -1,18 +1,30 @@
 package com.grillgauge.api.domain.repositorys;
 
 import com.grillgauge.api.domain.entitys.Probe;
+import jakarta.persistence.QueryHint;
 import java.util.List;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 /** Repository interface for managing Probe entities. */
 @Repository
 public interface ProbeRepository extends JpaRepository<Probe, Long> {
 
+  @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
   List<Probe> findByHubId(Long hubId);
 
   int deleteAllByHubId(Long hubId);
 
+  @Query("select p.id from Probe p where p.hub.id = :hubId")
+  List<Long> findIdsByHubId(@Param("hubId") Long hubId);
+
+  @Query("select p.id from Probe p where p.owner.email = :email or p.hub.owner.email = :email")
+  List<Long> findIdsByOwnerEmail(@Param("email") String email);
+
   boolean existsByIdAndOwnerEmail(Long id, String email);
 
   long countByIdInAndOwnerEmail(List<Long> ids, String email);
@@ -1,10 +1,19 @@
 package com.grillgauge.api.domain.repositorys;
 
 import com.grillgauge.api.domain.entitys.Reading;
+import com.grillgauge.api.domain.models.ReadingPoint;
+import jakarta.persistence.QueryHint;
 import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 /** Repository interface for managing Reading entities. */
@@ -17,6 +26,103 @@ public interface ReadingRepository extends JpaRepository<Reading, Long> {
 
   Long deleteAllByProbeId(Long probeId);
 
-  List<Reading> findByProbe_IdAndTimeStampBetweenOrderByTimeStampAsc(
-      Long probeId, Instant start, Instant end);
+  /**
+   * Stream the history of several probes between two instants as points, grouped by probe and
+   * oldest first within each probe. Must be consumed, and closed, inside a transaction.
+   *
+   * <p>The constructor expression selects only the needed columns, so no Reading entities or Probe
+   * proxies are created and nothing is added to the persistence context.
+   *
+   * @param probeIds the IDs of the probes
+   * @param start the start of the range, inclusive
+   * @param end the end of the range, inclusive
+   * @return the readings in the range as ReadingPoints
+   */
+  @Query(
+      "select new com.grillgauge.api.domain.models.ReadingPoint(r.id, r.probe.id,"
+          + " r.timeStamp, r.currentTemp) from Reading r where r.probe.id in :probeIds"
+          + " and r.timeStamp between :start and :end order by r.probe.id, r.timeStamp")
+  @QueryHints({
+    @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+    @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000")
+  })
+  Stream<ReadingPoint> streamPointsByProbeIdsBetween(
+      @Param("probeIds") Collection<Long> probeIds,
+      @Param("start") Instant start,
+      @Param("end") Instant end);
+
+  /**
+   * Same as {@link #streamPointsByProbeIdsBetween} but with an exclusive end, so adjacent time
+   * slices of a range do not return the same reading twice.
+   *
+   * @param probeIds the IDs of the probes
+   * @param start the start of the slice, inclusive
+   * @param end the end of the slice, exclusive
+   * @return the readings in the slice as ReadingPoints
+   */
+  @Query(
+      "select new com.grillgauge.api.domain.models.ReadingPoint(r.id, r.probe.id,"
+          + " r.timeStamp, r.currentTemp) from Reading r where r.probe.id in :probeIds"
+          + " and r.timeStamp >= :start and r.timeStamp < :end order by r.probe.id, r.timeStamp")
+  @QueryHints({
+    @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+    @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000")
+  })
+  Stream<ReadingPoint> streamPointsByProbeIdsInSlice(
+      @Param("probeIds") Collection<Long> probeIds,
+      @Param("start") Instant start,
+      @Param("end") Instant end);
+
+  /**
+   * Get the first page of the history of several probes between two instants, ordered by probe,
+   * time and reading ID.
+   *
+   * @param probeIds the IDs of the probes
+   * @param start the start of the range, inclusive
+   * @param end the end of the range, inclusive
+   * @param limit the maximum number of readings to return
+   * @return the first readings in the range as ReadingPoints
+   */
+  @Query(
+      "select new com.grillgauge.api.domain.models.ReadingPoint(r.id, r.probe.id,"
+          + " r.timeStamp, r.currentTemp) from Reading r where r.probe.id in :probeIds"
+          + " and r.timeStamp between :start and :end order by r.probe.id, r.timeStamp, r.id")
+  @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+  List<ReadingPoint> findPointPage(
+      @Param("probeIds") Collection<Long> probeIds,
+      @Param("start") Instant start,
+      @Param("end") Instant end,
+      Limit limit);
+
+  /**
+   * Get the page of the history of several probes that follows a given reading, ordered by probe,
+   * time and reading ID.
+   *
+   * <p>The row-value comparison seeks straight to the position on the (probe_id, time_stamp, id)
+   * index, so a page costs the same however deep into the history it is.
+   *
+   * @param probeIds the IDs of the probes
+   * @param start the start of the range, inclusive
+   * @param end the end of the range, inclusive
+   * @param afterProbeId the probe ID of the last reading of the previous page
+   * @param afterTimeStamp the timestamp of the last reading of the previous page
+   * @param afterId the ID of the last reading of the previous page
+   * @param limit the maximum number of readings to return
+   * @return the readings after the given one in the range as ReadingPoints
+   */
+  @Query(
+      "select new com.grillgauge.api.domain.models.ReadingPoint(r.id, r.probe.id,"
+          + " r.timeStamp, r.currentTemp) from Reading r where r.probe.id in :probeIds"
+          + " and r.timeStamp between :start and :end"
+          + " and (r.probe.id, r.timeStamp, r.id) > (:afterProbeId, :afterTimeStamp, :afterId)"
+          + " order by r.probe.id, r.timeStamp, r.id")
+  @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+  List<ReadingPoint> findPointPageAfter(
+      @Param("probeIds") Collection<Long> probeIds,
+      @Param("start") Instant start,
+      @Param("end") Instant end,
+      @Param("afterProbeId") Long afterProbeId,
+      @Param("afterTimeStamp") Instant afterTimeStamp,
+      @Param("afterId") Long afterId,
+      Limit limit);
 }
@@ -0,0 +1,11 @@
+package com.grillgauge.api.domain.repositorys;
+
+import com.grillgauge.api.domain.entitys.RevokedCertificate;
+import java.math.BigInteger;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+/** Repository interface for managing RevokedCertificate entities. */
+@Repository
+public interface RevokedCertificateRepository
+    extends JpaRepository<RevokedCertificate, BigInteger> {}
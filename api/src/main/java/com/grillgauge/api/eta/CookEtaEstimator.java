@@ -0,0 +1,117 @@
+package com.grillgauge.api.eta;
+
+import com.grillgauge.api.domain.entitys.Probe;
+import com.grillgauge.api.domain.events.ProbesDeletedEvent;
+import com.grillgauge.api.ingest.ReadingListener;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Maintains a per-probe estimate of the time left until the probe reaches its target temperature.
+ *
+ * <p>Each ingested reading updates a double exponential (level and trend) smoothing model of the
+ * probe's temperature in O(1), so the estimate is always current without clients downloading the
+ * reading history to fit a curve. The trend is tracked in degrees per second so irregular reading
+ * intervals are handled. No estimate is given until the probe is heating towards an unreached
+ * target, or once its last reading is older than {@code eta.stale-after-seconds}.
+ */
+@Component
+public class CookEtaEstimator implements ReadingListener {
+
+  private static final double MIN_SLOPE_PER_SECOND = 1e-4;
+
+  private final double alpha;
+  private final double beta;
+  private final Duration staleAfter;
+  private final Map<Long, ProbeTrend> trends = new ConcurrentHashMap<>();
+
+  /**
+   * Constructor for CookEtaEstimator.
+   *
+   * @param alpha Smoothing factor for the temperature level, between 0 and 1.
+   * @param beta Smoothing factor for the temperature trend, between 0 and 1.
+   * @param staleAfterSeconds Age of the last reading after which no estimate is given.
+   */
+  public CookEtaEstimator(
+      @Value("${eta.alpha:0.3}") final double alpha,
+      @Value("${eta.beta:0.1}") final double beta,
+      @Value("${eta.stale-after-seconds:600}") final long staleAfterSeconds) {
+    this.alpha = alpha;
+    this.beta = beta;
+    this.staleAfter = Duration.ofSeconds(staleAfterSeconds);
+  }
+
+  @Override
+  public void onReading(final Probe probe, final float temp, final Instant timeStamp) {
+    ProbeTrend trend = trends.computeIfAbsent(probe.getId(), id -> new ProbeTrend());
+    synchronized (trend) {
+      trend.update(temp, timeStamp, alpha, beta);
+    }
+  }
+
+  /**
+   * Drop the trends of deleted probes once their deletion commits.
+   *
+   * @param event the deletion.
+   */
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onProbesDeleted(final ProbesDeletedEvent event) {
+    event.probeIds().forEach(trends::remove);
+  }
+
+  /**
+   * Estimate the number of seconds until the probe reaches its target temperature.
+   *
+   * @param probe the probe to estimate for.
+   * @return the estimated seconds to target, or null if no estimate can be given.
+   */
+  public Long estimateSecondsToTarget(final Probe probe) {
+    Float target = probe.getTargetTemp();
+    ProbeTrend trend = trends.get(probe.getId());
+    if (target == null || trend == null) {
+      return null;
+    }
+    synchronized (trend) {
+      if (trend.lastTimeStamp == null || trend.slope < MIN_SLOPE_PER_SECOND) {
+        return null;
+      }
+      Duration age = Duration.between(trend.lastTimeStamp, Instant.now());
+      if (age.compareTo(staleAfter) > 0 || trend.level >= target) {
+        return null;
+      }
+      double remaining = (target - trend.level) / trend.slope - age.toMillis() / 1000.0;
+      return Math.max(0L, Math.round(remaining));
+    }
+  }
+
+  /** Smoothed temperature level and trend of a single probe. */
+  private static final class ProbeTrend {
+    private double level;
+    private double slope;
+    private Instant lastTimeStamp;
+
+    private void update(
+        final float temp, final Instant timeStamp, final double alpha, final double beta) {
+      if (lastTimeStamp == null) {
+        level = temp;
+        slope = 0;
+        lastTimeStamp = timeStamp;
+        return;
+      }
+      double dt = Duration.between(lastTimeStamp, timeStamp).toMillis() / 1000.0;
+      if (dt <= 0) {
+        level = alpha * temp + (1 - alpha) * level;
+        return;
+      }
+      double previousLevel = level;
+      level = alpha * temp + (1 - alpha) * (level + slope * dt);
+      slope = beta * ((level - previousLevel) / dt) + (1 - beta) * slope;
+      lastTimeStamp = timeStamp;
+    }
+  }
+}
@@ -0,0 +1,115 @@
+package com.grillgauge.api.ingest;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.io.InputStream;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Streaming decoder for the hub ingest payload.
+ *
+ * <p>Reads the same JSON document as {@link com.grillgauge.api.domain.models.HubReading} with a
+ * token parser straight into a thread-local {@link ProbeReadingBuffer}, so an upload does not
+ * materialise a {@code HubReading} / {@code ProbeReading} object graph with boxed values. The
+ * returned buffer is only valid on the calling thread until its next call to {@code decode}.
+ */
+@Component
+public class HubReadingDecoder {
+
+  private static final String PROBE_READINGS_FIELD = "probeReadings";
+  private static final String ID_FIELD = "id";
+  private static final String CURRENT_TEMP_FIELD = "currentTemp";
+
+  private final JsonFactory jsonFactory;
+  private final ThreadLocal<ProbeReadingBuffer> buffers =
+      ThreadLocal.withInitial(ProbeReadingBuffer::new);
+
+  public HubReadingDecoder(final ObjectMapper objectMapper) {
+    this.jsonFactory = objectMapper.getFactory();
+  }
+
+  /**
+   * Decode a hub reading payload into the calling thread's reading buffer.
+   *
+   * @param body the request body containing the hub reading JSON.
+   * @return the decoded readings.
+   * @throws ResponseStatusException with status 400 if the payload is malformed.
+   */
+  public ProbeReadingBuffer decode(final InputStream body) {
+    try (JsonParser parser = jsonFactory.createParser(body)) {
+      return decode(parser);
+    } catch (IOException e) {
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Malformed hub reading payload", e);
+    }
+  }
+
+  /**
+   * Decode a hub reading frame received over the hub stream into the calling thread's reading
+   * buffer.
+   *
+   * @param frame the text frame containing the hub reading JSON.
+   * @return the decoded readings.
+   * @throws ResponseStatusException with status 400 if the payload is malformed.
+   */
+  public ProbeReadingBuffer decode(final String frame) {
+    try (JsonParser parser = jsonFactory.createParser(frame)) {
+      return decode(parser);
+    } catch (IOException e) {
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Malformed hub reading payload", e);
+    }
+  }
+
+  private ProbeReadingBuffer decode(final JsonParser parser) throws IOException {
+    ProbeReadingBuffer buffer = buffers.get();
+    buffer.clear();
+    if (parser.nextToken() != JsonToken.START_OBJECT) {
+      throw invalidPayload("Hub reading must be a JSON object");
+    }
+    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+      String field = parser.currentName();
+      JsonToken value = parser.nextToken();
+      if (PROBE_READINGS_FIELD.equals(field) && value == JsonToken.START_ARRAY) {
+        readProbeReadings(parser, buffer);
+      } else {
+        parser.skipChildren();
+      }
+    }
+    return buffer;
+  }
+
+  private void readProbeReadings(final JsonParser parser, final ProbeReadingBuffer buffer)
+      throws IOException {
+    while (parser.nextToken() == JsonToken.START_OBJECT) {
+      boolean hasId = false;
+      boolean hasTemp = false;
+      int localId = 0;
+      float temp = 0;
+      while (parser.nextToken() == JsonToken.FIELD_NAME) {
+        String field = parser.currentName();
+        JsonToken value = parser.nextToken();
+        if (ID_FIELD.equals(field) && value == JsonToken.VALUE_NUMBER_INT) {
+          localId = parser.getIntValue();
+          hasId = true;
+        } else if (CURRENT_TEMP_FIELD.equals(field) && value.isNumeric()) {
+          temp = parser.getFloatValue();
+          hasTemp = true;
+        } else {
+          parser.skipChildren();
+        }
+      }
+      if (!hasId || !hasTemp) {
+        throw invalidPayload("Each probe reading requires a numeric id and currentTemp");
+      }
+      buffer.add(localId, temp);
+    }
+  }
+
+  private ResponseStatusException invalidPayload(final String message) {
+    return new ResponseStatusException(HttpStatus.BAD_REQUEST, message);
+  }
+}
@@ -0,0 +1,257 @@
+package com.grillgauge.api.ingest;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.grillgauge.api.alerts.AlertSubscriber;
+import com.grillgauge.api.domain.entitys.AlertEvent.AlertState;
+import com.grillgauge.api.domain.entitys.AlertEvent.AlertType;
+import com.grillgauge.api.domain.events.CertificateRevokedEvent;
+import com.grillgauge.api.domain.events.ProbeTargetTempChangedEvent;
+import com.grillgauge.api.domain.models.AlertNotification;
+import com.grillgauge.api.logging.IngestLogSampler;
+import com.grillgauge.api.security.HubRateLimiter;
+import com.grillgauge.api.security.HubUserDetails;
+import com.grillgauge.api.services.ExternalHubService;
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+import org.springframework.dao.DataAccessException;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.ConcurrentWebSocketSessionDecorator;
+import org.springframework.web.socket.handler.TextWebSocketHandler;
+
+/**
+ * WebSocket handler for the persistent hub ingest stream.
+ *
+ * <p>Hubs open the stream with the same client certificate they use for {@code POST
+ * /api/v1/externalHub} and then send one hub reading JSON text frame per sample. Frames go through
+ * the same streaming decoder, probe resolution and batched persistence as the HTTP endpoint,
+ * without a request, security filter chain or response per sample. Target temperature changes and
+ * alerts for the hub's probes are pushed back on the same connection.
+ *
+ * <p>The certificate is only checked when the stream opens, so a hub's streams are closed once its
+ * certificate is revoked.
+ */
+@Component
+public class HubStreamHandler extends TextWebSocketHandler implements AlertSubscriber {
+  private static final Logger LOG = LoggerFactory.getLogger(HubStreamHandler.class);
+
+  private static final String SESSION_ATTRIBUTE = "hubStreamSession";
+  private static final int SEND_TIME_LIMIT_MS = 5_000;
+  private static final int SEND_BUFFER_SIZE_LIMIT = 64 * 1024;
+
+  private final ExternalHubService externalHubService;
+  private final HubReadingDecoder hubReadingDecoder;
+  private final ObjectMapper objectMapper;
+  private final HubRateLimiter hubRateLimiter;
+  private final IngestLogSampler ingestLogSampler;
+  private final Map<Long, Set<WebSocketSession>> sessionsByHub = new ConcurrentHashMap<>();
+
+  /**
+   * Constructor for HubStreamHandler.
+   *
+   * @param externalHubService the ExternalHubService used to persist streamed readings.
+   * @param hubReadingDecoder the decoder for hub reading frames.
+   * @param objectMapper the ObjectMapper used to encode outbound frames.
+   * @param hubRateLimiter the per-hub rate limit streamed frames share with HTTP requests.
+   * @param ingestLogSampler the sampler deciding which streamed frames keep their INFO logging.
+   */
+  public HubStreamHandler(
+      final ExternalHubService externalHubService,
+      final HubReadingDecoder hubReadingDecoder,
+      final ObjectMapper objectMapper,
+      final HubRateLimiter hubRateLimiter,
+      final IngestLogSampler ingestLogSampler) {
+    this.externalHubService = externalHubService;
+    this.hubReadingDecoder = hubReadingDecoder;
+    this.objectMapper = objectMapper;
+    this.hubRateLimiter = hubRateLimiter;
+    this.ingestLogSampler = ingestLogSampler;
+  }
+
+  /** Frame pushed to a hub when the target temperature of one of its probes changes. */
+  public record TargetTempFrame(String type, Integer probeId, Float targetTemp) {}
+
+  /** Frame pushed to a hub when an alert is raised or cleared for one of its probes. */
+  public record AlertFrame(
+      String type,
+      Integer probeId,
+      AlertType alertType,
+      AlertState alertState,
+      Float temperature,
+      Float threshold) {}
+
+  /** Frame pushed to a hub when one of its reading frames is rejected. */
+  public record ErrorFrame(String type, int status, String message) {}
+
+  @Override
+  public void afterConnectionEstablished(final WebSocketSession session) throws IOException {
+    if (!(session.getPrincipal() instanceof Authentication authentication)
+        || !(authentication.getPrincipal() instanceof HubUserDetails hub)) {
+      session.close(CloseStatus.POLICY_VIOLATION);
+      return;
+    }
+    WebSocketSession concurrentSession =
+        new ConcurrentWebSocketSessionDecorator(
+            session, SEND_TIME_LIMIT_MS, SEND_BUFFER_SIZE_LIMIT);
+    session.getAttributes().put(SESSION_ATTRIBUTE, concurrentSession);
+    sessionsByHub.compute(
+        hub.getHubId(),
+        (hubId, sessions) -> {
+          Set<WebSocketSession> hubSessions =
+              sessions == null ? ConcurrentHashMap.newKeySet() : sessions;
+          hubSessions.add(concurrentSession);
+          return hubSessions;
+        });
+    LOG.info("Opened reading stream for hub ID: {}", hub.getHubId());
+  }
+
+  @Override
+  protected void handleTextMessage(final WebSocketSession session, final TextMessage message) {
+    Authentication authentication = (Authentication) session.getPrincipal();
+    Long hubId = ((HubUserDetails) authentication.getPrincipal()).getHubId();
+    if (hubRateLimiter.tryAcquire(hubId) > 0) {
+      send(
+          concurrentSession(session),
+          new ErrorFrame("error", HttpStatus.TOO_MANY_REQUESTS.value(), "Rate limit exceeded"));
+      return;
+    }
+    SecurityContext context = SecurityContextHolder.createEmptyContext();
+    context.setAuthentication(authentication);
+    SecurityContextHolder.setContext(context);
+    try (MDC.MDCCloseable event = ingestLogSampler.begin()) {
+      externalHubService.saveHubReading(hubReadingDecoder.decode(message.getPayload()), hubId);
+    } catch (ResponseStatusException e) {
+      reject(session, hubId, e.getStatusCode().value(), e.getReason());
+    } catch (IllegalArgumentException e) {
+      reject(session, hubId, HttpStatus.BAD_REQUEST.value(), "Malformed hub reading payload");
+    } catch (DataAccessException e) {
+      // Only reaches here when the write-ahead log is disabled or the failure is not an outage
+      LOG.error("Failed to save streamed reading for hub ID: {}", hubId, e);
+      reject(session, hubId, HttpStatus.SERVICE_UNAVAILABLE.value(), "Failed to save reading");
+    } finally {
+      SecurityContextHolder.clearContext();
+    }
+  }
+
+  @Override
+  public void afterConnectionClosed(final WebSocketSession session, final CloseStatus status) {
+    if (session.getPrincipal() instanceof Authentication authentication
+        && authentication.getPrincipal() instanceof HubUserDetails hub) {
+      WebSocketSession concurrentSession = concurrentSession(session);
+      sessionsByHub.computeIfPresent(
+          hub.getHubId(),
+          (hubId, sessions) -> {
+            sessions.remove(concurrentSession);
+            return sessions.isEmpty() ? null : sessions;
+          });
+      LOG.info("Closed reading stream for hub ID: {} with status: {}", hub.getHubId(), status);
+    }
+  }
+
+  /**
+   * Close any open streams of a hub whose certificate has been revoked.
+   *
+   * @param event the revocation.
+   */
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onCertificateRevoked(final CertificateRevokedEvent event) {
+    if (event.hubId() == null) {
+      return;
+    }
+    Set<WebSocketSession> sessions = sessionsByHub.remove(event.hubId());
+    if (sessions == null) {
+      return;
+    }
+    LOG.info("Closing {} reading streams of revoked hub ID: {}", sessions.size(), event.hubId());
+    for (WebSocketSession session : sessions) {
+      try {
+        session.close(CloseStatus.POLICY_VIOLATION.withReason("Certificate revoked"));
+      } catch (IOException e) {
+        LOG.warn("Failed to close hub stream {}: {}", session.getId(), e.getMessage());
+      }
+    }
+  }
+
+  /**
+   * Push a target temperature change to any open streams of the probe's hub.
+   *
+   * @param event the target temperature change.
+   */
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onTargetTempChanged(final ProbeTargetTempChangedEvent event) {
+    Set<WebSocketSession> sessions = sessionsByHub.get(event.hubId());
+    if (sessions == null || sessions.isEmpty()) {
+      return;
+    }
+    LOG.debug(
+        "Pushing target temp change for probe ID: {} to hub ID: {}",
+        event.probeId(),
+        event.hubId());
+    TargetTempFrame frame = new TargetTempFrame("targetTemp", event.localId(), event.targetTemp());
+    for (WebSocketSession session : sessions) {
+      send(session, frame);
+    }
+  }
+
+  /**
+   * Push alerts to any open streams of the hubs they belong to.
+   *
+   * @param alerts the alerts to deliver.
+   */
+  @Override
+  public void onAlerts(final List<AlertNotification> alerts) {
+    for (AlertNotification alert : alerts) {
+      Set<WebSocketSession> sessions = sessionsByHub.get(alert.hubId());
+      if (sessions == null) {
+        continue;
+      }
+      AlertFrame frame =
+          new AlertFrame(
+              "alert",
+              alert.localId(),
+              alert.alertType(),
+              alert.alertState(),
+              alert.temperature(),
+              alert.threshold());
+      for (WebSocketSession session : sessions) {
+        send(session, frame);
+      }
+    }
+  }
+
+  private void reject(
+      final WebSocketSession session, final Long hubId, final int status, final String message) {
+    LOG.warn("Rejected streamed reading for hub ID: {}: {}", hubId, message);
+    send(concurrentSession(session), new ErrorFrame("error", status, message));
+  }
+
+  private WebSocketSession concurrentSession(final WebSocketSession session) {
+    Object decorated = session.getAttributes().get(SESSION_ATTRIBUTE);
+    return decorated instanceof WebSocketSession ? (WebSocketSession) decorated : session;
+  }
+
+  private void send(final WebSocketSession session, final Object frame) {
+    try {
+      session.sendMessage(new TextMessage(objectMapper.writeValueAsString(frame)));
+    } catch (JsonProcessingException e) {
+      LOG.error("Failed to encode hub stream frame", e);
+    } catch (IOException | IllegalStateException e) {
+      LOG.warn("Failed to send frame on hub stream {}: {}", session.getId(), e.getMessage());
+    }
+  }
+}
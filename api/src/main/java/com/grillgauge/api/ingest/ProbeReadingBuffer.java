@@ -0,0 +1,52 @@
+package com.grillgauge.api.ingest;
+
+import java.util.Arrays;
+
+/**
+ * Reusable, growable buffer of probe readings decoded from a single hub upload.
+ *
+ * <p>Readings are held in parallel primitive arrays (local probe ID and temperature) so a decoded
+ * upload does not allocate a DTO per probe. Instances are not thread-safe and are intended to be
+ * reused by a single thread between uploads.
+ */
+public final class ProbeReadingBuffer {
+
+  private static final int INITIAL_CAPACITY = 8;
+
+  private int[] localIds = new int[INITIAL_CAPACITY];
+  private float[] temps = new float[INITIAL_CAPACITY];
+  private int size;
+
+  /**
+   * Append a reading to the buffer, growing the backing arrays if required.
+   *
+   * @param localId the hub-local ID of the probe.
+   * @param temp the temperature reported by the probe.
+   */
+  public void add(final int localId, final float temp) {
+    if (size == localIds.length) {
+      localIds = Arrays.copyOf(localIds, size * 2);
+      temps = Arrays.copyOf(temps, size * 2);
+    }
+    localIds[size] = localId;
+    temps[size] = temp;
+    size++;
+  }
+
+  public int size() {
+    return size;
+  }
+
+  public int localIdAt(final int index) {
+    return localIds[index];
+  }
+
+  public float tempAt(final int index) {
+    return temps[index];
+  }
+
+  /** Reset the buffer so it can be reused for the next upload. */
+  public void clear() {
+    size = 0;
+  }
+}
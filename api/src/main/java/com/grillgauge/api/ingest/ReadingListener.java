@@ -0,0 +1,24 @@
+package com.grillgauge.api.ingest;
+
+import com.grillgauge.api.domain.entitys.Probe;
+import java.time.Instant;
+
+/**
+ * Hook invoked on the ingest path for every probe reading saved from a hub upload.
+ *
+ * <p>Listeners run synchronously on the ingest thread once the ingest transaction has committed, so
+ * a rolled back upload never reaches them. Implementations must be O(1) per reading and keep their
+ * state in memory; the rare writes they make, such as a detected event, need a transaction of their
+ * own.
+ */
+public interface ReadingListener {
+
+  /**
+   * Handle a newly ingested reading.
+   *
+   * @param probe the probe the reading belongs to, as already loaded by the ingest path.
+   * @param temp the temperature reported by the probe.
+   * @param timeStamp the time the reading was taken.
+   */
+  void onReading(Probe probe, float temp, Instant timeStamp);
+}
@@ -0,0 +1,138 @@
+package com.grillgauge.api.ingest.wal;
+
+import com.grillgauge.api.datasource.DatabaseFailures;
+import com.grillgauge.api.domain.entitys.Hub;
+import com.grillgauge.api.domain.repositorys.HubRepository;
+import com.grillgauge.api.ingest.wal.WriteAheadLog.Entry;
+import com.grillgauge.api.services.ProbeService;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Drains the {@link WriteAheadLog} into the database once it is reachable again.
+ *
+ * <p>Uploads are replayed oldest first, {@code ingest.wal.replay-batch-size} per transaction,
+ * through the normal ingest path with the time they were accepted, so reading listeners see them as
+ * late readings. Uploads from hubs no longer REGISTERED, such as those revoked during the outage,
+ * are dropped with a warning. If the database rejects a batch, rather than being unavailable, its
+ * uploads are retried one per transaction and any still rejected, such as those for a probe deleted
+ * in the meantime, are dropped with a warning. Progress is checkpointed after each commit, so a
+ * crash in between replays the committed uploads again.
+ */
+public class WalReplayer {
+  private static final Logger LOG = LoggerFactory.getLogger(WalReplayer.class);
+
+  private final WriteAheadLog writeAheadLog;
+  private final ProbeService probeService;
+  private final HubRepository hubRepository;
+  private final TransactionTemplate transactionTemplate;
+  private final int batchSize;
+  private boolean databaseUnavailable;
+
+  /**
+   * Constructor for WalReplayer.
+   *
+   * @param writeAheadLog the log to drain.
+   * @param probeService the ProbeService uploads are saved through.
+   * @param hubRepository the HubRepository used to check each upload's hub is still registered.
+   * @param transactionTemplate the TransactionTemplate each batch is saved in.
+   * @param batchSize the maximum number of uploads saved per transaction.
+   */
+  public WalReplayer(
+      final WriteAheadLog writeAheadLog,
+      final ProbeService probeService,
+      final HubRepository hubRepository,
+      final TransactionTemplate transactionTemplate,
+      final int batchSize) {
+    this.writeAheadLog = writeAheadLog;
+    this.probeService = probeService;
+    this.hubRepository = hubRepository;
+    this.transactionTemplate = transactionTemplate;
+    this.batchSize = batchSize;
+  }
+
+  /** Replay the uploads in the log until it is empty or the database is unavailable. */
+  @Scheduled(fixedDelayString = "${ingest.wal.replay-interval-ms:1000}")
+  public synchronized void replay() {
+    while (writeAheadLog.hasBacklog()) {
+      List<Entry> batch = writeAheadLog.readBatch(batchSize);
+      if (batch.isEmpty()) {
+        return;
+      }
+      try {
+        transactionTemplate.executeWithoutResult(status -> save(batch));
+        writeAheadLog.markReplayed(batch);
+      } catch (RuntimeException e) {
+        if (DatabaseFailures.isUnavailable(e)) {
+          onUnavailable(e);
+          return;
+        }
+        if (!replayIndividually(batch)) {
+          return;
+        }
+      }
+      if (databaseUnavailable) {
+        databaseUnavailable = false;
+        LOG.info("Database reachable, replaying write-ahead log");
+      }
+      LOG.info(
+          "Replayed {} uploads from write-ahead log, {} remaining",
+          batch.size(),
+          writeAheadLog.getPendingUploads());
+    }
+  }
+
+  /** Replay a batch one upload per transaction, returning false if the database went away. */
+  private boolean replayIndividually(final List<Entry> batch) {
+    for (Entry entry : batch) {
+      try {
+        transactionTemplate.executeWithoutResult(status -> save(List.of(entry)));
+      } catch (RuntimeException e) {
+        if (DatabaseFailures.isUnavailable(e)) {
+          onUnavailable(e);
+          return false;
+        }
+        LOG.warn(
+            "Dropped replayed upload for hub ID: {} accepted at: {}: {}",
+            entry.hubId(),
+            entry.timeStamp(),
+            e.getMessage());
+      }
+      writeAheadLog.markReplayed(List.of(entry));
+    }
+    return true;
+  }
+
+  private void save(final List<Entry> entries) {
+    Set<Long> registeredHubIds =
+        hubRepository.findAllById(entries.stream().map(Entry::hubId).distinct().toList()).stream()
+            .filter(hub -> hub.getStatus() == Hub.HubStatus.REGISTERED)
+            .map(Hub::getId)
+            .collect(Collectors.toSet());
+    for (Entry entry : entries) {
+      if (!registeredHubIds.contains(entry.hubId())) {
+        LOG.warn(
+            "Dropped replayed upload for hub ID: {} accepted at: {}: hub is not registered",
+            entry.hubId(),
+            entry.timeStamp());
+        continue;
+      }
+      probeService.saveProbeReadings(entry.readings(), entry.hubId(), entry.timeStamp());
+    }
+  }
+
+  private void onUnavailable(final RuntimeException e) {
+    if (!databaseUnavailable) {
+      databaseUnavailable = true;
+      LOG.warn(
+          "Database unavailable, {} uploads waiting in write-ahead log: {}",
+          writeAheadLog.getPendingUploads(),
+          e.getMessage());
+    }
+  }
+}
@@ -0,0 +1,416 @@
+package com.grillgauge.api.ingest.wal;
+
+import com.grillgauge.api.ingest.ProbeReadingBuffer;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.zip.CRC32C;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Append-only log on local disk of the hub uploads accepted while the database is unavailable.
+ *
+ * <p>The log is a sequence of fixed-size, memory-mapped segment files named {@code
+ * wal-<sequence>.seg}. Each starts with a magic number and version, followed by records of {@code
+ * length, CRC32C, payload}, where the payload is the hub ID, the time the upload was accepted and
+ * its local probe IDs and temperatures. A record that does not fit in the rest of the active
+ * segment starts the next one. Unwritten space is zero, so a zero length marks the end of a
+ * segment.
+ *
+ * <p>Appends land in the page cache, so they survive the process crashing but not the host unless
+ * {@code force} is set, which flushes every append to disk. How far {@link WalReplayer} has got is
+ * kept in a {@code checkpoint} file and the segments before it are deleted. On startup every
+ * remaining segment is scanned up to the first torn or corrupt record, which is where a crash mid
+ * append leaves it, and appends continue in a new segment.
+ */
+public class WriteAheadLog implements Closeable {
+  private static final Logger LOG = LoggerFactory.getLogger(WriteAheadLog.class);
+
+  private static final String SEGMENT_PREFIX = "wal-";
+  private static final String SEGMENT_SUFFIX = ".seg";
+  private static final String CHECKPOINT = "checkpoint";
+  private static final int MAGIC = 0x4747574c;
+  private static final int VERSION = 1;
+  private static final int SEGMENT_HEADER_BYTES = 8;
+  private static final int RECORD_HEADER_BYTES = 8;
+  // hub ID, accepted at (epoch millis), reading count
+  private static final int FIXED_PAYLOAD_BYTES = 8 + 8 + 4;
+  // local probe ID, temperature
+  private static final int READING_BYTES = 4 + 4;
+  private static final int CHECKPOINT_BYTES = 8 + 4 + 4;
+  private static final int MIN_SEGMENT_BYTES = 64 * 1024;
+
+  private final Path directory;
+  private final int segmentBytes;
+  private final boolean force;
+  private final NavigableMap<Long, Segment> segments = new TreeMap<>();
+  private Segment active;
+  private long nextSequence;
+  private Position replayed;
+  private volatile long pendingUploads;
+
+  /**
+   * Open the log in a directory, recovering any segments left by a previous run.
+   *
+   * @param directory the directory holding the segments, created if missing.
+   * @param segmentBytes the size of each segment file.
+   * @param force whether to flush every append to disk before returning.
+   */
+  public WriteAheadLog(final Path directory, final int segmentBytes, final boolean force) {
+    if (segmentBytes < MIN_SEGMENT_BYTES) {
+      throw new IllegalArgumentException(
+          "Write-ahead log segments must be at least %d bytes".formatted(MIN_SEGMENT_BYTES));
+    }
+    this.directory = directory;
+    this.segmentBytes = segmentBytes;
+    this.force = force;
+    try {
+      Files.createDirectories(directory);
+      recover();
+    } catch (IOException e) {
+      throw new UncheckedIOException("Failed to open write-ahead log in " + directory, e);
+    }
+    if (pendingUploads > 0) {
+      LOG.warn("Recovered {} uploads to replay from write-ahead log {}", pendingUploads, directory);
+    }
+  }
+
+  /** An upload read back from the log, and the position just after it. */
+  public record Entry(
+      long hubId, Instant timeStamp, ProbeReadingBuffer readings, Position position) {}
+
+  /** A position in the log: a segment sequence number and a byte offset within it. */
+  public record Position(long segment, int offset) {}
+
+  /** Whether there are uploads in the log that have not been replayed yet. */
+  public boolean hasBacklog() {
+    return pendingUploads > 0;
+  }
+
+  /** The number of uploads in the log that have not been replayed yet. */
+  public long getPendingUploads() {
+    return pendingUploads;
+  }
+
+  /**
+   * Append an upload to the log.
+   *
+   * @param hubId the ID of the hub that sent the upload.
+   * @param timeStamp the time the upload was accepted, stored as the time of its readings.
+   * @param readings the decoded local probe IDs and temperatures.
+   * @throws IllegalArgumentException if the upload is larger than a segment.
+   * @throws UncheckedIOException if the segment could not be written.
+   */
+  public synchronized void append(
+      final long hubId, final Instant timeStamp, final ProbeReadingBuffer readings) {
+    final int payloadBytes = FIXED_PAYLOAD_BYTES + readings.size() * READING_BYTES;
+    final int recordBytes = RECORD_HEADER_BYTES + payloadBytes;
+    if (recordBytes > segmentBytes - SEGMENT_HEADER_BYTES) {
+      throw new IllegalArgumentException(
+          "Upload of %d readings does not fit in a write-ahead log segment"
+              .formatted(readings.size()));
+    }
+    ByteBuffer payload = ByteBuffer.allocate(payloadBytes);
+    payload.putLong(hubId).putLong(timeStamp.toEpochMilli()).putInt(readings.size());
+    for (int i = 0; i < readings.size(); i++) {
+      payload.putInt(readings.localIdAt(i)).putFloat(readings.tempAt(i));
+    }
+    CRC32C crc = new CRC32C();
+    crc.update(payload.array());
+
+    try {
+      if (active == null || active.limit + recordBytes > segmentBytes) {
+        rotate();
+      }
+      MappedByteBuffer buffer = active.buffer;
+      int offset = active.limit;
+      buffer.put(offset + RECORD_HEADER_BYTES, payload.array());
+      buffer.putInt(offset + 4, (int) crc.getValue());
+      // The length goes in last, so a crash mid append leaves the end-of-segment marker
+      buffer.putInt(offset, payloadBytes);
+      if (force) {
+        buffer.force(offset, recordBytes);
+      }
+      active.limit = offset + recordBytes;
+      pendingUploads++;
+    } catch (IOException e) {
+      throw new UncheckedIOException("Failed to append to write-ahead log " + directory, e);
+    }
+  }
+
+  /**
+   * Read the oldest uploads that have not been replayed yet. They stay in the log until passed to
+   * {@link #markReplayed}, so reading again returns them again.
+   *
+   * @param maxUploads the maximum number of uploads to read.
+   * @return the uploads, oldest first.
+   */
+  public synchronized List<Entry> readBatch(final int maxUploads) {
+    List<Entry> entries = new ArrayList<>();
+    Long sequence = segments.ceilingKey(replayed.segment());
+    if (sequence == null) {
+      return entries;
+    }
+    Segment segment = segments.get(sequence);
+    int offset = sequence == replayed.segment() ? replayed.offset() : SEGMENT_HEADER_BYTES;
+    while (entries.size() < maxUploads) {
+      if (offset >= segment.limit) {
+        Long next = segments.higherKey(segment.sequence);
+        if (next == null) {
+          break;
+        }
+        segment = segments.get(next);
+        offset = SEGMENT_HEADER_BYTES;
+        continue;
+      }
+      Entry entry = decode(segment, offset);
+      entries.add(entry);
+      offset = entry.position().offset();
+    }
+    return entries;
+  }
+
+  /**
+   * Record that uploads returned by {@link #readBatch} are in the database, deleting any segments
+   * that have been replayed in full.
+   *
+   * @param entries the replayed uploads, oldest first.
+   * @throws UncheckedIOException if the checkpoint could not be written.
+   */
+  public synchronized void markReplayed(final List<Entry> entries) {
+    if (entries.isEmpty()) {
+      return;
+    }
+    replayed = entries.get(entries.size() - 1).position();
+    pendingUploads -= entries.size();
+    try {
+      writeCheckpoint();
+      Iterator<Segment> replayedSegments = segments.headMap(replayed.segment()).values().iterator();
+      while (replayedSegments.hasNext()) {
+        Segment segment = replayedSegments.next();
+        segment.channel.close();
+        Files.deleteIfExists(segment.file);
+        replayedSegments.remove();
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException("Failed to checkpoint write-ahead log " + directory, e);
+    }
+  }
+
+  @Override
+  public synchronized void close() throws IOException {
+    for (Segment segment : segments.values()) {
+      segment.channel.close();
+    }
+    segments.clear();
+    active = null;
+  }
+
+  private void recover() throws IOException {
+    replayed = readCheckpoint();
+    try (DirectoryStream<Path> files =
+        Files.newDirectoryStream(directory, SEGMENT_PREFIX + "*" + SEGMENT_SUFFIX)) {
+      for (Path file : files) {
+        String name = file.getFileName().toString();
+        long sequence =
+            Long.parseLong(
+                name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+        if (sequence < replayed.segment()) {
+          Files.delete(file);
+        } else {
+          segments.put(sequence, Segment.open(file, sequence, 0));
+        }
+      }
+    }
+    for (Segment segment : segments.values()) {
+      segment.limit = scan(segment);
+    }
+    Segment first = segments.get(replayed.segment());
+    if (first != null && replayed.offset() > first.limit) {
+      replayed = new Position(replayed.segment(), first.limit);
+    }
+    nextSequence = Math.max(replayed.segment(), segments.isEmpty() ? 0 : segments.lastKey()) + 1;
+
+    long pending = 0;
+    for (Segment segment : segments.values()) {
+      int offset =
+          segment.sequence == replayed.segment() ? replayed.offset() : SEGMENT_HEADER_BYTES;
+      while (offset < segment.limit) {
+        offset = recordEnd(segment.buffer, offset, segment.limit);
+        pending++;
+      }
+    }
+    pendingUploads = pending;
+  }
+
+  /** Find the end of the valid records of a segment left by a previous run. */
+  private int scan(final Segment segment) {
+    MappedByteBuffer buffer = segment.buffer;
+    int capacity = buffer.capacity();
+    if (capacity < SEGMENT_HEADER_BYTES
+        || buffer.getInt(0) != MAGIC
+        || buffer.getInt(4) != VERSION) {
+      LOG.warn("Ignoring write-ahead log segment {} with an unknown header", segment.file);
+      return SEGMENT_HEADER_BYTES;
+    }
+    int offset = SEGMENT_HEADER_BYTES;
+    while (true) {
+      int end = recordEnd(buffer, offset, capacity);
+      if (end < 0) {
+        break;
+      }
+      offset = end;
+    }
+    if (offset + 4 <= capacity && buffer.getInt(offset) != 0) {
+      LOG.warn(
+          "Discarding torn or corrupt write-ahead log record in {} at offset {}",
+          segment.file,
+          offset);
+    }
+    return offset;
+  }
+
+  /** The end of the record at an offset, or -1 if there is no intact record there. */
+  private static int recordEnd(final ByteBuffer buffer, final int offset, final int limit) {
+    if (offset + RECORD_HEADER_BYTES + FIXED_PAYLOAD_BYTES > limit) {
+      return -1;
+    }
+    int payloadBytes = buffer.getInt(offset);
+    int payloadOffset = offset + RECORD_HEADER_BYTES;
+    if (payloadBytes < FIXED_PAYLOAD_BYTES || payloadBytes > limit - payloadOffset) {
+      return -1;
+    }
+    int count = buffer.getInt(payloadOffset + 16);
+    if (count < 0 || payloadBytes != FIXED_PAYLOAD_BYTES + count * READING_BYTES) {
+      return -1;
+    }
+    CRC32C crc = new CRC32C();
+    crc.update(buffer.slice(payloadOffset, payloadBytes));
+    if ((int) crc.getValue() != buffer.getInt(offset + 4)) {
+      return -1;
+    }
+    return payloadOffset + payloadBytes;
+  }
+
+  private static Entry decode(final Segment segment, final int offset) {
+    MappedByteBuffer buffer = segment.buffer;
+    int payloadOffset = offset + RECORD_HEADER_BYTES;
+    long hubId = buffer.getLong(payloadOffset);
+    Instant timeStamp = Instant.ofEpochMilli(buffer.getLong(payloadOffset + 8));
+    int count = buffer.getInt(payloadOffset + 16);
+    ProbeReadingBuffer readings = new ProbeReadingBuffer();
+    int readingOffset = payloadOffset + FIXED_PAYLOAD_BYTES;
+    for (int i = 0; i < count; i++, readingOffset += READING_BYTES) {
+      readings.add(buffer.getInt(readingOffset), buffer.getFloat(readingOffset + 4));
+    }
+    return new Entry(hubId, timeStamp, readings, new Position(segment.sequence, readingOffset));
+  }
+
+  private void rotate() throws IOException {
+    long sequence = nextSequence++;
+    Path file = directory.resolve("%s%020d%s".formatted(SEGMENT_PREFIX, sequence, SEGMENT_SUFFIX));
+    Segment segment = Segment.open(file, sequence, segmentBytes);
+    segment.buffer.putInt(0, MAGIC);
+    segment.buffer.putInt(4, VERSION);
+    if (force) {
+      segment.buffer.force(0, SEGMENT_HEADER_BYTES);
+    }
+    segment.limit = SEGMENT_HEADER_BYTES;
+    segments.put(sequence, segment);
+    active = segment;
+  }
+
+  private Position readCheckpoint() throws IOException {
+    Path file = directory.resolve(CHECKPOINT);
+    Position start = new Position(0, SEGMENT_HEADER_BYTES);
+    if (!Files.exists(file)) {
+      return start;
+    }
+    ByteBuffer checkpoint = ByteBuffer.wrap(Files.readAllBytes(file));
+    if (checkpoint.capacity() != CHECKPOINT_BYTES) {
+      LOG.warn("Ignoring corrupt write-ahead log checkpoint {}", file);
+      return start;
+    }
+    CRC32C crc = new CRC32C();
+    crc.update(checkpoint.array(), 0, CHECKPOINT_BYTES - 4);
+    if ((int) crc.getValue() != checkpoint.getInt(CHECKPOINT_BYTES - 4)) {
+      LOG.warn("Ignoring corrupt write-ahead log checkpoint {}", file);
+      return start;
+    }
+    return new Position(checkpoint.getLong(0), checkpoint.getInt(8));
+  }
+
+  /** Replace the checkpoint atomically, so a crash leaves either the old one or the new one. */
+  private void writeCheckpoint() throws IOException {
+    ByteBuffer checkpoint = ByteBuffer.allocate(CHECKPOINT_BYTES);
+    checkpoint.putLong(replayed.segment()).putInt(replayed.offset());
+    CRC32C crc = new CRC32C();
+    crc.update(checkpoint.array(), 0, CHECKPOINT_BYTES - 4);
+    checkpoint.putInt((int) crc.getValue()).flip();
+    Path file = directory.resolve(CHECKPOINT);
+    Path temp = directory.resolve(CHECKPOINT + ".tmp");
+    try (FileChannel channel =
+        FileChannel.open(
+            temp,
+            StandardOpenOption.CREATE,
+            StandardOpenOption.WRITE,
+            StandardOpenOption.TRUNCATE_EXISTING)) {
+      channel.write(checkpoint);
+      if (force) {
+        channel.force(true);
+      }
+    }
+    Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+  }
+
+  /** A mapped segment file and the end of its valid records. */
+  private static final class Segment {
+    private final long sequence;
+    private final Path file;
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private int limit;
+
+    private Segment(
+        final long sequence,
+        final Path file,
+        final FileChannel channel,
+        final MappedByteBuffer buffer) {
+      this.sequence = sequence;
+      this.file = file;
+      this.channel = channel;
+      this.buffer = buffer;
+    }
+
+    /** Map a segment file, creating it with the given size, or its current size if 0. */
+    private static Segment open(final Path file, final long sequence, final int size)
+        throws IOException {
+      FileChannel channel =
+          FileChannel.open(
+              file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+      try {
+        long length = size > 0 ? size : channel.size();
+        return new Segment(
+            sequence, file, channel, channel.map(FileChannel.MapMode.READ_WRITE, 0, length));
+      } catch (IOException e) {
+        channel.close();
+        throw e;
+      }
+    }
+  }
+}
@@ -0,0 +1,92 @@
+package com.grillgauge.api.loadshedding;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * AIMD concurrency limit that adapts to observed latency.
+ *
+ * <p>The limiter keeps a slow moving average of request latency as its baseline. While at least
+ * half the limit is in use, a request that completes within {@code tolerance} times the baseline
+ * grows the limit by roughly one per limit's worth of completions, and one that takes longer or
+ * fails with a server error cuts it by {@code backoffRatio}. Admission is a single compare-and-set
+ * on the in-flight count.
+ */
+class AdaptiveConcurrencyLimiter {
+  private static final double BASELINE_ALPHA = 0.01;
+
+  private final int minLimit;
+  private final int maxLimit;
+  private final double tolerance;
+  private final double backoffRatio;
+  private final AtomicInteger inflight = new AtomicInteger();
+  private volatile double limit;
+  private double baselineNanos;
+
+  AdaptiveConcurrencyLimiter(
+      final int initialLimit,
+      final int minLimit,
+      final int maxLimit,
+      final double tolerance,
+      final double backoffRatio) {
+    this.limit = initialLimit;
+    this.minLimit = minLimit;
+    this.maxLimit = maxLimit;
+    this.tolerance = tolerance;
+    this.backoffRatio = backoffRatio;
+  }
+
+  /**
+   * Claim a slot if fewer requests than the current limit are in flight.
+   *
+   * @return true if the request may proceed, in which case {@link #release} must be called.
+   */
+  boolean tryAcquire() {
+    while (true) {
+      int current = inflight.get();
+      if (current >= (int) limit) {
+        return false;
+      }
+      if (inflight.compareAndSet(current, current + 1)) {
+        return true;
+      }
+    }
+  }
+
+  /**
+   * Release a slot and adapt the limit to how the request went.
+   *
+   * @param latencyNanos how long the request took.
+   * @param failed whether the request failed with a server error.
+   */
+  void release(final long latencyNanos, final boolean failed) {
+    int inflightBefore = inflight.getAndDecrement();
+    synchronized (this) {
+      if (baselineNanos == 0) {
+        baselineNanos = latencyNanos;
+      }
+      // Only adapt while at least half the limit is in use; at low load latency says nothing about
+      // how much concurrency the server can take
+      if (inflightBefore * 2 >= limit) {
+        if (failed || latencyNanos > tolerance * baselineNanos) {
+          limit = Math.max(minLimit, limit * backoffRatio);
+        } else {
+          limit = Math.min(maxLimit, limit + 1 / limit);
+        }
+      }
+      baselineNanos += BASELINE_ALPHA * (latencyNanos - baselineNanos);
+    }
+  }
+
+  /** The fraction of the current limit that is in use. */
+  double utilization() {
+    return inflight.get() / limit;
+  }
+
+  int getLimit() {
+    return (int) limit;
+  }
+
+  int getInflight() {
+    return inflight.get();
+  }
+}
@@ -0,0 +1,149 @@
+package com.grillgauge.api.loadshedding;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.Map;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.core.annotation.Order;
+import org.springframework.core.env.Environment;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * Server-wide load shedding for the ingest, UI and history endpoints.
+ *
+ * <p>Each {@link PathClass} has its own {@link AdaptiveConcurrencyLimiter}, so a spike in one class
+ * cannot use up the connection pool the others need. Classes are also shed in priority order: while
+ * a higher-priority class is using more than {@code loadshedding.shed-utilization} of its limit,
+ * lower-priority requests are turned away with a 503, so history queries give way before UI
+ * requests and both give way before hub uploads.
+ */
+@Component
+@Order(SecurityProperties.DEFAULT_FILTER_ORDER + 1)
+public class LoadSheddingFilter extends OncePerRequestFilter {
+  private static final Logger LOG = LoggerFactory.getLogger(LoadSheddingFilter.class);
+
+  private final Map<PathClass, AdaptiveConcurrencyLimiter> limiters =
+      new EnumMap<>(PathClass.class);
+  private final Map<PathClass, Counter> shedCounters = new EnumMap<>(PathClass.class);
+  private final double shedUtilization;
+
+  /** Endpoint classes, from highest to lowest priority. */
+  public enum PathClass {
+    INGEST,
+    UI,
+    HISTORY
+  }
+
+  /**
+   * Constructor for LoadSheddingFilter.
+   *
+   * @param environment the environment the per-class limits are read from.
+   * @param meterRegistry registry for the limit, in-flight and shed meters.
+   * @param shedUtilization utilization of a class above which lower classes are shed.
+   */
+  public LoadSheddingFilter(
+      final Environment environment,
+      final MeterRegistry meterRegistry,
+      @Value("${loadshedding.shed-utilization:0.8}") final double shedUtilization) {
+    this.shedUtilization = shedUtilization;
+    int minLimit = environment.getProperty("loadshedding.min-limit", Integer.class, 2);
+    double tolerance = environment.getProperty("loadshedding.tolerance", Double.class, 2.0);
+    double backoffRatio = environment.getProperty("loadshedding.backoff-ratio", Double.class, 0.9);
+    for (PathClass pathClass : PathClass.values()) {
+      String prefix = "loadshedding." + pathClass.name().toLowerCase() + ".";
+      AdaptiveConcurrencyLimiter limiter =
+          new AdaptiveConcurrencyLimiter(
+              environment.getProperty(prefix + "initial-limit", Integer.class, 20),
+              minLimit,
+              environment.getProperty(prefix + "max-limit", Integer.class, 200),
+              tolerance,
+              backoffRatio);
+      limiters.put(pathClass, limiter);
+      String tag = pathClass.name().toLowerCase();
+      Gauge.builder("loadshedding.limit", limiter, AdaptiveConcurrencyLimiter::getLimit)
+          .tag("class", tag)
+          .register(meterRegistry);
+      Gauge.builder("loadshedding.inflight", limiter, AdaptiveConcurrencyLimiter::getInflight)
+          .tag("class", tag)
+          .register(meterRegistry);
+      shedCounters.put(
+          pathClass,
+          Counter.builder("loadshedding.shed").tag("class", tag).register(meterRegistry));
+    }
+  }
+
+  @Override
+  protected boolean shouldNotFilter(final HttpServletRequest request) {
+    return classify(request.getRequestURI()) == null;
+  }
+
+  @Override
+  protected void doFilterInternal(
+      final HttpServletRequest request,
+      final HttpServletResponse response,
+      final FilterChain filterChain)
+      throws ServletException, IOException {
+    PathClass pathClass = classify(request.getRequestURI());
+    AdaptiveConcurrencyLimiter limiter = limiters.get(pathClass);
+    if (higherPriorityCongested(pathClass) || !limiter.tryAcquire()) {
+      shedCounters.get(pathClass).increment();
+      LOG.debug("Shed {} request to {}", pathClass, request.getRequestURI());
+      response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+      response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+      return;
+    }
+    long start = System.nanoTime();
+    boolean failed = true;
+    try {
+      filterChain.doFilter(request, response);
+      failed = response.getStatus() >= 500;
+    } finally {
+      limiter.release(System.nanoTime() - start, failed);
+    }
+  }
+
+  /**
+   * Classify a request path.
+   *
+   * @param path the request URI.
+   * @return the path class, or null if the request is not limited.
+   */
+  static PathClass classify(final String path) {
+    if (path.startsWith("/api/v1/externalHub")) {
+      // The reading stream is a long-lived WebSocket, not a request
+      return path.startsWith("/api/v1/externalHub/stream") ? null : PathClass.INGEST;
+    }
+    if (path.startsWith("/api/v1/probe/readings") || path.endsWith("/events")) {
+      return path.startsWith("/api/v1/probe/") ? PathClass.HISTORY : null;
+    }
+    if (path.startsWith("/api/v1/ui") || path.startsWith("/api/v1/probe")) {
+      return PathClass.UI;
+    }
+    return null;
+  }
+
+  private boolean higherPriorityCongested(final PathClass pathClass) {
+    for (PathClass higher : PathClass.values()) {
+      if (higher == pathClass) {
+        return false;
+      }
+      if (limiters.get(higher).utilization() >= shedUtilization) {
+        return true;
+      }
+    }
+    return false;
+  }
+}
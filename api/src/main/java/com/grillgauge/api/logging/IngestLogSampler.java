@@ -0,0 +1,36 @@
+package com.grillgauge.api.logging;
+
+import java.util.concurrent.atomic.AtomicLong;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Decides which hub ingest events, an HTTP upload or a streamed frame, keep their INFO and DEBUG
+ * logging. One event in every {@code logging.sampling.ingest-rate} is sampled; the rest are marked
+ * in the MDC so {@link SampledLogTurboFilter} drops their logging below WARN. Whole events are
+ * sampled, so a sampled upload still logs every line from the controller down.
+ */
+@Component
+public class IngestLogSampler {
+
+  /** MDC key holding whether the current event is sampled. Only set during ingest events. */
+  public static final String SAMPLED_KEY = "sampled";
+
+  private final AtomicLong events = new AtomicLong();
+  private final int rate;
+
+  public IngestLogSampler(@Value("${logging.sampling.ingest-rate:10}") final int rate) {
+    this.rate = Math.max(1, rate);
+  }
+
+  /**
+   * Start an ingest event on the current thread.
+   *
+   * @return closeable that ends the event, to be used with try-with-resources.
+   */
+  public MDC.MDCCloseable begin() {
+    boolean sampled = rate == 1 || events.getAndIncrement() % rate == 0;
+    return MDC.putCloseable(SAMPLED_KEY, Boolean.toString(sampled));
+  }
+}
@@ -0,0 +1,40 @@
+package com.grillgauge.api.logging;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import org.slf4j.MDC;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * Applies the {@link IngestLogSampler} to hub HTTP requests. Registered in {@link
+ * com.grillgauge.api.config.WebConfig} ahead of Spring Security, so the whole request is sampled.
+ */
+public class IngestLogSamplingFilter extends OncePerRequestFilter {
+
+  private final IngestLogSampler ingestLogSampler;
+
+  public IngestLogSamplingFilter(final IngestLogSampler ingestLogSampler) {
+    this.ingestLogSampler = ingestLogSampler;
+  }
+
+  @Override
+  protected boolean shouldNotFilter(final HttpServletRequest request) {
+    // The reading stream samples each frame rather than the upgrade request
+    String path = request.getRequestURI();
+    return !path.startsWith("/api/v1/externalHub") || path.startsWith("/api/v1/externalHub/stream");
+  }
+
+  @Override
+  protected void doFilterInternal(
+      final HttpServletRequest request,
+      final HttpServletResponse response,
+      final FilterChain filterChain)
+      throws ServletException, IOException {
+    try (MDC.MDCCloseable event = ingestLogSampler.begin()) {
+      filterChain.doFilter(request, response);
+    }
+  }
+}
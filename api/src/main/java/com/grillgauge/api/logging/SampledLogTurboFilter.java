@@ -0,0 +1,35 @@
+package com.grillgauge.api.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.MDC;
+import org.slf4j.Marker;
+
+/**
+ * Drops log events below WARN, and without an exception, on threads handling an ingest event that
+ * {@link IngestLogSampler} did not sample. Turbo filters run before a logging event is created, so
+ * a dropped call costs an MDC lookup and never formats its message or arguments.
+ *
+ * <p>Registered in {@code logback-spring.xml}.
+ */
+public class SampledLogTurboFilter extends TurboFilter {
+
+  @Override
+  public FilterReply decide(
+      final Marker marker,
+      final Logger logger,
+      final Level level,
+      final String format,
+      final Object[] params,
+      final Throwable t) {
+    // A null format is a level check such as isDebugEnabled(), which sampling leaves alone
+    if (format == null || t != null || level.isGreaterOrEqual(Level.WARN)) {
+      return FilterReply.NEUTRAL;
+    }
+    return "false".equals(MDC.get(IngestLogSampler.SAMPLED_KEY))
+        ? FilterReply.DENY
+        : FilterReply.NEUTRAL;
+  }
+}
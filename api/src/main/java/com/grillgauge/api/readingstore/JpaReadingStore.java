@@ -0,0 +1,169 @@
+package com.grillgauge.api.readingstore;
+
+import com.grillgauge.api.domain.entitys.CompactReading;
+import com.grillgauge.api.domain.entitys.Reading;
+import com.grillgauge.api.domain.models.ReadingCursor;
+import com.grillgauge.api.domain.models.ReadingPoint;
+import com.grillgauge.api.domain.repositorys.CompactReadingRepository;
+import com.grillgauge.api.domain.repositorys.ReadingRepository;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Stores readings in the relational database, in the reading table or, with {@code
+ * readings.layout=compact}, the compact_reading table.
+ */
+@Component
+@ConditionalOnProperty(name = "readings.store", havingValue = "jpa", matchIfMissing = true)
+public class JpaReadingStore implements ReadingStore {
+  private static final Logger LOG = LoggerFactory.getLogger(JpaReadingStore.class);
+
+  private final ReadingRepository readingRepository;
+  private final CompactReadingRepository compactReadingRepository;
+  private final boolean compactLayout;
+
+  /**
+   * Constructor for JpaReadingStore.
+   *
+   * @param readingRepository The ReadingRepository to use.
+   * @param compactReadingRepository The CompactReadingRepository to use.
+   * @param layout Table readings are stored in: "standard" for Reading, "compact" for
+   *     CompactReading.
+   */
+  public JpaReadingStore(
+      final ReadingRepository readingRepository,
+      final CompactReadingRepository compactReadingRepository,
+      @Value("${readings.layout:standard}") final String layout) {
+    this.readingRepository = readingRepository;
+    this.compactReadingRepository = compactReadingRepository;
+    if (!"standard".equals(layout) && !"compact".equals(layout)) {
+      throw new IllegalArgumentException("Unknown readings.layout: " + layout);
+    }
+    this.compactLayout = "compact".equals(layout);
+  }
+
+  @Override
+  public Optional<ReadingPoint> findLatest(final Long probeId) {
+    return compactLayout
+        ? compactReadingRepository
+            .findTopByProbeIdOrderByTimestampMillisDesc(probeId)
+            .map(r -> new ReadingPoint(null, probeId, r.getTimeStamp(), r.getCurrentTemp()))
+        : readingRepository
+            .findTopByProbeIdOrderByTimeStampDesc(probeId)
+            .map(r -> new ReadingPoint(r.getId(), probeId, r.getTimeStamp(), r.getCurrentTemp()));
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>In the compact layout each reading is stored as a CompactReading instead, and the given
+   * entities are returned as they are, without IDs. Readings of the same probe within the same
+   * millisecond share a key there, so only the last of them is kept.
+   */
+  @Override
+  @Transactional
+  public List<Reading> saveAll(final List<Reading> readings) {
+    if (compactLayout) {
+      Map<CompactReading.Key, CompactReading> compactReadings =
+          new LinkedHashMap<>(readings.size() * 2);
+      for (Reading reading : readings) {
+        CompactReading compactReading =
+            new CompactReading(
+                reading.getProbe().getId(), reading.getCurrentTemp(), reading.getTimeStamp());
+        compactReadings.put(compactReading.getId(), compactReading);
+      }
+      compactReadingRepository.saveAll(compactReadings.values());
+      LOG.debug("Saved {} compact readings", compactReadings.size());
+      return readings;
+    }
+    return readingRepository.saveAll(readings);
+  }
+
+  @Override
+  @Transactional
+  public long deleteAll(final Long probeId) {
+    return compactLayout
+        ? compactReadingRepository.deleteAllByProbeId(probeId)
+        : readingRepository.deleteAllByProbeId(probeId);
+  }
+
+  /** {@inheritDoc} Rows are streamed from a single query within a read-only transaction. */
+  @Override
+  @Transactional(readOnly = true)
+  public void scan(
+      final List<Long> probeIds,
+      final Instant start,
+      final Instant end,
+      final boolean endInclusive,
+      final Consumer<ReadingPoint> consumer) {
+    try (Stream<ReadingPoint> points = stream(probeIds, start, end, endInclusive)) {
+      points.forEach(consumer);
+    }
+  }
+
+  @Override
+  @Transactional(readOnly = true)
+  public List<ReadingPoint> findPage(
+      final List<Long> probeIds,
+      final Instant start,
+      final Instant end,
+      final ReadingCursor after,
+      final int limit) {
+    if (compactLayout) {
+      long startMillis = start.toEpochMilli();
+      long endMillis = end.toEpochMilli();
+      if (after == null) {
+        return compactReadingRepository.findPointPage(
+            probeIds, startMillis, endMillis, Limit.of(limit));
+      }
+      return compactReadingRepository.findPointPageAfter(
+          probeIds,
+          startMillis,
+          endMillis,
+          after.probeId(),
+          after.timestamp().toEpochMilli(),
+          Limit.of(limit));
+    }
+    if (after == null) {
+      return readingRepository.findPointPage(probeIds, start, end, Limit.of(limit));
+    }
+    return readingRepository.findPointPageAfter(
+        probeIds,
+        start,
+        end,
+        after.probeId(),
+        after.timestamp(),
+        after.readingId(),
+        Limit.of(limit));
+  }
+
+  private Stream<ReadingPoint> stream(
+      final List<Long> probeIds,
+      final Instant start,
+      final Instant end,
+      final boolean endInclusive) {
+    if (compactLayout) {
+      long startMillis = start.toEpochMilli();
+      long endMillis = end.toEpochMilli();
+      return endInclusive
+          ? compactReadingRepository.streamPointsByProbeIdsBetween(probeIds, startMillis, endMillis)
+          : compactReadingRepository.streamPointsByProbeIdsInSlice(
+              probeIds, startMillis, endMillis);
+    }
+    return endInclusive
+        ? readingRepository.streamPointsByProbeIdsBetween(probeIds, start, end)
+        : readingRepository.streamPointsByProbeIdsInSlice(probeIds, start, end);
+  }
+}
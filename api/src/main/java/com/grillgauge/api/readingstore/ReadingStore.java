@@ -0,0 +1,74 @@
+package com.grillgauge.api.readingstore;
+
+import com.grillgauge.api.domain.entitys.Reading;
+import com.grillgauge.api.domain.models.ReadingCursor;
+import com.grillgauge.api.domain.models.ReadingPoint;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+/**
+ * Where probe readings are persisted, chosen with {@code readings.store}.
+ *
+ * <p>{@link JpaReadingStore} keeps them in the relational database with everything else and is the
+ * default; {@link TimeSeriesReadingStore} keeps them in local segment files. Users, hubs and probes
+ * stay in the relational database either way.
+ */
+public interface ReadingStore {
+
+  /**
+   * Get the latest reading of a probe.
+   *
+   * @param probeId the ID of the probe
+   * @return the latest reading, or empty if the probe has none
+   */
+  Optional<ReadingPoint> findLatest(Long probeId);
+
+  /**
+   * Save a batch of readings. Called within the ingest transaction, if there is one.
+   *
+   * @param readings the Reading entities to save
+   * @return the saved Reading entities
+   */
+  List<Reading> saveAll(List<Reading> readings);
+
+  /**
+   * Delete all readings of a probe.
+   *
+   * @param probeId the ID of the probe
+   * @return the number of deleted readings
+   */
+  long deleteAll(Long probeId);
+
+  /**
+   * Pass the readings of several probes between two times to a consumer, grouped by probe and
+   * oldest first within each probe.
+   *
+   * @param probeIds the IDs of the probes
+   * @param start the start of the range, inclusive
+   * @param end the end of the range
+   * @param endInclusive whether readings taken at the end of the range are included
+   * @param consumer the consumer of the readings
+   */
+  void scan(
+      List<Long> probeIds,
+      Instant start,
+      Instant end,
+      boolean endInclusive,
+      Consumer<ReadingPoint> consumer);
+
+  /**
+   * Get a page of the readings of several probes between two times, ordered by probe ID, time and
+   * reading ID.
+   *
+   * @param probeIds the IDs of the probes
+   * @param start the start of the range, inclusive
+   * @param end the end of the range, inclusive
+   * @param after the last reading of the previous page, or null for the first page
+   * @param limit the maximum number of readings to return
+   * @return the readings of the page
+   */
+  List<ReadingPoint> findPage(
+      List<Long> probeIds, Instant start, Instant end, ReadingCursor after, int limit);
+}
@@ -0,0 +1,461 @@
+package com.grillgauge.api.readingstore;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.stream.Stream;
+
+/**
+ * Embedded time-series storage of probe readings in local files.
+ *
+ * <p>Each probe has a directory of append-only, fixed-size, memory-mapped segment files. A segment
+ * starts with a magic number and version, followed by 12 byte records of the reading time in epoch
+ * milliseconds and the temperature, in the order they were appended. Unwritten space is zero, and
+ * the time of a record is written after its temperature, so a record with a zero time marks the end
+ * of a segment even after a crash mid append.
+ *
+ * <p>A sparse index of the time of every {@code indexInterval}-th record is kept in memory per
+ * segment, along with its first and last times, and rebuilt by a sequential read when a probe's
+ * segments are first opened. While a probe's readings arrive in time order, which the ingest path
+ * gives them, a range scan skips whole segments, binary searches the index for where to start and
+ * then reads sequentially to the end of the range. Segments holding a reading older than the one
+ * before it are scanned in full and their readings sorted.
+ *
+ * <p>A reading's ID is its segment sequence number in the upper 32 bits and its record index in the
+ * lower 32, so IDs increase in append order.
+ */
+public class TimeSeriesEngine implements Closeable {
+
+  private static final String PROBE_PREFIX = "probe-";
+  private static final String SEGMENT_SUFFIX = ".seg";
+  private static final int MAGIC = 0x47475453;
+  private static final int VERSION = 1;
+  private static final int SEGMENT_HEADER_BYTES = 16;
+  // reading time (epoch millis), temperature
+  private static final int RECORD_BYTES = 8 + 4;
+  private static final int MIN_SEGMENT_BYTES = 4096;
+
+  private final Path directory;
+  private final int segmentBytes;
+  private final int indexInterval;
+  private final ConcurrentMap<Long, ProbeSeries> seriesByProbe = new ConcurrentHashMap<>();
+
+  /**
+   * Open the storage in a directory.
+   *
+   * @param directory the directory holding one subdirectory per probe, created if missing.
+   * @param segmentBytes the size of each segment file.
+   * @param indexInterval the number of records between sparse index entries.
+   */
+  public TimeSeriesEngine(final Path directory, final int segmentBytes, final int indexInterval) {
+    if (segmentBytes < MIN_SEGMENT_BYTES) {
+      throw new IllegalArgumentException(
+          "Time-series segments must be at least %d bytes".formatted(MIN_SEGMENT_BYTES));
+    }
+    if (indexInterval < 1) {
+      throw new IllegalArgumentException("Time-series index interval must be at least 1");
+    }
+    this.directory = directory;
+    this.segmentBytes = segmentBytes;
+    this.indexInterval = indexInterval;
+    try {
+      Files.createDirectories(directory);
+    } catch (IOException e) {
+      throw new UncheckedIOException("Failed to create time-series directory " + directory, e);
+    }
+  }
+
+  /** Receives the readings of a scan. */
+  @FunctionalInterface
+  public interface PointConsumer {
+
+    /**
+     * Handle one reading.
+     *
+     * @param id the ID of the reading.
+     * @param timestampMillis when the reading was taken, in epoch milliseconds.
+     * @param temperature the temperature recorded.
+     * @return false to end the scan early.
+     */
+    boolean accept(long id, long timestampMillis, float temperature);
+  }
+
+  /**
+   * A single reading.
+   *
+   * @param id the ID of the reading.
+   * @param timestampMillis when the reading was taken, in epoch milliseconds.
+   * @param temperature the temperature recorded.
+   */
+  public record Point(long id, long timestampMillis, float temperature) {}
+
+  /**
+   * Append a reading of a probe.
+   *
+   * @param probeId the ID of the probe.
+   * @param timestampMillis when the reading was taken, in epoch milliseconds; must not be 0.
+   * @param temperature the temperature recorded.
+   * @throws UncheckedIOException if the segment could not be written.
+   */
+  public void append(final long probeId, final long timestampMillis, final float temperature) {
+    if (timestampMillis == 0) {
+      throw new IllegalArgumentException("Readings at the epoch cannot be stored");
+    }
+    while (!series(probeId, true).append(timestampMillis, temperature)) {
+      // The probe's series was deleted while appending; start a new one
+    }
+  }
+
+  /**
+   * Pass the readings of a probe between two times to a consumer, oldest first.
+   *
+   * @param probeId the ID of the probe.
+   * @param start the start of the range in epoch milliseconds, inclusive.
+   * @param end the end of the range in epoch milliseconds.
+   * @param endInclusive whether readings taken at the end of the range are included.
+   * @param consumer the consumer of the readings.
+   */
+  public void scan(
+      final long probeId,
+      final long start,
+      final long end,
+      final boolean endInclusive,
+      final PointConsumer consumer) {
+    ProbeSeries series = series(probeId, false);
+    if (series == null) {
+      return;
+    }
+    long last = endInclusive ? end : end - 1;
+    List<SegmentView> views = series.overlapping(start, last);
+    boolean ordered = views.stream().allMatch(SegmentView::ordered);
+    if (ordered) {
+      for (SegmentView view : views) {
+        if (!view.scan(start, last, indexInterval, consumer)) {
+          return;
+        }
+      }
+      return;
+    }
+    List<Point> points = new ArrayList<>();
+    for (SegmentView view : views) {
+      view.scan(start, last, indexInterval, (id, ts, temp) -> points.add(new Point(id, ts, temp)));
+    }
+    points.sort(Comparator.comparingLong(Point::timestampMillis).thenComparingLong(Point::id));
+    for (Point point : points) {
+      if (!consumer.accept(point.id(), point.timestampMillis(), point.temperature())) {
+        return;
+      }
+    }
+  }
+
+  /**
+   * Get the latest reading of a probe.
+   *
+   * @param probeId the ID of the probe.
+   * @return the reading with the latest time, or null if the probe has none.
+   */
+  public Point latest(final long probeId) {
+    ProbeSeries series = series(probeId, false);
+    return series == null ? null : series.latest();
+  }
+
+  /**
+   * Delete all readings of a probe.
+   *
+   * @param probeId the ID of the probe.
+   * @return the number of readings deleted.
+   * @throws UncheckedIOException if the files could not be deleted.
+   */
+  public long delete(final long probeId) {
+    ProbeSeries series = series(probeId, false);
+    if (series == null) {
+      return 0;
+    }
+    seriesByProbe.remove(probeId, series);
+    return series.delete();
+  }
+
+  /**
+   * List the probes that have readings stored.
+   *
+   * @return the IDs of the probes.
+   * @throws UncheckedIOException if the directory could not be listed.
+   */
+  public List<Long> probeIds() {
+    try (Stream<Path> files = Files.list(directory)) {
+      return files
+          .map(file -> file.getFileName().toString())
+          .filter(name -> name.startsWith(PROBE_PREFIX))
+          .map(name -> Long.parseLong(name.substring(PROBE_PREFIX.length())))
+          .toList();
+    } catch (IOException e) {
+      throw new UncheckedIOException("Failed to list time-series directory " + directory, e);
+    }
+  }
+
+  @Override
+  public void close() {
+    seriesByProbe.clear();
+  }
+
+  /** Get the open series of a probe, opening its files or, if asked to, creating it. */
+  private ProbeSeries series(final long probeId, final boolean create) {
+    ProbeSeries series = seriesByProbe.get(probeId);
+    if (series != null) {
+      return series;
+    }
+    Path probeDirectory = directory.resolve(PROBE_PREFIX + probeId);
+    if (!create && !Files.isDirectory(probeDirectory)) {
+      return null;
+    }
+    return seriesByProbe.computeIfAbsent(probeId, id -> new ProbeSeries(probeDirectory));
+  }
+
+  /** The segments of one probe. Appends and changes to the segment list hold its lock. */
+  private final class ProbeSeries {
+    private final Path directory;
+    private final List<Segment> segments = new ArrayList<>();
+    private long lastTimestamp = Long.MIN_VALUE;
+    private Point latest;
+    private boolean deleted;
+
+    private ProbeSeries(final Path directory) {
+      this.directory = directory;
+      try {
+        Files.createDirectories(directory);
+        List<Path> files = new ArrayList<>();
+        try (DirectoryStream<Path> stream =
+            Files.newDirectoryStream(directory, "*" + SEGMENT_SUFFIX)) {
+          stream.forEach(files::add);
+        }
+        files.sort(Comparator.naturalOrder());
+        for (Path file : files) {
+          String name = file.getFileName().toString();
+          long sequence =
+              Long.parseLong(name.substring(0, name.length() - SEGMENT_SUFFIX.length()));
+          Segment segment = Segment.open(file, sequence, 0);
+          segments.add(segment);
+          recover(segment);
+        }
+      } catch (IOException e) {
+        throw new UncheckedIOException("Failed to open time-series " + directory, e);
+      }
+    }
+
+    synchronized boolean append(final long timestampMillis, final float temperature) {
+      if (deleted) {
+        return false;
+      }
+      try {
+        Segment segment = segments.isEmpty() ? null : segments.get(segments.size() - 1);
+        if (segment == null || segment.count == segment.capacity) {
+          segment = create(segment == null ? 0 : segment.sequence + 1);
+        }
+        record(segment, segment.count, timestampMillis, temperature);
+      } catch (IOException e) {
+        throw new UncheckedIOException("Failed to append to time-series " + directory, e);
+      }
+      return true;
+    }
+
+    synchronized List<SegmentView> overlapping(final long start, final long last) {
+      List<SegmentView> views = new ArrayList<>();
+      for (Segment segment : segments) {
+        if (segment.count > 0 && segment.minTimestamp <= last && segment.maxTimestamp >= start) {
+          views.add(segment.view());
+        }
+      }
+      return views;
+    }
+
+    synchronized Point latest() {
+      return latest;
+    }
+
+    synchronized long delete() {
+      deleted = true;
+      long deletedReadings = 0;
+      for (Segment segment : segments) {
+        deletedReadings += segment.count;
+      }
+      try {
+        for (Segment segment : segments) {
+          Files.deleteIfExists(segment.file);
+        }
+        Files.deleteIfExists(directory);
+      } catch (IOException e) {
+        throw new UncheckedIOException("Failed to delete time-series " + directory, e);
+      }
+      segments.clear();
+      return deletedReadings;
+    }
+
+    /** Rebuild the index and bounds of a segment written by a previous run. */
+    private void recover(final Segment segment) {
+      if (segment.buffer.capacity() < SEGMENT_HEADER_BYTES) {
+        throw new IllegalStateException("Truncated time-series segment " + segment.file);
+      }
+      if (segment.buffer.getInt(0) == 0 && segment.buffer.getInt(4) == 0) {
+        // Created by a run that crashed before writing the header, so it holds no readings
+        segment.buffer.putInt(0, MAGIC);
+        segment.buffer.putInt(4, VERSION);
+      } else if (segment.buffer.getInt(0) != MAGIC || segment.buffer.getInt(4) != VERSION) {
+        throw new IllegalStateException("Unknown time-series segment header in " + segment.file);
+      }
+      for (int index = 0; index < segment.capacity; index++) {
+        int offset = SEGMENT_HEADER_BYTES + index * RECORD_BYTES;
+        long timestampMillis = segment.buffer.getLong(offset);
+        if (timestampMillis == 0) {
+          break;
+        }
+        index(segment, index, timestampMillis, segment.buffer.getFloat(offset + 8));
+      }
+    }
+
+    private Segment create(final long sequence) throws IOException {
+      Path file = directory.resolve("%020d%s".formatted(sequence, SEGMENT_SUFFIX));
+      Segment segment = Segment.open(file, sequence, segmentBytes);
+      segment.buffer.putInt(0, MAGIC);
+      segment.buffer.putInt(4, VERSION);
+      segments.add(segment);
+      return segment;
+    }
+
+    private void record(
+        final Segment segment,
+        final int index,
+        final long timestampMillis,
+        final float temperature) {
+      int offset = SEGMENT_HEADER_BYTES + index * RECORD_BYTES;
+      segment.buffer.putFloat(offset + 8, temperature);
+      segment.buffer.putLong(offset, timestampMillis);
+      index(segment, index, timestampMillis, temperature);
+    }
+
+    /** Account for the record at the end of a segment in its index, bounds and order. */
+    private void index(
+        final Segment segment,
+        final int index,
+        final long timestampMillis,
+        final float temperature) {
+      if (index % indexInterval == 0) {
+        if (segment.indexSize == segment.index.length) {
+          segment.index = Arrays.copyOf(segment.index, segment.index.length * 2);
+        }
+        segment.index[segment.indexSize++] = timestampMillis;
+      }
+      if (timestampMillis < lastTimestamp) {
+        segment.ordered = false;
+      }
+      lastTimestamp = timestampMillis;
+      segment.minTimestamp = Math.min(segment.minTimestamp, timestampMillis);
+      segment.maxTimestamp = Math.max(segment.maxTimestamp, timestampMillis);
+      long id = (segment.sequence << 32) | index;
+      if (latest == null || timestampMillis >= latest.timestampMillis()) {
+        latest = new Point(id, timestampMillis, temperature);
+      }
+      segment.count = index + 1;
+    }
+  }
+
+  /** A mapped segment file with its sparse index. Fields are guarded by its probe's lock. */
+  private static final class Segment {
+    private final long sequence;
+    private final Path file;
+    private final MappedByteBuffer buffer;
+    private final int capacity;
+    private int count;
+    private long[] index = new long[16];
+    private int indexSize;
+    private long minTimestamp = Long.MAX_VALUE;
+    private long maxTimestamp = Long.MIN_VALUE;
+    private boolean ordered = true;
+
+    private Segment(final long sequence, final Path file, final MappedByteBuffer buffer) {
+      this.sequence = sequence;
+      this.file = file;
+      this.buffer = buffer;
+      this.capacity = Math.max(0, (buffer.capacity() - SEGMENT_HEADER_BYTES) / RECORD_BYTES);
+    }
+
+    /**
+     * Map a segment file, creating it with the given size, or its current size if 0. The mapping
+     * stays valid once the channel is closed, so no file handle is held per segment.
+     */
+    private static Segment open(final Path file, final long sequence, final int size)
+        throws IOException {
+      try (FileChannel channel =
+          FileChannel.open(
+              file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+        long length = size > 0 ? size : channel.size();
+        return new Segment(sequence, file, channel.map(FileChannel.MapMode.READ_WRITE, 0, length));
+      }
+    }
+
+    /** Snapshot the records written so far, which never change, for reading without the lock. */
+    private SegmentView view() {
+      return new SegmentView(sequence, buffer, count, ordered, index, indexSize);
+    }
+  }
+
+  /** The records of a segment as of a snapshot. */
+  private record SegmentView(
+      long sequence,
+      MappedByteBuffer buffer,
+      int count,
+      boolean ordered,
+      long[] index,
+      int indexSize) {
+
+    /**
+     * Pass the records between two times, inclusive, to a consumer in the order they were written.
+     * Returns false if the consumer ended the scan.
+     */
+    boolean scan(
+        final long start, final long last, final int indexInterval, final PointConsumer consumer) {
+      int from = 0;
+      if (ordered) {
+        // Start at the last indexed record before the range
+        int low = 0;
+        int high = indexSize - 1;
+        while (low <= high) {
+          int middle = (low + high) >>> 1;
+          if (index[middle] < start) {
+            from = middle * indexInterval;
+            low = middle + 1;
+          } else {
+            high = middle - 1;
+          }
+        }
+      }
+      for (int i = from; i < count; i++) {
+        int offset = SEGMENT_HEADER_BYTES + i * RECORD_BYTES;
+        long timestampMillis = buffer.getLong(offset);
+        if (timestampMillis > last) {
+          if (ordered) {
+            return true;
+          }
+          continue;
+        }
+        if (timestampMillis >= start
+            && !consumer.accept(
+                (sequence << 32) | i, timestampMillis, buffer.getFloat(offset + 8))) {
+          return false;
+        }
+      }
+      return true;
+    }
+  }
+}
@@ -0,0 +1,180 @@
+package com.grillgauge.api.readingstore;
+
+import com.grillgauge.api.domain.entitys.Reading;
+import com.grillgauge.api.domain.events.ProbesDeletedEvent;
+import com.grillgauge.api.domain.models.ReadingCursor;
+import com.grillgauge.api.domain.models.ReadingPoint;
+import com.grillgauge.api.domain.repositorys.ProbeRepository;
+import jakarta.annotation.PreDestroy;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Stores readings in a {@link TimeSeriesEngine} under {@code readings.timeseries.directory}, which
+ * must be kept with the database the probes are in.
+ *
+ * <p>Readings saved within a transaction are only appended once it commits, so a rolled back upload
+ * leaves nothing behind. Probes are deleted in the database, often by cascade, so the readings of
+ * probes that no longer exist there are swept up every {@code readings.timeseries.sweep-ms}.
+ */
+@Component
+@ConditionalOnProperty(name = "readings.store", havingValue = "timeseries")
+public class TimeSeriesReadingStore implements ReadingStore {
+  private static final Logger LOG = LoggerFactory.getLogger(TimeSeriesReadingStore.class);
+
+  private final ProbeRepository probeRepository;
+  private final ApplicationEventPublisher eventPublisher;
+  private final TimeSeriesEngine engine;
+
+  /**
+   * Constructor for TimeSeriesReadingStore.
+   *
+   * @param probeRepository The ProbeRepository deleted probes are found with.
+   * @param eventPublisher The publisher for the deletion of swept probes' readings.
+   * @param directory The directory readings are stored in.
+   * @param segmentBytes The size of each segment file.
+   * @param indexInterval The number of readings between sparse index entries.
+   */
+  public TimeSeriesReadingStore(
+      final ProbeRepository probeRepository,
+      final ApplicationEventPublisher eventPublisher,
+      @Value("${readings.timeseries.directory:timeseries}") final String directory,
+      @Value("${readings.timeseries.segment-bytes:1048576}") final int segmentBytes,
+      @Value("${readings.timeseries.index-interval:256}") final int indexInterval) {
+    this.probeRepository = probeRepository;
+    this.eventPublisher = eventPublisher;
+    this.engine = new TimeSeriesEngine(Path.of(directory), segmentBytes, indexInterval);
+  }
+
+  @Override
+  public Optional<ReadingPoint> findLatest(final Long probeId) {
+    return Optional.ofNullable(engine.latest(probeId)).map(point -> toReadingPoint(probeId, point));
+  }
+
+  @Override
+  public List<Reading> saveAll(final List<Reading> readings) {
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      append(readings);
+      return readings;
+    }
+    TransactionSynchronizationManager.registerSynchronization(
+        new TransactionSynchronization() {
+          @Override
+          public void afterCommit() {
+            append(readings);
+          }
+        });
+    return readings;
+  }
+
+  @Override
+  public long deleteAll(final Long probeId) {
+    return engine.delete(probeId);
+  }
+
+  @Override
+  public void scan(
+      final List<Long> probeIds,
+      final Instant start,
+      final Instant end,
+      final boolean endInclusive,
+      final Consumer<ReadingPoint> consumer) {
+    for (Long probeId : probeIds.stream().sorted().toList()) {
+      engine.scan(
+          probeId,
+          start.toEpochMilli(),
+          end.toEpochMilli(),
+          endInclusive,
+          (id, timestampMillis, temperature) -> {
+            consumer.accept(
+                new ReadingPoint(id, probeId, Instant.ofEpochMilli(timestampMillis), temperature));
+            return true;
+          });
+    }
+  }
+
+  @Override
+  public List<ReadingPoint> findPage(
+      final List<Long> probeIds,
+      final Instant start,
+      final Instant end,
+      final ReadingCursor after,
+      final int limit) {
+    List<ReadingPoint> page = new ArrayList<>();
+    for (Long probeId : probeIds.stream().sorted().toList()) {
+      if (page.size() == limit) {
+        break;
+      }
+      if (after != null && probeId < after.probeId()) {
+        continue;
+      }
+      boolean afterCursorProbe = after != null && probeId == after.probeId();
+      long afterMillis = afterCursorProbe ? after.timestamp().toEpochMilli() : Long.MIN_VALUE;
+      long afterId = afterCursorProbe ? after.readingId() : Long.MIN_VALUE;
+      engine.scan(
+          probeId,
+          Math.max(start.toEpochMilli(), afterMillis),
+          end.toEpochMilli(),
+          true,
+          (id, timestampMillis, temperature) -> {
+            // The scan starts at the cursor's time, so only readings at that time need the ID check
+            if (timestampMillis > afterMillis || id > afterId) {
+              page.add(
+                  new ReadingPoint(
+                      id, probeId, Instant.ofEpochMilli(timestampMillis), temperature));
+            }
+            return page.size() < limit;
+          });
+    }
+    return page;
+  }
+
+  /** Delete the readings of probes that have been deleted from the database. */
+  @Scheduled(fixedDelayString = "${readings.timeseries.sweep-ms:3600000}")
+  public void sweepDeletedProbes() {
+    List<Long> swept = new ArrayList<>();
+    for (Long probeId : engine.probeIds()) {
+      if (!probeRepository.existsById(probeId)) {
+        long deleted = engine.delete(probeId);
+        swept.add(probeId);
+        LOG.info("Deleted {} readings of deleted probe ID: {}", deleted, probeId);
+      }
+    }
+    if (!swept.isEmpty()) {
+      eventPublisher.publishEvent(new ProbesDeletedEvent(swept));
+    }
+  }
+
+  @PreDestroy
+  void close() {
+    engine.close();
+  }
+
+  private void append(final List<Reading> readings) {
+    for (Reading reading : readings) {
+      engine.append(
+          reading.getProbe().getId(),
+          reading.getTimeStamp().toEpochMilli(),
+          reading.getCurrentTemp());
+    }
+  }
+
+  private static ReadingPoint toReadingPoint(
+      final Long probeId, final TimeSeriesEngine.Point point) {
+    return new ReadingPoint(
+        point.id(), probeId, Instant.ofEpochMilli(point.timestampMillis()), point.temperature());
+  }
+}
@@ -0,0 +1,105 @@
+package com.grillgauge.api.security;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Fixed-window limiter for hub pairing attempts, keyed by hub and by client address.
+ *
+ * <p>Attempts are counted before any OTP is hashed or verified, so a brute-force burst is turned
+ * away without costing a BCrypt call. Each key holds its window number in the upper 32 bits and its
+ * attempt count in the lower 32 bits of one {@link AtomicLong}, so counting is a single
+ * compare-and-set with no locking.
+ */
+@Component
+public class AttemptLimiter {
+  private static final Logger LOG = LoggerFactory.getLogger(AttemptLimiter.class);
+
+  private final Map<String, AtomicLong> windows = new ConcurrentHashMap<>();
+  private final long windowMillis;
+  private final int maxPerHub;
+  private final int maxPerAddress;
+
+  /**
+   * Constructor for AttemptLimiter.
+   *
+   * @param windowSeconds length of each counting window.
+   * @param maxPerHub attempts allowed against one hub per window.
+   * @param maxPerAddress attempts of each kind allowed from one client address per window.
+   */
+  public AttemptLimiter(
+      @Value("${otp.attempts.window-seconds:60}") final long windowSeconds,
+      @Value("${otp.attempts.max-per-hub:5}") final int maxPerHub,
+      @Value("${otp.attempts.max-per-address:20}") final int maxPerAddress) {
+    this.windowMillis = windowSeconds * 1000;
+    this.maxPerHub = maxPerHub;
+    this.maxPerAddress = maxPerAddress;
+  }
+
+  /**
+   * Count a hub registration from a client address.
+   *
+   * @param clientAddress the address of the client.
+   * @throws ResponseStatusException with status 429 if the address has registered too many hubs.
+   */
+  public void acquireRegistration(final String clientAddress) {
+    acquire("register:" + clientAddress, maxPerAddress);
+  }
+
+  /**
+   * Count a confirmation attempt against a hub from a client address.
+   *
+   * @param hubId the hub being confirmed.
+   * @param clientAddress the address of the client.
+   * @throws ResponseStatusException with status 429 if either has made too many attempts.
+   */
+  public void acquireConfirmation(final Long hubId, final String clientAddress) {
+    acquire("confirm:" + clientAddress, maxPerAddress);
+    acquire("hub:" + hubId, maxPerHub);
+  }
+
+  /**
+   * Forget the attempts against a hub once it has been confirmed.
+   *
+   * @param hubId the confirmed hub.
+   */
+  public void resetHub(final Long hubId) {
+    windows.remove("hub:" + hubId);
+  }
+
+  /** Drop counters whose window has passed. */
+  @Scheduled(fixedDelayString = "${otp.attempts.eviction-interval-ms:60000}")
+  public void evictExpired() {
+    long currentWindow = System.currentTimeMillis() / windowMillis;
+    windows.values().removeIf(state -> state.get() >>> 32 < currentWindow);
+  }
+
+  private void acquire(final String key, final int limit) {
+    long window = System.currentTimeMillis() / windowMillis;
+    AtomicLong state = windows.computeIfAbsent(key, k -> new AtomicLong());
+    while (true) {
+      long current = state.get();
+      long next;
+      if (current >>> 32 != window) {
+        next = window << 32 | 1;
+      } else if ((int) current >= limit) {
+        LOG.warn("Rejected pairing attempt for {}: more than {} attempts", key, limit);
+        throw new ResponseStatusException(
+            HttpStatus.TOO_MANY_REQUESTS, "Too many attempts, try again later");
+      } else {
+        next = current + 1;
+      }
+      if (state.compareAndSet(current, next)) {
+        return;
+      }
+    }
+  }
+}
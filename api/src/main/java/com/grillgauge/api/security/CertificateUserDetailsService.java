@@ -1,11 +1,15 @@
 package com.grillgauge.api.security;
 
+import com.grillgauge.api.datasource.DatabaseFailures;
 import com.grillgauge.api.domain.entitys.Hub;
 import com.grillgauge.api.domain.repositorys.HubRepository;
 import com.grillgauge.api.services.CertificateService;
+import com.grillgauge.api.services.CrlService;
 import jakarta.servlet.http.HttpServletRequest;
 import java.security.cert.X509Certificate;
 import java.util.Optional;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.security.core.userdetails.AuthenticationUserDetailsService;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
@@ -22,19 +26,35 @@ import org.springframework.web.context.request.ServletRequestAttributes;
 @Service
 public class CertificateUserDetailsService
     implements AuthenticationUserDetailsService<PreAuthenticatedAuthenticationToken> {
+  private static final Logger LOG = LoggerFactory.getLogger(CertificateUserDetailsService.class);
 
   private final HubRepository hubRepository;
   private final CertificateService certificateService;
+  private final CrlService crlService;
 
+  /**
+   * Constructor for CertificateUserDetailsService.
+   *
+   * @param hubRepository The HubRepository to use.
+   * @param certificateService The CertificateService holding the CA certificate.
+   * @param crlService The CrlService used to refuse revoked certificates.
+   */
   public CertificateUserDetailsService(
-      final HubRepository hubRepository, final CertificateService certificateService) {
+      final HubRepository hubRepository,
+      final CertificateService certificateService,
+      final CrlService crlService) {
     this.hubRepository = hubRepository;
     this.certificateService = certificateService;
+    this.crlService = crlService;
   }
 
   /**
    * Loads UserDetails from a PreAuthenticatedAuthenticationToken containing an X.509 certificate
    *
+   * <p>If the hub cannot be looked up because the database is unavailable, the certificate subject
+   * is trusted as it is for an unknown serial, so uploads can still reach the write-ahead log,
+   * unless the certificate is in the CRL's in-memory revoked set.
+   *
    * @param token the pre-authenticated token
    * @return the UserDetails representing the hub
    * @throws UsernameNotFoundException if the certificate is invalid or no hub is found
@@ -51,9 +71,21 @@ public class CertificateUserDetailsService
 
     long serial = cert.getSerialNumber().longValue();
 
-    return hubRepository
-        .findByCertificateSerial(serial)
-        .map(this::toRegisteredHubUserDetails)
+    Optional<Hub> hub;
+    try {
+      hub = hubRepository.findByCertificateSerial(serial);
+    } catch (RuntimeException e) {
+      if (!DatabaseFailures.isUnavailable(e)) {
+        throw e;
+      }
+      if (crlService.isRevoked(cert.getSerialNumber())) {
+        throw new UsernameNotFoundException("Certificate revoked");
+      }
+      LOG.warn("Database unavailable, identifying hub by certificate subject: {}", e.getMessage());
+      hub = Optional.empty();
+    }
+
+    return hub.map(this::toRegisteredHubUserDetails)
         .orElseGet(
             () ->
                 createUserDetailsFromSubject(cert)
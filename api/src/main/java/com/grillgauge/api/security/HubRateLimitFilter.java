@@ -0,0 +1,47 @@
+package com.grillgauge.api.security;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * Applies the {@link HubRateLimiter} to requests authenticated with a hub certificate. Runs right
+ * after X.509 authentication, so a rejected request gets a bare 429 with {@code Retry-After} before
+ * its body is read or anything is written to the database.
+ */
+public class HubRateLimitFilter extends OncePerRequestFilter {
+
+  private final HubRateLimiter hubRateLimiter;
+
+  public HubRateLimitFilter(final HubRateLimiter hubRateLimiter) {
+    this.hubRateLimiter = hubRateLimiter;
+  }
+
+  @Override
+  protected void doFilterInternal(
+      final HttpServletRequest request,
+      final HttpServletResponse response,
+      final FilterChain filterChain)
+      throws ServletException, IOException {
+    Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+    if (authentication != null && authentication.getPrincipal() instanceof HubUserDetails hub) {
+      long waitNanos = hubRateLimiter.tryAcquire(hub.getHubId());
+      if (waitNanos > 0) {
+        long retryAfterSeconds =
+            Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + 999_999_999));
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+        return;
+      }
+    }
+    filterChain.doFilter(request, response);
+  }
+}
@@ -0,0 +1,89 @@
+package com.grillgauge.api.security;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Per-hub token bucket limiting how often each hub may call the API, so one hub posting in a tight
+ * loop cannot degrade ingest for everyone else.
+ *
+ * <p>Each bucket is a single {@link AtomicLong} holding the time at which it will next be full (the
+ * generic cell rate algorithm form of a token bucket), so taking a token is one compare-and-set and
+ * needs no locking. Buckets that have refilled and stayed idle are evicted.
+ */
+@Component
+public class HubRateLimiter {
+  private static final Logger LOG = LoggerFactory.getLogger(HubRateLimiter.class);
+
+  private final Map<Long, AtomicLong> buckets = new ConcurrentHashMap<>();
+  private final long intervalNanos;
+  private final long burstNanos;
+  private final long idleNanos;
+  private final Counter rejected;
+
+  /**
+   * Constructor for HubRateLimiter.
+   *
+   * @param requestsPerSecond sustained requests allowed per hub.
+   * @param burst requests a hub with a full bucket may make at once.
+   * @param idleSeconds seconds a full bucket is kept before it is evicted.
+   * @param meterRegistry registry for the rejection counter and bucket gauge.
+   */
+  public HubRateLimiter(
+      @Value("${ratelimit.hub.requests-per-second:2}") final double requestsPerSecond,
+      @Value("${ratelimit.hub.burst:20}") final int burst,
+      @Value("${ratelimit.hub.idle-seconds:600}") final long idleSeconds,
+      final MeterRegistry meterRegistry) {
+    this.intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / requestsPerSecond);
+    this.burstNanos = intervalNanos * (burst - 1);
+    this.idleNanos = TimeUnit.SECONDS.toNanos(idleSeconds);
+    this.rejected =
+        Counter.builder("hub.ratelimit.rejected")
+            .description("Hub requests rejected by the per-hub rate limit")
+            .register(meterRegistry);
+    Gauge.builder("hub.ratelimit.buckets", buckets, Map::size)
+        .description("Hubs with a tracked rate limit bucket")
+        .register(meterRegistry);
+  }
+
+  /**
+   * Take a token from the hub's bucket.
+   *
+   * @param hubId the hub making a request.
+   * @return 0 if the request is allowed, otherwise the nanoseconds until a token is available.
+   */
+  public long tryAcquire(final Long hubId) {
+    AtomicLong fullAt = buckets.computeIfAbsent(hubId, id -> new AtomicLong(System.nanoTime()));
+    while (true) {
+      long now = System.nanoTime();
+      long current = fullAt.get();
+      long start = current - now > 0 ? current : now;
+      long wait = start - now - burstNanos;
+      if (wait > 0) {
+        rejected.increment();
+        LOG.debug("Rate limited hub ID: {} for {} ms", hubId, TimeUnit.NANOSECONDS.toMillis(wait));
+        return wait;
+      }
+      if (fullAt.compareAndSet(current, start + intervalNanos)) {
+        return 0;
+      }
+    }
+  }
+
+  /** Drop buckets that have been full for longer than the idle period. */
+  @Scheduled(fixedDelayString = "${ratelimit.hub.eviction-interval-ms:60000}")
+  public void evictIdle() {
+    long idleBefore = System.nanoTime() - idleNanos;
+    buckets.values().removeIf(fullAt -> fullAt.get() - idleBefore < 0);
+  }
+}
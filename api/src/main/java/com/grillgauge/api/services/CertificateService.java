@@ -1,5 +1,6 @@
 package com.grillgauge.api.services;
 
+import com.grillgauge.api.domain.entitys.RevokedCertificate;
 import jakarta.annotation.PostConstruct;
 import java.io.FileReader;
 import java.io.Reader;
@@ -12,6 +13,7 @@ import java.security.SecureRandom;
 import java.security.cert.X509CRL;
 import java.security.cert.X509Certificate;
 import java.util.Date;
+import java.util.List;
 import org.bouncycastle.asn1.ASN1Integer;
 import org.bouncycastle.asn1.ASN1Set;
 import org.bouncycastle.asn1.pkcs.Attribute;
@@ -19,6 +21,7 @@ import org.bouncycastle.asn1.pkcs.PKCSObjectIdentifiers;
 import org.bouncycastle.asn1.pkcs.PrivateKeyInfo;
 import org.bouncycastle.asn1.x500.X500Name;
 import org.bouncycastle.asn1.x509.AlgorithmIdentifier;
+import org.bouncycastle.asn1.x509.AuthorityKeyIdentifier;
 import org.bouncycastle.asn1.x509.BasicConstraints;
 import org.bouncycastle.asn1.x509.Extension;
 import org.bouncycastle.asn1.x509.Extensions;
@@ -58,6 +61,11 @@ import org.springframework.stereotype.Service;
 /**
  * Service for handling certificate operations such as loading CA certificates/keys and signing
  * CSRs.
+ *
+ * <p>Everything derived from the CA that is the same for every signature (issuer name, authority
+ * key identifier, key parameters and algorithm identifiers) is built once at startup, and each
+ * thread reuses its own {@link ContentSigner}, so signing many CSRs in parallel only pays for the
+ * RSA operation itself.
  */
 @Service
 public class CertificateService {
@@ -76,6 +84,16 @@ public class CertificateService {
 
   private X509Certificate caCertificate;
   private PrivateKey caPrivateKey;
+  private X500Name caIssuer;
+  private AuthorityKeyIdentifier caAuthorityKeyIdentifier;
+  private AsymmetricKeyParameter caKeyParam;
+  private AlgorithmIdentifier sigAlgId;
+  private AlgorithmIdentifier digAlgId;
+  private final SecureRandom secureRandom = new SecureRandom();
+  private final JcaX509CertificateConverter certificateConverter =
+      new JcaX509CertificateConverter().setProvider("BC");
+  private final ThreadLocal<ContentSigner> contentSigners =
+      ThreadLocal.withInitial(this::createContentSigner);
 
   /**
    * Expose the loaded CA certificate for runtime checks (e.g. additional verification in
@@ -89,6 +107,30 @@ public class CertificateService {
   private void init() throws CertificateServiceException {
     this.caCertificate = loadCaCertificate(caCertPath);
     this.caPrivateKey = loadCaPrivateKey(caKeyPath);
+    try {
+      this.caIssuer = new X500Name(caCertificate.getSubjectX500Principal().getName());
+      this.caAuthorityKeyIdentifier =
+          new JcaX509ExtensionUtils()
+              .createAuthorityKeyIdentifier(new X509CertificateHolder(caCertificate.getEncoded()));
+      this.caKeyParam = PrivateKeyFactory.createKey(caPrivateKey.getEncoded());
+      this.sigAlgId = new DefaultSignatureAlgorithmIdentifierFinder().find("SHA256withRSA");
+      this.digAlgId = new DefaultDigestAlgorithmIdentifierFinder().find(sigAlgId);
+    } catch (Exception e) {
+      throw new CertificateServiceException("Failed to prepare CA signing parameters", e);
+    }
+  }
+
+  /**
+   * Build a content signer for the CA key. Signers are stateful, so each thread gets its own.
+   *
+   * @return a new ContentSigner.
+   */
+  private ContentSigner createContentSigner() {
+    try {
+      return new BcRSAContentSignerBuilder(sigAlgId, digAlgId).build(caKeyParam);
+    } catch (Exception e) {
+      throw new CertificateServiceRuntimeException("Failed to create CA content signer", e);
+    }
   }
 
   /** Custom runtime exception for CertificateService errors. */
@@ -268,18 +310,30 @@ public class CertificateService {
   }
 
   /**
-   * Extract a public key from a certificate PEM string and return it as PEM.
+   * Load a certificate from a PEM string.
    *
    * @param certPem PEM-encoded certificate string
-   * @return PEM-encoded public key
+   * @return The loaded X509Certificate.
    */
-  public String extractPublicKeyFromCertPem(final String certPem) {
+  public X509Certificate loadCertificateFromPem(final String certPem) {
     try (PemReader pemReader = new PemReader(new StringReader(certPem))) {
       byte[] content = pemReader.readPemObject().getContent();
       X509CertificateHolder holder = new X509CertificateHolder(content);
-      X509Certificate cert =
-          new JcaX509CertificateConverter().setProvider("BC").getCertificate(holder);
-      return convertPublicKeyToPem(cert.getPublicKey());
+      return certificateConverter.getCertificate(holder);
+    } catch (final Exception e) {
+      throw new CertificateServiceRuntimeException("Failed to load certificate from PEM", e);
+    }
+  }
+
+  /**
+   * Extract a public key from a certificate PEM string and return it as PEM.
+   *
+   * @param certPem PEM-encoded certificate string
+   * @return PEM-encoded public key
+   */
+  public String extractPublicKeyFromCertPem(final String certPem) {
+    try {
+      return convertPublicKeyToPem(loadCertificateFromPem(certPem).getPublicKey());
     } catch (final Exception e) {
       throw new CertificateServiceRuntimeException(
           "Failed to extract public key from certificate PEM", e);
@@ -311,10 +365,7 @@ public class CertificateService {
       long now = System.currentTimeMillis();
       Date notBefore = new Date(now);
       Date notAfter = new Date(now + (validityDays * 24L * 60 * 60 * 1000));
-      BigInteger serial = new BigInteger(160, new SecureRandom());
-
-      // Issuer DN from CA cert
-      X500Name issuer = new X500Name(caCertificate.getSubjectX500Principal().getName());
+      BigInteger serial = new BigInteger(160, secureRandom);
 
       // Subject DN and public key from CSR
       X500Name subject = csr.getSubject();
@@ -322,7 +373,8 @@ public class CertificateService {
 
       // --- Build certificate ---
       X509v3CertificateBuilder certBuilder =
-          new X509v3CertificateBuilder(issuer, serial, notBefore, notAfter, subject, publicKeyInfo);
+          new X509v3CertificateBuilder(
+              caIssuer, serial, notBefore, notAfter, subject, publicKeyInfo);
 
       // Extensions (Required for most browsers + TLS stacks)
       JcaX509ExtensionUtils extUtils = new JcaX509ExtensionUtils();
@@ -334,11 +386,7 @@ public class CertificateService {
           true,
           new KeyUsage(KeyUsage.digitalSignature | KeyUsage.keyEncipherment));
 
-      certBuilder.addExtension(
-          Extension.authorityKeyIdentifier,
-          false,
-          extUtils.createAuthorityKeyIdentifier(
-              new X509CertificateHolder(caCertificate.getEncoded())));
+      certBuilder.addExtension(Extension.authorityKeyIdentifier, false, caAuthorityKeyIdentifier);
 
       certBuilder.addExtension(
           Extension.subjectKeyIdentifier,
@@ -359,16 +407,9 @@ public class CertificateService {
       }
 
       // --- Sign certificate ---
-      AsymmetricKeyParameter caKeyParam = PrivateKeyFactory.createKey(caPrivateKey.getEncoded());
-      AlgorithmIdentifier sigAlgId =
-          new DefaultSignatureAlgorithmIdentifierFinder().find("SHA256withRSA");
-      AlgorithmIdentifier digAlgId = new DefaultDigestAlgorithmIdentifierFinder().find(sigAlgId);
-
-      ContentSigner signer = new BcRSAContentSignerBuilder(sigAlgId, digAlgId).build(caKeyParam);
+      X509CertificateHolder holder = certBuilder.build(contentSigners.get());
 
-      X509CertificateHolder holder = certBuilder.build(signer);
-
-      return new JcaX509CertificateConverter().setProvider("BC").getCertificate(holder);
+      return certificateConverter.getCertificate(holder);
 
     } catch (Exception e) {
       throw new CertificateServiceRuntimeException("Failed to sign certificate", e);
@@ -376,60 +417,37 @@ public class CertificateService {
   }
 
   /**
-   * Revoke a signed certificate (convenience method). Uses the current time as revocation date and
-   * `cessationOfOperation` as reason.
-   *
-   * @param certificate the issued certificate to revoke
-   * @return the generated X509CRL containing the revoked certificate
-   */
-  public X509CRL revokeSignedCertificate(final X509Certificate certificate) {
-    return revokeBySerial(certificate.getSerialNumber(), new Date(), 5);
-  }
-
-  /**
-   * Revoke a certificate by serial number. Returns a signed CRL containing the revocation.
+   * Build and sign a certificate revocation list containing every given revoked certificate.
    *
-   * @param serial serial number of the certificate to revoke
-   * @param revocationDate date of revocation
-   * @param reason numeric CRL reason code (see RFC5280)
+   * @param revokedCertificates the certificates to list as revoked
+   * @param crlNumber the CRL number, which must increase with every CRL issued
+   * @param thisUpdate the issue date of the CRL
+   * @param nextUpdate the date by which the next CRL will be issued
    * @return signed X509CRL
    */
-  public X509CRL revokeBySerial(
-      final BigInteger serial, final Date revocationDate, final int reason) {
+  public X509CRL generateCrl(
+      final List<RevokedCertificate> revokedCertificates,
+      final BigInteger crlNumber,
+      final Date thisUpdate,
+      final Date nextUpdate) {
     try {
-      // Issuer must be the CA
-      X500Name issuer = new X500Name(caCertificate.getSubjectX500Principal().getName());
-
-      // Build CRL
-      X509v2CRLBuilder crlBuilder = new X509v2CRLBuilder(issuer, new Date());
-      crlBuilder.addCRLEntry(serial, revocationDate, reason);
-
-      // Add authority key identifier
-      JcaX509ExtensionUtils extUtils = new JcaX509ExtensionUtils();
-      crlBuilder.addExtension(
-          Extension.authorityKeyIdentifier,
-          false,
-          extUtils.createAuthorityKeyIdentifier(
-              new X509CertificateHolder(caCertificate.getEncoded())));
+      X509v2CRLBuilder crlBuilder = new X509v2CRLBuilder(caIssuer, thisUpdate);
+      crlBuilder.setNextUpdate(nextUpdate);
+      for (RevokedCertificate revoked : revokedCertificates) {
+        crlBuilder.addCRLEntry(
+            revoked.getSerialNumber(), Date.from(revoked.getRevokedAt()), revoked.getReason());
+      }
 
-      // Add a CRL number (use timestamp-based value)
-      BigInteger crlNumber = BigInteger.valueOf(System.currentTimeMillis());
+      crlBuilder.addExtension(Extension.authorityKeyIdentifier, false, caAuthorityKeyIdentifier);
       crlBuilder.addExtension(Extension.cRLNumber, false, new ASN1Integer(crlNumber));
 
       // Sign CRL with CA private key
-      AsymmetricKeyParameter caKeyParam = PrivateKeyFactory.createKey(caPrivateKey.getEncoded());
-      AlgorithmIdentifier sigAlgId =
-          new DefaultSignatureAlgorithmIdentifierFinder().find("SHA256withRSA");
-      AlgorithmIdentifier digAlgId = new DefaultDigestAlgorithmIdentifierFinder().find(sigAlgId);
-
-      ContentSigner signer = new BcRSAContentSignerBuilder(sigAlgId, digAlgId).build(caKeyParam);
-
-      X509CRLHolder holder = crlBuilder.build(signer);
+      X509CRLHolder holder = crlBuilder.build(contentSigners.get());
 
       return new JcaX509CRLConverter().setProvider("BC").getCRL(holder);
 
     } catch (Exception e) {
-      throw new CertificateServiceRuntimeException("Failed to revoke certificate", e);
+      throw new CertificateServiceRuntimeException("Failed to generate CRL", e);
     }
   }
 
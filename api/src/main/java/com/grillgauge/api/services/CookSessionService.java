@@ -0,0 +1,34 @@
+package com.grillgauge.api.services;
+
+import com.grillgauge.api.domain.entitys.CookSession;
+import com.grillgauge.api.domain.repositorys.CookSessionRepository;
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+/** Service class for reading the cook sessions segmented from probe readings. */
+@Service
+public class CookSessionService {
+  private static final Logger LOG = LoggerFactory.getLogger(CookSessionService.class);
+
+  private final CookSessionRepository cookSessionRepository;
+
+  public CookSessionService(final CookSessionRepository cookSessionRepository) {
+    this.cookSessionRepository = cookSessionRepository;
+  }
+
+  /**
+   * Get the most recent cook sessions for the given probeId, from their summaries alone.
+   *
+   * @param probeId the probeId to get sessions for
+   * @return List of CookSession entities, most recent first
+   */
+  public List<CookSession> getRecentSessions(final Long probeId) {
+    LOG.debug("Getting cook sessions for probe ID: {}", probeId);
+    List<CookSession> sessions =
+        cookSessionRepository.findTop100ByProbe_IdOrderByStartTimeDesc(probeId);
+    LOG.debug("Successfully got {} cook sessions for probe ID: {}", sessions.size(), probeId);
+    return sessions;
+  }
+}
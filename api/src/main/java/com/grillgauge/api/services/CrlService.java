@@ -0,0 +1,238 @@
+package com.grillgauge.api.services;
+
+import com.grillgauge.api.domain.entitys.CrlPublication;
+import com.grillgauge.api.domain.entitys.RevokedCertificate;
+import com.grillgauge.api.domain.events.CertificateRevokedEvent;
+import com.grillgauge.api.domain.repositorys.CrlPublicationRepository;
+import com.grillgauge.api.domain.repositorys.RevokedCertificateRepository;
+import java.math.BigInteger;
+import java.security.cert.CRLException;
+import java.security.cert.X509CRL;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Service for the certificate revocation store and the CRL published from it.
+ *
+ * <p>The CA publishes one cumulative CRL listing every revoked certificate. It is signed once when
+ * the revoked set changes, after the revocation commits, and again before its {@code nextUpdate}
+ * falls due. The encoded DER and PEM are cached, so serving the CRL never signs anything. CRL
+ * numbers are persisted and strictly increase across restarts. Nothing is published until the
+ * revocation store has been loaded at startup, so no CRL ever omits a stored revocation.
+ */
+@Service
+public class CrlService {
+  private static final Logger LOG = LoggerFactory.getLogger(CrlService.class);
+
+  private final RevokedCertificateRepository revokedCertificateRepository;
+  private final CrlPublicationRepository crlPublicationRepository;
+  private final CertificateService certificateService;
+  private final ApplicationEventPublisher eventPublisher;
+  private final Duration nextUpdateInterval;
+  private final Duration reissueMargin;
+  private final List<RevokedCertificate> revokedCertificates = new ArrayList<>();
+  private final Set<BigInteger> revokedSerials = ConcurrentHashMap.newKeySet();
+  private volatile PublishedCrl currentCrl;
+  private boolean loaded;
+
+  /**
+   * Constructor for CrlService.
+   *
+   * @param revokedCertificateRepository The RevokedCertificateRepository to use.
+   * @param crlPublicationRepository The CrlPublicationRepository to use.
+   * @param certificateService The CertificateService used to sign the CRL.
+   * @param eventPublisher The publisher for revocation events.
+   * @param nextUpdateMinutes Minutes from issue to the nextUpdate of each CRL.
+   * @param reissueMarginMinutes Minutes before nextUpdate at which the CRL is reissued.
+   */
+  public CrlService(
+      final RevokedCertificateRepository revokedCertificateRepository,
+      final CrlPublicationRepository crlPublicationRepository,
+      final CertificateService certificateService,
+      final ApplicationEventPublisher eventPublisher,
+      @Value("${crl.next-update-minutes:1440}") final long nextUpdateMinutes,
+      @Value("${crl.reissue-margin-minutes:360}") final long reissueMarginMinutes) {
+    this.revokedCertificateRepository = revokedCertificateRepository;
+    this.crlPublicationRepository = crlPublicationRepository;
+    this.certificateService = certificateService;
+    this.eventPublisher = eventPublisher;
+    this.nextUpdateInterval = Duration.ofMinutes(nextUpdateMinutes);
+    this.reissueMargin = Duration.ofMinutes(reissueMarginMinutes);
+  }
+
+  /**
+   * A signed CRL as served to relying parties.
+   *
+   * @param crlNumber the CRL number.
+   * @param der the DER encoding of the CRL.
+   * @param pem the PEM encoding of the CRL.
+   * @param etag the entity tag of the CRL.
+   * @param thisUpdate the issue date of the CRL.
+   * @param nextUpdate the date by which the next CRL will be issued.
+   */
+  public record PublishedCrl(
+      long crlNumber,
+      byte[] der,
+      String pem,
+      String etag,
+      Instant thisUpdate,
+      Instant nextUpdate) {}
+
+  /**
+   * Add a certificate to the revocation store. The CRL is reissued once the surrounding transaction
+   * commits.
+   *
+   * @param serialNumber the serial number of the certificate to revoke.
+   * @param revokedAt the time of revocation.
+   * @param reason the numeric CRL reason code, see RFC 5280.
+   * @param hubId the ID of the hub the certificate was issued to, if any.
+   * @return true if the certificate was not already revoked.
+   */
+  @Transactional
+  public boolean revoke(
+      final BigInteger serialNumber, final Instant revokedAt, final int reason, final Long hubId) {
+    if (revokedCertificateRepository.existsById(serialNumber)) {
+      LOG.info("Certificate serial: {} is already revoked", serialNumber);
+      return false;
+    }
+    revokedCertificateRepository.save(
+        new RevokedCertificate(serialNumber, revokedAt, reason, hubId));
+    eventPublisher.publishEvent(
+        new CertificateRevokedEvent(serialNumber, revokedAt, reason, hubId));
+    LOG.info("Revoked certificate serial: {} with reason: {}", serialNumber, reason);
+    return true;
+  }
+
+  /**
+   * Get the current CRL.
+   *
+   * @return the current PublishedCrl.
+   * @throws ResponseStatusException with status 503 if no CRL has been published yet.
+   */
+  public PublishedCrl getCurrentCrl() {
+    PublishedCrl crl = currentCrl;
+    if (crl == null) {
+      throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "CRL not yet published");
+    }
+    return crl;
+  }
+
+  /**
+   * Whether a certificate is in the revoked set held in memory, so it can be checked while the
+   * database is unavailable.
+   *
+   * @param serialNumber the serial number of the certificate.
+   * @return true if the certificate has been revoked.
+   */
+  public boolean isRevoked(final BigInteger serialNumber) {
+    return revokedSerials.contains(serialNumber);
+  }
+
+  /** Load the revocation store and publish the first CRL once the application has started. */
+  @EventListener(ApplicationReadyEvent.class)
+  @Transactional
+  public void publishOnStartup() {
+    synchronized (this) {
+      revokedCertificates.clear();
+      revokedCertificates.addAll(revokedCertificateRepository.findAll());
+      revokedCertificates.forEach(revoked -> revokedSerials.add(revoked.getSerialNumber()));
+      loaded = true;
+      publish();
+    }
+  }
+
+  /**
+   * Append a committed revocation to the revoked set and reissue the CRL. Before the startup load
+   * the revocation is only remembered, as the load reads it from the store.
+   *
+   * @param event the revocation.
+   */
+  @TransactionalEventListener(fallbackExecution = true)
+  @Transactional(propagation = Propagation.REQUIRES_NEW)
+  public void onCertificateRevoked(final CertificateRevokedEvent event) {
+    synchronized (this) {
+      revokedCertificates.add(
+          new RevokedCertificate(
+              event.serialNumber(), event.revokedAt(), event.reason(), event.hubId()));
+      revokedSerials.add(event.serialNumber());
+      if (loaded) {
+        publish();
+      }
+    }
+  }
+
+  /**
+   * Reissue the CRL if its nextUpdate is within the reissue margin. The first CRL is published by
+   * the startup load, so there is nothing to reissue before it.
+   */
+  @Scheduled(fixedDelayString = "${crl.refresh-check-ms:60000}")
+  @Transactional
+  public void reissueIfDue() {
+    PublishedCrl crl = currentCrl;
+    if (crl == null || Instant.now().isBefore(crl.nextUpdate().minus(reissueMargin))) {
+      return;
+    }
+    synchronized (this) {
+      if (currentCrl == crl) {
+        publish();
+      }
+    }
+  }
+
+  private void publish() {
+    CrlPublication publication =
+        crlPublicationRepository
+            .findById(CrlPublication.SINGLETON_ID)
+            .orElseGet(CrlPublication::new);
+    long crlNumber = publication.getCrlNumber() + 1;
+    Instant thisUpdate = Instant.now();
+    Instant nextUpdate = thisUpdate.plus(nextUpdateInterval);
+
+    X509CRL crl =
+        certificateService.generateCrl(
+            List.copyOf(revokedCertificates),
+            BigInteger.valueOf(crlNumber),
+            Date.from(thisUpdate),
+            Date.from(nextUpdate));
+
+    publication.setCrlNumber(crlNumber);
+    publication.setThisUpdate(thisUpdate);
+    publication.setNextUpdate(nextUpdate);
+    crlPublicationRepository.save(publication);
+
+    try {
+      currentCrl =
+          new PublishedCrl(
+              crlNumber,
+              crl.getEncoded(),
+              certificateService.convertCrlToPem(crl),
+              "\"crl-" + crlNumber + "\"",
+              thisUpdate,
+              nextUpdate);
+    } catch (CRLException e) {
+      throw new IllegalStateException("Failed to encode CRL", e);
+    }
+    LOG.info(
+        "Published CRL number: {} with {} revoked certificates",
+        crlNumber,
+        revokedCertificates.size());
+  }
+}
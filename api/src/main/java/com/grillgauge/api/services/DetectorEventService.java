@@ -0,0 +1,34 @@
+package com.grillgauge.api.services;
+
+import com.grillgauge.api.domain.entitys.DetectorEvent;
+import com.grillgauge.api.domain.repositorys.DetectorEventRepository;
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+/** Service class for reading the cook events detected from probe readings. */
+@Service
+public class DetectorEventService {
+  private static final Logger LOG = LoggerFactory.getLogger(DetectorEventService.class);
+
+  private final DetectorEventRepository detectorEventRepository;
+
+  public DetectorEventService(final DetectorEventRepository detectorEventRepository) {
+    this.detectorEventRepository = detectorEventRepository;
+  }
+
+  /**
+   * Get the most recent detected events for the given probeId.
+   *
+   * @param probeId the probeId to get events for
+   * @return List of DetectorEvent entities, most recent first
+   */
+  public List<DetectorEvent> getRecentEvents(final Long probeId) {
+    LOG.debug("Getting detector events for probe ID: {}", probeId);
+    List<DetectorEvent> events =
+        detectorEventRepository.findTop100ByProbe_IdOrderByOccurredAtDesc(probeId);
+    LOG.debug("Successfully got {} detector events for probe ID: {}", events.size(), probeId);
+    return events;
+  }
+}
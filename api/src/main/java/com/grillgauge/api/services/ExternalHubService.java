@@ -1,16 +1,21 @@
 package com.grillgauge.api.services;
 
+import com.grillgauge.api.datasource.DatabaseFailures;
 import com.grillgauge.api.domain.entitys.Hub;
 import com.grillgauge.api.domain.entitys.Probe;
 import com.grillgauge.api.domain.models.HubCurrentState;
-import com.grillgauge.api.domain.models.HubReading;
-import com.grillgauge.api.domain.models.ProbeReading;
+import com.grillgauge.api.eta.CookEtaEstimator;
+import com.grillgauge.api.ingest.ProbeReadingBuffer;
+import com.grillgauge.api.ingest.wal.WriteAheadLog;
+import java.time.Instant;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 /** Service class for managing hubs and their readings. */
 @Service
@@ -20,40 +25,85 @@ public class ExternalHubService {
 
   private final HubService hubService;
   private final ProbeService probeService;
+  private final CookEtaEstimator cookEtaEstimator;
+  private final WriteAheadLog writeAheadLog;
 
-  public ExternalHubService(final HubService hubService, final ProbeService probeService) {
+  /**
+   * Constructor for ExternalHubService.
+   *
+   * @param hubService the HubService to use.
+   * @param probeService the ProbeService to use.
+   * @param cookEtaEstimator the CookEtaEstimator used for the probes' time to target.
+   * @param writeAheadLog the log uploads are kept in while the database is unavailable, if enabled.
+   */
+  public ExternalHubService(
+      final HubService hubService,
+      final ProbeService probeService,
+      final CookEtaEstimator cookEtaEstimator,
+      final Optional<WriteAheadLog> writeAheadLog) {
     this.hubService = hubService;
     this.probeService = probeService;
+    this.cookEtaEstimator = cookEtaEstimator;
+    this.writeAheadLog = writeAheadLog.orElse(null);
   }
 
   /**
-   * Save the hub reading for the given hubId.
+   * Save the decoded probe readings of a hub upload for the given hubId.
+   *
+   * <p>With the write-ahead log enabled, an upload the database is unavailable for is appended to
+   * the log instead and counts as saved. Until the log has been replayed every upload goes to it,
+   * so readings reach the database in order and uploads do not wait on a database that is down;
+   * their probes are only checked when they are replayed.
    *
-   * @param hubReading the HubReading containing the probe readings
+   * @param probeReadings the decoded probe readings of the upload
    * @param hubId the hubId to which the hub belongs
-   * @return the saved HubReading entity
+   * @return the number of readings saved
    */
-  @Transactional
-  public HubReading saveHubReading(final HubReading hubReading, final Long hubId) {
+  public int saveHubReading(final ProbeReadingBuffer probeReadings, final Long hubId) {
     LOG.info("Saving hub reading for hubId: {}", hubId);
-    for (ProbeReading probeReading : hubReading.getProbeReadings()) {
-      probeService.saveProbeReading(probeReading, hubId);
+    if (writeAheadLog != null && writeAheadLog.hasBacklog()) {
+      return appendToWriteAheadLog(probeReadings, hubId);
     }
-    LOG.info("Successfully saved hub reading for hubId: {}", hubId);
-    return hubReading;
+    int savedReadings;
+    try {
+      savedReadings = probeService.saveProbeReadings(probeReadings, hubId);
+    } catch (RuntimeException e) {
+      if (writeAheadLog == null || !DatabaseFailures.isUnavailable(e)) {
+        throw e;
+      }
+      LOG.warn("Database unavailable for hub reading of hubId: {}: {}", hubId, e.getMessage());
+      return appendToWriteAheadLog(probeReadings, hubId);
+    }
+    LOG.info("Successfully saved {} readings for hubId: {}", savedReadings, hubId);
+    return savedReadings;
+  }
+
+  private int appendToWriteAheadLog(final ProbeReadingBuffer probeReadings, final Long hubId) {
+    writeAheadLog.append(hubId, Instant.now(), probeReadings);
+    LOG.info(
+        "Logged {} readings for hubId: {} to the write-ahead log", probeReadings.size(), hubId);
+    return probeReadings.size();
   }
 
   /**
    * Get the current state of the hub for the given hubId, including its probes.
    *
    * @param hubId hubId to get the current state for
-   * @return HubCurrentState containing the hubId, hub name, and list of probes
+   * @return HubCurrentState containing the hubId, hub name, list of probes and their estimated
+   *     seconds to target
    */
   public HubCurrentState getHubCurrentState(final Long hubId) {
     LOG.info("Fetching current state for hubId: {}", hubId);
     Hub hub = hubService.getHub(hubId);
     List<Probe> probes = probeService.getProbesByHubId(hubId);
     LOG.info("Fetched {} probes for hubId: {}", probes.size(), hubId);
-    return new HubCurrentState(hubId, hub.getName(), probes);
+    Map<Integer, Long> etaSeconds = new HashMap<>();
+    for (Probe probe : probes) {
+      Long eta = cookEtaEstimator.estimateSecondsToTarget(probe);
+      if (eta != null) {
+        etaSeconds.put(probe.getLocalId(), eta);
+      }
+    }
+    return new HubCurrentState(hubId, hub.getName(), probes, etaSeconds);
   }
 }
@@ -1,13 +1,18 @@
 package com.grillgauge.api.services;
 
+import com.grillgauge.api.connectivity.ConnectivityTracker;
 import com.grillgauge.api.domain.entitys.Hub;
 import com.grillgauge.api.domain.entitys.Probe;
+import com.grillgauge.api.domain.models.AlertNotification;
 import com.grillgauge.api.domain.models.FrontEndHub;
 import com.grillgauge.api.domain.models.FrontEndProbe;
+import com.grillgauge.api.domain.repositorys.AlertEventRepository;
+import com.grillgauge.api.eta.CookEtaEstimator;
 import java.util.List;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 /** Service class for managing front-end related operations. */
 @Service
@@ -16,10 +21,30 @@ public class FrontEndService {
 
   private HubService hubService;
   private ProbeService probeService;
+  private AlertEventRepository alertEventRepository;
+  private CookEtaEstimator cookEtaEstimator;
+  private ConnectivityTracker connectivityTracker;
 
-  public FrontEndService(HubService hubService, ProbeService probeService) {
+  /**
+   * Constructor for FrontEndService.
+   *
+   * @param hubService The HubService to use.
+   * @param probeService The ProbeService to use.
+   * @param alertEventRepository The AlertEventRepository to use.
+   * @param cookEtaEstimator The CookEtaEstimator to use.
+   * @param connectivityTracker The ConnectivityTracker to use.
+   */
+  public FrontEndService(
+      HubService hubService,
+      ProbeService probeService,
+      AlertEventRepository alertEventRepository,
+      CookEtaEstimator cookEtaEstimator,
+      ConnectivityTracker connectivityTracker) {
     this.hubService = hubService;
     this.probeService = probeService;
+    this.alertEventRepository = alertEventRepository;
+    this.cookEtaEstimator = cookEtaEstimator;
+    this.connectivityTracker = connectivityTracker;
   }
 
   /**
@@ -28,6 +53,7 @@ public class FrontEndService {
    * @param email user email
    * @return List of FrontEndHub models.
    */
+  @Transactional(readOnly = true)
   public List<FrontEndHub> getHubs(final String email) {
     LOG.info("Getting hubs for user ID: {}", email);
     List<Hub> hubs = hubService.getHubsByEmail(email);
@@ -50,11 +76,16 @@ public class FrontEndService {
                                     probe.getName(),
                                     probe.getColour(),
                                     (currentTemp == null || currentTemp.isNaN() ? false : true),
-                                    probe.getVisible());
+                                    probe.getVisible(),
+                                    probe.getHighAlertTemp(),
+                                    probe.getLowAlertTemp(),
+                                    cookEtaEstimator.estimateSecondsToTarget(probe));
                               })
                           .toList();
 
-                  final boolean connected = probes.stream().anyMatch(p -> p.getConnected());
+                  final boolean connected =
+                      connectivityTracker.isHubOnline(hub.getId())
+                          || probes.stream().anyMatch(p -> p.getConnected());
                   return new FrontEndHub(
                       hub.getId(), hub.getName(), probes, connected, hub.getVisible());
                 })
@@ -64,6 +95,22 @@ public class FrontEndService {
     return dashboardHubs;
   }
 
+  /**
+   * Get the most recent alerts raised or cleared for the probes of the given user email.
+   *
+   * @param email user email
+   * @return List of AlertNotification models, most recent first.
+   */
+  public List<AlertNotification> getRecentAlerts(final String email) {
+    LOG.info("Getting recent alerts for user ID: {}", email);
+    List<AlertNotification> alerts =
+        alertEventRepository.findTop50ByProbe_Owner_EmailOrderByOccurredAtDesc(email).stream()
+            .map(AlertNotification::from)
+            .toList();
+    LOG.info("Successfully got {} alerts for user ID: {}", alerts.size(), email);
+    return alerts;
+  }
+
   /**
    * Get the list of default probe colours defined on the Probe entity.
    *
@@ -0,0 +1,337 @@
+package com.grillgauge.api.services;
+
+import com.grillgauge.api.controllers.RegisterHubController.BulkHubRequest;
+import com.grillgauge.api.controllers.RegisterHubController.BulkProvisioningRequest;
+import com.grillgauge.api.domain.entitys.Hub;
+import com.grillgauge.api.domain.entitys.Hub.HubStatus;
+import com.grillgauge.api.domain.entitys.User;
+import com.grillgauge.api.domain.repositorys.HubRepository;
+import com.grillgauge.api.domain.repositorys.UserRepository;
+import jakarta.annotation.PreDestroy;
+import java.security.cert.X509Certificate;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Service for provisioning batches of hubs in one request, for manufacturing.
+ *
+ * <p>Each hub in a batch is created directly in the REGISTERED state for the batch owner, skipping
+ * the OTP pairing flow. CSRs are signed on a bounded worker pool, with each worker reusing its
+ * thread's signer, and the signed hubs are stored in batches. A batch runs as a job whose results
+ * can be polled while it is in progress.
+ */
+@Service
+public class HubProvisioningService {
+  private static final Logger LOG = LoggerFactory.getLogger(HubProvisioningService.class);
+
+  private static final int PERSIST_BATCH_SIZE = 50;
+
+  private final HubRepository hubRepository;
+  private final UserRepository userRepository;
+  private final CertificateService certificateService;
+  private final TransactionTemplate transactionTemplate;
+  private final ExecutorService signingExecutor;
+  private final int workers;
+  private final int maxBatchSize;
+  private final Duration jobRetention;
+  private final Map<UUID, ProvisioningJob> jobs = new ConcurrentHashMap<>();
+
+  /**
+   * Constructor for HubProvisioningService.
+   *
+   * @param hubRepository The HubRepository to use.
+   * @param userRepository The UserRepository to use.
+   * @param certificateService The CertificateService used to sign CSRs.
+   * @param transactionTemplate The TransactionTemplate signed hubs are stored with.
+   * @param workers Number of signing threads, or 0 for one per available processor.
+   * @param maxBatchSize Maximum number of hubs in one batch.
+   * @param maxQueuedJobs Maximum number of jobs waiting for a signing thread.
+   * @param jobRetentionMinutes Minutes a finished job's results are kept for.
+   */
+  public HubProvisioningService(
+      final HubRepository hubRepository,
+      final UserRepository userRepository,
+      final CertificateService certificateService,
+      final TransactionTemplate transactionTemplate,
+      @Value("${provisioning.workers:0}") final int workers,
+      @Value("${provisioning.max-batch-size:1000}") final int maxBatchSize,
+      @Value("${provisioning.max-queued-jobs:16}") final int maxQueuedJobs,
+      @Value("${provisioning.job-retention-minutes:60}") final long jobRetentionMinutes) {
+    this.hubRepository = hubRepository;
+    this.userRepository = userRepository;
+    this.certificateService = certificateService;
+    this.transactionTemplate = transactionTemplate;
+    this.workers = workers > 0 ? workers : Runtime.getRuntime().availableProcessors();
+    this.maxBatchSize = maxBatchSize;
+    this.jobRetention = Duration.ofMinutes(jobRetentionMinutes);
+    AtomicInteger threadCount = new AtomicInteger();
+    this.signingExecutor =
+        new ThreadPoolExecutor(
+            this.workers,
+            this.workers,
+            0L,
+            TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(this.workers * Math.max(1, maxQueuedJobs)),
+            runnable -> {
+              Thread thread =
+                  new Thread(runnable, "hub-provisioning-" + threadCount.incrementAndGet());
+              thread.setDaemon(true);
+              return thread;
+            });
+  }
+
+  /** Whether a provisioning job is still signing. */
+  public enum JobStatus {
+    RUNNING,
+    COMPLETED
+  }
+
+  /**
+   * DTO class for the outcome of one hub in a batch.
+   *
+   * @param index the position of the hub in the request.
+   * @param hubId the ID of the provisioned hub, or null if it failed.
+   * @param certificatePem the signed certificate, or null if it failed.
+   * @param error why the hub failed, or null if it succeeded.
+   */
+  public record BulkHubResult(int index, Long hubId, String certificatePem, String error) {}
+
+  /**
+   * DTO class for the progress of a provisioning job.
+   *
+   * @param jobId the ID of the job.
+   * @param status whether the job is still signing.
+   * @param total the number of hubs in the batch.
+   * @param completed the number of hubs finished so far, successfully or not.
+   * @param failed the number of hubs that failed.
+   * @param results the results of the finished hubs, in request order.
+   */
+  public record BulkProvisioningStatus(
+      UUID jobId,
+      JobStatus status,
+      int total,
+      int completed,
+      int failed,
+      List<BulkHubResult> results) {}
+
+  /**
+   * Start provisioning a batch of hubs.
+   *
+   * @param request the owner and the hubs to provision.
+   * @return the initial status of the job.
+   * @throws ResponseStatusException with status 400 if the batch is empty or too large, 404 if the
+   *     owner does not exist, or 503 if too many jobs are already queued.
+   */
+  public BulkProvisioningStatus submit(final BulkProvisioningRequest request) {
+    if (request == null || request.hubs() == null || request.hubs().isEmpty()) {
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "No hubs to provision");
+    }
+    if (request.hubs().size() > maxBatchSize) {
+      throw new ResponseStatusException(
+          HttpStatus.BAD_REQUEST,
+          "At most %s hubs can be provisioned at once".formatted(maxBatchSize));
+    }
+    String ownerEmail = request.ownerEmail();
+    if (ownerEmail == null || !userRepository.existsById(ownerEmail)) {
+      throw new ResponseStatusException(
+          HttpStatus.NOT_FOUND, "User with ID: %s not found".formatted(ownerEmail));
+    }
+
+    ProvisioningJob job = new ProvisioningJob(ownerEmail, List.copyOf(request.hubs()));
+    jobs.put(job.jobId, job);
+    int submitted = 0;
+    try {
+      for (; submitted < Math.min(workers, job.requests.size()); submitted++) {
+        signingExecutor.execute(() -> drain(job));
+      }
+    } catch (RejectedExecutionException e) {
+      if (submitted == 0) {
+        jobs.remove(job.jobId);
+        throw new ResponseStatusException(
+            HttpStatus.SERVICE_UNAVAILABLE, "Too many provisioning jobs queued");
+      }
+    }
+    LOG.info(
+        "Started provisioning job ID: {} for {} hubs owned by: {} on {} workers",
+        job.jobId,
+        job.requests.size(),
+        ownerEmail,
+        submitted);
+    return job.status();
+  }
+
+  /**
+   * Get the progress of a provisioning job.
+   *
+   * @param jobId the ID of the job.
+   * @return the status of the job.
+   * @throws ResponseStatusException with status 404 if the job does not exist or has expired.
+   */
+  public BulkProvisioningStatus getJob(final UUID jobId) {
+    ProvisioningJob job = jobs.get(jobId);
+    if (job == null) {
+      throw new ResponseStatusException(
+          HttpStatus.NOT_FOUND, "Provisioning job with ID: %s not found".formatted(jobId));
+    }
+    return job.status();
+  }
+
+  /** Forget finished jobs older than the retention period. */
+  @Scheduled(fixedDelayString = "${provisioning.eviction-interval-ms:60000}")
+  public void evictFinishedJobs() {
+    Instant cutoff = Instant.now().minus(jobRetention);
+    jobs.values().removeIf(job -> job.completedAt != null && job.completedAt.isBefore(cutoff));
+  }
+
+  @PreDestroy
+  void shutdown() {
+    signingExecutor.shutdownNow();
+  }
+
+  /** Sign CSRs from the job until none are left, storing them in batches. */
+  private void drain(final ProvisioningJob job) {
+    List<SignedHub> signed = new ArrayList<>(PERSIST_BATCH_SIZE);
+    int index;
+    while ((index = job.nextIndex()) >= 0) {
+      BulkHubRequest hubRequest = job.requests.get(index);
+      try {
+        X509Certificate certificate =
+            certificateService.sign(certificateService.loadCsrFromPem(hubRequest.csrPem()));
+        signed.add(new SignedHub(index, hubRequest, certificate));
+      } catch (RuntimeException e) {
+        LOG.warn("Failed to sign CSR {} of provisioning job ID: {}", index, job.jobId, e);
+        job.complete(new BulkHubResult(index, null, null, "Invalid CSR"));
+      }
+      if (signed.size() == PERSIST_BATCH_SIZE) {
+        persist(job, signed);
+      }
+    }
+    persist(job, signed);
+  }
+
+  /** Store a batch of signed hubs in one transaction and record their results. */
+  private void persist(final ProvisioningJob job, final List<SignedHub> signed) {
+    if (signed.isEmpty()) {
+      return;
+    }
+    try {
+      List<BulkHubResult> results =
+          transactionTemplate.execute(
+              status -> {
+                User owner = userRepository.getReferenceById(job.ownerEmail);
+                List<BulkHubResult> stored = new ArrayList<>(signed.size());
+                for (SignedHub hub : signed) {
+                  stored.add(store(hub, owner, job.ownerEmail));
+                }
+                return stored;
+              });
+      results.forEach(job::complete);
+    } catch (RuntimeException e) {
+      LOG.error("Failed to store {} hubs of provisioning job ID: {}", signed.size(), job.jobId, e);
+      signed.forEach(
+          hub -> job.complete(new BulkHubResult(hub.index, null, null, "Failed to store hub")));
+    }
+    signed.clear();
+  }
+
+  private BulkHubResult store(final SignedHub signed, final User owner, final String ownerEmail) {
+    X509Certificate certificate = signed.certificate;
+    final String certificatePem = certificateService.convertToPem(certificate);
+    Map<String, String> metadata = new HashMap<>();
+    metadata.put("model", signed.request.model());
+    metadata.put("fwVersion", signed.request.fwVersion());
+
+    Hub hub = new Hub(null, null, metadata);
+    hub.setOwner(owner);
+    hub.setCsrPem(signed.request.csrPem());
+    hub.setCertificatePem(certificatePem);
+    hub.setPublicKeyPem(certificateService.convertPublicKeyToPem(certificate.getPublicKey()));
+    hub.setCertificateSerial(certificate.getSerialNumber().longValue());
+    hub.setCertificateExpiresAt(certificate.getNotAfter().toInstant());
+    hub.setCertificateIssuedAt(certificate.getNotBefore().toInstant());
+    hub.setStatus(HubStatus.REGISTERED);
+    hub.setUpdatedAt(Instant.now());
+    hub = hubRepository.save(hub);
+    hub.setName("hub-" + hub.getId() + "-" + ownerEmail);
+    return new BulkHubResult(signed.index, hub.getId(), certificatePem, null);
+  }
+
+  /** A CSR of a job that has been signed but not yet stored. */
+  private record SignedHub(int index, BulkHubRequest request, X509Certificate certificate) {}
+
+  /** In-memory state of a provisioning job, shared by its workers. */
+  private static final class ProvisioningJob {
+    private final UUID jobId = UUID.randomUUID();
+    private final String ownerEmail;
+    private final List<BulkHubRequest> requests;
+    private final AtomicInteger next = new AtomicInteger();
+    private final AtomicInteger completed = new AtomicInteger();
+    private final AtomicInteger failed = new AtomicInteger();
+    private final AtomicReferenceArray<BulkHubResult> results;
+    private volatile Instant completedAt;
+
+    private ProvisioningJob(final String ownerEmail, final List<BulkHubRequest> requests) {
+      this.ownerEmail = ownerEmail;
+      this.requests = requests;
+      this.results = new AtomicReferenceArray<>(requests.size());
+    }
+
+    private int nextIndex() {
+      int index = next.getAndIncrement();
+      return index < requests.size() ? index : -1;
+    }
+
+    private void complete(final BulkHubResult result) {
+      results.set(result.index(), result);
+      if (result.error() != null) {
+        failed.incrementAndGet();
+      }
+      if (completed.incrementAndGet() == requests.size()) {
+        completedAt = Instant.now();
+        LOG.info(
+            "Finished provisioning job ID: {} with {} of {} hubs failed",
+            jobId,
+            failed.get(),
+            requests.size());
+      }
+    }
+
+    private BulkProvisioningStatus status() {
+      List<BulkHubResult> finished = new ArrayList<>();
+      for (int i = 0; i < results.length(); i++) {
+        BulkHubResult result = results.get(i);
+        if (result != null) {
+          finished.add(result);
+        }
+      }
+      return new BulkProvisioningStatus(
+          jobId,
+          completedAt == null ? JobStatus.RUNNING : JobStatus.COMPLETED,
+          requests.size(),
+          completed.get(),
+          failed.get(),
+          finished);
+    }
+  }
+}
@@ -1,12 +1,15 @@
 package com.grillgauge.api.services;
 
 import com.grillgauge.api.domain.entitys.Hub;
+import com.grillgauge.api.domain.events.ProbesDeletedEvent;
 import com.grillgauge.api.domain.models.FrontEndHub;
 import com.grillgauge.api.domain.repositorys.HubRepository;
+import com.grillgauge.api.domain.repositorys.ProbeRepository;
 import java.util.List;
 import java.util.Optional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -18,9 +21,23 @@ public class HubService {
   private static final Logger LOG = LoggerFactory.getLogger(HubService.class);
 
   private HubRepository hubRepository;
+  private ProbeRepository probeRepository;
+  private ApplicationEventPublisher eventPublisher;
 
-  public HubService(final HubRepository hubRepository) {
+  /**
+   * Constructor for HubService.
+   *
+   * @param hubRepository The HubRepository to use.
+   * @param probeRepository The ProbeRepository used to find the probes deleted with a hub.
+   * @param eventPublisher The publisher for probe deletion events.
+   */
+  public HubService(
+      final HubRepository hubRepository,
+      final ProbeRepository probeRepository,
+      final ApplicationEventPublisher eventPublisher) {
     this.hubRepository = hubRepository;
+    this.probeRepository = probeRepository;
+    this.eventPublisher = eventPublisher;
   }
 
   /**
@@ -64,7 +81,9 @@ public class HubService {
   @Transactional
   public void deleteHub(final Long hubId) {
     LOG.info("Attempting to delete hub ID: {}", hubId);
+    List<Long> probeIds = probeRepository.findIdsByHubId(hubId);
     hubRepository.deleteById(hubId);
+    eventPublisher.publishEvent(new ProbesDeletedEvent(probeIds));
     LOG.info("Successfully deleted hub ID: {}", hubId);
   }
 
@@ -1,20 +1,31 @@
 package com.grillgauge.api.services;
 
+import com.grillgauge.api.connectivity.ConnectivityTracker;
+import com.grillgauge.api.connectivity.ConnectivityTracker.ProbeStatus;
 import com.grillgauge.api.domain.entitys.Probe;
 import com.grillgauge.api.domain.entitys.Reading;
+import com.grillgauge.api.domain.events.ProbeTargetTempChangedEvent;
+import com.grillgauge.api.domain.events.ProbesDeletedEvent;
 import com.grillgauge.api.domain.models.FrontEndProbe;
-import com.grillgauge.api.domain.models.ProbeReading;
+import com.grillgauge.api.domain.models.ReadingPoint;
 import com.grillgauge.api.domain.repositorys.ProbeRepository;
+import com.grillgauge.api.ingest.ProbeReadingBuffer;
+import com.grillgauge.api.ingest.ReadingListener;
 import java.sql.Timestamp;
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.springframework.web.server.ResponseStatusException;
 
 /** Service class for managing probes and their readings. */
@@ -24,10 +35,30 @@ public class ProbeService {
 
   private ReadingService readingService;
   private ProbeRepository probeRepository;
+  private ApplicationEventPublisher eventPublisher;
+  private List<ReadingListener> readingListeners;
+  private ConnectivityTracker connectivityTracker;
 
-  public ProbeService(final ProbeRepository probeRepository, final ReadingService readingService) {
+  /**
+   * Constructor for ProbeService.
+   *
+   * @param probeRepository The ProbeRepository to use.
+   * @param readingService The ReadingService to use.
+   * @param eventPublisher The publisher for probe change events.
+   * @param readingListeners The listeners invoked for every ingested reading.
+   * @param connectivityTracker The tracker of which probes are online.
+   */
+  public ProbeService(
+      final ProbeRepository probeRepository,
+      final ReadingService readingService,
+      final ApplicationEventPublisher eventPublisher,
+      final List<ReadingListener> readingListeners,
+      final ConnectivityTracker connectivityTracker) {
     this.probeRepository = probeRepository;
     this.readingService = readingService;
+    this.eventPublisher = eventPublisher;
+    this.readingListeners = readingListeners;
+    this.connectivityTracker = connectivityTracker;
   }
 
   /**
@@ -49,35 +80,48 @@ public class ProbeService {
   }
 
   /**
-   * Save a probe reading for the given hubId.
+   * Save the probe readings of a single hub upload for the given hubId.
    *
-   * @param probeReading the ProbeReading containing the local probe ID and current temperature
-   * @param hubId the hubId to which the probe belongs
-   * @return the saved Reading entity
-   * @throws ResponseStatusException with status 404 if the probe with the given local ID and hubId
-   *     is not found
+   * <p>The hub's probes are resolved once for the whole upload and all readings share the same
+   * timestamp, so they are persisted as a single batch. Each reading is then passed to the
+   * registered {@link ReadingListener}s once the transaction commits.
+   *
+   * @param probeReadings the decoded local probe IDs and current temperatures
+   * @param hubId the hubId to which the probes belong
+   * @return the number of readings saved
+   * @throws ResponseStatusException with status 404 if a probe with one of the given local IDs and
+   *     hubId is not found
    */
   @Transactional
-  public Reading saveProbeReading(final ProbeReading probeReading, final Long hubId) {
-    LOG.debug(
-        "Saving probe reading for probe ID: {} under hub ID: {}", probeReading.getId(), hubId);
+  public int saveProbeReadings(final ProbeReadingBuffer probeReadings, final Long hubId) {
+    return saveProbeReadings(probeReadings, hubId, Instant.now());
+  }
+
+  /**
+   * Save the probe readings of a single hub upload taken at the given time, such as an upload
+   * replayed from the write-ahead log.
+   *
+   * @param probeReadings the decoded local probe IDs and current temperatures
+   * @param hubId the hubId to which the probes belong
+   * @param timeStamp the time the readings were taken
+   * @return the number of readings saved
+   * @throws ResponseStatusException with status 404 if a probe with one of the given local IDs and
+   *     hubId is not found
+   */
+  @Transactional
+  public int saveProbeReadings(
+      final ProbeReadingBuffer probeReadings, final Long hubId, final Instant timeStamp) {
+    LOG.debug("Saving {} probe readings under hub ID: {}", probeReadings.size(), hubId);
     List<Probe> probes = getProbesByHubId(hubId);
-    Probe probe =
-        probes.stream()
-            .filter(x -> x.getLocalId().equals(probeReading.getId()))
-            .findFirst()
-            .orElseThrow(
-                () ->
-                    new ResponseStatusException(
-                        HttpStatus.NOT_FOUND,
-                        "Probe with ID: %s and HubId: %s not found"
-                            .formatted(probeReading.getId(), hubId)));
-    Reading savedReading = readingService.saveCurrentReading(probe, probeReading.getCurrentTemp());
-    LOG.debug(
-        "Successfully saved reading for probe ID: {} under hub ID: {}",
-        probeReading.getId(),
-        hubId);
-    return savedReading;
+    List<Reading> readings = new ArrayList<>(probeReadings.size());
+    for (int i = 0; i < probeReadings.size(); i++) {
+      Probe probe = findByLocalId(probes, probeReadings.localIdAt(i), hubId);
+      readings.add(new Reading(probe, probeReadings.tempAt(i), timeStamp));
+    }
+    readingService.saveReadings(readings);
+    notifyListenersAfterCommit(readings, timeStamp);
+    LOG.debug("Successfully saved {} probe readings under hub ID: {}", readings.size(), hubId);
+    return readings.size();
   }
 
   /**
@@ -90,11 +134,13 @@ public class ProbeService {
   @Transactional
   public int deleteAllProbesForHubId(final Long hubId) {
     LOG.info("Deleting all probes for hub ID: {}", hubId);
+    List<Long> probeIds = probeRepository.findIdsByHubId(hubId);
     int deletedProbes = probeRepository.deleteAllByHubId(hubId);
     if (deletedProbes == 0) {
       throw new ResponseStatusException(
           HttpStatus.NOT_FOUND, "No probes found for hub ID: %s".formatted(hubId));
     }
+    eventPublisher.publishEvent(new ProbesDeletedEvent(probeIds));
     LOG.info("Successfully deleted {} probes for hub ID: {}", deletedProbes, hubId);
     return deletedProbes;
   }
@@ -109,26 +155,36 @@ public class ProbeService {
   public void deleteProbe(final Long probeId) {
     LOG.info("Deleting probe for probe ID: {}", probeId);
     probeRepository.deleteById(probeId);
+    eventPublisher.publishEvent(new ProbesDeletedEvent(List.of(probeId)));
   }
 
   /**
    * Get the current temperature for the given probeId.
    *
+   * <p>Answered from the connectivity tracker when the probe has been seen since startup; otherwise
+   * the latest stored reading is looked up once and used to seed the tracker.
+   *
    * @param probeId the probeId to get the current temperature for
    * @return the current temperature, or null if no recent reading is available
    * @throws ResponseStatusException with status 404 if no readings are found for the given probeId
    */
   public Float getCurrentTemperature(final Long probeId) {
     LOG.info("Getting current temp for probeID: {}", probeId);
-    Optional<Reading> reading = readingService.getLatestReading(probeId);
+    ProbeStatus status = connectivityTracker.getProbeStatus(probeId);
+    if (status != null) {
+      return status.online() ? status.currentTemp() : null;
+    }
+
+    Optional<ReadingPoint> reading = readingService.getLatestReading(probeId);
     if (reading.isEmpty()) {
       throw new ResponseStatusException(
           HttpStatus.NOT_FOUND, "No readings found for probe ID: %s".formatted(probeId));
     }
 
-    Float currentTemp = reading.get().getCurrentTemp();
-    Instant readingTime = reading.get().getTimeStamp();
-    if (readingTime.isBefore(java.time.Instant.now().minusSeconds(300))) {
+    Float currentTemp = reading.get().temperature();
+    Instant readingTime = reading.get().timestamp();
+    connectivityTracker.seedProbe(probeId, currentTemp, readingTime);
+    if (!connectivityTracker.getProbeStatus(probeId).online()) {
       currentTemp = null;
       LOG.warn(
           "No current temp available for for probeID: {}, last reading was at: {}",
@@ -156,12 +212,19 @@ public class ProbeService {
                         HttpStatus.NOT_FOUND,
                         "No probe found for probe ID: %s".formatted(frontEndProbe.getId())));
 
+    final boolean targetTempChanged =
+        !Objects.equals(probe.getTargetTemp(), frontEndProbe.getTargetTemp());
     probe.setName(frontEndProbe.getName());
     probe.setTargetTemp(frontEndProbe.getTargetTemp());
     probe.setColour(frontEndProbe.getColour());
     probe.setVisible(frontEndProbe.getVisible());
+    probe.setHighAlertTemp(frontEndProbe.getHighAlertTemp());
+    probe.setLowAlertTemp(frontEndProbe.getLowAlertTemp());
 
     probeRepository.save(probe);
+    if (targetTempChanged) {
+      publishTargetTempChanged(probe);
+    }
     LOG.info("Successfully updated probe with ID: {}", frontEndProbe.getId());
   }
 
@@ -185,6 +248,7 @@ public class ProbeService {
 
     probe.setTargetTemp(targetTemp);
     probeRepository.save(probe);
+    publishTargetTempChanged(probe);
     LOG.info("Successfully updated target temperature for probe ID: {} to {}", probeId, targetTemp);
     return targetTemp;
   }
@@ -212,4 +276,58 @@ public class ProbeService {
     LOG.info("Successfully updated name for probe ID: {} to {}", probeId, name);
     return Map.of("probeId", probeId, "name", name);
   }
+
+  private Probe findByLocalId(final List<Probe> probes, final int localId, final Long hubId) {
+    for (Probe probe : probes) {
+      if (probe.getLocalId() == localId) {
+        return probe;
+      }
+    }
+    throw new ResponseStatusException(
+        HttpStatus.NOT_FOUND,
+        "Probe with ID: %s and HubId: %s not found".formatted(localId, hubId));
+  }
+
+  /**
+   * Pass saved readings to the listeners once the transaction commits, so a rolled back upload, or
+   * a write-ahead log batch retried one upload at a time, never moves their state on.
+   */
+  private void notifyListenersAfterCommit(final List<Reading> readings, final Instant timeStamp) {
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      notifyListeners(readings, timeStamp);
+      return;
+    }
+    TransactionSynchronizationManager.registerSynchronization(
+        new TransactionSynchronization() {
+          @Override
+          public void afterCommit() {
+            notifyListeners(readings, timeStamp);
+          }
+        });
+  }
+
+  private void notifyListeners(final List<Reading> readings, final Instant timeStamp) {
+    for (Reading reading : readings) {
+      Probe probe = reading.getProbe();
+      float temp = reading.getCurrentTemp();
+      for (ReadingListener listener : readingListeners) {
+        try {
+          listener.onReading(probe, temp, timeStamp);
+        } catch (RuntimeException e) {
+          // The readings are already committed, so the upload must not fail
+          LOG.error(
+              "Reading listener {} failed for probe ID: {}",
+              listener.getClass().getSimpleName(),
+              probe.getId(),
+              e);
+        }
+      }
+    }
+  }
+
+  private void publishTargetTempChanged(final Probe probe) {
+    eventPublisher.publishEvent(
+        new ProbeTargetTempChangedEvent(
+            probe.getHub().getId(), probe.getId(), probe.getLocalId(), probe.getTargetTemp()));
+  }
 }
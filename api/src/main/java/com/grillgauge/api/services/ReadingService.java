@@ -1,44 +1,131 @@
 package com.grillgauge.api.services;
 
-import com.grillgauge.api.domain.entitys.Probe;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.grillgauge.api.domain.entitys.Reading;
-import com.grillgauge.api.domain.repositorys.ReadingRepository;
+import com.grillgauge.api.domain.events.ProbesDeletedEvent;
+import com.grillgauge.api.domain.models.ReadingCursor;
+import com.grillgauge.api.domain.models.ReadingPage;
+import com.grillgauge.api.domain.models.ReadingPoint;
+import com.grillgauge.api.domain.models.ReadingSeries;
+import com.grillgauge.api.readingstore.ReadingStore;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
 import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.Consumer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.springframework.web.server.ResponseStatusException;
 
-/** Service class for managing readings. */
+/**
+ * Service class for managing readings, which are persisted in the configured ReadingStore.
+ *
+ * <p>History is cached in buckets of {@code history.cache.bucket-minutes}, aligned to the epoch,
+ * per probe. Once a bucket has been over for {@code history.cache.settle-seconds} its readings are
+ * not expected to change, so it is cached until evicted by size; the buckets after it are always
+ * read from the store. A bucket is only invalidated when readings are saved into it late, such as
+ * by the write-ahead log's replay, or when its probe's readings are deleted. A read replica may not
+ * have late readings yet, so a probe's buckets are not cached again for {@code
+ * history.cache.backfill-hold-seconds} after its readings were saved late.
+ */
 @Service
 public class ReadingService {
 
   private static final Logger LOG = LoggerFactory.getLogger(ReadingService.class);
 
-  private ReadingRepository readingRepository;
+  private final ReadingStore readingStore;
+  private final ForkJoinPool historyPool;
+  private final Duration parallelMinRange;
+  private final int defaultPageSize;
+  private final int maxPageSize;
+  private final Cache<BucketKey, ReadingSeries> bucketCache;
+  private final long bucketMillis;
+  private final long settleMillis;
+  private final long backfillHoldMillis;
+  private final Map<Long, Long> uncachedUntil = new ConcurrentHashMap<>();
 
-  public ReadingService(final ReadingRepository readingRepository) {
-    this.readingRepository = readingRepository;
+  /**
+   * Constructor for ReadingService.
+   *
+   * @param readingStore The ReadingStore readings are persisted in.
+   * @param historyParallelism Number of threads shared by parallel history queries, or 0 to always
+   *     query a range in one piece.
+   * @param parallelMinRangeHours Shortest range, in hours, split into parallel time slices.
+   * @param defaultPageSize Number of readings in a history page when the client does not say.
+   * @param maxPageSize Largest number of readings a client may ask for in one history page.
+   * @param bucketMinutes Length of each cached bucket of history.
+   * @param cacheMaxReadings Total readings held by the bucket cache, or 0 to disable it.
+   * @param settleSeconds Seconds after a bucket ends before it is cached.
+   * @param backfillHoldSeconds Seconds after readings are saved late before their probe's buckets
+   *     are cached again, at least the replica lag reads can be served with.
+   * @param meterRegistry The registry the bucket cache's metrics are published to.
+   */
+  public ReadingService(
+      final ReadingStore readingStore,
+      @Value("${history.parallelism:2}") final int historyParallelism,
+      @Value("${history.parallel-min-range-hours:6}") final long parallelMinRangeHours,
+      @Value("${history.page.default-size:1000}") final int defaultPageSize,
+      @Value("${history.page.max-size:10000}") final int maxPageSize,
+      @Value("${history.cache.bucket-minutes:60}") final long bucketMinutes,
+      @Value("${history.cache.max-readings:5000000}") final long cacheMaxReadings,
+      @Value("${history.cache.settle-seconds:60}") final long settleSeconds,
+      @Value("${history.cache.backfill-hold-seconds:${datasource.replica.max-lag-seconds:5}}")
+          final double backfillHoldSeconds,
+      final MeterRegistry meterRegistry) {
+    this.readingStore = readingStore;
+    this.historyPool = historyParallelism > 1 ? new ForkJoinPool(historyParallelism) : null;
+    this.parallelMinRange = Duration.ofHours(parallelMinRangeHours);
+    this.defaultPageSize = defaultPageSize;
+    this.maxPageSize = maxPageSize;
+    this.bucketMillis = Duration.ofMinutes(bucketMinutes).toMillis();
+    this.settleMillis = Duration.ofSeconds(settleSeconds).toMillis();
+    this.backfillHoldMillis = (long) (backfillHoldSeconds * 1000);
+    if (cacheMaxReadings > 0) {
+      this.bucketCache =
+          Caffeine.newBuilder()
+              .maximumWeight(cacheMaxReadings)
+              .weigher((BucketKey key, ReadingSeries series) -> Math.max(series.size(), 1))
+              .recordStats()
+              .build();
+      CaffeineCacheMetrics.monitor(meterRegistry, bucketCache, "history.buckets");
+    } else {
+      this.bucketCache = null;
+    }
   }
 
   /**
    * Get the latest reading for the given probeId.
    *
    * @param probeId probeId to get the latest reading for
-   * @return Optional containing the latest Reading if found, otherwise empty
+   * @return Optional containing the latest reading if found, otherwise empty
    */
-  public Optional<Reading> getLatestReading(Long probeId) {
+  public Optional<ReadingPoint> getLatestReading(Long probeId) {
     LOG.debug("Retrieving latest reading for probe ID: {}", probeId);
-    Optional<Reading> latestReading =
-        readingRepository.findTopByProbeIdOrderByTimeStampDesc(probeId);
+    Optional<ReadingPoint> latestReading = readingStore.findLatest(probeId);
     if (latestReading.isPresent()) {
       LOG.debug(
-          "Successfully retrieved latest reading ID: {} for probe ID: {}",
-          latestReading.get().getId(),
+          "Successfully retrieved latest reading at: {} for probe ID: {}",
+          latestReading.get().timestamp(),
           probeId);
     } else {
       LOG.debug("No readings found for probe ID: {}", probeId);
@@ -47,19 +134,22 @@ public class ReadingService {
   }
 
   /**
-   * Save the current reading for the given probeId with the current timestamp.
+   * Save a batch of readings.
+   *
+   * <p>Only the standard JPA layout assigns IDs; other stores return the given entities as they
+   * are.
    *
-   * @param probe the probe to save the reading for
-   * @param currentTemp the current temperature to save
-   * @return the saved Reading entity
+   * @param readings the Reading entities to save
+   * @return the saved Reading entities
    */
-  @Transactional
-  public Reading saveCurrentReading(final Probe probe, final float currentTemp) {
-    LOG.debug("Saving current reading for probe ID: {}", probe.getId());
-    Reading reading = new Reading(probe, currentTemp);
-    readingRepository.save(reading);
-    LOG.debug("Successfully saved reading ID: {} for probe ID: {}", reading.getId(), probe.getId());
-    return reading;
+  public List<Reading> saveReadings(final List<Reading> readings) {
+    LOG.debug("Saving {} readings", readings.size());
+    List<Reading> savedReadings = readingStore.saveAll(readings);
+    if (bucketCache != null) {
+      evictBackfilledBuckets(readings);
+    }
+    LOG.debug("Successfully saved {} readings", savedReadings.size());
+    return savedReadings;
   }
 
   /**
@@ -69,10 +159,12 @@ public class ReadingService {
    * @return the number of deleted readings
    * @throws ResponseStatusException with status 404 if no readings are found for the given probeId
    */
-  @Transactional
   public Long deleteAllReadings(final Long probeId) {
     LOG.debug("Deleting all readings for probe ID: {}", probeId);
-    Long deletedReadings = readingRepository.deleteAllByProbeId(probeId);
+    Long deletedReadings = readingStore.deleteAll(probeId);
+    if (bucketCache != null) {
+      bucketCache.asMap().keySet().removeIf(key -> key.probeId().equals(probeId));
+    }
     if (deletedReadings == 0) {
       throw new ResponseStatusException(
           HttpStatus.NOT_FOUND, "No readings found for probe ID: %s".formatted(probeId));
@@ -82,23 +174,294 @@ public class ReadingService {
   }
 
   /**
-   * Get all readings for the given probe between the specified start and end timestamps.
+   * Get the readings of several probes between the specified start and end timestamps.
+   *
+   * <p>All probes are read with one scan of the store, ordered by probe and time, and split into
+   * per-probe series in a single pass. Ranges of at least {@code history.parallel-min-range-hours}
+   * are split into one time slice per worker of the shared history pool, queried in parallel and
+   * joined back together in order. Once every whole bucket of the range that has settled is cached,
+   * only the parts of the range outside them are read from the store.
    *
-   * @param probeId the ID of the probe
+   * @param probeIds the IDs of the probes
    * @param start the start timestamp in ISO 8601 format
    * @param end the end timestamp in ISO 8601 format
-   * @return list of Reading entities between the specified timestamps
+   * @return map of each probe ID, in request order, to its readings oldest first
    * @throws ResponseStatusException with status 400 if the date format is invalid
    */
-  public List<Reading> getReadingsForProbeBetween(Long probeId, String start, String end) {
-    LOG.info("Getting readings for probeID: {}, between: {} - {}", probeId, start, end);
+  public Map<Long, ReadingSeries> getReadingsForProbesBetween(
+      final List<Long> probeIds, final String start, final String end) {
+    LOG.info("Getting readings for probeIDs: {}, between: {} - {}", probeIds, start, end);
+    TimeRange range = parseRange(start, end);
+    List<Long> distinctIds = probeIds.stream().distinct().toList();
+    if (bucketCache != null && !distinctIds.isEmpty()) {
+      long firstBucket = Math.ceilDiv(range.start().toEpochMilli(), bucketMillis) * bucketMillis;
+      long cachedEnd =
+          Math.min(
+              Math.floorDiv(range.end().toEpochMilli(), bucketMillis) * bucketMillis, settledEnd());
+      if (firstBucket < cachedEnd) {
+        return readThroughBuckets(distinctIds, range, firstBucket, cachedEnd);
+      }
+    }
+    return readRange(distinctIds, range.start(), range.end());
+  }
+
+  /**
+   * Get one page of the readings of several probes between the specified start and end timestamps,
+   * ordered by probe, time and reading ID.
+   *
+   * <p>Pages are found by keyset rather than offset: each page continues after the last reading of
+   * the previous one, so a deep page costs the same as the first.
+   *
+   * @param probeIds the IDs of the probes
+   * @param start the start timestamp in ISO 8601 format
+   * @param end the end timestamp in ISO 8601 format
+   * @param cursor the nextCursor of the previous page, or null for the first page
+   * @param size the maximum number of readings in the page, or null for the default
+   * @return the page, with a nextCursor if more readings follow
+   * @throws ResponseStatusException with status 400 if the date format, cursor or size is invalid
+   */
+  public ReadingPage getReadingPage(
+      final List<Long> probeIds,
+      final String start,
+      final String end,
+      final String cursor,
+      final Integer size) {
+    LOG.info("Getting readings page for probeIDs: {}, between: {} - {}", probeIds, start, end);
+    TimeRange range = parseRange(start, end);
+    int pageSize = size == null ? defaultPageSize : size;
+    if (pageSize < 1 || pageSize > maxPageSize) {
+      throw new ResponseStatusException(
+          HttpStatus.BAD_REQUEST, "Page size must be between 1 and %s".formatted(maxPageSize));
+    }
+    List<Long> distinctIds = probeIds.stream().distinct().toList();
+    ReadingCursor after = cursor == null || cursor.isEmpty() ? null : decodeCursor(cursor);
+    // Read one extra reading to tell whether another page follows
+    List<ReadingPoint> points =
+        readingStore.findPage(distinctIds, range.start(), range.end(), after, pageSize + 1);
+
+    String nextCursor = null;
+    if (points.size() > pageSize) {
+      points = points.subList(0, pageSize);
+      ReadingPoint last = points.get(pageSize - 1);
+      // Compact readings are unique by probe and time, so they carry no reading ID
+      long lastId = last.id() == null ? 0 : last.id();
+      nextCursor = new ReadingCursor(last.probeId(), last.timestamp(), lastId).encode();
+    }
+    Map<Long, ReadingSeries> seriesByProbe = new LinkedHashMap<>();
+    points.forEach(new SeriesAppender(seriesByProbe));
+    LOG.debug("Read page of {} readings for probeIDs: {}", points.size(), distinctIds);
+    return new ReadingPage(seriesByProbe, nextCursor);
+  }
+
+  /**
+   * Invalidate the cached buckets of deleted probes once their deletion commits.
+   *
+   * @param event the deletion.
+   */
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onProbesDeleted(final ProbesDeletedEvent event) {
+    if (bucketCache == null || event.probeIds().isEmpty()) {
+      return;
+    }
+    Set<Long> probeIds = Set.copyOf(event.probeIds());
+    bucketCache.asMap().keySet().removeIf(key -> probeIds.contains(key.probeId()));
+    LOG.debug("Invalidated history buckets of {} deleted probes", probeIds.size());
+  }
+
+  @PreDestroy
+  void shutdown() {
+    if (historyPool != null) {
+      historyPool.shutdownNow();
+    }
+  }
+
+  /**
+   * Read a range for every probe, split into one time slice per worker of the shared history pool
+   * when it is at least {@code history.parallel-min-range-hours} long.
+   */
+  private Map<Long, ReadingSeries> readRange(
+      final List<Long> probeIds, final Instant start, final Instant end) {
+    Duration duration = Duration.between(start, end);
+    if (historyPool == null || probeIds.isEmpty() || duration.compareTo(parallelMinRange) < 0) {
+      return readSlice(probeIds, start, end, true);
+    }
+
+    int slices = historyPool.getParallelism();
+    long sliceMillis = duration.toMillis() / slices;
+    List<ForkJoinTask<Map<Long, ReadingSeries>>> tasks = new ArrayList<>(slices);
+    for (int i = 0; i < slices; i++) {
+      Instant sliceStart = start.plusMillis(sliceMillis * i);
+      Instant sliceEnd = i == slices - 1 ? end : start.plusMillis(sliceMillis * (i + 1));
+      boolean last = i == slices - 1;
+      tasks.add(historyPool.submit(() -> readSlice(probeIds, sliceStart, sliceEnd, last)));
+    }
+    Map<Long, ReadingSeries> seriesByProbe = tasks.get(0).join();
+    for (int i = 1; i < slices; i++) {
+      tasks.get(i).join().forEach((probeId, slice) -> seriesByProbe.get(probeId).addAll(slice));
+    }
+    LOG.debug("Read {} probes in {} parallel slices", probeIds.size(), slices);
+    return seriesByProbe;
+  }
+
+  /**
+   * Read a range whose buckets from {@code firstBucket} up to {@code cachedEnd} have settled. When
+   * they are all cached only the parts before and after them are read from the store; otherwise the
+   * whole range is read in one piece, as it would be without the cache, and the missing buckets are
+   * cached from it.
+   */
+  private Map<Long, ReadingSeries> readThroughBuckets(
+      final List<Long> probeIds,
+      final TimeRange range,
+      final long firstBucket,
+      final long cachedEnd) {
+    List<BucketKey> keys = new ArrayList<>();
+    for (Long probeId : probeIds) {
+      for (long bucket = firstBucket; bucket < cachedEnd; bucket += bucketMillis) {
+        keys.add(new BucketKey(probeId, bucket));
+      }
+    }
+    Map<BucketKey, ReadingSeries> buckets = bucketCache.getAllPresent(keys);
+    if (buckets.size() < keys.size()) {
+      Map<Long, ReadingSeries> seriesByProbe = readRange(probeIds, range.start(), range.end());
+      cacheMissingBuckets(seriesByProbe, keys, buckets);
+      return seriesByProbe;
+    }
+
+    Map<Long, ReadingSeries> seriesByProbe;
+    if (range.start().toEpochMilli() < firstBucket) {
+      seriesByProbe = readSlice(probeIds, range.start(), Instant.ofEpochMilli(firstBucket), false);
+    } else {
+      seriesByProbe = new LinkedHashMap<>();
+      probeIds.forEach(probeId -> seriesByProbe.put(probeId, new ReadingSeries()));
+    }
+    for (BucketKey key : keys) {
+      seriesByProbe.get(key.probeId()).addAll(buckets.get(key));
+    }
+    readSlice(probeIds, Instant.ofEpochMilli(cachedEnd), range.end(), true)
+        .forEach((probeId, tail) -> seriesByProbe.get(probeId).addAll(tail));
+    LOG.debug("Read {} history buckets from the cache", keys.size());
+    return seriesByProbe;
+  }
+
+  /**
+   * Split each probe's series into the given buckets and cache those not already cached, except for
+   * probes whose readings were saved late too recently.
+   */
+  private void cacheMissingBuckets(
+      final Map<Long, ReadingSeries> seriesByProbe,
+      final List<BucketKey> keys,
+      final Map<BucketKey, ReadingSeries> cached) {
+    Set<BucketKey> missing = new HashSet<>(keys);
+    missing.removeAll(cached.keySet());
+    if (!uncachedUntil.isEmpty()) {
+      long nowMillis = System.currentTimeMillis();
+      missing.removeIf(key -> isHeld(key.probeId(), nowMillis));
+    }
+    Map<BucketKey, ReadingSeries> buckets = new HashMap<>(missing.size() * 2);
+    seriesByProbe.forEach(
+        (probeId, series) -> {
+          int runStart = 0;
+          while (runStart < series.size()) {
+            long bucket = bucketStart(series.timestampAt(runStart));
+            int runEnd = runStart + 1;
+            while (runEnd < series.size() && series.timestampAt(runEnd) < bucket + bucketMillis) {
+              runEnd++;
+            }
+            BucketKey key = new BucketKey(probeId, bucket);
+            if (missing.contains(key)) {
+              // Sized exactly, as it may be held for a long time
+              ReadingSeries run = new ReadingSeries(runEnd - runStart);
+              for (int i = runStart; i < runEnd; i++) {
+                run.add(series.timestampAt(i), series.temperatureAt(i));
+              }
+              buckets.put(key, run);
+            }
+            runStart = runEnd;
+          }
+        });
+    for (BucketKey key : missing) {
+      buckets.computeIfAbsent(key, empty -> new ReadingSeries(0));
+    }
+    bucketCache.putAll(buckets);
+    LOG.debug("Cached {} history buckets", buckets.size());
+  }
+
+  /**
+   * Invalidate the cached buckets that readings saved late fall into, both now and, as a read may
+   * cache a bucket before they are visible, once their transaction commits. Their probes are held
+   * out of the cache until the replica has them too.
+   */
+  private void evictBackfilledBuckets(final List<Reading> readings) {
+    long settledEnd = settledEnd();
+    List<BucketKey> backfilled = new ArrayList<>();
+    for (Reading reading : readings) {
+      long timestampMillis = reading.getTimeStamp().toEpochMilli();
+      if (timestampMillis < settledEnd) {
+        backfilled.add(new BucketKey(reading.getProbe().getId(), bucketStart(timestampMillis)));
+      }
+    }
+    if (backfilled.isEmpty()) {
+      return;
+    }
+    LOG.debug("Invalidating {} backfilled history buckets", backfilled.size());
+    hold(backfilled);
+    bucketCache.invalidateAll(backfilled);
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.registerSynchronization(
+          new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+              hold(backfilled);
+              bucketCache.invalidateAll(backfilled);
+            }
+          });
+    }
+  }
+
+  private void hold(final List<BucketKey> backfilled) {
+    long until = System.currentTimeMillis() + backfillHoldMillis;
+    for (BucketKey key : backfilled) {
+      uncachedUntil.merge(key.probeId(), until, Math::max);
+    }
+  }
+
+  private boolean isHeld(final Long probeId, final long nowMillis) {
+    Long until = uncachedUntil.get(probeId);
+    if (until == null) {
+      return false;
+    }
+    if (until > nowMillis) {
+      return true;
+    }
+    uncachedUntil.remove(probeId, until);
+    return false;
+  }
+
+  /** The end of the last bucket that has settled. */
+  private long settledEnd() {
+    return bucketStart(System.currentTimeMillis() - settleMillis);
+  }
+
+  private long bucketStart(final long epochMilli) {
+    return Math.floorDiv(epochMilli, bucketMillis) * bucketMillis;
+  }
+
+  /** Read one slice of a range for every probe, demultiplexing the points as they are scanned. */
+  private Map<Long, ReadingSeries> readSlice(
+      final List<Long> probeIds,
+      final Instant start,
+      final Instant end,
+      final boolean endInclusive) {
+    Map<Long, ReadingSeries> seriesByProbe = new LinkedHashMap<>();
+    probeIds.forEach(probeId -> seriesByProbe.put(probeId, new ReadingSeries()));
+    readingStore.scan(probeIds, start, end, endInclusive, new SeriesAppender(seriesByProbe));
+    return seriesByProbe;
+  }
+
+  private static TimeRange parseRange(final String start, final String end) {
     try {
-      List<Reading> probeReadings =
-          readingRepository.findByProbe_IdAndTimeStampBetweenOrderByTimeStampAsc(
-              probeId, Instant.parse(start), Instant.parse(end));
-      LOG.info("Successfully got {} readings for probeID: {}", probeReadings.size(), probeId);
-      return probeReadings;
-    } catch (Exception e) {
+      return new TimeRange(Instant.parse(start), Instant.parse(end));
+    } catch (DateTimeParseException e) {
       String message =
           "Invalid date format for start: %s or end: %s, please use ISO 8601 format."
               .formatted(start, end);
@@ -106,4 +469,39 @@ public class ReadingService {
       throw new ResponseStatusException(HttpStatus.BAD_REQUEST, message);
     }
   }
+
+  private static ReadingCursor decodeCursor(final String cursor) {
+    try {
+      return ReadingCursor.decode(cursor);
+    } catch (IllegalArgumentException e) {
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor: " + cursor);
+    }
+  }
+
+  private record TimeRange(Instant start, Instant end) {}
+
+  private record BucketKey(Long probeId, long startMillis) {}
+
+  /**
+   * Appends points grouped by probe to each probe's series, creating series for new probes. The
+   * target series is only looked up when the probe changes between groups.
+   */
+  private static final class SeriesAppender implements Consumer<ReadingPoint> {
+    private final Map<Long, ReadingSeries> seriesByProbe;
+    private Long currentProbeId;
+    private ReadingSeries current;
+
+    private SeriesAppender(final Map<Long, ReadingSeries> seriesByProbe) {
+      this.seriesByProbe = seriesByProbe;
+    }
+
+    @Override
+    public void accept(final ReadingPoint point) {
+      if (!point.probeId().equals(currentProbeId)) {
+        currentProbeId = point.probeId();
+        current = seriesByProbe.computeIfAbsent(currentProbeId, probeId -> new ReadingSeries());
+      }
+      current.add(point.timestamp().toEpochMilli(), point.temperature());
+    }
+  }
 }
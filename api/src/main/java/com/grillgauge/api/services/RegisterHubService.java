@@ -7,20 +7,33 @@ import com.grillgauge.api.domain.entitys.Hub.HubStatus;
 import com.grillgauge.api.domain.entitys.User;
 import com.grillgauge.api.domain.repositorys.HubRepository;
 import com.grillgauge.api.domain.repositorys.UserRepository;
+import com.grillgauge.api.security.AttemptLimiter;
 import java.math.BigInteger;
 import java.security.SecureRandom;
 import java.security.cert.X509Certificate;
 import java.time.Instant;
-import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Supplier;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
 
-/** Service for registering hubs. Handles the business logic for registering and confirming hubs. */
+/**
+ * Service for registering hubs. Handles the business logic for registering and confirming hubs.
+ *
+ * <p>OTP hashing and verification run on the bounded {@code otpExecutor}, after the attempt limiter
+ * has let the request through, so pairing bursts cannot take request threads from hub uploads.
+ */
 @Service
 public class RegisterHubService {
   private static final Logger LOG = LoggerFactory.getLogger(RegisterHubService.class);
@@ -29,6 +42,9 @@ public class RegisterHubService {
   private final UserRepository userRepository;
   private final SecureRandom secureRandom = new SecureRandom();
   private final CertificateService certificateService;
+  private final CrlService crlService;
+  private final AttemptLimiter attemptLimiter;
+  private final Executor otpExecutor;
   private final BCryptPasswordEncoder otpEncoder = new BCryptPasswordEncoder();
 
   @Value("${otp.expiry.seconds}")
@@ -40,14 +56,23 @@ public class RegisterHubService {
    * @param hubRepository The HubRepository to use.
    * @param userRepository The UserRepository to use.
    * @param certificateService The CertificateService to use.
+   * @param crlService The CrlService revocations are recorded with.
+   * @param attemptLimiter The limiter for registration and confirmation attempts.
+   * @param otpExecutor The executor OTPs are hashed and verified on.
    */
   public RegisterHubService(
       final HubRepository hubRepository,
       final UserRepository userRepository,
-      final CertificateService certificateService) {
+      final CertificateService certificateService,
+      final CrlService crlService,
+      final AttemptLimiter attemptLimiter,
+      @Qualifier("otpExecutor") final Executor otpExecutor) {
     this.hubRepository = hubRepository;
     this.userRepository = userRepository;
     this.certificateService = certificateService;
+    this.crlService = crlService;
+    this.attemptLimiter = attemptLimiter;
+    this.otpExecutor = otpExecutor;
   }
 
   /** DTO class for Hub registration responses. */
@@ -57,32 +82,46 @@ public class RegisterHubService {
    * Register a new Hub.
    *
    * @param request The registration request containing model and firmware version.
-   * @return The registration response with hub ID, OTP, and OTP expiration time.
+   * @param clientAddress The address of the client registering the hub.
+   * @return The registration response with hub ID, OTP, and OTP expiration time, once the OTP has
+   *     been hashed and the hub saved.
+   * @throws ResponseStatusException with status 429 if the client has registered too many hubs, or
+   *     503 if too many OTPs are waiting to be hashed.
    */
-  public HubRegistrationResponse registerHub(final HubRegistrationRequest request) {
+  public CompletableFuture<HubRegistrationResponse> registerHub(
+      final HubRegistrationRequest request, final String clientAddress) {
     LOG.info("Registering Hub with model: {}, fwVersion: {}", request.model(), request.fwVersion());
+    attemptLimiter.acquireRegistration(clientAddress);
     String otp = generateOtp();
-    String otpHash = hashOtp(otp);
-    Instant expiresAt = Instant.now().plusSeconds(otpExpirySeconds);
-    Hub hub = new Hub(null, expiresAt, buildMetadata(request)); // Save Hub as PENDING
-    hub.setOtpHash(otpHash);
-    Hub savedHub = hubRepository.save(hub);
-    LOG.info("Successfully registered hub with ID: {}", savedHub.getId());
-    return new HubRegistrationResponse(savedHub.getId(), otp, expiresAt);
+    return runOtpTask(() -> hashOtp(otp))
+        .thenApply(
+            otpHash -> {
+              Instant expiresAt = Instant.now().plusSeconds(otpExpirySeconds);
+              Hub hub = new Hub(null, expiresAt, buildMetadata(request)); // Save Hub as PENDING
+              hub.setOtpHash(otpHash);
+              Hub savedHub = hubRepository.save(hub);
+              LOG.info("Successfully registered hub with ID: {}", savedHub.getId());
+              return new HubRegistrationResponse(savedHub.getId(), otp, expiresAt);
+            });
   }
 
   /**
    * Confirm a Hub's registration using the provided OTP.
    *
    * @param hubConfirmRequest The confirmation request containing hub ID, user ID and OTP.
-   * @return The confirmed hub's ID.
+   * @param clientAddress The address of the client confirming the hub.
+   * @return The confirmed hub's ID, once the OTP has been verified.
+   * @throws ResponseStatusException with status 429 if the hub or client has made too many
+   *     attempts, or 503 if too many OTPs are waiting to be verified.
    */
-  public Long confirmHub(final HubConfirmRequest hubConfirmRequest) {
+  public CompletableFuture<Long> confirmHub(
+      final HubConfirmRequest hubConfirmRequest, final String clientAddress) {
     LOG.info("Confirming hub with ID: {}", hubConfirmRequest.hubId());
     Long hubId = hubConfirmRequest.hubId();
     if (hubId == null) {
       throw new IllegalArgumentException("Invalid Hub ID");
     }
+    attemptLimiter.acquireConfirmation(hubId, clientAddress);
     Hub hub =
         hubRepository
             .findById(hubId)
@@ -95,13 +134,20 @@ public class RegisterHubService {
       throw new IllegalArgumentException("Invalid OTP");
     }
 
-    boolean otpMatches =
-        hub.getOtpHash() != null
-            ? otpEncoder.matches(providedOtp, hub.getOtpHash())
-            : providedOtp.equals(hub.getOtp());
+    if (hub.getOtpHash() == null) {
+      return CompletableFuture.completedFuture(
+          completeConfirmation(hub, hubConfirmRequest, providedOtp.equals(hub.getOtp())));
+    }
+    return runOtpTask(() -> otpEncoder.matches(providedOtp, hub.getOtpHash()))
+        .thenApply(otpMatches -> completeConfirmation(hub, hubConfirmRequest, otpMatches));
+  }
+
+  private Long completeConfirmation(
+      final Hub hub, final HubConfirmRequest hubConfirmRequest, final boolean otpMatches) {
     if (!otpMatches) {
       throw new IllegalArgumentException("Invalid OTP");
     }
+    Long hubId = hub.getId();
     String userEmail = hubConfirmRequest.userId();
     if (userEmail == null || userEmail.isBlank()) {
       throw new IllegalArgumentException("Invalid User ID");
@@ -121,11 +167,9 @@ public class RegisterHubService {
     hub.setOtp(null);
     hub.setOtpHash(null);
     hubRepository.save(hub);
-    LOG.info(
-        "Successfully Confirmed hub with ID: {}, User ID: {}",
-        hubConfirmRequest.hubId(),
-        userEmail);
-    return hub.getId();
+    attemptLimiter.resetHub(hubId);
+    LOG.info("Successfully Confirmed hub with ID: {}, User ID: {}", hubId, userEmail);
+    return hubId;
   }
 
   /**
@@ -137,10 +181,6 @@ public class RegisterHubService {
    */
   public String signCsr(final String hubId, final String csrPem) {
     LOG.info("Signing CSR for hub ID: {}", hubId);
-    final X509Certificate signedCert =
-        certificateService.sign(certificateService.loadCsrFromPem(csrPem));
-    LOG.info("Successfully signed CSR for hub ID: {}", hubId);
-    final String signedCertPem = certificateService.convertToPem(signedCert);
     Hub hub =
         hubRepository
             .findById(Long.parseLong(hubId))
@@ -157,6 +197,11 @@ public class RegisterHubService {
       throw new IllegalStateException("Hub must have an owner to sign CSR");
     }
 
+    final X509Certificate signedCert =
+        certificateService.sign(certificateService.loadCsrFromPem(csrPem));
+    LOG.info("Successfully signed CSR for hub ID: {}", hubId);
+    final String signedCertPem = certificateService.convertToPem(signedCert);
+
     hub.setCsrPem(csrPem);
     hub.setCertificatePem(signedCertPem);
     hub.setPublicKeyPem(certificateService.extractPublicKeyFromCsrPem(csrPem));
@@ -176,6 +221,7 @@ public class RegisterHubService {
    * @param hubId The ID of the hub.
    * @param reason The reason code for revocation.
    */
+  @Transactional
   public void revokeCertificate(final Long hubId, final int reason) {
     LOG.info("Revoking certificates for hub ID: {}", hubId);
     Hub hub =
@@ -196,19 +242,10 @@ public class RegisterHubService {
       throw new IllegalStateException("Hub must have an owner to revoke certificate");
     }
 
-    final BigInteger serial;
-    if (certSerialObj instanceof BigInteger) {
-      serial = (BigInteger) certSerialObj;
-    } else if (certSerialObj instanceof Number) {
-      serial = BigInteger.valueOf(((Number) certSerialObj).longValue());
-    } else if (certSerialObj instanceof String) {
-      serial = new BigInteger((String) certSerialObj);
-    } else {
-      throw new IllegalStateException(
-          "Unsupported certificate serial type: " + certSerialObj.getClass().getName());
-    }
-
-    certificateService.revokeBySerial(serial, Date.from(Instant.now()), reason);
+    // The stored serial column is a truncated long, so take the exact serial from the certificate.
+    final BigInteger serial =
+        certificateService.loadCertificateFromPem(hub.getCertificatePem()).getSerialNumber();
+    crlService.revoke(serial, Instant.now(), reason, hubId);
     hub.setCertificateSerial(null);
     hub.setCertificatePem(null);
     hub.setCertificateExpiresAt(null);
@@ -231,6 +268,16 @@ public class RegisterHubService {
     return otpEncoder.encode(otp);
   }
 
+  private <T> CompletableFuture<T> runOtpTask(final Supplier<T> task) {
+    try {
+      return CompletableFuture.supplyAsync(task, otpExecutor);
+    } catch (RejectedExecutionException e) {
+      LOG.warn("Rejected OTP task: hashing queue is full");
+      throw new ResponseStatusException(
+          HttpStatus.SERVICE_UNAVAILABLE, "Too many pairing attempts in progress");
+    }
+  }
+
   private Map<String, String> buildMetadata(HubRegistrationRequest req) {
     Map<String, String> metaData = new HashMap<>();
     if (req != null) {
@@ -1,9 +1,12 @@
 package com.grillgauge.api.services;
 
 import com.grillgauge.api.domain.entitys.User;
+import com.grillgauge.api.domain.events.ProbesDeletedEvent;
+import com.grillgauge.api.domain.repositorys.ProbeRepository;
 import com.grillgauge.api.domain.repositorys.UserRepository;
 import java.util.List;
 import java.util.Optional;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -14,9 +17,23 @@ import org.springframework.web.server.ResponseStatusException;
 public class UserService {
 
   private UserRepository userRepository;
+  private ProbeRepository probeRepository;
+  private ApplicationEventPublisher eventPublisher;
 
-  public UserService(final UserRepository userRepository) {
+  /**
+   * Constructor for UserService.
+   *
+   * @param userRepository The UserRepository to use.
+   * @param probeRepository The ProbeRepository used to find the probes deleted with a user.
+   * @param eventPublisher The publisher for probe deletion events.
+   */
+  public UserService(
+      final UserRepository userRepository,
+      final ProbeRepository probeRepository,
+      final ApplicationEventPublisher eventPublisher) {
     this.userRepository = userRepository;
+    this.probeRepository = probeRepository;
+    this.eventPublisher = eventPublisher;
   }
 
   /**
@@ -43,11 +60,13 @@ public class UserService {
    */
   @Transactional
   public User deleteUser(final User user) {
+    List<Long> probeIds = probeRepository.findIdsByOwnerEmail(user.getEmail());
     Optional<User> deletedUser = userRepository.deleteByEmail(user.getEmail());
     if (deletedUser.isEmpty()) {
       throw new ResponseStatusException(
           HttpStatus.NOT_FOUND, "No user found with for email: %s".formatted(user.getEmail()));
     }
+    eventPublisher.publishEvent(new ProbesDeletedEvent(probeIds));
     return user;
   }
 
@@ -0,0 +1,329 @@
+package com.grillgauge.api.sessions;
+
+import com.grillgauge.api.domain.entitys.CookSession;
+import com.grillgauge.api.domain.entitys.Probe;
+import com.grillgauge.api.domain.repositorys.CookSessionRepository;
+import com.grillgauge.api.domain.repositorys.ProbeRepository;
+import com.grillgauge.api.ingest.ReadingListener;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Segments each probe's readings into cook sessions as they are ingested, and keeps a {@link
+ * CookSession} summary of each.
+ *
+ * <p>A reading more than {@code sessions.gap-minutes} after the previous reading of its probe
+ * starts a new session. The summary of a probe's open session is updated in memory per reading,
+ * including the time spent within {@code sessions.target-tolerance} degrees of the probe's target
+ * temperature, and summaries that changed are written every {@code sessions.flush-ms}. A session
+ * still open when the application restarts is continued by the first flush after it, if its next
+ * reading arrives within the gap.
+ *
+ * <p>Readings only take the lock of their own probe's session, and a flush writes a snapshot of
+ * each changed session taken under that session's lock.
+ */
+@Component
+public class CookSessionTracker implements ReadingListener {
+  private static final Logger LOG = LoggerFactory.getLogger(CookSessionTracker.class);
+
+  private final CookSessionRepository cookSessionRepository;
+  private final ProbeRepository probeRepository;
+  private final TransactionTemplate transactionTemplate;
+  private final long gapMillis;
+  private final float targetTolerance;
+  private final Map<Long, Summary> openSessions = new ConcurrentHashMap<>();
+  private final Queue<Summary> closedSessions = new ConcurrentLinkedQueue<>();
+  private final Object flushLock = new Object();
+
+  /**
+   * Constructor for CookSessionTracker.
+   *
+   * @param cookSessionRepository The repository session summaries are written to.
+   * @param probeRepository The ProbeRepository to use.
+   * @param transactionTemplate The template each flush runs in.
+   * @param gapMinutes Minutes without a reading after which a probe's session ends.
+   * @param targetTolerance Degrees either side of the target temperature counted as in range.
+   */
+  public CookSessionTracker(
+      final CookSessionRepository cookSessionRepository,
+      final ProbeRepository probeRepository,
+      final TransactionTemplate transactionTemplate,
+      @Value("${sessions.gap-minutes:30}") final long gapMinutes,
+      @Value("${sessions.target-tolerance:10}") final float targetTolerance) {
+    this.cookSessionRepository = cookSessionRepository;
+    this.probeRepository = probeRepository;
+    this.transactionTemplate = transactionTemplate;
+    this.gapMillis = gapMinutes * 60_000;
+    this.targetTolerance = targetTolerance;
+  }
+
+  @Override
+  public void onReading(final Probe probe, final float temp, final Instant timeStamp) {
+    long timestampMillis = timeStamp.toEpochMilli();
+    Float targetTemp = probe.getTargetTemp();
+    boolean inTargetRange = targetTemp != null && Math.abs(temp - targetTemp) <= targetTolerance;
+    while (true) {
+      Summary session = openSessions.computeIfAbsent(probe.getId(), Summary::new);
+      synchronized (session) {
+        if (session.closed) {
+          // Closed by a flush since it was looked up
+          continue;
+        }
+        if (session.readingCount > 0 && timestampMillis - session.endMillis > gapMillis) {
+          close(session);
+          closedSessions.add(session);
+          continue;
+        }
+        session.add(temp, timestampMillis, inTargetRange);
+        return;
+      }
+    }
+  }
+
+  /**
+   * Write the summaries of sessions that changed since the previous flush. Summaries that fail to
+   * be written are retried by the next flush.
+   */
+  @Scheduled(fixedDelayString = "${sessions.flush-ms:10000}")
+  public void flush() {
+    synchronized (flushLock) {
+      List<Summary> live = new ArrayList<>();
+      List<Summary> snapshots = new ArrayList<>();
+      List<Summary> retired = new ArrayList<>();
+      Summary closed;
+      while ((closed = closedSessions.poll()) != null) {
+        synchronized (closed) {
+          snapshot(closed, live, snapshots);
+          retired.add(closed);
+        }
+      }
+      long closedBefore = System.currentTimeMillis() - gapMillis;
+      for (Summary session : openSessions.values()) {
+        synchronized (session) {
+          if (session.closed) {
+            continue;
+          }
+          boolean changed = session.dirty;
+          if (changed) {
+            snapshot(session, live, snapshots);
+          }
+          if (session.endMillis < closedBefore) {
+            close(session);
+            if (changed) {
+              retired.add(session);
+            }
+          }
+        }
+      }
+      if (live.isEmpty()) {
+        return;
+      }
+
+      List<Runnable> adoptions = new ArrayList<>(live.size());
+      try {
+        transactionTemplate.executeWithoutResult(
+            status -> {
+              for (int i = 0; i < live.size(); i++) {
+                write(live.get(i), snapshots.get(i), adoptions);
+              }
+            });
+      } catch (RuntimeException e) {
+        LOG.warn("Failed to write {} cook sessions, retrying next flush", live.size(), e);
+        for (Summary session : live) {
+          synchronized (session) {
+            session.dirty = true;
+          }
+        }
+        // Sessions closed since their snapshot are already queued by the reading that closed them
+        closedSessions.addAll(retired);
+        return;
+      }
+      adoptions.forEach(Runnable::run);
+      LOG.debug("Wrote {} cook sessions", live.size());
+    }
+  }
+
+  /** Take a snapshot of a session to write; called holding the session's lock. */
+  private static void snapshot(
+      final Summary session, final List<Summary> live, final List<Summary> snapshots) {
+    live.add(session);
+    snapshots.add(session.copy());
+    session.dirty = false;
+  }
+
+  /** Stop readings from being added to a session; called holding the session's lock. */
+  private void close(final Summary session) {
+    session.closed = true;
+    openSessions.remove(session.probeId, session);
+  }
+
+  private void write(final Summary live, final Summary snapshot, final List<Runnable> adoptions) {
+    CookSession row;
+    if (snapshot.id != null) {
+      row = cookSessionRepository.findById(snapshot.id).orElse(null);
+      if (row == null) {
+        // Deleted with its probe
+        return;
+      }
+    } else {
+      if (!probeRepository.existsById(snapshot.probeId)) {
+        return;
+      }
+      row =
+          cookSessionRepository
+              .findTopByProbe_IdOrderByEndTimeDesc(snapshot.probeId)
+              .filter(previous -> continues(previous, snapshot))
+              .orElse(null);
+      if (row != null) {
+        Summary earlier = Summary.of(snapshot.probeId, row);
+        snapshot.fold(earlier);
+        adoptions.add(
+            () -> {
+              synchronized (live) {
+                live.fold(earlier);
+              }
+            });
+      } else {
+        row = new CookSession(probeRepository.getReferenceById(snapshot.probeId));
+      }
+    }
+    snapshot.writeTo(row);
+    CookSession saved = cookSessionRepository.save(row);
+    adoptions.add(
+        () -> {
+          synchronized (live) {
+            live.id = saved.getId();
+          }
+        });
+  }
+
+  /** Whether a session written before a restart is continued by one started since. */
+  private boolean continues(final CookSession previous, final Summary session) {
+    long previousEndMillis = previous.getEndTime().toEpochMilli();
+    return session.startMillis >= previousEndMillis
+        && session.startMillis - previousEndMillis <= gapMillis;
+  }
+
+  /** Running summary of a single session, mirroring {@link CookSession}. */
+  private static final class Summary {
+    private final Long probeId;
+    private Long id;
+    private long startMillis;
+    private long endMillis;
+    private int readingCount;
+    private float minTemp;
+    private float maxTemp;
+    private double averageTemp;
+    private long peakAtMillis;
+    private long inTargetRangeMillis;
+    private boolean lastInTargetRange;
+    private boolean dirty;
+    private boolean closed;
+
+    private Summary(final Long probeId) {
+      this.probeId = probeId;
+    }
+
+    private static Summary of(final Long probeId, final CookSession row) {
+      Summary summary = new Summary(probeId);
+      summary.id = row.getId();
+      summary.startMillis = row.getStartTime().toEpochMilli();
+      summary.endMillis = row.getEndTime().toEpochMilli();
+      summary.readingCount = row.getReadingCount();
+      summary.minTemp = row.getMinTemp();
+      summary.maxTemp = row.getMaxTemp();
+      summary.averageTemp = row.getAverageTemp();
+      summary.peakAtMillis = row.getPeakAt().toEpochMilli();
+      summary.inTargetRangeMillis = row.getInTargetRangeMillis();
+      summary.lastInTargetRange = row.getEndedInTargetRange();
+      return summary;
+    }
+
+    private void add(final float temp, final long timestampMillis, final boolean inTargetRange) {
+      if (readingCount == 0) {
+        startMillis = timestampMillis;
+        endMillis = timestampMillis;
+        minTemp = temp;
+        maxTemp = temp;
+        peakAtMillis = timestampMillis;
+        lastInTargetRange = inTargetRange;
+      } else if (timestampMillis >= endMillis) {
+        // Each reading's range holds until the next one
+        if (lastInTargetRange) {
+          inTargetRangeMillis += timestampMillis - endMillis;
+        }
+        endMillis = timestampMillis;
+        lastInTargetRange = inTargetRange;
+      } else {
+        startMillis = Math.min(startMillis, timestampMillis);
+      }
+      if (temp < minTemp) {
+        minTemp = temp;
+      }
+      if (temp > maxTemp) {
+        maxTemp = temp;
+        peakAtMillis = timestampMillis;
+      }
+      readingCount++;
+      averageTemp += (temp - averageTemp) / readingCount;
+      dirty = true;
+    }
+
+    /** Fold in the summary of the earlier part of this session. */
+    private void fold(final Summary earlier) {
+      if (earlier.lastInTargetRange) {
+        inTargetRangeMillis += startMillis - earlier.endMillis;
+      }
+      id = earlier.id;
+      startMillis = earlier.startMillis;
+      int total = earlier.readingCount + readingCount;
+      averageTemp =
+          (earlier.averageTemp * earlier.readingCount + averageTemp * readingCount) / total;
+      readingCount = total;
+      minTemp = Math.min(minTemp, earlier.minTemp);
+      if (earlier.maxTemp >= maxTemp) {
+        maxTemp = earlier.maxTemp;
+        peakAtMillis = earlier.peakAtMillis;
+      }
+      inTargetRangeMillis += earlier.inTargetRangeMillis;
+    }
+
+    private Summary copy() {
+      Summary copy = new Summary(probeId);
+      copy.id = id;
+      copy.startMillis = startMillis;
+      copy.endMillis = endMillis;
+      copy.readingCount = readingCount;
+      copy.minTemp = minTemp;
+      copy.maxTemp = maxTemp;
+      copy.averageTemp = averageTemp;
+      copy.peakAtMillis = peakAtMillis;
+      copy.inTargetRangeMillis = inTargetRangeMillis;
+      copy.lastInTargetRange = lastInTargetRange;
+      return copy;
+    }
+
+    private void writeTo(final CookSession row) {
+      row.setStartTime(Instant.ofEpochMilli(startMillis));
+      row.setEndTime(Instant.ofEpochMilli(endMillis));
+      row.setReadingCount(readingCount);
+      row.setMinTemp(minTemp);
+      row.setMaxTemp(maxTemp);
+      row.setAverageTemp(averageTemp);
+      row.setPeakAt(Instant.ofEpochMilli(peakAtMillis));
+      row.setInTargetRangeMillis(inTargetRangeMillis);
+      row.setEndedInTargetRange(lastInTargetRange);
+    }
+  }
+}
@@ -6,8 +6,8 @@ import com.grillgauge.api.domain.entitys.Reading;
 import com.grillgauge.api.domain.entitys.User;
 import com.grillgauge.api.domain.repositorys.HubRepository;
 import com.grillgauge.api.domain.repositorys.ProbeRepository;
-import com.grillgauge.api.domain.repositorys.ReadingRepository;
 import com.grillgauge.api.domain.repositorys.UserRepository;
+import com.grillgauge.api.services.ReadingService;
 import java.time.Instant;
 import java.util.List;
 import org.springframework.boot.CommandLineRunner;
@@ -23,7 +23,7 @@ public class DataLoader implements CommandLineRunner {
   private UserRepository userRepository;
   private HubRepository hubRepository;
   private ProbeRepository probeRepository;
-  private ReadingRepository readingRepository;
+  private ReadingService readingService;
 
   /**
    * Constructor for DataLoader.
@@ -31,17 +31,17 @@ public class DataLoader implements CommandLineRunner {
    * @param userRepository The UserRepository to use for loading user data.
    * @param hubRepository The HubRepository to use for loading hub data.
    * @param probeRepository The ProbeRepository to use for loading probe data.
-   * @param readingRepository The ReadingRepository to use for loading reading data.
+   * @param readingService The ReadingService to use for loading reading data.
    */
   public DataLoader(
       UserRepository userRepository,
       HubRepository hubRepository,
       ProbeRepository probeRepository,
-      ReadingRepository readingRepository) {
+      ReadingService readingService) {
     this.userRepository = userRepository;
     this.hubRepository = hubRepository;
     this.probeRepository = probeRepository;
-    this.readingRepository = readingRepository;
+    this.readingService = readingService;
   }
 
   @Override
@@ -88,7 +88,7 @@ public class DataLoader implements CommandLineRunner {
     Reading testReading15 = new Reading(testProbe8, (float) 140, Instant.now().minusSeconds(200));
     Reading testReading16 = new Reading(testProbe8, (float) 145, Instant.now());
 
-    readingRepository.saveAll(
+    readingService.saveReadings(
         List.of(
             testReading1,
             testReading2,
@@ -0,0 +1,53 @@
+package com.grillgauge.api.startup;
+
+import com.grillgauge.api.domain.entitys.Probe;
+import com.grillgauge.api.ingest.ReadingListener;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import java.lang.management.ManagementFactory;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * Records how long after JVM start the first hub reading was ingested, the point at which hubs stop
+ * retrying after a redeploy. Published as the {@code application.first.reading.time} gauge next to
+ * Spring Boot's {@code application.ready.time}.
+ */
+@Component
+public class FirstReadingTimer implements ReadingListener {
+  private static final Logger LOG = LoggerFactory.getLogger(FirstReadingTimer.class);
+
+  private volatile long firstReadingUptimeMillis = -1;
+
+  /**
+   * Constructor for FirstReadingTimer.
+   *
+   * @param meterRegistry registry for the first reading gauge.
+   */
+  public FirstReadingTimer(final MeterRegistry meterRegistry) {
+    TimeGauge.builder(
+            "application.first.reading.time",
+            this,
+            TimeUnit.MILLISECONDS,
+            timer ->
+                timer.firstReadingUptimeMillis < 0 ? Double.NaN : timer.firstReadingUptimeMillis)
+        .description("Time from JVM start until the first hub reading was ingested")
+        .register(meterRegistry);
+  }
+
+  @Override
+  public void onReading(final Probe probe, final float temp, final Instant timeStamp) {
+    if (firstReadingUptimeMillis >= 0) {
+      return;
+    }
+    synchronized (this) {
+      if (firstReadingUptimeMillis < 0) {
+        firstReadingUptimeMillis = ManagementFactory.getRuntimeMXBean().getUptime();
+        LOG.info("First hub reading ingested {} ms after JVM start", firstReadingUptimeMillis);
+      }
+    }
+  }
+}
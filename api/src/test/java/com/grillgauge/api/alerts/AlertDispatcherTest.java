@@ -0,0 +1,75 @@
+package com.grillgauge.api.alerts;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.grillgauge.api.domain.entitys.AlertEvent;
+import com.grillgauge.api.domain.entitys.AlertEvent.AlertState;
+import com.grillgauge.api.domain.entitys.AlertEvent.AlertType;
+import com.grillgauge.api.domain.entitys.Hub;
+import com.grillgauge.api.domain.entitys.Probe;
+import com.grillgauge.api.domain.models.AlertNotification;
+import com.grillgauge.api.domain.repositorys.AlertEventRepository;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Limit;
+
+class AlertDispatcherTest {
+  private AlertEventRepository alertEventRepository;
+  private List<List<AlertNotification>> delivered;
+
+  @BeforeEach
+  void setup() {
+    Hub hub = new Hub("Smoker");
+    hub.setId(1L);
+    Probe probe = new Probe(1, hub, null);
+    probe.setId(2L);
+    AlertEvent event =
+        new AlertEvent(probe, AlertType.HIGH_TEMP, AlertState.RAISED, 130f, 120f, Instant.now());
+    event.setId(3L);
+    alertEventRepository = mock(AlertEventRepository.class);
+    when(alertEventRepository.findByDeliveredAtIsNullOrderByIdAsc(any(Limit.class)))
+        .thenReturn(List.of(event));
+    delivered = new ArrayList<>();
+  }
+
+  @Test
+  void testBatchIsMarkedDeliveredWhenEverySubscriberAccepts() {
+    // Given
+    AlertDispatcher dispatcher =
+        new AlertDispatcher(alertEventRepository, List.of(delivered::add, delivered::add), 100);
+
+    // When
+    dispatcher.dispatchPendingAlerts();
+
+    // Then
+    assertEquals(2, delivered.size());
+    verify(alertEventRepository).markDelivered(any(), any());
+  }
+
+  @Test
+  void testBatchIsLeftForRedeliveryWhenASubscriberFails() {
+    // Given
+    AlertSubscriber failing =
+        alerts -> {
+          throw new IllegalStateException("Subscriber unavailable");
+        };
+    AlertDispatcher dispatcher =
+        new AlertDispatcher(alertEventRepository, List.of(failing, delivered::add), 100);
+
+    // When
+    dispatcher.dispatchPendingAlerts();
+
+    // Then
+    assertEquals(1, delivered.size());
+    assertEquals(3L, delivered.get(0).get(0).id());
+    verify(alertEventRepository, never()).markDelivered(any(), any());
+  }
+}
@@ -0,0 +1,163 @@
+package com.grillgauge.api.connectivity;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.grillgauge.api.domain.entitys.Hub;
+import com.grillgauge.api.domain.entitys.HubLastSeen;
+import com.grillgauge.api.domain.entitys.Probe;
+import com.grillgauge.api.domain.events.ConnectivityChangedEvent;
+import com.grillgauge.api.domain.events.ConnectivityChangedEvent.Subject;
+import com.grillgauge.api.domain.events.ProbesDeletedEvent;
+import com.grillgauge.api.domain.repositorys.HubLastSeenRepository;
+import com.grillgauge.api.domain.repositorys.HubRepository;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ConnectivityTrackerTest {
+  private static final long TIMEOUT_MILLIS = 300_000;
+
+  private HubRepository hubRepository;
+  private HubLastSeenRepository hubLastSeenRepository;
+  private List<Object> events;
+  private ConnectivityTracker tracker;
+  private Probe probe;
+  private long startMillis;
+
+  @BeforeEach
+  void setup() {
+    hubRepository = mock(HubRepository.class);
+    hubLastSeenRepository = mock(HubLastSeenRepository.class);
+    events = new ArrayList<>();
+    tracker = new ConnectivityTracker(hubRepository, hubLastSeenRepository, events::add, 300, 1000);
+    Hub hub = new Hub("Smoker");
+    hub.setId(1L);
+    probe = new Probe(1, hub, null);
+    probe.setId(2L);
+    startMillis = System.currentTimeMillis();
+  }
+
+  @Test
+  void testProbeAndHubGoOfflineAfterTimeout() {
+    // Given
+    Instant seenAt = Instant.ofEpochMilli(startMillis);
+    tracker.onReading(probe, 225f, seenAt);
+    assertEquals(
+        List.of(
+            new ConnectivityChangedEvent(Subject.PROBE, 2L, true, seenAt),
+            new ConnectivityChangedEvent(Subject.HUB, 1L, true, seenAt)),
+        events);
+    events.clear();
+
+    // When
+    tracker.expireDeadlines(startMillis + TIMEOUT_MILLIS - 1000);
+
+    // Then
+    assertEquals(List.of(), events);
+    assertTrue(tracker.isHubOnline(1L));
+
+    // When
+    tracker.expireDeadlines(startMillis + TIMEOUT_MILLIS + 1000);
+
+    // Then
+    assertEquals(2, events.size());
+    assertEquals(
+        Set.of(
+            new ConnectivityChangedEvent(Subject.PROBE, 2L, false, seenAt),
+            new ConnectivityChangedEvent(Subject.HUB, 1L, false, seenAt)),
+        Set.copyOf(events));
+    assertFalse(tracker.isHubOnline(1L));
+    assertFalse(tracker.getProbeStatus(2L).online());
+  }
+
+  @Test
+  void testLaterReadingReschedulesDeadline() {
+    // Given
+    tracker.onReading(probe, 225f, Instant.ofEpochMilli(startMillis));
+    Instant lastSeenAt = Instant.ofEpochMilli(startMillis + 100_000);
+    tracker.onReading(probe, 226f, lastSeenAt);
+    events.clear();
+
+    // When the first deadline fires
+    tracker.expireDeadlines(startMillis + TIMEOUT_MILLIS + 1000);
+
+    // Then it is rescheduled to the deadline the later reading pushed it to
+    assertEquals(List.of(), events);
+    assertTrue(tracker.isHubOnline(1L));
+    assertEquals(
+        new ConnectivityTracker.ProbeStatus(true, 226f, lastSeenAt), tracker.getProbeStatus(2L));
+
+    // When
+    tracker.expireDeadlines(startMillis + 100_000 + TIMEOUT_MILLIS + 1000);
+
+    // Then
+    assertEquals(2, events.size());
+    assertFalse(tracker.isHubOnline(1L));
+  }
+
+  @Test
+  void testDeletedProbeIsForgotten() {
+    // Given
+    tracker.onReading(probe, 225f, Instant.ofEpochMilli(startMillis));
+    events.clear();
+
+    // When
+    tracker.onProbesDeleted(new ProbesDeletedEvent(List.of(2L)));
+    tracker.expireDeadlines(startMillis + TIMEOUT_MILLIS + 1000);
+
+    // Then only the hub goes offline
+    assertNull(tracker.getProbeStatus(2L));
+    assertEquals(
+        List.of(
+            new ConnectivityChangedEvent(
+                Subject.HUB, 1L, false, Instant.ofEpochMilli(startMillis))),
+        events);
+  }
+
+  @Test
+  void testLastSeenIsCoalescedPerFlush() {
+    // Given
+    Instant latest = Instant.ofEpochMilli(startMillis + 2000);
+    when(hubLastSeenRepository.updateLastSeenAt(1L, latest)).thenReturn(1);
+    tracker.onReading(probe, 225f, Instant.ofEpochMilli(startMillis));
+    tracker.onReading(probe, 226f, latest);
+    tracker.onReading(probe, 224f, Instant.ofEpochMilli(startMillis + 1000));
+
+    // When
+    tracker.flushLastSeen();
+    tracker.flushLastSeen();
+
+    // Then the latest time is written once, and nothing is written without new readings
+    verify(hubLastSeenRepository).updateLastSeenAt(anyLong(), any());
+    verify(hubLastSeenRepository).updateLastSeenAt(1L, latest);
+    verify(hubLastSeenRepository, never()).save(any());
+  }
+
+  @Test
+  void testLastSeenRowIsCreatedOnFirstFlush() {
+    // Given
+    Hub hub = probe.getHub();
+    Instant seenAt = Instant.ofEpochMilli(startMillis);
+    when(hubRepository.existsById(1L)).thenReturn(true);
+    when(hubRepository.getReferenceById(1L)).thenReturn(hub);
+    tracker.onReading(probe, 225f, seenAt);
+
+    // When
+    tracker.flushLastSeen();
+
+    // Then
+    verify(hubLastSeenRepository).save(any(HubLastSeen.class));
+  }
+}
@@ -0,0 +1,118 @@
+package com.grillgauge.api.connectivity;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.grillgauge.api.connectivity.HashedTimerWheel.Timeout;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class HashedTimerWheelTest {
+  private static final long TICK_MILLIS = 1000;
+
+  private final HashedTimerWheel<String> wheel = new HashedTimerWheel<>(TICK_MILLIS, 8, 0);
+  private final List<String> expired = new ArrayList<>();
+
+  @Test
+  void testTimeoutExpiresAtItsDeadline() {
+    // Given
+    Timeout<String> timeout = wheel.newTimeout("a");
+
+    // When
+    wheel.schedule(timeout, 2500);
+
+    // Then
+    assertTrue(timeout.isScheduled());
+    wheel.advance(2999, expired::add);
+    assertEquals(List.of(), expired);
+    wheel.advance(3000, expired::add);
+    assertEquals(List.of("a"), expired);
+    assertFalse(timeout.isScheduled());
+  }
+
+  @Test
+  void testRescheduleMovesDeadline() {
+    // Given
+    Timeout<String> timeout = wheel.newTimeout("a");
+    wheel.schedule(timeout, 2000);
+
+    // When
+    wheel.schedule(timeout, 5000);
+
+    // Then
+    wheel.advance(4000, expired::add);
+    assertEquals(List.of(), expired);
+    wheel.advance(5000, expired::add);
+    wheel.advance(20000, expired::add);
+    assertEquals(List.of("a"), expired);
+  }
+
+  @Test
+  void testCancelledTimeoutNeverExpires() {
+    // Given
+    Timeout<String> cancelled = wheel.newTimeout("a");
+    Timeout<String> kept = wheel.newTimeout("b");
+    wheel.schedule(cancelled, 2000);
+    wheel.schedule(kept, 2000);
+
+    // When
+    wheel.cancel(cancelled);
+
+    // Then
+    assertFalse(cancelled.isScheduled());
+    wheel.advance(20000, expired::add);
+    assertEquals(List.of("b"), expired);
+  }
+
+  @Test
+  void testDeadlineRotationsAwayWaitsForItsTick() {
+    // Given a deadline two and a half rotations of the eight-tick wheel away
+    wheel.schedule(wheel.newTimeout("a"), 20000);
+
+    // When the wheel passes its bucket on the earlier rotations
+    for (long now = 0; now < 20000; now += TICK_MILLIS) {
+      wheel.advance(now, expired::add);
+    }
+
+    // Then
+    assertEquals(List.of(), expired);
+    wheel.advance(20000, expired::add);
+    assertEquals(List.of("a"), expired);
+  }
+
+  @Test
+  void testAdvanceCatchesUpAfterLongGap() {
+    // Given
+    wheel.schedule(wheel.newTimeout("a"), 2000);
+    wheel.schedule(wheel.newTimeout("b"), 7000);
+    wheel.schedule(wheel.newTimeout("c"), 30000);
+    wheel.schedule(wheel.newTimeout("d"), 200000);
+
+    // When the wheel is next advanced many rotations later
+    wheel.advance(100000, expired::add);
+
+    // Then every passed deadline expires once, and later ones stay scheduled
+    assertEquals(List.of("a", "b", "c"), expired.stream().sorted().toList());
+    wheel.advance(199000, expired::add);
+    assertEquals(3, expired.size());
+    wheel.advance(200000, expired::add);
+    assertEquals("d", expired.get(3));
+  }
+
+  @Test
+  void testPassedDeadlineExpiresOnNextTick() {
+    // Given
+    wheel.advance(10000, expired::add);
+
+    // When
+    wheel.schedule(wheel.newTimeout("a"), 5000);
+
+    // Then
+    wheel.advance(10500, expired::add);
+    assertEquals(List.of(), expired);
+    wheel.advance(11000, expired::add);
+    assertEquals(List.of("a"), expired);
+  }
+}
@@ -0,0 +1,159 @@
+package com.grillgauge.api.controllers;
+
+import static com.grillgauge.api.utils.TestUtils.jwtWithRole;
+import static java.util.Objects.requireNonNull;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.x509;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.grillgauge.api.domain.entitys.CompactReading;
+import com.grillgauge.api.domain.entitys.Hub;
+import com.grillgauge.api.domain.entitys.Probe;
+import com.grillgauge.api.domain.entitys.User;
+import com.grillgauge.api.domain.models.HubReading;
+import com.grillgauge.api.domain.models.ProbeReading;
+import com.grillgauge.api.domain.repositorys.CompactReadingRepository;
+import com.grillgauge.api.domain.repositorys.HubRepository;
+import com.grillgauge.api.domain.repositorys.ProbeRepository;
+import com.grillgauge.api.domain.repositorys.ReadingRepository;
+import com.grillgauge.api.domain.repositorys.UserRepository;
+import com.grillgauge.api.utils.OwnDatabase;
+import com.jayway.jsonpath.JsonPath;
+import jakarta.transaction.Transactional;
+import java.io.ByteArrayInputStream;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.security.cert.CertificateFactory;
+import java.security.cert.X509Certificate;
+import java.time.Instant;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+/** Runs with readings stored in the compact layout, in a database of its own. */
+@OwnDatabase
+@SpringBootTest(properties = {"readings.layout=compact", "spring.datasource.name=compact"})
+@AutoConfigureMockMvc
+@Transactional
+@ActiveProfiles("dev")
+class CompactReadingLayoutIntTest {
+
+  @Autowired private MockMvc mockMvc;
+
+  @Autowired private ObjectMapper objectMapper;
+
+  @Autowired private UserRepository userRepository;
+
+  @Autowired private HubRepository hubRepository;
+
+  @Autowired private ProbeRepository probeRepository;
+
+  @Autowired private ReadingRepository readingRepository;
+
+  @Autowired private CompactReadingRepository compactReadingRepository;
+
+  private X509Certificate cert;
+  private User testUser;
+  private Hub testHub;
+  private Probe testProbe;
+
+  @BeforeEach
+  void setUp() throws Exception {
+    String certPath = "src/test/java/com/grillgauge/api/resources/certs/signed_cert.crt";
+    try (var in = new ByteArrayInputStream(Files.readAllBytes(Paths.get(certPath)))) {
+      cert = (X509Certificate) CertificateFactory.getInstance("X.509").generateCertificate(in);
+    }
+    testUser = userRepository.save(new User("nick@hotmail.co.uk", "Nick", "Bloggs"));
+    testHub = new Hub(testUser, "Smoke Gauge");
+    testHub.setCertificateSerial(cert.getSerialNumber().longValue());
+    testHub.setStatus(Hub.HubStatus.REGISTERED);
+    testHub = hubRepository.save(testHub);
+    testProbe = probeRepository.save(new Probe(1, testHub, testUser, (float) 200, "probe 1"));
+  }
+
+  @Test
+  void testStoredReadingIsCompactAndReadBack() throws Exception {
+    // Given
+    HubReading hubReading =
+        new HubReading(testHub.getId(), List.of(new ProbeReading(1, (float) 120.23)));
+
+    // When
+    mockMvc
+        .perform(
+            post("/api/v1/externalHub")
+                .with(requireNonNull(x509(cert)))
+                .contentType(requireNonNull(MediaType.APPLICATION_JSON))
+                .content(requireNonNull(objectMapper.writeValueAsString(hubReading))))
+        .andExpect(status().isCreated());
+
+    // Then
+    List<CompactReading> stored =
+        compactReadingRepository.findAll().stream()
+            .filter(reading -> reading.getProbeId().equals(testProbe.getId()))
+            .toList();
+    assertEquals(1, stored.size());
+    assertEquals(1202, stored.get(0).getTempTenths());
+    assertEquals(0, readingRepository.findByProbeId(testProbe.getId()).size());
+
+    String probeKey = testProbe.getId().toString();
+    mockMvc
+        .perform(
+            get("/api/v1/probe/readings/between")
+                .with(jwtWithRole(testUser.getEmail(), "ROLE_USER"))
+                .param("probeIds", probeKey)
+                .param("start", stored.get(0).getTimeStamp().minusSeconds(60).toString())
+                .param("end", stored.get(0).getTimeStamp().toString()))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.['" + probeKey + "'].length()").value(1))
+        .andExpect(jsonPath("$.['" + probeKey + "'][0].temperature").value(120.2));
+  }
+
+  @Test
+  void testGetReadingPagesFollowCursor() throws Exception {
+    // Given
+    Instant start = Instant.parse("2024-01-01T10:00:00Z");
+    for (int i = 0; i < 5; i++) {
+      compactReadingRepository.save(
+          new CompactReading(testProbe.getId(), 180 + i, start.plusSeconds(60L * i)));
+    }
+    String probeKey = testProbe.getId().toString();
+    String cursor = null;
+    int[] expectedPageSizes = {2, 2, 1};
+
+    // When / Then
+    for (int pageSize : expectedPageSizes) {
+      MockHttpServletRequestBuilder request =
+          get("/api/v1/probe/readings/page")
+              .with(jwtWithRole(testUser.getEmail(), "ROLE_USER"))
+              .param("probeIds", probeKey)
+              .param("start", "2024-01-01T09:00:00Z")
+              .param("end", "2024-01-01T13:00:00Z")
+              .param("size", "2");
+      if (cursor != null) {
+        request.param("cursor", cursor);
+      }
+      String body =
+          mockMvc
+              .perform(request)
+              .andExpect(status().isOk())
+              .andExpect(jsonPath("$.readings.['" + probeKey + "'].length()").value(pageSize))
+              .andReturn()
+              .getResponse()
+              .getContentAsString();
+      cursor = JsonPath.read(body, "$.nextCursor");
+    }
+    assertNull(cursor);
+  }
+}
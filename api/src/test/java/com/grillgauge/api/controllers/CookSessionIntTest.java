@@ -0,0 +1,135 @@
+package com.grillgauge.api.controllers;
+
+import static com.grillgauge.api.utils.TestUtils.jwtWithRole;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.grillgauge.api.domain.entitys.Hub;
+import com.grillgauge.api.domain.entitys.Probe;
+import com.grillgauge.api.domain.entitys.User;
+import com.grillgauge.api.domain.repositorys.HubRepository;
+import com.grillgauge.api.domain.repositorys.ProbeRepository;
+import com.grillgauge.api.domain.repositorys.UserRepository;
+import com.grillgauge.api.ingest.ProbeReadingBuffer;
+import com.grillgauge.api.services.ProbeService;
+import com.grillgauge.api.sessions.CookSessionTracker;
+import com.grillgauge.api.utils.OwnDatabase;
+import com.grillgauge.api.utils.TestUtils;
+import java.time.Instant;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+/**
+ * Runs in a database of its own. Session summaries are written by a flush in a transaction of its
+ * own, so this class is not transactional.
+ */
+@OwnDatabase
+@SpringBootTest(
+    properties = {
+      "sessions.gap-minutes=30",
+      "sessions.target-tolerance=10",
+      // Flush only when a test asks for it
+      "sessions.flush-ms=3600000",
+      "spring.datasource.name=sessions"
+    })
+@AutoConfigureMockMvc
+@ActiveProfiles("dev")
+class CookSessionIntTest {
+
+  private static final Instant START = Instant.parse("2024-06-01T10:00:00Z");
+
+  @Autowired private MockMvc mockMvc;
+
+  @Autowired private TestUtils testUtils;
+
+  @Autowired private UserRepository userRepository;
+
+  @Autowired private HubRepository hubRepository;
+
+  @Autowired private ProbeRepository probeRepository;
+
+  @Autowired private ProbeService probeService;
+
+  @Autowired private CookSessionTracker cookSessionTracker;
+
+  private User testUser;
+  private Hub testHub;
+  private Probe testProbe;
+
+  @BeforeEach
+  void setUp() {
+    testUtils.clearDatabase();
+    testUser = userRepository.save(new User("nick@hotmail.co.uk", "Nick", "Bloggs"));
+    testHub = hubRepository.save(new Hub(testUser, "Smoke Gauge"));
+    testProbe = probeRepository.save(new Probe(1, testHub, testUser, (float) 200, "probe 1"));
+  }
+
+  @Test
+  void testReadingsAreSegmentedIntoSessionsByGaps() throws Exception {
+    // Given: a cook a minute per reading, then a reading two hours later
+    float[] temps = {150, 195, 205, 230, 200};
+    for (int i = 0; i < temps.length; i++) {
+      upload(temps[i], START.plusSeconds(60L * i));
+    }
+    upload(100, START.plusSeconds(7200));
+
+    // When
+    cookSessionTracker.flush();
+
+    // Then
+    mockMvc
+        .perform(
+            get("/api/v1/probe/{probeId}/sessions", testProbe.getId())
+                .with(jwtWithRole(testUser.getEmail(), "ROLE_USER")))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.length()").value(2))
+        .andExpect(jsonPath("$[0].readingCount").value(1))
+        .andExpect(jsonPath("$[1].start").value(START.toString()))
+        .andExpect(jsonPath("$[1].end").value(START.plusSeconds(240).toString()))
+        .andExpect(jsonPath("$[1].readingCount").value(5))
+        .andExpect(jsonPath("$[1].minTemp").value(150.0))
+        .andExpect(jsonPath("$[1].maxTemp").value(230.0))
+        .andExpect(jsonPath("$[1].averageTemp").value(196.0))
+        .andExpect(jsonPath("$[1].peakAt").value(START.plusSeconds(180).toString()))
+        // 195 and 205 are within 10 degrees of the 200 target, for a minute each
+        .andExpect(jsonPath("$[1].inTargetRangeSeconds").value(120));
+  }
+
+  @Test
+  void testSessionSummaryIsUpdatedAcrossFlushes() throws Exception {
+    // Given: a session already written
+    upload(180, START);
+    upload(190, START.plusSeconds(60));
+    cookSessionTracker.flush();
+
+    // When: it carries on
+    upload(250, START.plusSeconds(600));
+    cookSessionTracker.flush();
+
+    // Then
+    mockMvc
+        .perform(
+            get("/api/v1/probe/{probeId}/sessions", testProbe.getId())
+                .with(jwtWithRole(testUser.getEmail(), "ROLE_USER")))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.length()").value(1))
+        .andExpect(jsonPath("$[0].start").value(START.toString()))
+        .andExpect(jsonPath("$[0].end").value(START.plusSeconds(600).toString()))
+        .andExpect(jsonPath("$[0].readingCount").value(3))
+        .andExpect(jsonPath("$[0].minTemp").value(180.0))
+        .andExpect(jsonPath("$[0].maxTemp").value(250.0))
+        .andExpect(jsonPath("$[0].inTargetRangeSeconds").value(540));
+  }
+
+  private void upload(final float temp, final Instant timeStamp) {
+    ProbeReadingBuffer buffer = new ProbeReadingBuffer();
+    buffer.add(testProbe.getLocalId(), temp);
+    probeService.saveProbeReadings(buffer, testHub.getId(), timeStamp);
+  }
+}
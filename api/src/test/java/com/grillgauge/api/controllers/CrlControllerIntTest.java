@@ -0,0 +1,69 @@
+package com.grillgauge.api.controllers;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.io.ByteArrayInputStream;
+import java.security.cert.CertificateFactory;
+import java.security.cert.X509CRL;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("dev")
+class CrlControllerIntTest {
+
+  @Autowired private MockMvc mockMvc;
+
+  @Test
+  void testGetCrl() throws Exception {
+    // When
+    MvcResult result =
+        mockMvc
+            .perform(get("/api/v1/crl"))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.CONTENT_TYPE, "application/pkix-crl"))
+            .andExpect(header().exists(HttpHeaders.ETAG))
+            .andReturn();
+
+    // Then
+    X509CRL crl =
+        (X509CRL)
+            CertificateFactory.getInstance("X.509")
+                .generateCRL(
+                    new ByteArrayInputStream(result.getResponse().getContentAsByteArray()));
+    assertNotNull(crl.getNextUpdate());
+  }
+
+  @Test
+  void testGetCrlNotModified() throws Exception {
+    // Given
+    String etag =
+        mockMvc
+            .perform(get("/api/v1/crl"))
+            .andExpect(status().isOk())
+            .andReturn()
+            .getResponse()
+            .getHeader(HttpHeaders.ETAG);
+
+    // When
+    MvcResult result =
+        mockMvc
+            .perform(get("/api/v1/crl").header(HttpHeaders.IF_NONE_MATCH, etag))
+            .andExpect(status().isNotModified())
+            .andReturn();
+
+    // Then
+    assertEquals(0, result.getResponse().getContentAsByteArray().length);
+  }
+}
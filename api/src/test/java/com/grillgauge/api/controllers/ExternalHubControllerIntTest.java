@@ -9,6 +9,8 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.grillgauge.api.connectivity.ConnectivityTracker;
+import com.grillgauge.api.domain.entitys.AlertEvent;
 import com.grillgauge.api.domain.entitys.Hub;
 import com.grillgauge.api.domain.entitys.Probe;
 import com.grillgauge.api.domain.entitys.Reading;
@@ -16,6 +18,8 @@ import com.grillgauge.api.domain.entitys.User;
 import com.grillgauge.api.domain.models.HubCurrentState;
 import com.grillgauge.api.domain.models.HubReading;
 import com.grillgauge.api.domain.models.ProbeReading;
+import com.grillgauge.api.domain.repositorys.AlertEventRepository;
+import com.grillgauge.api.domain.repositorys.HubLastSeenRepository;
 import com.grillgauge.api.domain.repositorys.HubRepository;
 import com.grillgauge.api.domain.repositorys.ProbeRepository;
 import com.grillgauge.api.domain.repositorys.ReadingRepository;
@@ -27,6 +31,7 @@ import java.nio.file.Paths;
 import java.security.cert.CertificateFactory;
 import java.security.cert.X509Certificate;
 import java.util.List;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -34,6 +39,7 @@ import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMock
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.transaction.TestTransaction;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
 
@@ -53,10 +59,17 @@ class ExternalHubControllerIntTest {
 
   @Autowired private UserRepository userRepository;
 
+  @Autowired private AlertEventRepository alertEventRepository;
+
   @Autowired private ObjectMapper objectMapper;
 
+  @Autowired private ConnectivityTracker connectivityTracker;
+
+  @Autowired private HubLastSeenRepository hubLastSeenRepository;
+
   private User testUser;
   private X509Certificate cert;
+  private Hub committedHub;
 
   private X509Certificate loadTestCertificate() throws Exception {
     String certPath = "src/test/java/com/grillgauge/api/resources/certs/signed_cert.crt";
@@ -75,6 +88,24 @@ class ExternalHubControllerIntTest {
     testUser = userRepository.save(testUser);
   }
 
+  @AfterEach
+  void tearDown() {
+    if (committedHub != null) {
+      hubRepository.deleteById(committedHub.getId());
+      userRepository.deleteById(testUser.getEmail());
+    }
+  }
+
+  /**
+   * Commit the hub set up so far. Readings only reach the listeners once their upload commits,
+   * which it never does within the test transaction.
+   */
+  private void commitSetUp(final Hub hub) {
+    committedHub = hub;
+    TestTransaction.flagForCommit();
+    TestTransaction.end();
+  }
+
   @Test
   void testStoreReadingSuccessful() throws Exception {
     // Given
@@ -91,6 +122,7 @@ class ExternalHubControllerIntTest {
     hub.setCertificateSerial(cert.getSerialNumber().longValue());
     hub.setStatus(Hub.HubStatus.REGISTERED);
     hubRepository.save(hub);
+    commitSetUp(hub);
 
     mockMvc
         .perform(
@@ -107,6 +139,51 @@ class ExternalHubControllerIntTest {
     assertEquals(probeReading1.getCurrentTemp(), readingsProbe1.get(0).getCurrentTemp());
     assertEquals(1, readingsProbe2.size());
     assertEquals(probeReading2.getCurrentTemp(), readingsProbe2.get(0).getCurrentTemp());
+    assertThat(connectivityTracker.isHubOnline(hub.getId())).isTrue();
+    assertThat(connectivityTracker.getProbeStatus(probe1.getId()).online()).isTrue();
+    assertEquals(
+        probeReading1.getCurrentTemp(),
+        connectivityTracker.getProbeStatus(probe1.getId()).currentTemp());
+    connectivityTracker.flushLastSeen();
+    assertThat(hubLastSeenRepository.findById(hub.getId())).isPresent();
+  }
+
+  @Test
+  void testStoreReadingRateLimited() throws Exception {
+    // Given
+    Hub hub = new Hub(testUser, "Smoke Gauge");
+    hub = hubRepository.save(hub);
+    Probe probe = probeRepository.save(new Probe(1, hub, testUser, (float) 200, "probe 1"));
+    hub.setCertificateSerial(cert.getSerialNumber().longValue());
+    hub.setStatus(Hub.HubStatus.REGISTERED);
+    hubRepository.save(hub);
+    final String body =
+        objectMapper.writeValueAsString(
+            new HubReading((long) 1234, List.of(new ProbeReading(1, (float) 120.23))));
+
+    // When
+    MvcResult rejected = null;
+    int accepted = 0;
+    for (int i = 0; i < 100 && rejected == null; i++) {
+      MvcResult result =
+          mockMvc
+              .perform(
+                  post("/api/v1/externalHub")
+                      .with(requireNonNull(x509(cert)))
+                      .contentType(requireNonNull(MediaType.APPLICATION_JSON))
+                      .content(requireNonNull(body)))
+              .andReturn();
+      if (result.getResponse().getStatus() == 429) {
+        rejected = result;
+      } else {
+        accepted++;
+      }
+    }
+
+    // Then
+    assertThat(rejected).isNotNull();
+    assertThat(rejected.getResponse().getHeader("Retry-After")).isNotNull();
+    assertEquals(accepted, readingRepository.findByProbeId(probe.getId()).size());
   }
 
   @Test
@@ -130,6 +207,113 @@ class ExternalHubControllerIntTest {
         .andExpect(status().isNotFound());
   }
 
+  @Test
+  void testStoreReadingRaisesTargetAlert() throws Exception {
+    // Given
+    Hub hub = new Hub(testUser, "Smoke Gauge");
+    hub = hubRepository.save(hub);
+    Probe probe = probeRepository.save(new Probe(1, hub, testUser, (float) 95, "probe 1"));
+    hub.setCertificateSerial(cert.getSerialNumber().longValue());
+    hub.setStatus(Hub.HubStatus.REGISTERED);
+    hubRepository.save(hub);
+    commitSetUp(hub);
+    final String below =
+        objectMapper.writeValueAsString(
+            new HubReading((long) 1234, List.of(new ProbeReading(1, (float) 80))));
+    final String above =
+        objectMapper.writeValueAsString(
+            new HubReading((long) 1234, List.of(new ProbeReading(1, (float) 96))));
+
+    // When
+    for (String payload : List.of(below, above, above)) {
+      mockMvc
+          .perform(
+              post("/api/v1/externalHub")
+                  .with(requireNonNull(x509(cert)))
+                  .contentType(requireNonNull(MediaType.APPLICATION_JSON))
+                  .content(requireNonNull(payload)))
+          .andExpect(status().isCreated());
+    }
+
+    // Then
+    List<AlertEvent> alerts =
+        alertEventRepository.findAll().stream()
+            .filter(alert -> alert.getProbe().getId().equals(probe.getId()))
+            .toList();
+    assertEquals(1, alerts.size());
+    assertEquals(AlertEvent.AlertType.TARGET_REACHED, alerts.get(0).getAlertType());
+    assertEquals(AlertEvent.AlertState.RAISED, alerts.get(0).getAlertState());
+    assertEquals(96f, alerts.get(0).getTemperature());
+  }
+
+  @Test
+  void testRejectedUploadDoesNotMoveAlertState() throws Exception {
+    // Given
+    Hub hub = new Hub(testUser, "Smoke Gauge");
+    hub = hubRepository.save(hub);
+    Probe probe = probeRepository.save(new Probe(1, hub, testUser, (float) 95, "probe 1"));
+    hub.setCertificateSerial(cert.getSerialNumber().longValue());
+    hub.setStatus(Hub.HubStatus.REGISTERED);
+    hubRepository.save(hub);
+    commitSetUp(hub);
+    // An unknown local ID later in the upload rolls the whole upload back
+    final String rejected =
+        objectMapper.writeValueAsString(
+            new HubReading(
+                (long) 1234, List.of(new ProbeReading(1, (float) 96), new ProbeReading(9, 96f))));
+    final String above =
+        objectMapper.writeValueAsString(
+            new HubReading((long) 1234, List.of(new ProbeReading(1, (float) 96))));
+
+    // When
+    for (String payload : List.of(rejected, rejected)) {
+      mockMvc
+          .perform(
+              post("/api/v1/externalHub")
+                  .with(requireNonNull(x509(cert)))
+                  .contentType(requireNonNull(MediaType.APPLICATION_JSON))
+                  .content(requireNonNull(payload)))
+          .andExpect(status().isNotFound());
+    }
+    for (String payload : List.of(above, above)) {
+      mockMvc
+          .perform(
+              post("/api/v1/externalHub")
+                  .with(requireNonNull(x509(cert)))
+                  .contentType(requireNonNull(MediaType.APPLICATION_JSON))
+                  .content(requireNonNull(payload)))
+          .andExpect(status().isCreated());
+    }
+
+    // Then: only the committed readings counted towards raising the alert
+    List<AlertEvent> alerts =
+        alertEventRepository.findAll().stream()
+            .filter(alert -> alert.getProbe().getId().equals(probe.getId()))
+            .toList();
+    assertEquals(1, alerts.size());
+    assertEquals(AlertEvent.AlertState.RAISED, alerts.get(0).getAlertState());
+  }
+
+  @Test
+  void testStoreReadingMalformedPayload() throws Exception {
+    // Given
+    final Hub hub = new Hub(testUser, "Smoke Gauge");
+    hubRepository.save(hub);
+    probeRepository.save(new Probe(1, hub, testUser, (float) 200, "probe 1"));
+    hub.setCertificateSerial(cert.getSerialNumber().longValue());
+    hub.setStatus(Hub.HubStatus.REGISTERED);
+    hubRepository.save(hub);
+
+    // When and Then
+    mockMvc
+        .perform(
+            post("/api/v1/externalHub")
+                .with(requireNonNull(x509(cert)))
+                .contentType(requireNonNull(MediaType.APPLICATION_JSON))
+                .content("{\"id\":1234,\"probeReadings\":[{\"id\":1}]}"))
+        .andExpect(status().isBadRequest());
+  }
+
   @Test
   void testStoreReadingUnauthorised() throws Exception {
     // Given
@@ -171,11 +355,51 @@ class ExternalHubControllerIntTest {
         objectMapper.readValue(result.getResponse().getContentAsString(), HubCurrentState.class);
     assertEquals(hub.getName(), hubCurrentState.getHubName());
     assertEquals(hub.getId(), hubCurrentState.getHubId());
+    // Skip the state Hibernate adds to entities enhanced for the native image
     assertThat(hubCurrentState.getProbes())
-        .usingRecursiveFieldByFieldElementComparator()
+        .usingRecursiveComparison()
+        .ignoringFieldsMatchingRegexes(".*\\$\\$_hibernate_.*")
         .isEqualTo(probes);
   }
 
+  @Test
+  void testGetHubCurrentStateIncludesEta() throws Exception {
+    // Given
+    Hub hub = new Hub(testUser, "Smoke Gauge");
+    hub = hubRepository.save(hub);
+    probeRepository.save(new Probe(1, hub, testUser, (float) 200, "probe 1"));
+    hub.setCertificateSerial(cert.getSerialNumber().longValue());
+    hub.setStatus(Hub.HubStatus.REGISTERED);
+    hubRepository.save(hub);
+    commitSetUp(hub);
+    for (float temp : new float[] {80, 90, 100}) {
+      mockMvc
+          .perform(
+              post("/api/v1/externalHub")
+                  .with(requireNonNull(x509(cert)))
+                  .contentType(requireNonNull(MediaType.APPLICATION_JSON))
+                  .content(
+                      requireNonNull(
+                          objectMapper.writeValueAsString(
+                              new HubReading((long) 1234, List.of(new ProbeReading(1, temp)))))))
+          .andExpect(status().isCreated());
+      Thread.sleep(20);
+    }
+
+    // When
+    MvcResult result =
+        mockMvc
+            .perform(get("/api/v1/externalHub").with(requireNonNull(x509(cert))))
+            .andExpect(status().isOk())
+            .andReturn();
+
+    // Then
+    HubCurrentState hubCurrentState =
+        objectMapper.readValue(result.getResponse().getContentAsString(), HubCurrentState.class);
+    assertThat(hubCurrentState.getEtaSeconds()).containsKey(1);
+    assertThat(hubCurrentState.getEtaSeconds().get(1)).isNotNegative();
+  }
+
   @Test
   void testGetHubCurrentStateUnsuccessfulNoHub() throws Exception {
     // When
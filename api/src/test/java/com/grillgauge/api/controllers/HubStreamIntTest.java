@@ -0,0 +1,174 @@
+package com.grillgauge.api.controllers;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.grillgauge.api.domain.entitys.Hub;
+import com.grillgauge.api.domain.entitys.Probe;
+import com.grillgauge.api.domain.entitys.Reading;
+import com.grillgauge.api.domain.entitys.User;
+import com.grillgauge.api.domain.repositorys.HubRepository;
+import com.grillgauge.api.domain.repositorys.ProbeRepository;
+import com.grillgauge.api.domain.repositorys.ReadingRepository;
+import com.grillgauge.api.domain.repositorys.UserRepository;
+import com.grillgauge.api.services.CrlService;
+import com.grillgauge.api.utils.OwnDatabase;
+import com.grillgauge.api.utils.TestUtils;
+import jakarta.servlet.Filter;
+import java.io.ByteArrayInputStream;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.security.cert.CertificateFactory;
+import java.security.cert.X509Certificate;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.Ordered;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketHttpHeaders;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.client.standard.StandardWebSocketClient;
+import org.springframework.web.socket.handler.TextWebSocketHandler;
+
+/**
+ * Runs the hub reading stream on a real server, in a database of its own. The server has no TLS, so
+ * a filter ahead of Spring Security presents the test certificate as TLS termination would.
+ */
+@OwnDatabase
+@SpringBootTest(
+    webEnvironment = WebEnvironment.RANDOM_PORT,
+    properties = {"spring.datasource.name=hubstream"})
+@ActiveProfiles("dev")
+class HubStreamIntTest {
+  private static final String CERT_PATH =
+      "src/test/java/com/grillgauge/api/resources/certs/signed_cert.crt";
+
+  @LocalServerPort private int port;
+
+  @Autowired private ObjectMapper objectMapper;
+
+  @Autowired private UserRepository userRepository;
+
+  @Autowired private HubRepository hubRepository;
+
+  @Autowired private ProbeRepository probeRepository;
+
+  @Autowired private ReadingRepository readingRepository;
+
+  @Autowired private CrlService crlService;
+
+  @Autowired private TestUtils testUtils;
+
+  private X509Certificate cert;
+  private Hub testHub;
+  private Probe testProbe;
+
+  @TestConfiguration
+  static class ClientCertificateConfig {
+
+    @Bean
+    FilterRegistrationBean<Filter> clientCertificateFilter() throws Exception {
+      X509Certificate[] chain = {loadCertificate()};
+      FilterRegistrationBean<Filter> registration =
+          new FilterRegistrationBean<>(
+              (request, response, filterChain) -> {
+                request.setAttribute("jakarta.servlet.request.X509Certificate", chain);
+                filterChain.doFilter(request, response);
+              });
+      registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+      return registration;
+    }
+  }
+
+  private static X509Certificate loadCertificate() throws Exception {
+    try (var in = new ByteArrayInputStream(Files.readAllBytes(Paths.get(CERT_PATH)))) {
+      return (X509Certificate) CertificateFactory.getInstance("X.509").generateCertificate(in);
+    }
+  }
+
+  @BeforeEach
+  void setUp() throws Exception {
+    cert = loadCertificate();
+    User testUser = userRepository.save(new User("nick@hotmail.co.uk", "Nick", "Bloggs"));
+    testHub = new Hub(testUser, "Smoke Gauge");
+    testHub.setCertificateSerial(cert.getSerialNumber().longValue());
+    testHub.setStatus(Hub.HubStatus.REGISTERED);
+    testHub = hubRepository.save(testHub);
+    testProbe = probeRepository.save(new Probe(1, testHub, testUser, (float) 200, "probe 1"));
+  }
+
+  @AfterEach
+  void tearDown() {
+    testUtils.clearDatabase();
+  }
+
+  @Test
+  void testStreamSavesFramesRejectsMalformedOnesAndClosesOnRevocation() throws Exception {
+    // Given
+    StreamClient client = new StreamClient();
+    WebSocketSession session =
+        new StandardWebSocketClient()
+            .execute(
+                client,
+                new WebSocketHttpHeaders(),
+                URI.create("ws://localhost:" + port + "/api/v1/externalHub/stream"))
+            .get(10, TimeUnit.SECONDS);
+    assertTrue(session.isOpen());
+
+    // When
+    session.sendMessage(new TextMessage("{\"probeReadings\":[{\"id\":1,\"currentTemp\":120.5}]}"));
+    session.sendMessage(new TextMessage("not a hub reading"));
+
+    // Then
+    String rejection = client.messages.poll(10, TimeUnit.SECONDS);
+    assertNotNull(rejection);
+    JsonNode frame = objectMapper.readTree(rejection);
+    assertEquals("error", frame.get("type").asText());
+    assertEquals(400, frame.get("status").asInt());
+    // Frames are handled in order, so the first has been saved by the time the second is rejected
+    List<Reading> stored = readingRepository.findByProbeId(testProbe.getId());
+    assertEquals(1, stored.size());
+    assertEquals(120.5f, stored.get(0).getCurrentTemp());
+
+    // When
+    crlService.revoke(cert.getSerialNumber(), Instant.now(), 1, testHub.getId());
+
+    // Then
+    CloseStatus closed = client.closed.get(10, TimeUnit.SECONDS);
+    assertEquals(CloseStatus.POLICY_VIOLATION.getCode(), closed.getCode());
+  }
+
+  private static final class StreamClient extends TextWebSocketHandler {
+    private final BlockingQueue<String> messages = new LinkedBlockingQueue<>();
+    private final CompletableFuture<CloseStatus> closed = new CompletableFuture<>();
+
+    @Override
+    protected void handleTextMessage(final WebSocketSession session, final TextMessage message) {
+      messages.add(message.getPayload());
+    }
+
+    @Override
+    public void afterConnectionClosed(final WebSocketSession session, final CloseStatus status) {
+      closed.complete(status);
+    }
+  }
+}
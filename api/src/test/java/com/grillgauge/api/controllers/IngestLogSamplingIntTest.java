@@ -0,0 +1,115 @@
+package com.grillgauge.api.controllers;
+
+import static java.util.Objects.requireNonNull;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.x509;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import com.grillgauge.api.domain.entitys.Hub;
+import com.grillgauge.api.domain.entitys.User;
+import com.grillgauge.api.domain.repositorys.HubRepository;
+import com.grillgauge.api.domain.repositorys.UserRepository;
+import com.grillgauge.api.logging.IngestLogSamplingFilter;
+import com.grillgauge.api.services.ExternalHubService;
+import com.grillgauge.api.services.ProbeService;
+import com.grillgauge.api.utils.OwnDatabase;
+import com.grillgauge.api.utils.TestUtils;
+import java.io.ByteArrayInputStream;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.security.cert.CertificateFactory;
+import java.security.cert.X509Certificate;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.web.servlet.DelegatingFilterProxyRegistrationBean;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+/**
+ * Runs with only the first hub request sampled, in a database of its own. The hub has no probes, so
+ * fetching its state logs at INFO and warns that none were found.
+ */
+@OwnDatabase
+@SpringBootTest(
+    properties = {"logging.sampling.ingest-rate=1000000", "spring.datasource.name=logsampling"})
+@AutoConfigureMockMvc
+@ActiveProfiles("dev")
+class IngestLogSamplingIntTest {
+
+  @Autowired private MockMvc mockMvc;
+
+  @Autowired private UserRepository userRepository;
+
+  @Autowired private HubRepository hubRepository;
+
+  @Autowired private FilterRegistrationBean<IngestLogSamplingFilter> ingestLogSamplingFilter;
+
+  @Autowired private DelegatingFilterProxyRegistrationBean securityFilterChainRegistration;
+
+  @Autowired private TestUtils testUtils;
+
+  private final ListAppender<ILoggingEvent> appender = new ListAppender<>();
+  private final List<Logger> loggers =
+      List.of(
+          (Logger) LoggerFactory.getLogger(ExternalHubService.class),
+          (Logger) LoggerFactory.getLogger(ProbeService.class));
+
+  private X509Certificate cert;
+
+  @BeforeEach
+  void setUp() throws Exception {
+    String certPath = "src/test/java/com/grillgauge/api/resources/certs/signed_cert.crt";
+    try (var in = new ByteArrayInputStream(Files.readAllBytes(Paths.get(certPath)))) {
+      cert = (X509Certificate) CertificateFactory.getInstance("X.509").generateCertificate(in);
+    }
+    User testUser = userRepository.save(new User("nick@hotmail.co.uk", "Nick", "Bloggs"));
+    Hub testHub = new Hub(testUser, "Smoke Gauge");
+    testHub.setCertificateSerial(cert.getSerialNumber().longValue());
+    testHub.setStatus(Hub.HubStatus.REGISTERED);
+    hubRepository.save(testHub);
+    appender.start();
+    loggers.forEach(logger -> logger.addAppender(appender));
+  }
+
+  @AfterEach
+  void tearDown() {
+    loggers.forEach(logger -> logger.detachAppender(appender));
+    appender.stop();
+    testUtils.clearDatabase();
+  }
+
+  @Test
+  void testSamplingFilterRunsBeforeSpringSecurity() {
+    assertTrue(ingestLogSamplingFilter.getOrder() < securityFilterChainRegistration.getOrder());
+  }
+
+  @Test
+  void testUnsampledIngestRequestLogsOnlyWarnings() throws Exception {
+    // Given the one sampled request has been made
+    mockMvc.perform(get("/api/v1/externalHub").with(requireNonNull(x509(cert))));
+    appender.list.clear();
+
+    // When
+    mockMvc
+        .perform(get("/api/v1/externalHub").with(requireNonNull(x509(cert))))
+        .andExpect(status().isOk());
+
+    // Then
+    List<Level> levels = appender.list.stream().map(ILoggingEvent::getLevel).toList();
+    assertEquals(List.of(Level.WARN), levels);
+    assertTrue(appender.list.get(0).getFormattedMessage().startsWith("No probes found"));
+  }
+}
@@ -0,0 +1,168 @@
+package com.grillgauge.api.controllers;
+
+import static com.grillgauge.api.utils.TestUtils.jwtWithRole;
+import static java.util.Objects.requireNonNull;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.x509;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.grillgauge.api.domain.entitys.Hub;
+import com.grillgauge.api.domain.entitys.Probe;
+import com.grillgauge.api.domain.entitys.User;
+import com.grillgauge.api.domain.models.HubReading;
+import com.grillgauge.api.domain.models.ProbeReading;
+import com.grillgauge.api.domain.repositorys.HubRepository;
+import com.grillgauge.api.domain.repositorys.ProbeRepository;
+import com.grillgauge.api.domain.repositorys.UserRepository;
+import com.grillgauge.api.services.ReadingService;
+import com.grillgauge.api.utils.OwnDatabase;
+import com.grillgauge.api.utils.TestUtils;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.io.ByteArrayInputStream;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.security.cert.CertificateFactory;
+import java.security.cert.X509Certificate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+/** Runs with a history limit of two, in a database of its own. */
+@OwnDatabase
+@SpringBootTest(
+    properties = {
+      "loadshedding.min-limit=1",
+      "loadshedding.history.initial-limit=2",
+      "loadshedding.history.max-limit=2",
+      "spring.datasource.name=loadshedding"
+    })
+@AutoConfigureMockMvc
+@ActiveProfiles("dev")
+class LoadSheddingIntTest {
+
+  @Autowired private MockMvc mockMvc;
+
+  @Autowired private ObjectMapper objectMapper;
+
+  @Autowired private UserRepository userRepository;
+
+  @Autowired private HubRepository hubRepository;
+
+  @Autowired private ProbeRepository probeRepository;
+
+  @Autowired private MeterRegistry meterRegistry;
+
+  @Autowired private TestUtils testUtils;
+
+  @MockitoSpyBean private ReadingService readingService;
+
+  private X509Certificate cert;
+  private User testUser;
+  private Probe testProbe;
+
+  @BeforeEach
+  void setUp() throws Exception {
+    String certPath = "src/test/java/com/grillgauge/api/resources/certs/signed_cert.crt";
+    try (var in = new ByteArrayInputStream(Files.readAllBytes(Paths.get(certPath)))) {
+      cert = (X509Certificate) CertificateFactory.getInstance("X.509").generateCertificate(in);
+    }
+    testUser = userRepository.save(new User("nick@hotmail.co.uk", "Nick", "Bloggs"));
+    Hub testHub = new Hub(testUser, "Smoke Gauge");
+    testHub.setCertificateSerial(cert.getSerialNumber().longValue());
+    testHub.setStatus(Hub.HubStatus.REGISTERED);
+    testHub = hubRepository.save(testHub);
+    testProbe = probeRepository.save(new Probe(1, testHub, testUser, (float) 200, "probe 1"));
+  }
+
+  @AfterEach
+  void tearDown() {
+    testUtils.clearDatabase();
+  }
+
+  @Test
+  void testSaturatedHistoryIsShedWhileIngestPasses() throws Exception {
+    // Given
+    CountDownLatch release = new CountDownLatch(1);
+    doAnswer(
+            invocation -> {
+              release.await(10, TimeUnit.SECONDS);
+              return invocation.callRealMethod();
+            })
+        .when(readingService)
+        .getReadingsForProbesBetween(any(), any(), any());
+    ExecutorService executor = Executors.newFixedThreadPool(2);
+    List<Future<Integer>> held = new ArrayList<>();
+    try {
+      for (int i = 0; i < 2; i++) {
+        held.add(
+            executor.submit(
+                () -> mockMvc.perform(history()).andReturn().getResponse().getStatus()));
+      }
+      awaitHistoryInflight(2);
+
+      // When / Then
+      mockMvc
+          .perform(history())
+          .andExpect(status().isServiceUnavailable())
+          .andExpect(header().string("Retry-After", "1"));
+      HubReading hubReading = new HubReading(1L, List.of(new ProbeReading(1, (float) 120.5)));
+      mockMvc
+          .perform(
+              post("/api/v1/externalHub")
+                  .with(requireNonNull(x509(cert)))
+                  .contentType(requireNonNull(MediaType.APPLICATION_JSON))
+                  .content(requireNonNull(objectMapper.writeValueAsString(hubReading))))
+          .andExpect(status().isCreated());
+    } finally {
+      release.countDown();
+      executor.shutdown();
+    }
+    for (Future<Integer> request : held) {
+      assertEquals(200, request.get(10, TimeUnit.SECONDS));
+    }
+    assertEquals(
+        1.0, meterRegistry.get("loadshedding.shed").tag("class", "history").counter().count());
+    assertEquals(
+        0.0, meterRegistry.get("loadshedding.shed").tag("class", "ingest").counter().count());
+  }
+
+  private MockHttpServletRequestBuilder history() {
+    return get("/api/v1/probe/readings/between")
+        .with(jwtWithRole(testUser.getEmail(), "ROLE_USER"))
+        .param("probeIds", testProbe.getId().toString())
+        .param("start", "2024-01-01T10:00:00Z")
+        .param("end", "2024-01-01T12:00:00Z");
+  }
+
+  private void awaitHistoryInflight(final int inflight) throws InterruptedException {
+    long deadline = System.currentTimeMillis() + 10_000;
+    while (meterRegistry.get("loadshedding.inflight").tag("class", "history").gauge().value()
+        < inflight) {
+      if (System.currentTimeMillis() > deadline) {
+        throw new AssertionError("History requests never reached the limit");
+      }
+      Thread.sleep(10);
+    }
+  }
+}
@@ -1,18 +1,28 @@
 package com.grillgauge.api.controllers;
 
 import static com.grillgauge.api.utils.TestUtils.jwtWithRole;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 
+import com.grillgauge.api.domain.entitys.DetectorEvent;
 import com.grillgauge.api.domain.entitys.Hub;
 import com.grillgauge.api.domain.entitys.Probe;
 import com.grillgauge.api.domain.entitys.Reading;
 import com.grillgauge.api.domain.entitys.User;
+import com.grillgauge.api.domain.repositorys.DetectorEventRepository;
 import com.grillgauge.api.domain.repositorys.HubRepository;
 import com.grillgauge.api.domain.repositorys.ProbeRepository;
 import com.grillgauge.api.domain.repositorys.ReadingRepository;
 import com.grillgauge.api.domain.repositorys.UserRepository;
+import com.grillgauge.api.services.ReadingService;
 import com.grillgauge.api.utils.TestUtils;
+import com.jayway.jsonpath.JsonPath;
+import jakarta.persistence.EntityManager;
 import java.time.Instant;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.hibernate.Session;
+import org.hibernate.SessionEventListener;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -20,6 +30,7 @@ import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMock
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -39,8 +50,14 @@ class ProbeControllerIntTest {
 
   @Autowired private UserRepository userRepository;
 
+  @Autowired private DetectorEventRepository detectorEventRepository;
+
+  @Autowired private ReadingService readingService;
+
   @Autowired private TestUtils testUtils;
 
+  @Autowired private EntityManager entityManager;
+
   private List<Reading> readings;
   private User testUser;
   private Hub testHub;
@@ -60,8 +77,10 @@ class ProbeControllerIntTest {
     Reading reading2 = new Reading(testProbe, (float) 180, Instant.parse("2024-01-01T11:00:00Z"));
     Reading reading3 = new Reading(testProbe, (float) 180, Instant.parse("2024-01-01T12:00:00Z"));
     Reading reading4 = new Reading(testProbe, (float) 180, Instant.parse("2024-01-01T12:30:00Z"));
+    Reading reading5 =
+        new Reading(testProbe, (float) 181.5, Instant.parse("2024-01-01T11:30:00.250Z"));
 
-    readings = List.of(reading1, reading2, reading3, reading4);
+    readings = List.of(reading1, reading2, reading3, reading4, reading5);
     readingRepository.saveAll(readings);
   }
 
@@ -85,7 +104,7 @@ class ProbeControllerIntTest {
         .andExpect(
             org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath(
                     "$.['" + probeKey + "'].length()")
-                .value(2))
+                .value(3))
         .andExpect(
             org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath(
                     "$.['" + probeKey + "'][0].timestamp")
@@ -93,6 +112,195 @@ class ProbeControllerIntTest {
         .andExpect(
             org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath(
                     "$.['" + probeKey + "'][1].timestamp")
+                .value("2024-01-01T11:30:00.250Z"))
+        .andExpect(
+            org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath(
+                    "$.['" + probeKey + "'][1].temperature")
+                .value(181.5))
+        .andExpect(
+            org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath(
+                    "$.['" + probeKey + "'][2].timestamp")
                 .value("2024-01-01T12:00:00Z"));
   }
+
+  @Test
+  void testGetReadingsForProbesBetweenUsesOneQuery() throws Exception {
+    // Given
+    Probe secondProbe = new Probe(2, testHub, testUser, (float) 90, "probe 2");
+    probeRepository.save(secondProbe);
+    readingRepository.saveAll(
+        List.of(
+            new Reading(secondProbe, (float) 60, Instant.parse("2024-01-01T10:45:00Z")),
+            new Reading(secondProbe, (float) 65, Instant.parse("2024-01-01T11:15:00Z"))));
+    String probeKey = testProbe.getId().toString();
+    String secondProbeKey = secondProbe.getId().toString();
+    readingRepository.flush();
+    // The request joins the test transaction, so count only its session's statements rather than
+    // the application-wide statistics the scheduled writers also add to
+    AtomicInteger statements = new AtomicInteger();
+    entityManager
+        .unwrap(Session.class)
+        .addEventListeners(
+            new SessionEventListener() {
+              @Override
+              public void jdbcPrepareStatementStart() {
+                statements.incrementAndGet();
+              }
+            });
+
+    // When / Then
+    mockMvc
+        .perform(
+            MockMvcRequestBuilders.get("/api/v1/probe/readings/between")
+                .with(jwtWithRole(testUser.getEmail(), "ROLE_USER"))
+                .param("probeIds", secondProbeKey, probeKey)
+                .param("start", "2024-01-01T10:30:00Z")
+                .param("end", "2024-01-01T12:00:00Z"))
+        .andExpect(
+            org.springframework.test.web.servlet.result.MockMvcResultMatchers.status().isOk())
+        .andExpect(
+            org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath(
+                    "$.['" + probeKey + "'].length()")
+                .value(3))
+        .andExpect(
+            org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath(
+                    "$.['" + secondProbeKey + "'].length()")
+                .value(2))
+        .andExpect(
+            org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath(
+                    "$.['" + secondProbeKey + "'][1].temperature")
+                .value(65.0));
+    // One statement for the ownership check, one for the readings of both probes
+    assertEquals(2, statements.get());
+  }
+
+  @Test
+  void testSettledBucketsAreCachedUntilBackfilled() throws Exception {
+    // Given: the 11:00 - 12:00 bucket cached by a first view
+    String probeKey = testProbe.getId().toString();
+    MockHttpServletRequestBuilder request =
+        MockMvcRequestBuilders.get("/api/v1/probe/readings/between")
+            .with(jwtWithRole(testUser.getEmail(), "ROLE_USER"))
+            .param("probeIds", probeKey)
+            .param("start", "2024-01-01T10:30:00Z")
+            .param("end", "2024-01-01T12:00:00Z");
+    mockMvc
+        .perform(request)
+        .andExpect(
+            org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath(
+                    "$.['" + probeKey + "'].length()")
+                .value(3));
+
+    // When: a reading is written behind the service's back
+    readingRepository.saveAndFlush(
+        new Reading(testProbe, (float) 170, Instant.parse("2024-01-01T11:45:00Z")));
+
+    // Then: the cached bucket is served
+    mockMvc
+        .perform(request)
+        .andExpect(
+            org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath(
+                    "$.['" + probeKey + "'].length()")
+                .value(3));
+
+    // When: a reading is backfilled into the bucket
+    readingService.saveReadings(
+        List.of(new Reading(testProbe, (float) 175, Instant.parse("2024-01-01T11:50:00Z"))));
+    readingRepository.flush();
+
+    // Then: the bucket is read again
+    mockMvc
+        .perform(request)
+        .andExpect(
+            org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath(
+                    "$.['" + probeKey + "'].length()")
+                .value(5))
+        .andExpect(
+            org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath(
+                    "$.['" + probeKey + "'][3].temperature")
+                .value(175.0));
+  }
+
+  @Test
+  void testGetReadingPagesFollowCursor() throws Exception {
+    // Given
+    String probeKey = testProbe.getId().toString();
+    String cursor = null;
+    int[] expectedPageSizes = {2, 2, 1};
+
+    // When / Then
+    for (int pageSize : expectedPageSizes) {
+      MockHttpServletRequestBuilder request =
+          MockMvcRequestBuilders.get("/api/v1/probe/readings/page")
+              .with(jwtWithRole(testUser.getEmail(), "ROLE_USER"))
+              .param("probeIds", probeKey)
+              .param("start", "2024-01-01T09:00:00Z")
+              .param("end", "2024-01-01T13:00:00Z")
+              .param("size", "2");
+      if (cursor != null) {
+        request.param("cursor", cursor);
+      }
+      String body =
+          mockMvc
+              .perform(request)
+              .andExpect(
+                  org.springframework.test.web.servlet.result.MockMvcResultMatchers.status().isOk())
+              .andExpect(
+                  org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath(
+                          "$.readings.['" + probeKey + "'].length()")
+                      .value(pageSize))
+              .andReturn()
+              .getResponse()
+              .getContentAsString();
+      cursor = JsonPath.read(body, "$.nextCursor");
+    }
+    assertNull(cursor);
+
+    mockMvc
+        .perform(
+            MockMvcRequestBuilders.get("/api/v1/probe/readings/page")
+                .with(jwtWithRole(testUser.getEmail(), "ROLE_USER"))
+                .param("probeIds", probeKey)
+                .param("start", "2024-01-01T09:00:00Z")
+                .param("end", "2024-01-01T13:00:00Z")
+                .param("cursor", "not-a-cursor"))
+        .andExpect(
+            org.springframework.test.web.servlet.result.MockMvcResultMatchers.status()
+                .isBadRequest());
+  }
+
+  @Test
+  void testGetDetectorEvents() throws Exception {
+    // Given
+    detectorEventRepository.saveAll(
+        List.of(
+            new DetectorEvent(
+                testProbe,
+                DetectorEvent.EventType.STALL_STARTED,
+                160,
+                Instant.parse("2024-01-01T11:00:00Z")),
+            new DetectorEvent(
+                testProbe,
+                DetectorEvent.EventType.STALL_ENDED,
+                165,
+                Instant.parse("2024-01-01T12:00:00Z"))));
+
+    // When / Then
+    mockMvc
+        .perform(
+            MockMvcRequestBuilders.get("/api/v1/probe/" + testProbe.getId() + "/events")
+                .with(jwtWithRole(testUser.getEmail(), "ROLE_USER")))
+        .andExpect(
+            org.springframework.test.web.servlet.result.MockMvcResultMatchers.status().isOk())
+        .andExpect(
+            org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath("$.length()")
+                .value(2))
+        .andExpect(
+            org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath("$[0].type")
+                .value("STALL_ENDED"))
+        .andExpect(
+            org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath(
+                    "$[1].occurredAt")
+                .value("2024-01-01T11:00:00Z"));
+  }
 }
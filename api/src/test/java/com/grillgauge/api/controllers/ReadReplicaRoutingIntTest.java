@@ -0,0 +1,138 @@
+package com.grillgauge.api.controllers;
+
+import static com.grillgauge.api.utils.TestUtils.jwtWithRole;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.grillgauge.api.datasource.ReplicaLagMonitor;
+import com.grillgauge.api.domain.entitys.Hub;
+import com.grillgauge.api.domain.entitys.User;
+import com.grillgauge.api.domain.repositorys.HubRepository;
+import com.grillgauge.api.domain.repositorys.UserRepository;
+import com.grillgauge.api.utils.OwnDatabase;
+import com.grillgauge.api.utils.TestUtils;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+/**
+ * Runs with a separate primary and replica database. The replica only sees the primary's writes
+ * when a test replicates them, so it lags for as long as a test needs, and is bypassed until its
+ * schema has been replicated.
+ */
+@OwnDatabase
+@SpringBootTest(
+    properties = {
+      "spring.datasource.name=routing",
+      "datasource.replica.url=" + ReadReplicaRoutingIntTest.REPLICA_URL,
+      "datasource.replica.lag-query=SELECT 0 FROM INFORMATION_SCHEMA.TABLES WHERE TABLE_NAME = 'HUB'"
+    })
+@AutoConfigureMockMvc
+@ActiveProfiles("dev")
+class ReadReplicaRoutingIntTest {
+  static final String REPLICA_URL = "jdbc:h2:mem:routingreplica;DB_CLOSE_DELAY=-1";
+
+  @Autowired private MockMvc mockMvc;
+
+  @Autowired private UserRepository userRepository;
+
+  @Autowired private HubRepository hubRepository;
+
+  @Autowired private TestUtils testUtils;
+
+  @Autowired private ReplicaLagMonitor replicaLagMonitor;
+
+  @Autowired private MeterRegistry meterRegistry;
+
+  @Autowired
+  @Qualifier("primaryDataSource")
+  private DataSource primaryDataSource;
+
+  @BeforeEach
+  public void setup() throws SQLException {
+    testUtils.clearDatabase();
+    replicate();
+    replicaLagMonitor.checkLag();
+  }
+
+  @Test
+  void testReadOnlyRequestUsesReplica() throws Exception {
+    // Given
+    User user = userRepository.save(new User("nick@hotmail.co.uk", "Nick", "Aldred"));
+    hubRepository.save(new Hub(user, "Smoker"));
+    replicate();
+    assertTrue(replicaLagMonitor.isReplicaUsable());
+    long replicaAcquiresBefore = replicaAcquires();
+
+    // When
+    mockMvc
+        .perform(getHubs(user))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$[0].name").value("Smoker"));
+
+    // Then
+    assertTrue(replicaAcquires() > replicaAcquiresBefore);
+    assertEquals(0, replicaLagMonitor.getLagSeconds());
+  }
+
+  @Test
+  void testLaggingReplicaReadsAreNotCached() throws Exception {
+    // Given a hub the replica has not applied yet
+    User user = userRepository.save(new User("nick@hotmail.co.uk", "Nick", "Aldred"));
+    replicate();
+    hubRepository.save(new Hub(user, "Smoker"));
+    assertTrue(replicaLagMonitor.isReplicaUsable());
+    mockMvc
+        .perform(getHubs(user))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.length()").value(0));
+
+    // When
+    replicate();
+
+    // Then
+    mockMvc
+        .perform(getHubs(user))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$[0].name").value("Smoker"));
+  }
+
+  private MockHttpServletRequestBuilder getHubs(final User user) {
+    return get("/api/v1/ui/hubs")
+        .param("email", user.getEmail())
+        .with(jwtWithRole(user.getEmail(), "ROLE_USER"));
+  }
+
+  /** Bring the replica up to date with the primary, schema included. */
+  private void replicate() throws SQLException {
+    List<String> script =
+        new JdbcTemplate(primaryDataSource).queryForList("SCRIPT DROP", String.class);
+    try (Connection replica = DriverManager.getConnection(REPLICA_URL, "sa", "");
+        Statement statement = replica.createStatement()) {
+      for (String sql : script) {
+        statement.execute(sql);
+      }
+    }
+  }
+
+  private long replicaAcquires() {
+    return meterRegistry.get("hikaricp.connections.acquire").tag("pool", "replica").timer().count();
+  }
+}
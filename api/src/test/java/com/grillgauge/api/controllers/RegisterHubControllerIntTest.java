@@ -2,12 +2,17 @@ package com.grillgauge.api.controllers;
 
 import static org.junit.jupiter.api.Assertions.*;
 
+import com.grillgauge.api.controllers.RegisterHubController.BulkHubRequest;
+import com.grillgauge.api.controllers.RegisterHubController.BulkProvisioningRequest;
 import com.grillgauge.api.controllers.RegisterHubController.HubConfirmRequest;
 import com.grillgauge.api.controllers.RegisterHubController.HubRegistrationRequest;
 import com.grillgauge.api.domain.entitys.Hub;
 import com.grillgauge.api.domain.entitys.User;
 import com.grillgauge.api.domain.repositorys.HubRepository;
 import com.grillgauge.api.domain.repositorys.UserRepository;
+import com.grillgauge.api.services.HubProvisioningService.BulkHubResult;
+import com.grillgauge.api.services.HubProvisioningService.BulkProvisioningStatus;
+import com.grillgauge.api.services.HubProvisioningService.JobStatus;
 import com.grillgauge.api.services.RegisterHubService.HubRegistrationResponse;
 import com.grillgauge.api.utils.TestUtils;
 import java.io.ByteArrayInputStream;
@@ -29,8 +34,8 @@ import java.security.cert.TrustAnchor;
 import java.security.cert.X509CRL;
 import java.security.cert.X509Certificate;
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.Base64;
-import java.util.Date;
 import java.util.List;
 import java.util.Set;
 import java.util.stream.Collectors;
@@ -54,6 +59,7 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.web.client.TestRestTemplate;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
 import org.springframework.http.ResponseEntity;
 import org.springframework.lang.NonNull;
 import org.springframework.test.context.ActiveProfiles;
@@ -82,8 +88,6 @@ public class RegisterHubControllerIntTest {
 
   @Autowired private HubRepository hubRepository;
 
-  @Autowired private com.grillgauge.api.services.CertificateService certificateService;
-
   @BeforeEach
   public void setup() {
     testUtils.clearDatabase();
@@ -193,7 +197,14 @@ public class RegisterHubControllerIntTest {
   }
 
   private void assertCertRevoked(final X509Certificate signedCert) throws Exception {
-    X509CRL crl = certificateService.revokeBySerial(signedCert.getSerialNumber(), new Date(), 5);
+    ResponseEntity<byte[]> crlResponse = restTemplate.getForEntity("/api/v1/crl", byte[].class);
+    assertTrue(crlResponse.getStatusCode().is2xxSuccessful());
+    X509CRL crl =
+        (X509CRL)
+            CertificateFactory.getInstance("X.509")
+                .generateCRL(new ByteArrayInputStream(crlResponse.getBody()));
+    assertNotNull(crl.getRevokedCertificate(signedCert.getSerialNumber()));
+    assertNotNull(crl.getNextUpdate());
     List<X509CRL> crlList = List.of(crl);
     CertStoreParameters csParams = new CollectionCertStoreParameters(crlList);
     CertStore crlStore = CertStore.getInstance("Collection", csParams);
@@ -333,6 +344,41 @@ public class RegisterHubControllerIntTest {
     assertNotNull(confirmedHub.getOtpExpiresAt());
   }
 
+  @Test
+  public void testConfirmHubRejectsRepeatedAttempts() {
+    // Given
+    User testUser = createUser("nickaldred@hotmail.co.uk", "Nick", "Aldred");
+    HubRegistrationResponse hubRegistrationResponse = registerHub("ModelX", "1.0.0");
+    HttpHeaders headers = createAuthHeaders(testUser.getEmail(), "USER");
+    HttpEntity<HubConfirmRequest> badEntity =
+        new HttpEntity<>(
+            new HubConfirmRequest(hubRegistrationResponse.hubId(), "bad-otp", testUser.getEmail()),
+            headers);
+    for (int i = 0; i < 5; i++) {
+      ResponseEntity<Void> response =
+          restTemplate.postForEntity(CONFIRM_URL, badEntity, Void.class);
+      assertTrue(response.getStatusCode().is5xxServerError());
+    }
+
+    // When
+    HttpEntity<HubConfirmRequest> goodEntity =
+        new HttpEntity<>(
+            new HubConfirmRequest(
+                hubRegistrationResponse.hubId(),
+                hubRegistrationResponse.otp(),
+                testUser.getEmail()),
+            headers);
+    ResponseEntity<Void> confirmResponse =
+        restTemplate.postForEntity(CONFIRM_URL, goodEntity, Void.class);
+
+    // Then
+    assertEquals(429, confirmResponse.getStatusCode().value());
+    Hub hub = hubRepository.findById(hubRegistrationResponse.hubId()).orElse(null);
+    assertNotNull(hub);
+    assertEquals(Hub.HubStatus.PENDING, hub.getStatus());
+    assertNull(hub.getOwner());
+  }
+
   @Test
   public void testSignCsrSuccess() throws Exception {
     // Given
@@ -382,6 +428,80 @@ public class RegisterHubControllerIntTest {
     assertEquals(testUser.getEmail(), updatedHub.getOwner().getEmail());
   }
 
+  @Test
+  public void testBulkProvisionHubs() throws Exception {
+    // Given
+    User testUser = createUser("nickaldred@hotmail.co.uk", "Nick", "Aldred");
+    List<BulkHubRequest> hubs = new ArrayList<>();
+    for (long i = 0; i < 3; i++) {
+      hubs.add(new BulkHubRequest("ModelX", "1.0.0", generateCsrPem(i)));
+    }
+    BulkProvisioningRequest request = new BulkProvisioningRequest(testUser.getEmail(), hubs);
+    HttpHeaders headers = createAuthHeaders("admin@grillgauge.com", "ADMIN");
+
+    // When
+    ResponseEntity<BulkProvisioningStatus> submitResponse =
+        restTemplate.postForEntity(
+            "/api/v1/register/bulk",
+            new HttpEntity<>(request, headers),
+            BulkProvisioningStatus.class);
+    assertEquals(202, submitResponse.getStatusCode().value());
+    assertNotNull(submitResponse.getHeaders().getLocation());
+    BulkProvisioningStatus status = submitResponse.getBody();
+    assertNotNull(status);
+    assertEquals(3, status.total());
+
+    long deadline = System.currentTimeMillis() + 30_000;
+    while (status.status() != JobStatus.COMPLETED && System.currentTimeMillis() < deadline) {
+      Thread.sleep(100);
+      status =
+          restTemplate
+              .exchange(
+                  submitResponse.getHeaders().getLocation(),
+                  HttpMethod.GET,
+                  new HttpEntity<>(headers),
+                  BulkProvisioningStatus.class)
+              .getBody();
+      assertNotNull(status);
+    }
+
+    // Then
+    assertEquals(JobStatus.COMPLETED, status.status());
+    assertEquals(3, status.completed());
+    assertEquals(0, status.failed());
+    X509Certificate caCert = loadCaCertificate();
+    for (int i = 0; i < status.results().size(); i++) {
+      BulkHubResult result = status.results().get(i);
+      assertEquals(i, result.index());
+      loadCertificateFromPem(result.certificatePem()).verify(caCert.getPublicKey());
+      Hub hub = hubRepository.findById(result.hubId()).orElse(null);
+      assertNotNull(hub);
+      assertEquals(Hub.HubStatus.REGISTERED, hub.getStatus());
+      assertEquals(hubs.get(i).csrPem(), hub.getCsrPem());
+      assertEquals(testUser.getEmail(), hub.getOwner().getEmail());
+    }
+  }
+
+  @Test
+  public void testBulkProvisionHubsRequiresAdmin() throws Exception {
+    // Given
+    User testUser = createUser("nickaldred@hotmail.co.uk", "Nick", "Aldred");
+    BulkProvisioningRequest request =
+        new BulkProvisioningRequest(
+            testUser.getEmail(),
+            List.of(new BulkHubRequest("ModelX", "1.0.0", generateCsrPem(1L))));
+    HttpHeaders headers = createAuthHeaders(testUser.getEmail(), "USER");
+
+    // When
+    ResponseEntity<String> response =
+        restTemplate.postForEntity(
+            "/api/v1/register/bulk", new HttpEntity<>(request, headers), String.class);
+
+    // Then
+    assertEquals(403, response.getStatusCode().value());
+    assertEquals(0, hubRepository.count());
+  }
+
   @Test
   public void testSignCsrForUnconfirmedHub() {
     // Given
@@ -0,0 +1,212 @@
+package com.grillgauge.api.controllers;
+
+import static com.grillgauge.api.utils.TestUtils.jwtWithRole;
+import static java.util.Objects.requireNonNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.x509;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.grillgauge.api.domain.entitys.Hub;
+import com.grillgauge.api.domain.entitys.Probe;
+import com.grillgauge.api.domain.entitys.Reading;
+import com.grillgauge.api.domain.entitys.User;
+import com.grillgauge.api.domain.models.HubReading;
+import com.grillgauge.api.domain.models.ProbeReading;
+import com.grillgauge.api.domain.repositorys.HubRepository;
+import com.grillgauge.api.domain.repositorys.ProbeRepository;
+import com.grillgauge.api.domain.repositorys.ReadingRepository;
+import com.grillgauge.api.domain.repositorys.UserRepository;
+import com.grillgauge.api.readingstore.TimeSeriesReadingStore;
+import com.grillgauge.api.services.ReadingService;
+import com.grillgauge.api.utils.OwnDatabase;
+import com.grillgauge.api.utils.TestUtils;
+import com.jayway.jsonpath.JsonPath;
+import java.io.ByteArrayInputStream;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.security.cert.CertificateFactory;
+import java.security.cert.X509Certificate;
+import java.time.Instant;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+/**
+ * Runs with readings stored in the time-series store, in a database of its own. Readings are only
+ * appended once their transaction commits, so this class is not transactional.
+ */
+@OwnDatabase
+@SpringBootTest(
+    properties = {
+      "readings.store=timeseries",
+      "readings.timeseries.directory=target/timeseries-int-test-${random.uuid}",
+      "readings.timeseries.segment-bytes=4096",
+      "readings.timeseries.index-interval=4",
+      "spring.datasource.name=timeseries"
+    })
+@AutoConfigureMockMvc
+@ActiveProfiles("dev")
+class TimeSeriesReadingStoreIntTest {
+
+  @Autowired private MockMvc mockMvc;
+
+  @Autowired private ObjectMapper objectMapper;
+
+  @Autowired private TestUtils testUtils;
+
+  @Autowired private UserRepository userRepository;
+
+  @Autowired private HubRepository hubRepository;
+
+  @Autowired private ProbeRepository probeRepository;
+
+  @Autowired private ReadingRepository readingRepository;
+
+  @Autowired private ReadingService readingService;
+
+  @Autowired private TimeSeriesReadingStore timeSeriesReadingStore;
+
+  private X509Certificate cert;
+  private User testUser;
+  private Hub testHub;
+  private Probe testProbe;
+
+  @BeforeEach
+  void setUp() throws Exception {
+    String certPath = "src/test/java/com/grillgauge/api/resources/certs/signed_cert.crt";
+    try (var in = new ByteArrayInputStream(Files.readAllBytes(Paths.get(certPath)))) {
+      cert = (X509Certificate) CertificateFactory.getInstance("X.509").generateCertificate(in);
+    }
+    testUtils.clearDatabase();
+    testUser = userRepository.save(new User("nick@hotmail.co.uk", "Nick", "Bloggs"));
+    testHub = new Hub(testUser, "Smoke Gauge");
+    testHub.setCertificateSerial(cert.getSerialNumber().longValue());
+    testHub.setStatus(Hub.HubStatus.REGISTERED);
+    testHub = hubRepository.save(testHub);
+    testProbe = probeRepository.save(new Probe(1, testHub, testUser, (float) 200, "probe 1"));
+  }
+
+  @Test
+  void testUploadedReadingIsStoredOutsideTheDatabase() throws Exception {
+    // Given
+    HubReading hubReading =
+        new HubReading(testHub.getId(), List.of(new ProbeReading(1, (float) 120.25)));
+    Instant before = Instant.now();
+
+    // When
+    mockMvc
+        .perform(
+            post("/api/v1/externalHub")
+                .with(requireNonNull(x509(cert)))
+                .contentType(requireNonNull(MediaType.APPLICATION_JSON))
+                .content(requireNonNull(objectMapper.writeValueAsString(hubReading))))
+        .andExpect(status().isCreated());
+
+    // Then
+    assertTrue(readingRepository.findByProbeId(testProbe.getId()).isEmpty());
+    String probeKey = testProbe.getId().toString();
+    mockMvc
+        .perform(
+            get("/api/v1/probe/readings/between")
+                .with(jwtWithRole(testUser.getEmail(), "ROLE_USER"))
+                .param("probeIds", probeKey)
+                .param("start", before.minusSeconds(1).toString())
+                .param("end", Instant.now().plusSeconds(1).toString()))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.['" + probeKey + "'].length()").value(1))
+        .andExpect(jsonPath("$.['" + probeKey + "'][0].temperature").value(120.25));
+  }
+
+  @Test
+  void testReadingsAcrossSegmentsAreReturnedInTimeOrder() throws Exception {
+    // Given: more readings than fit in one segment, one of them late
+    Instant start = Instant.parse("2024-01-01T10:00:00Z");
+    for (int i = 0; i < 400; i++) {
+      readingService.saveReadings(
+          List.of(new Reading(testProbe, 100f + i % 50, start.plusSeconds(60L * (i + 1)))));
+    }
+    readingService.saveReadings(List.of(new Reading(testProbe, 99f, start)));
+    String probeKey = testProbe.getId().toString();
+
+    // When / Then
+    mockMvc
+        .perform(
+            get("/api/v1/probe/readings/between")
+                .with(jwtWithRole(testUser.getEmail(), "ROLE_USER"))
+                .param("probeIds", probeKey)
+                .param("start", start.toString())
+                .param("end", start.plusSeconds(60L * 10).toString()))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.['" + probeKey + "'].length()").value(11))
+        .andExpect(jsonPath("$.['" + probeKey + "'][0].temperature").value(99.0))
+        .andExpect(jsonPath("$.['" + probeKey + "'][1].temperature").value(100.0));
+  }
+
+  @Test
+  void testGetReadingPagesFollowCursor() throws Exception {
+    // Given: readings sharing a time, which the cursor must neither skip nor repeat
+    Instant start = Instant.parse("2024-01-01T10:00:00Z");
+    for (int i = 0; i < 5; i++) {
+      readingService.saveReadings(
+          List.of(new Reading(testProbe, 180f + i, start.plusSeconds(60L * (i / 2)))));
+    }
+    String probeKey = testProbe.getId().toString();
+    String cursor = null;
+    int[] expectedPageSizes = {2, 2, 1};
+
+    // When / Then
+    int expectedTemp = 180;
+    for (int pageSize : expectedPageSizes) {
+      MockHttpServletRequestBuilder request =
+          get("/api/v1/probe/readings/page")
+              .with(jwtWithRole(testUser.getEmail(), "ROLE_USER"))
+              .param("probeIds", probeKey)
+              .param("start", "2024-01-01T09:00:00Z")
+              .param("end", "2024-01-01T13:00:00Z")
+              .param("size", "2");
+      if (cursor != null) {
+        request.param("cursor", cursor);
+      }
+      String body =
+          mockMvc
+              .perform(request)
+              .andExpect(status().isOk())
+              .andExpect(jsonPath("$.readings.['" + probeKey + "'].length()").value(pageSize))
+              .andExpect(
+                  jsonPath("$.readings.['" + probeKey + "'][0].temperature")
+                      .value((double) expectedTemp))
+              .andReturn()
+              .getResponse()
+              .getContentAsString();
+      cursor = JsonPath.read(body, "$.nextCursor");
+      expectedTemp += pageSize;
+    }
+    assertNull(cursor);
+  }
+
+  @Test
+  void testReadingsOfDeletedProbesAreSwept() {
+    // Given
+    readingService.saveReadings(List.of(new Reading(testProbe, 150f, Instant.now())));
+    assertTrue(readingService.getLatestReading(testProbe.getId()).isPresent());
+    probeRepository.deleteById(testProbe.getId());
+
+    // When
+    timeSeriesReadingStore.sweepDeletedProbes();
+
+    // Then
+    assertTrue(readingService.getLatestReading(testProbe.getId()).isEmpty());
+  }
+}
@@ -0,0 +1,206 @@
+package com.grillgauge.api.controllers;
+
+import static java.util.Objects.requireNonNull;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.x509;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.grillgauge.api.domain.entitys.Hub;
+import com.grillgauge.api.domain.entitys.Probe;
+import com.grillgauge.api.domain.entitys.Reading;
+import com.grillgauge.api.domain.entitys.User;
+import com.grillgauge.api.domain.models.HubReading;
+import com.grillgauge.api.domain.models.ProbeReading;
+import com.grillgauge.api.domain.repositorys.HubRepository;
+import com.grillgauge.api.domain.repositorys.ProbeRepository;
+import com.grillgauge.api.domain.repositorys.ReadingRepository;
+import com.grillgauge.api.domain.repositorys.UserRepository;
+import com.grillgauge.api.ingest.ProbeReadingBuffer;
+import com.grillgauge.api.ingest.wal.WalReplayer;
+import com.grillgauge.api.ingest.wal.WriteAheadLog;
+import com.grillgauge.api.utils.OwnDatabase;
+import jakarta.transaction.Transactional;
+import java.io.ByteArrayInputStream;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.cert.CertificateFactory;
+import java.security.cert.X509Certificate;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+/** Runs with the ingest write-ahead log enabled, in a database of its own. */
+@OwnDatabase
+@SpringBootTest(
+    properties = {
+      "ingest.wal.enabled=true",
+      "ingest.wal.directory=target/wal-int-test-${random.uuid}",
+      // Replay only when a test asks for it
+      "ingest.wal.replay-interval-ms=3600000",
+      "spring.datasource.name=wal"
+    })
+@AutoConfigureMockMvc
+@Transactional
+@ActiveProfiles("dev")
+class WriteAheadLogIntTest {
+
+  @Autowired private MockMvc mockMvc;
+
+  @Autowired private ObjectMapper objectMapper;
+
+  @Autowired private UserRepository userRepository;
+
+  @Autowired private HubRepository hubRepository;
+
+  @Autowired private ProbeRepository probeRepository;
+
+  @Autowired private ReadingRepository readingRepository;
+
+  @Autowired private WriteAheadLog writeAheadLog;
+
+  @Autowired private WalReplayer walReplayer;
+
+  @TempDir private Path tempDir;
+
+  private X509Certificate cert;
+  private Hub testHub;
+  private Probe testProbe;
+
+  @BeforeEach
+  void setUp() throws Exception {
+    String certPath = "src/test/java/com/grillgauge/api/resources/certs/signed_cert.crt";
+    try (var in = new ByteArrayInputStream(Files.readAllBytes(Paths.get(certPath)))) {
+      cert = (X509Certificate) CertificateFactory.getInstance("X.509").generateCertificate(in);
+    }
+    User testUser = userRepository.save(new User("nick@hotmail.co.uk", "Nick", "Bloggs"));
+    testHub = new Hub(testUser, "Smoke Gauge");
+    testHub.setCertificateSerial(cert.getSerialNumber().longValue());
+    testHub.setStatus(Hub.HubStatus.REGISTERED);
+    testHub = hubRepository.save(testHub);
+    testProbe = probeRepository.save(new Probe(1, testHub, testUser, (float) 200, "probe 1"));
+  }
+
+  @Test
+  void testUploadsDuringBacklogAreLoggedAndReplayedInOrder() throws Exception {
+    // Given
+    Instant acceptedAt = Instant.parse("2024-01-01T10:00:00Z");
+    writeAheadLog.append(testHub.getId(), acceptedAt, readings(1, 110.5f));
+    HubReading hubReading =
+        new HubReading(testHub.getId(), List.of(new ProbeReading(1, (float) 120.5)));
+
+    // When
+    mockMvc
+        .perform(
+            post("/api/v1/externalHub")
+                .with(requireNonNull(x509(cert)))
+                .contentType(requireNonNull(MediaType.APPLICATION_JSON))
+                .content(requireNonNull(objectMapper.writeValueAsString(hubReading))))
+        .andExpect(status().isCreated());
+
+    // Then
+    assertEquals(2, writeAheadLog.getPendingUploads());
+    assertEquals(0, readingRepository.findByProbeId(testProbe.getId()).size());
+
+    walReplayer.replay();
+
+    assertFalse(writeAheadLog.hasBacklog());
+    List<Reading> stored =
+        readingRepository.findByProbeId(testProbe.getId()).stream()
+            .sorted(Comparator.comparing(Reading::getTimeStamp))
+            .toList();
+    assertEquals(2, stored.size());
+    assertEquals(acceptedAt, stored.get(0).getTimeStamp());
+    assertEquals(110.5f, stored.get(0).getCurrentTemp());
+    assertEquals(120.5f, stored.get(1).getCurrentTemp());
+  }
+
+  @Test
+  void testReplayDropsUploadsFromHubsNoLongerRegistered() {
+    // Given
+    writeAheadLog.append(
+        testHub.getId(), Instant.parse("2024-01-01T10:00:00Z"), readings(1, 110.5f));
+    testHub.setStatus(Hub.HubStatus.REVOKED);
+    hubRepository.save(testHub);
+
+    // When
+    walReplayer.replay();
+
+    // Then
+    assertFalse(writeAheadLog.hasBacklog());
+    assertEquals(0, readingRepository.findByProbeId(testProbe.getId()).size());
+  }
+
+  @Test
+  void testRecoveryStopsAtTornRecordAndResumesFromCheckpoint() throws Exception {
+    // Given
+    Instant acceptedAt = Instant.parse("2024-01-01T10:00:00Z");
+    int uploads = 3000;
+    try (WriteAheadLog log = new WriteAheadLog(tempDir, 64 * 1024, false)) {
+      for (int i = 0; i < uploads; i++) {
+        log.append(7L, acceptedAt.plusSeconds(i), readings(i, i / 10f));
+      }
+    }
+    List<Path> segments = segmentFiles();
+    assertTrue(segments.size() > 1);
+    // Corrupt the payload of the last upload, as a crash part way through its append would
+    Path last = segments.get(segments.size() - 1);
+    try (RandomAccessFile file = new RandomAccessFile(last.toFile(), "rw")) {
+      long offset = 8 + (long) (uploads - 1 - uploadsBefore(segments)) * 36 + 20;
+      file.seek(offset);
+      file.writeByte(file.readByte() ^ 0xff);
+    }
+
+    // When
+    try (WriteAheadLog log = new WriteAheadLog(tempDir, 64 * 1024, false)) {
+      assertEquals(uploads - 1, log.getPendingUploads());
+      List<WriteAheadLog.Entry> replayed = log.readBatch(uploads - 2);
+      assertEquals(7L, replayed.get(0).hubId());
+      assertEquals(acceptedAt, replayed.get(0).timeStamp());
+      assertEquals(uploads - 3, replayed.get(uploads - 3).readings().localIdAt(0));
+      log.markReplayed(replayed);
+    }
+
+    // Then
+    try (WriteAheadLog log = new WriteAheadLog(tempDir, 64 * 1024, false)) {
+      assertEquals(1, log.getPendingUploads());
+      List<WriteAheadLog.Entry> remaining = log.readBatch(10);
+      assertEquals(1, remaining.size());
+      assertEquals(uploads - 2, remaining.get(0).readings().localIdAt(0));
+      assertEquals((uploads - 2) / 10f, remaining.get(0).readings().tempAt(0));
+    }
+    assertFalse(segmentFiles().contains(segments.get(0)));
+  }
+
+  private static ProbeReadingBuffer readings(final int localId, final float temp) {
+    ProbeReadingBuffer readings = new ProbeReadingBuffer();
+    readings.add(localId, temp);
+    return readings;
+  }
+
+  private List<Path> segmentFiles() throws Exception {
+    try (Stream<Path> files = Files.list(tempDir)) {
+      return files.filter(file -> file.toString().endsWith(".seg")).sorted().toList();
+    }
+  }
+
+  /** Uploads of one reading (36 bytes each) that fill every segment but the last. */
+  private static int uploadsBefore(final List<Path> segments) {
+    return (segments.size() - 1) * ((64 * 1024 - 8) / 36);
+  }
+}
@@ -0,0 +1,88 @@
+package com.grillgauge.api.detectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import com.grillgauge.api.domain.entitys.DetectorEvent.EventType;
+import org.junit.jupiter.api.Test;
+
+class LidOpenDetectorTest {
+  private static final long PROBE_ID = 1;
+  private static final long START_MILLIS = 1_700_000_000_000L;
+  private static final long STEP_MILLIS = 10_000;
+
+  private final LidOpenDetector detector = new LidOpenDetector(0.05, 1.0, 15.0, 5.0, 10, 900);
+  private int step;
+
+  @Test
+  void testSteadyClimbRaisesNothing() {
+    // When / Then
+    for (int temp = 100; temp <= 250; temp++) {
+      assertNull(feed(temp));
+    }
+  }
+
+  @Test
+  void testSharpDropOpensAndRecoveryClosesLid() {
+    // Given
+    warmUp(225);
+
+    // When the temperature drops sharply, then the lid is reported open
+    assertEquals(EventType.LID_OPENED, feed(205));
+
+    // When the temperature recovers to within the margin of the mean before the drop
+    assertNull(feed(210));
+    assertNull(feed(219));
+    assertEquals(EventType.LID_CLOSED, feed(221));
+    assertNull(feed(225));
+  }
+
+  @Test
+  void testNoiseWithinSlackRaisesNothing() {
+    // Given
+    warmUp(225);
+
+    // When / Then
+    for (int i = 0; i < 100; i++) {
+      assertNull(feed(i % 2 == 0 ? 224.5f : 225.5f));
+    }
+  }
+
+  @Test
+  void testSmallDropsAccumulateUntilLidOpens() {
+    // Given
+    warmUp(225);
+
+    // When / Then a drop of 6 degrees adds 5 to the sum per reading
+    assertNull(feed(219));
+    assertNull(feed(219));
+    assertNull(feed(219));
+    assertEquals(EventType.LID_OPENED, feed(219));
+  }
+
+  @Test
+  void testLidClosesAfterMaxOpenTime() {
+    // Given
+    warmUp(225);
+    assertEquals(EventType.LID_OPENED, feed(180));
+
+    // When the probe never recovers, then the lid is assumed closed after fifteen minutes
+    for (int i = 0; i < 90; i++) {
+      assertNull(feed(180));
+    }
+    assertEquals(EventType.LID_CLOSED, feed(180));
+
+    // And the mean restarts from the reading it closed at
+    assertNull(feed(180));
+  }
+
+  private void warmUp(final float temp) {
+    for (int i = 0; i < 10; i++) {
+      assertNull(feed(temp));
+    }
+  }
+
+  private EventType feed(final float temp) {
+    return detector.update(PROBE_ID, temp, START_MILLIS + step++ * STEP_MILLIS);
+  }
+}
@@ -0,0 +1,77 @@
+package com.grillgauge.api.detectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import com.grillgauge.api.domain.entitys.DetectorEvent.EventType;
+import org.junit.jupiter.api.Test;
+
+class StallDetectorTest {
+  private static final long PROBE_ID = 1;
+  private static final long START_MILLIS = 1_700_000_000_000L;
+  private static final long MINUTE_MILLIS = 60_000;
+
+  private final StallDetector detector = new StallDetector(5, 240, 140, 180, 0.15, 0.4);
+  private int minute;
+
+  @Test
+  void testSteadyClimbRaisesNothing() {
+    // When / Then
+    for (int temp = 100; temp <= 200; temp++) {
+      assertNull(feed(temp));
+    }
+  }
+
+  @Test
+  void testPlateauStartsAndClimbEndsStall() {
+    // Given a climb of a degree a minute, wrapping the five-reading window ten times
+    for (int temp = 100; temp < 150; temp++) {
+      assertNull(feed(temp));
+    }
+
+    // When the probe plateaus, then the stall starts once the window holds only the plateau
+    for (int i = 0; i < 4; i++) {
+      assertNull(feed(150));
+    }
+    assertEquals(EventType.STALL_STARTED, feed(150));
+    assertNull(feed(150));
+
+    // When the probe climbs again, then the stall ends once the slope passes the resume slope
+    assertNull(feed(151));
+    assertEquals(EventType.STALL_ENDED, feed(152));
+    assertNull(feed(153));
+  }
+
+  @Test
+  void testPlateauOutsideRangeRaisesNothing() {
+    // When / Then
+    for (int i = 0; i < 20; i++) {
+      assertNull(feed(120));
+    }
+  }
+
+  @Test
+  void testStallEndsWhenProbeLeavesRange() {
+    // Given
+    for (int i = 0; i < 4; i++) {
+      assertNull(feed(179.5f));
+    }
+    assertEquals(EventType.STALL_STARTED, feed(179.5f));
+
+    // When / Then
+    assertEquals(EventType.STALL_ENDED, feed(180.5f));
+  }
+
+  @Test
+  void testWindowMustSpanMinimumTime() {
+    // When readings arrive a second apart, filling the window long before it spans four minutes
+    // Then
+    for (int i = 0; i < 20; i++) {
+      assertNull(detector.update(PROBE_ID, 160, START_MILLIS + i * 1000L));
+    }
+  }
+
+  private EventType feed(final float temp) {
+    return detector.update(PROBE_ID, temp, START_MILLIS + minute++ * MINUTE_MILLIS);
+  }
+}
@@ -0,0 +1,85 @@
+package com.grillgauge.api.loadshedding;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+class AdaptiveConcurrencyLimiterTest {
+  private static final long FAST_NANOS = 1_000_000;
+
+  @Test
+  void testLimitBacksOffOnFailuresAndRecovers() {
+    // Given
+    AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(10, 2, 20, 2.0, 0.5);
+    round(limiter, FAST_NANOS, false);
+    assertEquals(10, limiter.getLimit());
+
+    // When
+    round(limiter, FAST_NANOS, true);
+
+    // Then
+    assertEquals(2, limiter.getLimit());
+    assertTrue(limiter.tryAcquire());
+    assertTrue(limiter.tryAcquire());
+    assertFalse(limiter.tryAcquire());
+    limiter.release(FAST_NANOS, false);
+    limiter.release(FAST_NANOS, false);
+
+    // When
+    for (int i = 0; i < 200 && limiter.getLimit() < 10; i++) {
+      round(limiter, FAST_NANOS, false);
+    }
+
+    // Then
+    assertEquals(10, limiter.getLimit());
+    assertEquals(0, limiter.getInflight());
+  }
+
+  @Test
+  void testLimitBacksOffWhenLatencyExceedsTolerance() {
+    // Given
+    AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(10, 2, 20, 2.0, 0.5);
+    round(limiter, FAST_NANOS, false);
+
+    // When
+    fill(limiter);
+    limiter.release(FAST_NANOS * 3, false);
+
+    // Then
+    assertEquals(5, limiter.getLimit());
+  }
+
+  @Test
+  void testLimitHoldsAtLowUtilization() {
+    // Given
+    AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(10, 2, 20, 2.0, 0.5);
+
+    // When
+    for (int i = 0; i < 50; i++) {
+      assertTrue(limiter.tryAcquire());
+      limiter.release(FAST_NANOS, true);
+    }
+
+    // Then
+    assertEquals(10, limiter.getLimit());
+  }
+
+  /** Fill the limit and release every slot with the given outcome. */
+  private static void round(
+      final AdaptiveConcurrencyLimiter limiter, final long latencyNanos, final boolean failed) {
+    int acquired = fill(limiter);
+    for (int i = 0; i < acquired; i++) {
+      limiter.release(latencyNanos, failed);
+    }
+  }
+
+  private static int fill(final AdaptiveConcurrencyLimiter limiter) {
+    int acquired = 0;
+    while (limiter.tryAcquire()) {
+      acquired++;
+    }
+    return acquired;
+  }
+}
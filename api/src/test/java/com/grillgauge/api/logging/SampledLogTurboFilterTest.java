@@ -0,0 +1,59 @@
+package com.grillgauge.api.logging;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.core.spi.FilterReply;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+
+class SampledLogTurboFilterTest {
+  private final SampledLogTurboFilter filter = new SampledLogTurboFilter();
+  private final Logger logger = new LoggerContext().getLogger("test");
+
+  @AfterEach
+  void tearDown() {
+    MDC.clear();
+  }
+
+  @Test
+  void testUnsampledEventKeepsOnlyWarningsAndExceptions() {
+    // Given
+    IngestLogSampler sampler = new IngestLogSampler(2);
+    sampler.begin().close();
+
+    // When
+    try (MDC.MDCCloseable event = sampler.begin()) {
+
+      // Then
+      assertEquals(FilterReply.DENY, decide(Level.INFO, "Saving", null));
+      assertEquals(FilterReply.DENY, decide(Level.DEBUG, "Saving", null));
+      assertEquals(FilterReply.NEUTRAL, decide(Level.WARN, "Rejected", null));
+      assertEquals(FilterReply.NEUTRAL, decide(Level.ERROR, "Failed", null));
+      assertEquals(FilterReply.NEUTRAL, decide(Level.INFO, "Failed", new IllegalStateException()));
+      assertEquals(FilterReply.NEUTRAL, decide(Level.DEBUG, null, null));
+    }
+    assertEquals(FilterReply.NEUTRAL, decide(Level.INFO, "Saving", null));
+  }
+
+  @Test
+  void testSampledEventKeepsEverything() {
+    // Given
+    IngestLogSampler sampler = new IngestLogSampler(2);
+
+    // When
+    try (MDC.MDCCloseable event = sampler.begin()) {
+
+      // Then
+      assertEquals(FilterReply.NEUTRAL, decide(Level.INFO, "Saving", null));
+      assertEquals(FilterReply.NEUTRAL, decide(Level.DEBUG, "Saving", null));
+    }
+  }
+
+  private FilterReply decide(final Level level, final String format, final Throwable t) {
+    return filter.decide(null, logger, level, format, null, t);
+  }
+}
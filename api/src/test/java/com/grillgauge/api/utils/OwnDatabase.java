@@ -0,0 +1,27 @@
+package com.grillgauge.api.utils;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import org.springframework.test.context.TestPropertySource;
+
+/**
+ * Runs a test context in an in-memory database of its own, named by {@code spring.datasource.name}.
+ *
+ * <p>Every context shares the JVM-wide JCache manager, so the context's second-level cache regions
+ * are prefixed with the database name too, and entities cached from one database are never served
+ * to a context using another. The prefixed regions are not listed in {@code application.conf}, so
+ * they are created from its defaults.
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+@TestPropertySource(
+    properties = {
+      "spring.datasource.url=jdbc:h2:mem:${spring.datasource.name};DB_CLOSE_DELAY=-1",
+      "spring.jpa.properties.hibernate.cache.region_prefix=${spring.datasource.name}",
+      "spring.jpa.properties.hibernate.javax.cache.missing_cache_strategy=create"
+    })
+public @interface OwnDatabase {}
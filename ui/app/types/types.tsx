@@ -12,6 +12,9 @@ export type Probe = {
   colour: string;
   connected: boolean;
   visible: boolean;
+  highAlertTemp?: number | null;
+  lowAlertTemp?: number | null;
+  etaSeconds?: number | null;
 };
 
 /**
@@ -38,6 +41,15 @@ export interface Hub {
   visible: boolean;
 }
 
+/**
+ * Represents a cook event detected from a probe's readings.
+ */
+export interface DetectorEvent {
+  type: "STALL_STARTED" | "STALL_ENDED" | "LID_OPENED" | "LID_CLOSED";
+  temperature: number;
+  occurredAt: string;
+}
+
 /**
  * Represents a temperature reading from a probe.
  */